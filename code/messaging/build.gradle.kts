@@ -22,6 +22,12 @@ val mavenEdgeIdentityVersion: String by project
 // Lowest material3 library version we can use is v1.2.0
 // since clickable Cards are marked @ExperimentalMaterial3Api in lower versions
 val material3Version = "1.2.0"
+val jmhVersion = "1.37"
+
+// JMH microbenchmarks in src/benchmark/java are built with their own configurations instead of the
+// Android unit test source set, see the compileBenchmarkJava and runBenchmarks tasks
+val benchmarkImplementation: Configuration by configurations.creating
+val benchmarkAnnotationProcessor: Configuration by configurations.creating
 
 aepLibrary {
     namespace = "com.adobe.marketing.mobile.messaging"
@@ -91,4 +97,37 @@ dependencies {
         exclude(group = "net.bytebuddy", module = "byte-buddy")
     }
     testImplementation("net.bytebuddy:byte-buddy:1.14.17")
+
+    benchmarkImplementation("org.openjdk.jmh:jmh-core:$jmhVersion")
+    benchmarkAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+}
+
+// Compiles the JMH benchmarks in src/benchmark/java against the phone debug classes and the unit
+// test utilities, then runs them on the JVM. The benchmarks are not part of the unit tests.
+// JMH options can be passed with -PjmhArgs, e.g. -PjmhArgs="WildcardEventBenchmark -p ruleCount=100"
+afterEvaluate {
+    // main classes, Core, the test utilities and the mockable android.jar of the phone debug variant
+    val unitTestClasspath = tasks.named<Test>("testPhoneDebugUnitTest").get().classpath
+    val compileBenchmarkJava = tasks.register<JavaCompile>("compileBenchmarkJava") {
+        description = "Compiles the JMH microbenchmarks of the messaging module."
+        source("src/benchmark/java")
+        classpath = unitTestClasspath + benchmarkImplementation
+        options.annotationProcessorPath = benchmarkAnnotationProcessor
+        options.generatedSourceOutputDirectory.set(
+            layout.buildDirectory.dir("generated/ap_generated_sources/benchmark/out")
+        )
+        destinationDirectory.set(layout.buildDirectory.dir("intermediates/javac/benchmark/classes"))
+    }
+    tasks.register<JavaExec>("runBenchmarks") {
+        group = "verification"
+        description = "Runs the JMH microbenchmarks of the messaging module."
+        classpath = files(compileBenchmarkJava.flatMap { it.destinationDirectory }) +
+            unitTestClasspath +
+            benchmarkImplementation
+        mainClass.set("org.openjdk.jmh.Main")
+        args = (project.findProperty("jmhArgs") as String?)
+            ?.split(" ")
+            ?.filter { it.isNotBlank() }
+            ?: emptyList()
+    }
 }
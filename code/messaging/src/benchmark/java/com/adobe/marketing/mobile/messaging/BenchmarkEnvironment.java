@@ -0,0 +1,141 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventHistoryRequest;
+import com.adobe.marketing.mobile.EventHistoryResult;
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.services.DataStoring;
+import com.adobe.marketing.mobile.services.DeviceInforming;
+import com.adobe.marketing.mobile.services.NamedCollection;
+import com.adobe.marketing.mobile.services.ServiceProvider;
+import com.adobe.marketing.mobile.services.caching.CacheService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+/**
+ * Mocked SDK environment for the Messaging benchmarks, running on a plain JVM.
+ *
+ * <p>The {@link ServiceProvider} is mocked for the calling thread only, so environments must be
+ * created and closed on the thread running the benchmark, i.e. from {@code Scope.Thread} states.
+ */
+class BenchmarkEnvironment implements AutoCloseable {
+    static final String PACKAGE_NAME = "com.adobe.messaging.benchmark";
+    static final String APP_SURFACE_URI = "mobileapp://" + PACKAGE_NAME;
+
+    final ExtensionApi extensionApi;
+    private final MockedStatic<ServiceProvider> serviceProviderMockedStatic;
+
+    BenchmarkEnvironment() {
+        final ServiceProvider serviceProvider = mock(ServiceProvider.class);
+        final DeviceInforming deviceInfoService = mock(DeviceInforming.class);
+        final DataStoring dataStoreService = mock(DataStoring.class);
+        when(deviceInfoService.getApplicationPackageName()).thenReturn(PACKAGE_NAME);
+        when(dataStoreService.getNamedCollection(anyString()))
+                .thenReturn(mock(NamedCollection.class));
+        when(serviceProvider.getDeviceInfoService()).thenReturn(deviceInfoService);
+        when(serviceProvider.getDataStoreService()).thenReturn(dataStoreService);
+        when(serviceProvider.getCacheService()).thenReturn(mock(CacheService.class));
+        serviceProviderMockedStatic = Mockito.mockStatic(ServiceProvider.class);
+        serviceProviderMockedStatic.when(ServiceProvider::getInstance).thenReturn(serviceProvider);
+
+        // rules engine consequences are dropped and event history is always empty
+        extensionApi = mock(ExtensionApi.class);
+        doAnswer(
+                        invocation -> {
+                            final EventHistoryRequest[] requests = invocation.getArgument(0);
+                            final AdobeCallbackWithError<EventHistoryResult[]> callback =
+                                    invocation.getArgument(2);
+                            final EventHistoryResult[] results =
+                                    new EventHistoryResult[requests.length];
+                            for (int i = 0; i < results.length; i++) {
+                                results[i] = new EventHistoryResult(0, null, null);
+                            }
+                            callback.call(results);
+                            return null;
+                        })
+                .when(extensionApi)
+                .getHistoricalEvents(
+                        any(EventHistoryRequest[].class),
+                        anyBoolean(),
+                        any(AdobeCallbackWithError.class));
+    }
+
+    /**
+     * Parses the provided proposition payloads the way they are parsed for a personalization
+     * response.
+     *
+     * @param payloads {@code List<Map<String, Object>>} of proposition payloads
+     * @return the {@link ParsedPropositions} for all surfaces found in the payloads
+     */
+    ParsedPropositions parse(final List<Map<String, Object>> payloads) {
+        final Map<Surface, List<Proposition>> propositionsBySurface =
+                groupBySurface(InternalMessagingUtils.getPropositionsFromPayloads(payloads));
+        return new ParsedPropositions(
+                propositionsBySurface,
+                new ArrayList<>(propositionsBySurface.keySet()),
+                extensionApi);
+    }
+
+    /**
+     * @param ruleIndex the index of a rule created by {@link SyntheticPayloadGenerator}
+     * @return a generic track {@link Event} matching the rule
+     */
+    static Event createTrackEvent(final int ruleIndex) {
+        return new Event.Builder(
+                        "Benchmark track event",
+                        SyntheticPayloadGenerator.TRACK_EVENT_TYPE,
+                        SyntheticPayloadGenerator.TRACK_EVENT_SOURCE)
+                .setEventData(
+                        SyntheticPayloadGenerator.generateTrackEventData(
+                                SyntheticPayloadGenerator.actionForRule(ruleIndex)))
+                .build();
+    }
+
+    /**
+     * @return an {@link Event} which no rule created by {@link SyntheticPayloadGenerator} matches
+     */
+    static Event createUnrelatedEvent() {
+        return new Event.Builder(
+                        "Benchmark lifecycle event",
+                        "com.adobe.eventType.lifecycle",
+                        "com.adobe.eventSource.responseContent")
+                .setEventData(Collections.<String, Object>singletonMap("lifecyclecontextdata", ""))
+                .build();
+    }
+
+    static Map<Surface, List<Proposition>> groupBySurface(final List<Proposition> propositions) {
+        final SurfaceMapBuilder<Proposition> builder = new SurfaceMapBuilder<>();
+        for (final Proposition proposition : propositions) {
+            builder.add(Surface.fromUriString(proposition.getScope()), proposition);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void close() {
+        serviceProviderMockedStatic.close();
+    }
+}
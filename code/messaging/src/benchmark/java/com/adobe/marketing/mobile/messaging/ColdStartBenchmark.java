@@ -0,0 +1,177 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.adobe.marketing.mobile.Messaging;
+import com.adobe.marketing.mobile.MobileCore;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngine;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cold start of the extension with cached in-app rules: how long the construction of
+ * the {@link EdgePersonalizationResponseHandler} blocks the registering thread when the cache is
+ * loaded on it or in the background, how long until the cached in-app rules are loaded, and how
+ * long loading them takes when they are restored from a {@link RulesSnapshot}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColdStartBenchmark {
+    @Param({"10", "100", "1000"})
+    public int ruleCount;
+
+    private BenchmarkEnvironment environment;
+    private MessagingExtension parent;
+    private LaunchRulesEngine rulesEngine;
+    private ContentCardRulesEngine contentCardRulesEngine;
+    private MessagingCacheUtilities messagingCacheUtilities;
+    private MessagingCacheUtilities snapshotCacheUtilities;
+    private ExecutorService cacheLoadingExecutor;
+    private BenchmarkEnvironment cacheLoadingEnvironment;
+    private EdgePersonalizationResponseHandler handler;
+
+    @Setup
+    public void setup() throws ExecutionException, InterruptedException {
+        environment = new BenchmarkEnvironment();
+        parent = mock(MessagingExtension.class);
+        rulesEngine = mock(LaunchRulesEngine.class);
+        contentCardRulesEngine = mock(ContentCardRulesEngine.class);
+        final Map<Surface, List<Proposition>> cachedPropositions =
+                BenchmarkEnvironment.groupBySurface(
+                        InternalMessagingUtils.getPropositionsFromPayloads(
+                                SyntheticPayloadGenerator.generateInAppPayloads(
+                                        BenchmarkEnvironment.APP_SURFACE_URI, ruleCount)));
+        messagingCacheUtilities = mock(MessagingCacheUtilities.class);
+        when(messagingCacheUtilities.arePropositionsCached()).thenReturn(true);
+        when(messagingCacheUtilities.getCachedPropositions()).thenReturn(cachedPropositions);
+
+        final PropositionCacheManifest manifest = new PropositionCacheManifest();
+        for (final Surface surface : cachedPropositions.keySet()) {
+            manifest.put(surface.getUri(), "digest");
+        }
+        final ParsedPropositions parsedPropositions =
+                new ParsedPropositions(
+                        cachedPropositions,
+                        new ArrayList<>(cachedPropositions.keySet()),
+                        environment.extensionApi);
+        snapshotCacheUtilities = mock(MessagingCacheUtilities.class);
+        when(snapshotCacheUtilities.arePropositionsCached()).thenReturn(true);
+        when(snapshotCacheUtilities.getCachedPropositions()).thenReturn(cachedPropositions);
+        when(snapshotCacheUtilities.getCachedManifest()).thenReturn(manifest);
+        when(snapshotCacheUtilities.getCachedRulesSnapshot())
+                .thenReturn(
+                        RulesSnapshot.create(
+                                parsedPropositions.stagedPropositions,
+                                manifest,
+                                Messaging.extensionVersion(),
+                                MobileCore.extensionVersion()));
+
+        // the mocked environment is thread confined, so the loading thread gets its own
+        cacheLoadingExecutor = Executors.newSingleThreadExecutor();
+        final Future<BenchmarkEnvironment> loadingEnvironment =
+                cacheLoadingExecutor.submit(BenchmarkEnvironment::new);
+        cacheLoadingEnvironment = loadingEnvironment.get();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        cacheLoadingExecutor.execute(cacheLoadingEnvironment::close);
+        cacheLoadingExecutor.shutdown();
+        cacheLoadingExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        environment.close();
+    }
+
+    /** Waits for the background loading of the previous invocation, outside of the measurement. */
+    @TearDown(Level.Invocation)
+    public void awaitCachedInAppRules() {
+        if (handler != null) {
+            awaitCachedInAppRules(handler);
+            handler = null;
+        }
+    }
+
+    @Benchmark
+    public EdgePersonalizationResponseHandler constructWithSynchronousLoading() {
+        return new EdgePersonalizationResponseHandler(
+                parent,
+                environment.extensionApi,
+                rulesEngine,
+                contentCardRulesEngine,
+                messagingCacheUtilities);
+    }
+
+    @Benchmark
+    public EdgePersonalizationResponseHandler constructWithRulesSnapshot() {
+        return new EdgePersonalizationResponseHandler(
+                parent,
+                environment.extensionApi,
+                rulesEngine,
+                contentCardRulesEngine,
+                snapshotCacheUtilities);
+    }
+
+    @Benchmark
+    public EdgePersonalizationResponseHandler constructWithBackgroundLoading() {
+        handler = createHandlerLoadingInBackground();
+        return handler;
+    }
+
+    @Benchmark
+    public EdgePersonalizationResponseHandler backgroundLoadingUntilInAppRulesLoaded() {
+        final EdgePersonalizationResponseHandler loadingHandler =
+                createHandlerLoadingInBackground();
+        awaitCachedInAppRules(loadingHandler);
+        return loadingHandler;
+    }
+
+    private EdgePersonalizationResponseHandler createHandlerLoadingInBackground() {
+        return new EdgePersonalizationResponseHandler(
+                parent,
+                environment.extensionApi,
+                rulesEngine,
+                contentCardRulesEngine,
+                messagingCacheUtilities,
+                cacheLoadingExecutor);
+    }
+
+    private static void awaitCachedInAppRules(final EdgePersonalizationResponseHandler handler) {
+        while (handler.isLoadingCachedInAppRules()) {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ContentCardRulesEngine#evaluate(Event, Collection)} for content card rules
+ * spread over ten surfaces, for an event matching a single rule, an event matching no rule and an
+ * evaluation scoped to a single surface.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentCardRulesEngineBenchmark {
+    private static final int SURFACE_COUNT = 10;
+
+    @Param({"10", "100", "1000"})
+    public int ruleCount;
+
+    private BenchmarkEnvironment environment;
+    private ContentCardRulesEngine contentCardRulesEngine;
+    private Event matchingEvent;
+    private Event unrelatedEvent;
+    private Collection<Surface> matchingSurface;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        final ParsedPropositions parsedPropositions =
+                environment.parse(
+                        SyntheticPayloadGenerator.generateContentCardPayloads(
+                                BenchmarkEnvironment.APP_SURFACE_URI, SURFACE_COUNT, ruleCount));
+        final List<LaunchRule> rules = new ArrayList<>();
+        final Map<Surface, List<LaunchRule>> contentCardRules =
+                parsedPropositions.surfaceRulesBySchemaType.get(SchemaType.CONTENT_CARD);
+        for (final List<LaunchRule> surfaceRules : contentCardRules.values()) {
+            rules.addAll(surfaceRules);
+        }
+        contentCardRulesEngine =
+                new ContentCardRulesEngine("benchmarkRulesEngine", environment.extensionApi);
+        contentCardRulesEngine.replaceRules(rules);
+
+        // the matching event only matches the last generated rule
+        final int matchingRule = ruleCount - 1;
+        matchingEvent = BenchmarkEnvironment.createTrackEvent(matchingRule);
+        unrelatedEvent = BenchmarkEnvironment.createUnrelatedEvent();
+        matchingSurface =
+                Collections.singleton(
+                        Surface.fromUriString(
+                                SyntheticPayloadGenerator.surfaceUri(
+                                        BenchmarkEnvironment.APP_SURFACE_URI,
+                                        matchingRule % SURFACE_COUNT)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Map<Surface, List<PropositionItem>> evaluateMatchingEvent() {
+        return contentCardRulesEngine.evaluate(matchingEvent);
+    }
+
+    @Benchmark
+    public Map<Surface, List<PropositionItem>> evaluateUnrelatedEvent() {
+        return contentCardRulesEngine.evaluate(unrelatedEvent);
+    }
+
+    @Benchmark
+    public Map<Surface, List<PropositionItem>> evaluateMatchingEventForSurface() {
+        return contentCardRulesEngine.evaluate(matchingEvent, matchingSurface);
+    }
+}
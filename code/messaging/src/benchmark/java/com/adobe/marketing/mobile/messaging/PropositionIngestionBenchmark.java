@@ -0,0 +1,101 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the ingestion of a personalization response, from the raw proposition payloads to the
+ * rules loaded into the rules engines. Half of the rules are in-app rules for the app surface,
+ * the other half are content card rules spread over ten surfaces.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropositionIngestionBenchmark {
+    private static final int CONTENT_CARD_SURFACE_COUNT = 10;
+
+    @Param({"10", "100", "1000"})
+    public int ruleCount;
+
+    private BenchmarkEnvironment environment;
+    private List<Map<String, Object>> payloads;
+    private Map<Surface, List<Proposition>> propositionsBySurface;
+    private List<Surface> requestedSurfaces;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        payloads = new ArrayList<>();
+        payloads.addAll(
+                SyntheticPayloadGenerator.generateInAppPayloads(
+                        BenchmarkEnvironment.APP_SURFACE_URI, ruleCount / 2));
+        payloads.addAll(
+                SyntheticPayloadGenerator.generateContentCardPayloads(
+                        BenchmarkEnvironment.APP_SURFACE_URI,
+                        CONTENT_CARD_SURFACE_COUNT,
+                        ruleCount - ruleCount / 2));
+        propositionsBySurface =
+                BenchmarkEnvironment.groupBySurface(
+                        InternalMessagingUtils.getPropositionsFromPayloads(payloads));
+        requestedSurfaces = new ArrayList<>(propositionsBySurface.keySet());
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<Proposition> getPropositionsFromPayloads() {
+        return InternalMessagingUtils.getPropositionsFromPayloads(payloads);
+    }
+
+    @Benchmark
+    public ParsedPropositions parsePropositions() {
+        return new ParsedPropositions(
+                propositionsBySurface, requestedSurfaces, environment.extensionApi);
+    }
+
+    @Benchmark
+    public ParsedPropositions parsePropositionsWithCache(final ParsedRulesCacheState cacheState) {
+        return new ParsedPropositions(
+                propositionsBySurface,
+                requestedSurfaces,
+                environment.extensionApi,
+                cacheState.parsedRulesCache);
+    }
+
+    /** Keeps the parsed rules cache warm across invocations, as for a repeated refresh. */
+    @State(Scope.Thread)
+    public static class ParsedRulesCacheState {
+        final ParsedRulesCache parsedRulesCache = new ParsedRulesCache();
+    }
+}
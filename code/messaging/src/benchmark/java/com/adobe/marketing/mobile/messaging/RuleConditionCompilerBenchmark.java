@@ -0,0 +1,158 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngine;
+import com.adobe.marketing.mobile.launch.rulesengine.RuleConsequence;
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link LaunchRulesEngine#evaluateEvent(Event)} for rules with their generic parsed
+ * conditions against the same rules with conditions compiled by {@link RuleConditionCompiler}, for
+ * an event matching a single rule and an event matching no rule.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleConditionCompilerBenchmark {
+    private static final String IN_APP_SCHEMA =
+            "https://ns.adobe.com/personalization/message/in-app";
+
+    @Param({"10", "100", "1000"})
+    public int ruleCount;
+
+    private BenchmarkEnvironment environment;
+    private LaunchRulesEngine genericRulesEngine;
+    private LaunchRulesEngine compiledRulesEngine;
+    private Event matchingEvent;
+    private Event unrelatedEvent;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        final Map<String, Object> rulesetData = createRuleset(ruleCount);
+        final List<LaunchRule> parsedRules =
+                JSONRulesParser.parse(
+                        new JSONObject(rulesetData).toString(), environment.extensionApi);
+        genericRulesEngine = new LaunchRulesEngine("genericRulesEngine", environment.extensionApi);
+        genericRulesEngine.replaceRules(parsedRules);
+        compiledRulesEngine =
+                new LaunchRulesEngine("compiledRulesEngine", environment.extensionApi);
+        compiledRulesEngine.replaceRules(RuleConditionCompiler.compile(parsedRules, rulesetData));
+
+        // the matching event only matches the last generated rule
+        matchingEvent = BenchmarkEnvironment.createTrackEvent(ruleCount - 1);
+        unrelatedEvent = BenchmarkEnvironment.createUnrelatedEvent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<RuleConsequence> evaluateMatchingEventGeneric() {
+        return genericRulesEngine.evaluateEvent(matchingEvent);
+    }
+
+    @Benchmark
+    public List<RuleConsequence> evaluateMatchingEventCompiled() {
+        return compiledRulesEngine.evaluateEvent(matchingEvent);
+    }
+
+    @Benchmark
+    public List<RuleConsequence> evaluateUnrelatedEventGeneric() {
+        return genericRulesEngine.evaluateEvent(unrelatedEvent);
+    }
+
+    @Benchmark
+    public List<RuleConsequence> evaluateUnrelatedEventCompiled() {
+        return compiledRulesEngine.evaluateEvent(unrelatedEvent);
+    }
+
+    private static Map<String, Object> createRuleset(final int ruleCount) {
+        final List<Map<String, Object>> rules = new ArrayList<>();
+        for (int i = 0; i < ruleCount; i++) {
+            final Map<String, Object> detail = new HashMap<>();
+            detail.put("id", "consequence" + i);
+            detail.put("schema", IN_APP_SCHEMA);
+            detail.put("data", new HashMap<String, Object>());
+            final Map<String, Object> consequence = new HashMap<>();
+            consequence.put("id", "consequence" + i);
+            consequence.put("type", "schema");
+            consequence.put("detail", detail);
+
+            final Map<String, Object> rule = new HashMap<>();
+            rule.put(
+                    "condition",
+                    group(
+                            matcher("~type", SyntheticPayloadGenerator.TRACK_EVENT_TYPE),
+                            matcher("~source", SyntheticPayloadGenerator.TRACK_EVENT_SOURCE),
+                            matcher(
+                                    SyntheticPayloadGenerator.ACTION_KEY,
+                                    SyntheticPayloadGenerator.actionForRule(i))));
+            rule.put("consequences", Arrays.asList(consequence));
+            rules.add(rule);
+        }
+
+        final Map<String, Object> rulesetData = new HashMap<>();
+        rulesetData.put("version", 1);
+        rulesetData.put("rules", rules);
+        return rulesetData;
+    }
+
+    private static Map<String, Object> matcher(final String key, final String value) {
+        final Map<String, Object> definition = new HashMap<>();
+        definition.put("key", key);
+        definition.put("matcher", "eq");
+        definition.put("values", Arrays.asList(value));
+        final Map<String, Object> condition = new HashMap<>();
+        condition.put("type", "matcher");
+        condition.put("definition", definition);
+        return condition;
+    }
+
+    @SafeVarargs
+    private static Map<String, Object> group(final Map<String, Object>... conditions) {
+        final Map<String, Object> definition = new HashMap<>();
+        definition.put("logic", "and");
+        definition.put("conditions", Arrays.asList(conditions));
+        final Map<String, Object> condition = new HashMap<>();
+        condition.put("type", "group");
+        condition.put("definition", definition);
+        return condition;
+    }
+}
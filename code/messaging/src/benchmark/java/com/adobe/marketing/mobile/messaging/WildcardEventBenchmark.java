@@ -0,0 +1,104 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngine;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MessagingExtension#handleWildcardEvents(Event)} with in-app rules loaded in the
+ * rules engine, for an event matching a single rule and for an event rejected by the {@link
+ * EventPrefilterIndex}. Consequence events are dropped by the mocked {@link
+ * com.adobe.marketing.mobile.ExtensionApi} and content cards are not qualified, so only the
+ * in-app rules evaluation is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WildcardEventBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int ruleCount;
+
+    private BenchmarkEnvironment environment;
+    private MessagingExtension messagingExtension;
+    private Event matchingEvent;
+    private Event unrelatedEvent;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        final ParsedPropositions parsedPropositions =
+                environment.parse(
+                        SyntheticPayloadGenerator.generateInAppPayloads(
+                                BenchmarkEnvironment.APP_SURFACE_URI, ruleCount));
+        final Map<Surface, List<LaunchRule>> inAppRules =
+                parsedPropositions.surfaceRulesBySchemaType.get(SchemaType.INAPP);
+        final LaunchRulesEngine inAppRulesEngine =
+                new LaunchRulesEngine("benchmarkRulesEngine", environment.extensionApi);
+        inAppRulesEngine.replaceRules(
+                inAppRules.get(Surface.fromUriString(BenchmarkEnvironment.APP_SURFACE_URI)));
+        final EventPrefilterIndex eventPrefilterIndex = new EventPrefilterIndex();
+        eventPrefilterIndex.rebuild(inAppRules.values());
+
+        final EdgePersonalizationResponseHandler responseHandler =
+                mock(EdgePersonalizationResponseHandler.class);
+        when(responseHandler.getEventPrefilterIndex()).thenReturn(eventPrefilterIndex);
+        when(responseHandler.getLoadedInAppRuleCount()).thenReturn(ruleCount);
+        messagingExtension =
+                new MessagingExtension(
+                        environment.extensionApi,
+                        inAppRulesEngine,
+                        mock(ContentCardRulesEngine.class),
+                        responseHandler);
+
+        matchingEvent = BenchmarkEnvironment.createTrackEvent(ruleCount - 1);
+        unrelatedEvent = BenchmarkEnvironment.createUnrelatedEvent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public void handleMatchingEvent() {
+        messagingExtension.handleWildcardEvents(matchingEvent);
+    }
+
+    @Benchmark
+    public void handleUnrelatedEvent() {
+        messagingExtension.handleWildcardEvents(unrelatedEvent);
+    }
+}
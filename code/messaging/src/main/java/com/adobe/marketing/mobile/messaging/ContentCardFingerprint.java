@@ -0,0 +1,86 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Identifies the content cards qualified for a surface by the ids of the qualified proposition
+ * items, in qualification order, and a hash of their content.
+ *
+ * <p>Two fingerprints are equal when the same items qualified with the same content, in which case
+ * applying the second qualification to the content card cache has no effect.
+ */
+final class ContentCardFingerprint {
+    private final List<String> itemIds;
+    private final long contentHash;
+
+    private ContentCardFingerprint(final List<String> itemIds, final long contentHash) {
+        this.itemIds = itemIds;
+        this.contentHash = contentHash;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ContentCardFingerprint)) {
+            return false;
+        }
+        final ContentCardFingerprint other = (ContentCardFingerprint) object;
+        return contentHash == other.contentHash && itemIds.equals(other.itemIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * itemIds.hashCode() + (int) (contentHash ^ (contentHash >>> 32));
+    }
+
+    /** Builds a {@link ContentCardFingerprint} from the items qualified for a surface. */
+    static final class Builder {
+        private final List<String> itemIds = new ArrayList<>();
+        private long contentHash = 1;
+
+        /**
+         * Adds the provided proposition items to the fingerprint.
+         *
+         * @param propositionItems {@code List<PropositionItem>} qualified for the surface
+         * @return this {@link Builder}
+         */
+        Builder add(final List<PropositionItem> propositionItems) {
+            if (propositionItems == null) {
+                return this;
+            }
+
+            for (final PropositionItem propositionItem : propositionItems) {
+                if (propositionItem == null) {
+                    continue;
+                }
+                final String itemId = propositionItem.getItemId();
+                final Map<String, Object> itemData = propositionItem.getItemData();
+                itemIds.add(itemId);
+                contentHash = 31 * contentHash + (itemId != null ? itemId.hashCode() : 0);
+                contentHash = 31 * contentHash + (itemData != null ? itemData.hashCode() : 0);
+            }
+            return this;
+        }
+
+        ContentCardFingerprint build() {
+            return new ContentCardFingerprint(
+                    Collections.unmodifiableList(new ArrayList<>(itemIds)), contentHash);
+        }
+    }
+}
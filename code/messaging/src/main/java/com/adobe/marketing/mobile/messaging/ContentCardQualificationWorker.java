@@ -0,0 +1,178 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serial worker which qualifies content cards off the event hub thread.
+ *
+ * <p>Events submitted within the coalescing window are qualified together in a single batch, so a
+ * burst of track events results in one update of the content card cache. Every submitted event is
+ * evaluated, even when it has the same type, source and data as another, so repeated events still
+ * count towards history based conditions. Only an event submitted more than once, identified by its
+ * unique id, is evaluated once. Batches are evaluated when the window closes, using the rules and
+ * state current at that time.
+ */
+class ContentCardQualificationWorker {
+    private static final String SELF_TAG = "ContentCardQualificationWorker";
+    private static final String THREAD_NAME = "AEPMessagingContentCardQualifier";
+
+    /** Qualifies content cards for a batch of events. */
+    interface Qualifier {
+        /**
+         * @param events {@code List<Event>} to qualify content cards for, in submission order
+         */
+        void qualify(final List<Event> events);
+    }
+
+    private final Qualifier qualifier;
+    private ScheduledExecutorService executor;
+
+    // pending events keyed by their unique id, guarded by this
+    private Map<String, Event> pendingEvents = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private volatile long coalescingWindowMillis =
+            MessagingConstants.DEFAULT_CONTENT_CARD_QUALIFICATION_WINDOW_MS;
+
+    ContentCardQualificationWorker(final Qualifier qualifier) {
+        this(qualifier, null);
+    }
+
+    @VisibleForTesting
+    ContentCardQualificationWorker(
+            final Qualifier qualifier, final ScheduledExecutorService executor) {
+        this.qualifier = qualifier;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the provided {@link Event} for content card qualification, unless it is already
+     * pending.
+     *
+     * @param event the {@link Event} to be qualified
+     */
+    void submit(final Event event) {
+        if (event == null) {
+            return;
+        }
+
+        final boolean scheduleFlush;
+        final boolean flushNow;
+        synchronized (this) {
+            final String eventId = event.getUniqueIdentifier();
+            if (!pendingEvents.containsKey(eventId)) {
+                pendingEvents.put(eventId, event);
+            }
+            flushNow = pendingEvents.size() >= MessagingConstants.MAX_PENDING_QUALIFICATION_EVENTS;
+            scheduleFlush = !flushScheduled || flushNow;
+            flushScheduled = true;
+        }
+
+        if (scheduleFlush) {
+            schedule(flushNow ? 0 : coalescingWindowMillis);
+        }
+    }
+
+    /**
+     * Sets the time events are collected for before they are qualified together.
+     *
+     * @param windowMillis the coalescing window in milliseconds, clamped between 0 and {@link
+     *     MessagingConstants#MAX_CONTENT_CARD_QUALIFICATION_WINDOW_MS}
+     */
+    void setCoalescingWindowMillis(final long windowMillis) {
+        coalescingWindowMillis =
+                Math.max(
+                        0,
+                        Math.min(
+                                windowMillis,
+                                MessagingConstants.MAX_CONTENT_CARD_QUALIFICATION_WINDOW_MS));
+    }
+
+    long getCoalescingWindowMillis() {
+        return coalescingWindowMillis;
+    }
+
+    /** Qualifies content cards for all pending events on the calling thread. */
+    void flush() {
+        final List<Event> events;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pendingEvents.isEmpty()) {
+                return;
+            }
+            events = new ArrayList<>(pendingEvents.values());
+            pendingEvents = new LinkedHashMap<>();
+        }
+
+        Log.trace(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Qualifying content cards for %d coalesced event(s).",
+                events.size());
+        try {
+            qualifier.qualify(events);
+        } catch (final Exception exception) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to qualify content cards, an exception occurred: %s",
+                    exception.getLocalizedMessage());
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int getPendingCount() {
+        return pendingEvents.size();
+    }
+
+    private void schedule(final long delayMillis) {
+        try {
+            getExecutor().schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException exception) {
+            Log.debug(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Content card qualification worker is unavailable, qualifying on the calling"
+                            + " thread.");
+            flush();
+        }
+    }
+
+    private synchronized ScheduledExecutorService getExecutor() {
+        if (executor == null) {
+            final ScheduledThreadPoolExecutor scheduledExecutor =
+                    new ScheduledThreadPoolExecutor(
+                            1,
+                            runnable -> {
+                                final Thread thread = new Thread(runnable, THREAD_NAME);
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            scheduledExecutor.setKeepAliveTime(
+                    MessagingConstants.QUALIFICATION_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            scheduledExecutor.allowCoreThreadTimeOut(true);
+            executor = scheduledExecutor;
+        }
+        return executor;
+    }
+}
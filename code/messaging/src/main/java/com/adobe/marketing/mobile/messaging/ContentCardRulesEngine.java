@@ -14,22 +14,66 @@ package com.adobe.marketing.mobile.messaging;
 import androidx.annotation.NonNull;
 import com.adobe.marketing.mobile.Event;
 import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
 import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngine;
 import com.adobe.marketing.mobile.launch.rulesengine.RuleConsequence;
+import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.DataReader;
 import com.adobe.marketing.mobile.util.MapUtils;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Rules engine for content card rules, evaluated with {@link #evaluate(Event, Collection)}.
+ *
+ * <p>Rules are loaded into one rules engine per surface plus one for the rules without a single
+ * surface, and are not loaded into this engine itself, so the inherited {@link
+ * #evaluateEvent(Event)} and {@link #processEvent(Event)} do not see them. Every update publishes a
+ * new immutable set of rules engines, so an evaluation in progress keeps using the rules it
+ * started with.
+ */
 class ContentCardRulesEngine extends LaunchRulesEngine {
+    private static final String SELF_TAG = "ContentCardRulesEngine";
+
     final ExtensionApi extensionApi;
+    private final String name;
+
+    // rules grouped by the surface of their content card consequences, replaced on every update
+    private volatile RuleBuckets ruleBuckets;
 
     ContentCardRulesEngine(@NonNull final String name, @NonNull final ExtensionApi extensionApi) {
         super(name, extensionApi);
         this.extensionApi = extensionApi;
+        this.name = name;
+        this.ruleBuckets = RuleBuckets.EMPTY;
+    }
+
+    @Override
+    public void replaceRules(final List<LaunchRule> rules) {
+        if (rules == null) {
+            return;
+        }
+
+        synchronized (this) {
+            ruleBuckets = addToBuckets(RuleBuckets.EMPTY, rules);
+        }
+    }
+
+    @Override
+    public void addRules(final List<LaunchRule> rules) {
+        if (rules == null) {
+            return;
+        }
+
+        synchronized (this) {
+            ruleBuckets = addToBuckets(ruleBuckets, rules);
+        }
     }
 
     /**
@@ -40,56 +84,264 @@ class ContentCardRulesEngine extends LaunchRulesEngine {
      * @return a {@code Map<String ,List<Inbound>>} containing inbound content for the given event
      */
     Map<Surface, List<PropositionItem>> evaluate(@NonNull final Event event) {
+        return evaluate(event, null);
+    }
+
+    /**
+     * Evaluates the supplied event against the current rules for the provided surfaces only and
+     * returns a {@link Map<Surface, List< PropositionItem >>} created from the rules that matched
+     * the supplied event.
+     *
+     * @param event the event to be evaluated
+     * @param surfaces {@code Collection<Surface>} whose rules should be evaluated, or null to
+     *     evaluate the rules for all surfaces
+     * @return a {@code Map<Surface, List<PropositionItem>>} containing content cards for the given
+     *     event, or null if no rules matched
+     */
+    Map<Surface, List<PropositionItem>> evaluate(
+            @NonNull final Event event, final Collection<Surface> surfaces) {
         if (event == null) {
             throw new IllegalArgumentException("Cannot evaluate null event.");
         }
 
-        final List<RuleConsequence> consequences = evaluateEvent(event);
-        if (MessagingUtils.isNullOrEmpty(consequences)) {
-            return null;
+        final RulesEvaluationProfiler profiler = RulesEvaluationProfiler.getInstance();
+        final long startNanos = profiler.isEnabled() ? System.nanoTime() : 0;
+        int rulesEvaluated = 0;
+        final RuleBuckets buckets = ruleBuckets;
+        final Collection<Surface> surfacesToEvaluate;
+        if (surfaces == null) {
+            surfacesToEvaluate = buckets.rulesEnginesBySurface.keySet();
+        } else if (surfaces instanceof Set) {
+            surfacesToEvaluate = surfaces;
+        } else {
+            surfacesToEvaluate = new HashSet<>(surfaces);
         }
 
+        boolean matched = false;
         final Map<Surface, List<PropositionItem>> propositionItemsBySurface = new HashMap<>();
-        for (final RuleConsequence consequence : consequences) {
-            if (consequence == null) {
+        for (final Surface surface : surfacesToEvaluate) {
+            final LaunchRulesEngine rulesEngine = buckets.rulesEnginesBySurface.get(surface);
+            if (rulesEngine == null) {
                 continue;
             }
 
+            rulesEvaluated += buckets.rulesBySurface.get(surface).size();
+            final List<RuleConsequence> consequences = rulesEngine.evaluateEvent(event);
+            if (MessagingUtils.isNullOrEmpty(consequences)) {
+                continue;
+            }
+
+            matched = true;
+            // the surface of these consequences was resolved when their rules were loaded
+            final List<PropositionItem> propositionItems = new ArrayList<>(consequences.size());
+            for (final RuleConsequence consequence : consequences) {
+                final PropositionItem propositionItem =
+                        PropositionItem.fromRuleConsequence(consequence);
+                if (propositionItem != null) {
+                    propositionItems.add(propositionItem);
+                }
+            }
+            if (!propositionItems.isEmpty()) {
+                propositionItemsBySurface.put(surface, propositionItems);
+            }
+        }
+
+        if (buckets.unbucketedRulesEngine != null) {
+            rulesEvaluated += buckets.unbucketedRules.size();
+            final List<RuleConsequence> consequences =
+                    buckets.unbucketedRulesEngine.evaluateEvent(event);
+            if (!MessagingUtils.isNullOrEmpty(consequences)) {
+                matched = true;
+                addUnbucketedConsequences(
+                        consequences,
+                        surfaces != null ? surfacesToEvaluate : null,
+                        propositionItemsBySurface);
+            }
+        }
+
+        if (profiler.isEnabled()) {
+            profiler.recordEvaluation(
+                    RulesEvaluationProfiler.Engine.CONTENT_CARD,
+                    System.nanoTime() - startNanos,
+                    rulesEvaluated);
+            for (final List<PropositionItem> propositionItems :
+                    propositionItemsBySurface.values()) {
+                for (final PropositionItem propositionItem : propositionItems) {
+                    profiler.recordMatch(propositionItem.getItemId());
+                }
+            }
+        }
+        return matched ? propositionItemsBySurface : null;
+    }
+
+    private void addUnbucketedConsequences(
+            final List<RuleConsequence> consequences,
+            final Collection<Surface> surfaces,
+            final Map<Surface, List<PropositionItem>> propositionItemsBySurface) {
+        for (final RuleConsequence consequence : consequences) {
             final PropositionItem propositionItem =
                     PropositionItem.fromRuleConsequence(consequence);
-            if (propositionItem == null) {
+            final Surface surface = getContentCardSurface(propositionItem);
+            if (surface == null || (surfaces != null && !surfaces.contains(surface))) {
                 continue;
             }
 
-            final ContentCardSchemaData propositionAsContentCard =
-                    propositionItem.getContentCardSchemaData();
-            if (propositionAsContentCard == null) {
-                continue;
+            List<PropositionItem> propositionItems = propositionItemsBySurface.get(surface);
+            if (propositionItems == null) {
+                propositionItems = new ArrayList<>();
+                propositionItemsBySurface.put(surface, propositionItems);
             }
+            propositionItems.add(propositionItem);
+        }
+    }
 
-            final Map metadata = propositionAsContentCard.getMeta();
-            if (MapUtils.isNullOrEmpty(metadata)) {
+    /**
+     * Returns a new {@link RuleBuckets} with the provided rules added to {@code buckets}. Rules
+     * whose consequences are all content cards for the same surface are added to that surface's
+     * bucket, any other rules are evaluated by the unbucketed rules engine. A new rules engine is
+     * created for every bucket rules are added to, the rules engines of {@code buckets} are never
+     * modified.
+     */
+    private RuleBuckets addToBuckets(final RuleBuckets buckets, final List<LaunchRule> rules) {
+        final Map<Surface, List<LaunchRule>> addedRulesBySurface = new HashMap<>();
+        final List<LaunchRule> addedUnbucketedRules = new ArrayList<>();
+        for (final LaunchRule rule : rules) {
+            if (rule == null || MessagingUtils.isNullOrEmpty(rule.getConsequenceList())) {
                 continue;
             }
 
-            // the surface for a content card is automatically added to its meta data
-            final Surface surface =
-                    Surface.fromUriString(
-                            DataReader.optString(
-                                    metadata, MessagingConstants.MessageFeedKeys.SURFACE, ""));
+            final Surface surface = getRuleSurface(rule);
             if (surface == null) {
+                addedUnbucketedRules.add(rule);
                 continue;
             }
 
-            if (propositionItemsBySurface.get(surface) != null) {
-                final List<PropositionItem> propositionItemList =
-                        new ArrayList<>(propositionItemsBySurface.get(surface));
-                propositionItemList.add(propositionItem);
-                propositionItemsBySurface.put(surface, propositionItemList);
-            } else {
-                propositionItemsBySurface.put(surface, Collections.singletonList(propositionItem));
+            List<LaunchRule> surfaceRules = addedRulesBySurface.get(surface);
+            if (surfaceRules == null) {
+                surfaceRules = new ArrayList<>();
+                addedRulesBySurface.put(surface, surfaceRules);
+            }
+            surfaceRules.add(rule);
+        }
+
+        final Map<Surface, List<LaunchRule>> rulesBySurface = new HashMap<>(buckets.rulesBySurface);
+        final Map<Surface, LaunchRulesEngine> rulesEnginesBySurface =
+                new HashMap<>(buckets.rulesEnginesBySurface);
+        for (final Map.Entry<Surface, List<LaunchRule>> entry : addedRulesBySurface.entrySet()) {
+            final List<LaunchRule> surfaceRules =
+                    concat(rulesBySurface.get(entry.getKey()), entry.getValue());
+            rulesBySurface.put(entry.getKey(), surfaceRules);
+            rulesEnginesBySurface.put(
+                    entry.getKey(), createRulesEngine(entry.getKey().getUri(), surfaceRules));
+        }
+        List<LaunchRule> unbucketedRules = buckets.unbucketedRules;
+        LaunchRulesEngine unbucketedRulesEngine = buckets.unbucketedRulesEngine;
+        if (!addedUnbucketedRules.isEmpty()) {
+            unbucketedRules = concat(unbucketedRules, addedUnbucketedRules);
+            unbucketedRulesEngine = createRulesEngine("unbucketed", unbucketedRules);
+        }
+
+        Log.trace(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Loaded content card rules for %d surface(s), %d rule(s) without a single surface.",
+                addedRulesBySurface.size(),
+                addedUnbucketedRules.size());
+        return new RuleBuckets(
+                Collections.unmodifiableMap(rulesBySurface),
+                Collections.unmodifiableMap(rulesEnginesBySurface),
+                unbucketedRules,
+                unbucketedRulesEngine);
+    }
+
+    private static List<LaunchRule> concat(
+            final List<LaunchRule> rules, final List<LaunchRule> addedRules) {
+        final List<LaunchRule> allRules =
+                new ArrayList<>((rules != null ? rules.size() : 0) + addedRules.size());
+        if (rules != null) {
+            allRules.addAll(rules);
+        }
+        allRules.addAll(addedRules);
+        return Collections.unmodifiableList(allRules);
+    }
+
+    /**
+     * Creates the rules engine for a single bucket. Bucket rules engines are populated with {@code
+     * addRules}, as replacing rules dispatches a rules engine reset event.
+     */
+    private LaunchRulesEngine createRulesEngine(
+            final String bucketName, final List<LaunchRule> rules) {
+        final LaunchRulesEngine rulesEngine =
+                new LaunchRulesEngine(name + "-" + bucketName, extensionApi);
+        rulesEngine.addRules(rules);
+        return rulesEngine;
+    }
+
+    /**
+     * @return the {@link Surface} shared by all of the rule's content card consequences, or null
+     *     if any consequence is not a content card or they target different surfaces
+     */
+    private static Surface getRuleSurface(final LaunchRule rule) {
+        Surface ruleSurface = null;
+        for (final RuleConsequence consequence : rule.getConsequenceList()) {
+            final Surface surface =
+                    getContentCardSurface(PropositionItem.fromRuleConsequence(consequence));
+            if (surface == null || (ruleSurface != null && !ruleSurface.equals(surface))) {
+                return null;
             }
+            ruleSurface = surface;
+        }
+        return ruleSurface;
+    }
+
+    private static Surface getContentCardSurface(final PropositionItem propositionItem) {
+        if (propositionItem == null) {
+            return null;
+        }
+
+        final ContentCardSchemaData propositionAsContentCard =
+                propositionItem.getContentCardSchemaData();
+        if (propositionAsContentCard == null) {
+            return null;
+        }
+
+        final Map metadata = propositionAsContentCard.getSharedMeta();
+        if (MapUtils.isNullOrEmpty(metadata)) {
+            return null;
+        }
+
+        // the surface for a content card is automatically added to its meta data
+        return Surface.fromUriString(
+                DataReader.optString(metadata, MessagingConstants.MessageFeedKeys.SURFACE, ""));
+    }
+
+    /**
+     * An immutable set of rules engines, one per surface plus one for all other rules, and the
+     * rules loaded in each of them.
+     */
+    private static final class RuleBuckets {
+        static final RuleBuckets EMPTY =
+                new RuleBuckets(
+                        Collections.<Surface, List<LaunchRule>>emptyMap(),
+                        Collections.<Surface, LaunchRulesEngine>emptyMap(),
+                        Collections.<LaunchRule>emptyList(),
+                        null);
+
+        private final Map<Surface, List<LaunchRule>> rulesBySurface;
+        private final Map<Surface, LaunchRulesEngine> rulesEnginesBySurface;
+        private final List<LaunchRule> unbucketedRules;
+        // null until rules without a single surface are loaded
+        private final LaunchRulesEngine unbucketedRulesEngine;
+
+        RuleBuckets(
+                final Map<Surface, List<LaunchRule>> rulesBySurface,
+                final Map<Surface, LaunchRulesEngine> rulesEnginesBySurface,
+                final List<LaunchRule> unbucketedRules,
+                final LaunchRulesEngine unbucketedRulesEngine) {
+            this.rulesBySurface = rulesBySurface;
+            this.rulesEnginesBySurface = rulesEnginesBySurface;
+            this.unbucketedRules = unbucketedRules;
+            this.unbucketedRulesEngine = unbucketedRulesEngine;
         }
-        return propositionItemsBySurface;
     }
 }
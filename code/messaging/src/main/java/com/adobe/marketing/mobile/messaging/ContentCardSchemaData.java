@@ -15,10 +15,8 @@ import androidx.annotation.Nullable;
 import com.adobe.marketing.mobile.MessagingEdgeEventType;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.DataReader;
-import com.adobe.marketing.mobile.util.JSONUtils;
-import java.util.HashMap;
+import com.adobe.marketing.mobile.util.DataReaderException;
 import java.util.Map;
-import org.json.JSONException;
 import org.json.JSONObject;
 
 // represents the schema data object for a content-card schema
@@ -32,40 +30,47 @@ public class ContentCardSchemaData implements SchemaData {
     private Map<String, Object> meta;
 
     ContentCardSchemaData(final JSONObject schemaData) {
+        this(SchemaDataReader.fromJson(schemaData));
+    }
+
+    ContentCardSchemaData(final Map<String, Object> schemaData) {
         try {
             this.contentType =
                     ContentType.fromString(
-                            schemaData.optString(
+                            SchemaDataReader.optString(
+                                    schemaData,
                                     MessagingConstants.ConsequenceDetailDataKeys.CONTENT_TYPE));
             if (contentType.equals(ContentType.APPLICATION_JSON)) {
                 this.content =
-                        JSONUtils.toMap(
-                                schemaData.getJSONObject(
-                                        MessagingConstants.ConsequenceDetailDataKeys.CONTENT));
+                        SchemaDataReader.getMap(
+                                schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
             } else {
                 this.content =
-                        schemaData.getString(MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
+                        SchemaDataReader.getString(
+                                schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
             }
             this.publishedDate =
-                    schemaData.optInt(MessagingConstants.ConsequenceDetailDataKeys.PUBLISHED_DATE);
+                    SchemaDataReader.optInt(
+                            schemaData,
+                            MessagingConstants.ConsequenceDetailDataKeys.PUBLISHED_DATE);
             this.expiryDate =
-                    schemaData.optInt(MessagingConstants.ConsequenceDetailDataKeys.EXPIRY_DATE);
+                    SchemaDataReader.optInt(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.EXPIRY_DATE);
             this.meta =
-                    JSONUtils.toMap(
-                            schemaData.optJSONObject(
-                                    MessagingConstants.ConsequenceDetailDataKeys.METADATA));
-        } catch (final JSONException exception) {
+                    SchemaDataReader.optMap(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.METADATA);
+        } catch (final DataReaderException exception) {
             Log.trace(
                     MessagingConstants.LOG_TAG,
                     SELF_TAG,
-                    "Exception occurred creating FeedItemSchemaData from json object: %s",
+                    "Exception occurred creating ContentCardSchemaData from schema data: %s",
                     exception.getLocalizedMessage());
         }
     }
 
     @Override
     public Object getContent() {
-        return content;
+        return SchemaDataReader.copy(content);
     }
 
     public ContentType getContentType() {
@@ -81,6 +86,11 @@ public class ContentCardSchemaData implements SchemaData {
     }
 
     @Nullable public Map<String, Object> getMeta() {
+        return SchemaDataReader.copy(meta);
+    }
+
+    // returns the meta data without copying it, it must not be modified
+    @Nullable Map<String, Object> getSharedMeta() {
         return meta;
     }
 
@@ -91,7 +101,7 @@ public class ContentCardSchemaData implements SchemaData {
         }
 
         try {
-            final Map<String, Object> contentMap = (HashMap<String, Object>) content;
+            final Map<String, Object> contentMap = (Map<String, Object>) content;
             final String title =
                     DataReader.optString(contentMap, MessagingConstants.MessageFeedKeys.TITLE, "");
             final String body =
@@ -20,6 +20,7 @@ import com.adobe.marketing.mobile.Event;
 import com.adobe.marketing.mobile.EventSource;
 import com.adobe.marketing.mobile.EventType;
 import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.Messaging;
 import com.adobe.marketing.mobile.MessagingEdgeEventType;
 import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
@@ -36,11 +37,18 @@ import com.adobe.marketing.mobile.util.UrlUtils;
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * This class is used to handle the retrieval and processing of AJO payloads containing in-app,
@@ -49,6 +57,7 @@ import java.util.Set;
  */
 class EdgePersonalizationResponseHandler {
     private static final String SELF_TAG = "EdgePersonalizationResponseHandler";
+    private static final String CACHE_LOADING_THREAD_NAME = "AEPMessagingCacheLoader";
 
     private static final List<String> SUPPORTED_SCHEMAS =
             new ArrayList<String>() {
@@ -60,30 +69,90 @@ class EdgePersonalizationResponseHandler {
             };
     final MessagingExtension parent;
     private final MessagingCacheUtilities messagingCacheUtilities;
+
+    // writes proposition updates to the cache off the event hub thread
+    private final PropositionPersister propositionPersister;
     private final ExtensionApi extensionApi;
     private final LaunchRulesEngine launchRulesEngine;
     private final ContentCardRulesEngine contentCardRulesEngine;
 
-    private Map<Surface, List<Proposition>> inMemoryPropositions = new HashMap<>();
-    private Map<String, PropositionInfo> propositionInfo = new HashMap<>();
+    // fetched propositions, qualified content cards, proposition info and rules by schema type,
+    // published as immutable generations so they can be read from any thread
+    private final PropositionStore propositionStore = new PropositionStore();
+
+    // event types, sources and keys referenced by the rules loaded in the rules engines
+    private final EventPrefilterIndex eventPrefilterIndex = new EventPrefilterIndex();
+
+    // qualifies content cards for wildcard events off the event hub thread
+    private final ContentCardQualificationWorker contentCardQualificationWorker =
+            new ContentCardQualificationWorker(this::addOrReplaceContentCardsForEvents);
+
+    // serializes updates to the qualified content cards
+    private final Object contentCardsLock = new Object();
+
+    // fingerprint of the cards last qualified for each surface by addOrReplaceContentCards and the
+    // cached list it produced, guarded by contentCardsLock
+    private final Map<Surface, ContentCardFingerprint> contentCardFingerprints = new HashMap<>();
+    private final Map<Surface, List<Proposition>> fingerprintedContentCards = new HashMap<>();
+
+    // keeps a list of all surfaces requested per personalization request event by event id, entries
+    // are removed from the response callback thread when a request fails
+    private final Map<String, List<Surface>> requestedSurfacesForEventId =
+            new ConcurrentHashMap<>();
+
+    // surfaces of the personalization requests which have not completed yet by event id, in the
+    // order the requests were made, guarded by itself
+    private final Map<String, List<Surface>> pendingSurfacesForEventId = new LinkedHashMap<>();
+
+    // request events waiting for an earlier request for an overlapping surface to complete before
+    // being dispatched, in the order the requests were made, guarded by pendingSurfacesForEventId
+    private final List<Event> deferredRequestEvents = new ArrayList<>();
+
+    // propositions streamed for each personalization request, by request event id
+    private final Map<String, Map<Surface, List<Proposition>>> inProgressPropositionsForEventId =
+            new ConcurrentHashMap<>();
+
+    // rules previously parsed from ruleset propositions, keyed by the ruleset content
+    private final ParsedRulesCache parsedRulesCache = new ParsedRulesCache();
 
-    // keeps a list of all surfaces requested per personalization request event by event id
-    private final Map<String, List<Surface>> requestedSurfacesForEventId = new HashMap<>();
+    // rules parsed from streamed payloads as they arrive, by personalization request event id
+    private final Map<String, IncrementalParsedPropositions> stagedPropositionsForEventId =
+            new ConcurrentHashMap<>();
 
-    // used while processing streaming payloads for a single request
-    private Map<Surface, List<Proposition>> inProgressPropositions = new HashMap<>();
+    // guards the rules loaded in the in-app rules engine, which the cached rules are loaded into
+    // off the event hub thread
+    private final Object inAppRulesLock = new Object();
 
-    // used to manage in app rules between multiple surfaces and multiple requests
-    private final Map<Surface, List<LaunchRule>> inAppRulesBySurface = new HashMap<>();
+    // rules currently loaded in each rules engine, null until the engine is first synced, the
+    // in-app and event history rules are guarded by inAppRulesLock
+    private Map<Surface, List<LaunchRule>> appliedInAppRules;
+    private Map<Surface, List<LaunchRule>> appliedEventHistoryRules;
+    private Map<Surface, List<LaunchRule>> appliedContentCardRules;
+    // rules loaded in the in-app rules engine, in the order they are evaluated, guarded by
+    // inAppRulesLock
+    private List<LaunchRule> loadedInAppRules = new ArrayList<>();
 
-    // used to manage content card rules between multiple surfaces and multiple requests
-    private final Map<Surface, List<LaunchRule>> contentCardRulesBySurface = new HashMap<>();
+    // true once the propositions of a response are applied, after which the cached rules are
+    // outdated and not loaded anymore, guarded by inAppRulesLock
+    private boolean responsePropositionsApplied;
 
-    // used to manage content card rules between multiple surfaces and multiple requests
-    private final Map<Surface, List<LaunchRule>> eventHistoryRulesBySurface = new HashMap<>();
+    // number of rules loaded in the in-app rules engine, reported by the rules profiler
+    private volatile int loadedInAppRuleCount;
 
-    // holds content cards that the user has qualified for
-    private Map<Surface, List<Proposition>> contentCardsBySurface = new HashMap<>();
+    // guards the loading state of the cached propositions below
+    private final Object cachedPropositionsLock = new Object();
+
+    // true until the cached in-app rules are loaded, and whether events were held meanwhile
+    private boolean loadingCachedInAppRules = true;
+    private boolean eventsHeldForCachedInAppRules;
+
+    // event filters of the cached rulesets, which accepts every event until the cache is read
+    private final EventPrefilterIndex cachedRulesetsPrefilterIndex = new EventPrefilterIndex();
+
+    // cached propositions added to the proposition store the first time propositions are read or
+    // updated, unless propositions were already read or updated when the cache was loaded
+    private Map<Surface, List<Proposition>> deferredCachedPropositions;
+    private boolean propositionStoreAccessed;
 
     private SerialWorkDispatcher<Event> serialWorkDispatcher;
 
@@ -106,7 +175,12 @@ class EdgePersonalizationResponseHandler {
         this(parent, extensionApi, rulesEngine, contentCardRulesEngine, null);
     }
 
-    @SuppressWarnings("NestedIfDepth")
+    /**
+     * Creates a handler loading the cached propositions on the calling thread.
+     *
+     * @see #EdgePersonalizationResponseHandler(MessagingExtension, ExtensionApi, LaunchRulesEngine,
+     *     ContentCardRulesEngine, MessagingCacheUtilities, Executor)
+     */
     @VisibleForTesting
     EdgePersonalizationResponseHandler(
             final MessagingExtension parent,
@@ -114,49 +188,312 @@ class EdgePersonalizationResponseHandler {
             final LaunchRulesEngine rulesEngine,
             final ContentCardRulesEngine contentCardRulesEngine,
             final MessagingCacheUtilities messagingCacheUtilities) {
+        this(
+                parent,
+                extensionApi,
+                rulesEngine,
+                contentCardRulesEngine,
+                messagingCacheUtilities,
+                Runnable::run);
+    }
+
+    /**
+     * Creates a handler loading the cached propositions on the provided {@link Executor}.
+     *
+     * <p>The cached in-app rules are loaded into the rules engine first, and events which could
+     * trigger them are held until they are loaded (see {@link
+     * #shouldHoldForCachedInAppRules(Event)}). The cached propositions are then
+     * added to the proposition store the first time propositions are read or updated.
+     *
+     * @param cacheLoadingExecutor the {@link Executor} loading the cached propositions, or null to
+     *     load them on a dedicated background thread
+     */
+    @VisibleForTesting
+    EdgePersonalizationResponseHandler(
+            final MessagingExtension parent,
+            final ExtensionApi extensionApi,
+            final LaunchRulesEngine rulesEngine,
+            final ContentCardRulesEngine contentCardRulesEngine,
+            final MessagingCacheUtilities messagingCacheUtilities,
+            final Executor cacheLoadingExecutor) {
         this.parent = parent;
         this.extensionApi = extensionApi;
         this.launchRulesEngine = rulesEngine;
         this.contentCardRulesEngine = contentCardRulesEngine;
-
-        // load cached propositions (if any) when EdgePersonalizationResponseHandler is instantiated
         this.messagingCacheUtilities =
                 messagingCacheUtilities != null
                         ? messagingCacheUtilities
                         : new MessagingCacheUtilities();
-        if (this.messagingCacheUtilities.arePropositionsCached()) {
-            final Map<Surface, List<Proposition>> cachedPropositions =
-                    this.messagingCacheUtilities.getCachedPropositions();
-            if (cachedPropositions != null && !cachedPropositions.isEmpty()) {
-                Log.trace(
-                        MessagingConstants.LOG_TAG,
-                        SELF_TAG,
-                        "Retrieved cached propositions, attempting to load the propositions into"
-                                + " the rules engine.");
-                inMemoryPropositions = cachedPropositions;
-                final List<Surface> surfaces = new ArrayList<>();
-                // get surfaces
-                for (final Map.Entry<Surface, List<Proposition>> cacheEntry :
-                        cachedPropositions.entrySet()) {
-                    surfaces.add(cacheEntry.getKey());
+        this.propositionPersister = new PropositionPersister(this.messagingCacheUtilities);
+
+        // load cached propositions (if any) when EdgePersonalizationResponseHandler is instantiated
+        final Executor executor =
+                cacheLoadingExecutor != null
+                        ? cacheLoadingExecutor
+                        : EdgePersonalizationResponseHandler::startCacheLoadingThread;
+        try {
+            executor.execute(this::loadCachedPropositions);
+        } catch (final RejectedExecutionException exception) {
+            loadCachedPropositions();
+        }
+    }
+
+    private static void startCacheLoadingThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, CACHE_LOADING_THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Loads the cached in-app rules into the rules engine, then releases the events held while they
+     * were loaded. The cached propositions are kept to be added to the proposition store later, and
+     * the conditions of the rules restored from the rules snapshot are parsed last.
+     */
+    private void loadCachedPropositions() {
+        final CachedPropositions cache = new CachedPropositions();
+        try {
+            // reading the cache may migrate it or complete an interrupted update, so it is read
+            // while no update is written by the proposition persister
+            propositionPersister.runExclusively(() -> cache.read(messagingCacheUtilities));
+            final Map<Surface, List<Proposition>> cachedPropositions = cache.propositions;
+            if (MapUtils.isNullOrEmpty(cachedPropositions)) {
+                return;
+            }
+            Log.trace(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Retrieved cached propositions, attempting to load the propositions into"
+                            + " the rules engine.");
+            synchronized (cachedPropositionsLock) {
+                if (!propositionStoreAccessed) {
+                    deferredCachedPropositions = cachedPropositions;
                 }
+            }
+            // reading the conditions is much cheaper than parsing the rules, so events which
+            // cannot match a cached rule are released while the rules are parsed
+            cachedRulesetsPrefilterIndex.rebuildFromRulesets(getRulesets(cachedPropositions));
+            loadCachedInAppRules(cache);
+        } catch (final Exception exception) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Unable to load the cached propositions, an exception occurred: %s",
+                    exception.getLocalizedMessage());
+        } finally {
+            onCachedInAppRulesLoaded();
+        }
+        // the held events are released, the conditions of the rules restored from the snapshot are
+        // parsed now rather than when the rules are first evaluated
+        if (cache.rulesSnapshot != null) {
+            cache.rulesSnapshot.parseDeferredConditions();
+        }
+    }
 
-                final ParsedPropositions parsedPropositions =
-                        new ParsedPropositions(cachedPropositions, surfaces, extensionApi);
-                final Map<Surface, List<LaunchRule>> inAppRules =
-                        parsedPropositions.surfaceRulesBySchemaType.get(SchemaType.INAPP);
-                // register any in-app propositions which were previously cached
-                if (inAppRules != null) {
-                    final List<LaunchRule> rulesToReplace = new ArrayList<>();
-                    for (final Map.Entry<Surface, List<LaunchRule>> entry : inAppRules.entrySet()) {
-                        rulesToReplace.addAll(entry.getValue());
-                    }
-                    if (!MessagingUtils.isNullOrEmpty(rulesToReplace)) {
-                        launchRulesEngine.replaceRules(rulesToReplace);
-                    }
+    private static List<Map<String, Object>> getRulesets(
+            final Map<Surface, List<Proposition>> propositionsBySurface) {
+        final List<Map<String, Object>> rulesets = new ArrayList<>();
+        for (final List<Proposition> propositions : propositionsBySurface.values()) {
+            if (propositions == null) {
+                continue;
+            }
+            for (final Proposition proposition : propositions) {
+                if (proposition == null || MessagingUtils.isNullOrEmpty(proposition.getItems())) {
+                    continue;
+                }
+                final PropositionItem firstPropositionItem = proposition.getItems().get(0);
+                if (firstPropositionItem.getSchema() == SchemaType.RULESET) {
+                    rulesets.add(firstPropositionItem.getItemData());
                 }
             }
         }
+        return rulesets;
+    }
+
+    /**
+     * Parses the cached propositions, then loads their in-app rules into the rules engine unless
+     * the propositions of a response were applied in the meantime.
+     */
+    private void loadCachedInAppRules(final CachedPropositions cache) {
+        final ParsedPropositions parsedPropositions = parseCachedPropositions(cache);
+        final Map<Surface, List<LaunchRule>> inAppRules =
+                parsedPropositions.surfaceRulesBySchemaType.get(SchemaType.INAPP);
+        synchronized (inAppRulesLock) {
+            if (responsePropositionsApplied) {
+                Log.debug(
+                        MessagingConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Ignoring the cached propositions, the propositions of a response were"
+                                + " loaded first.");
+                return;
+            }
+            // restore the tracking information of the cached rules
+            updatePropositionInfo(parsedPropositions.propositionInfoToCache, null);
+            // register any in-app propositions which were previously cached
+            if (inAppRules == null) {
+                return;
+            }
+            final List<LaunchRule> rulesToReplace =
+                    InAppMessageArbiter.rank(
+                            collectRulesFrom(inAppRules), this::getPropositionInfo);
+            if (!MessagingUtils.isNullOrEmpty(rulesToReplace)) {
+                launchRulesEngine.replaceRules(rulesToReplace);
+                loadedInAppRules = rulesToReplace;
+                loadedInAppRuleCount = rulesToReplace.size();
+                eventPrefilterIndex.rebuild(inAppRules.values());
+                appliedInAppRules = RulesDelta.snapshot(inAppRules);
+                appliedEventHistoryRules = new HashMap<>();
+            }
+        }
+    }
+
+    /**
+     * Parses the cached propositions. The rules of the surfaces whose cache entry is unchanged
+     * since the cached {@link RulesSnapshot} was created are restored from it, the other surfaces
+     * are parsed and a new snapshot is cached for the next launch.
+     */
+    private ParsedPropositions parseCachedPropositions(final CachedPropositions cache) {
+        final Map<Surface, List<Proposition>> cachedPropositions = cache.propositions;
+        final List<Surface> surfaces = new ArrayList<>(cachedPropositions.keySet());
+        final PropositionCacheManifest manifest = cache.manifest;
+        final RulesSnapshot rulesSnapshot = cache.rulesSnapshot;
+        final Map<Surface, List<ParsedPropositions.StagedProposition>> stagedPropositions =
+                new HashMap<>();
+        final Map<Surface, List<Proposition>> propositionsToParse = new HashMap<>();
+        for (final Map.Entry<Surface, List<Proposition>> entry : cachedPropositions.entrySet()) {
+            final List<ParsedPropositions.StagedProposition> restoredPropositions =
+                    rulesSnapshot != null
+                            ? rulesSnapshot.restoreSurface(
+                                    entry.getKey(),
+                                    entry.getValue(),
+                                    manifest.getDigest(entry.getKey().getUri()),
+                                    extensionApi,
+                                    parsedRulesCache)
+                            : null;
+            if (restoredPropositions != null) {
+                stagedPropositions.put(entry.getKey(), restoredPropositions);
+            } else {
+                propositionsToParse.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        final ParsedPropositions parsedPropositions;
+        if (stagedPropositions.isEmpty()) {
+            parsedPropositions =
+                    new ParsedPropositions(
+                            cachedPropositions,
+                            surfaces,
+                            extensionApi,
+                            parsedRulesCache,
+                            ParsedPropositions.getParsingExecutor(surfaces.size()));
+        } else {
+            final Set<String> surfaceUris = SurfaceRegistry.getUris(surfaces);
+            for (final Map.Entry<Surface, List<Proposition>> entry :
+                    propositionsToParse.entrySet()) {
+                stagedPropositions.put(
+                        entry.getKey(),
+                        ParsedPropositions.stageSurfacePropositions(
+                                entry.getValue(), surfaceUris, extensionApi, parsedRulesCache));
+            }
+            parsedPropositions = new ParsedPropositions(stagedPropositions, surfaces);
+        }
+        Log.debug(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Restored the cached rules of %d of %d surface(s) from the rules snapshot.",
+                cachedPropositions.size() - propositionsToParse.size(),
+                cachedPropositions.size());
+
+        if (manifest != null && !propositionsToParse.isEmpty()) {
+            final RulesSnapshot updatedRulesSnapshot =
+                    RulesSnapshot.create(
+                            parsedPropositions.stagedPropositions,
+                            manifest,
+                            Messaging.extensionVersion(),
+                            MobileCore.extensionVersion());
+            propositionPersister.runExclusively(
+                    () -> messagingCacheUtilities.cacheRulesSnapshot(updatedRulesSnapshot));
+        }
+        return parsedPropositions;
+    }
+
+    /** Propositions cache contents read when the cached propositions are loaded. */
+    private static final class CachedPropositions {
+        Map<Surface, List<Proposition>> propositions;
+        PropositionCacheManifest manifest;
+        RulesSnapshot rulesSnapshot;
+
+        void read(final MessagingCacheUtilities messagingCacheUtilities) {
+            if (!messagingCacheUtilities.arePropositionsCached()) {
+                return;
+            }
+            propositions = messagingCacheUtilities.getCachedPropositions();
+            if (MapUtils.isNullOrEmpty(propositions)) {
+                return;
+            }
+            manifest = messagingCacheUtilities.getCachedManifest();
+            rulesSnapshot =
+                    manifest != null ? messagingCacheUtilities.getCachedRulesSnapshot() : null;
+        }
+    }
+
+    private void onCachedInAppRulesLoaded() {
+        final boolean resumeEvents;
+        synchronized (cachedPropositionsLock) {
+            loadingCachedInAppRules = false;
+            resumeEvents = eventsHeldForCachedInAppRules;
+        }
+        if (resumeEvents) {
+            Log.trace(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cached in-app rules are loaded, resuming event processing.");
+            extensionApi.startEvents();
+        }
+    }
+
+    /**
+     * Returns whether the cached in-app rules are still being loaded.
+     *
+     * @return true if the cached in-app rules are being loaded
+     */
+    boolean isLoadingCachedInAppRules() {
+        synchronized (cachedPropositionsLock) {
+            return loadingCachedInAppRules;
+        }
+    }
+
+    /**
+     * Returns whether the provided event must be held by the extension until the cached in-app
+     * rules are loaded, in which case event processing is resumed once they are. Every event is
+     * held until the cached rulesets are read, then only events which could match a cached rule.
+     *
+     * @param event the {@link Event} about to be processed
+     * @return true if the event could trigger a cached in-app rule which is not loaded yet
+     */
+    boolean shouldHoldForCachedInAppRules(final Event event) {
+        synchronized (cachedPropositionsLock) {
+            if (!loadingCachedInAppRules || !cachedRulesetsPrefilterIndex.mayMatch(event)) {
+                return false;
+            }
+            eventsHeldForCachedInAppRules = true;
+            return true;
+        }
+    }
+
+    /**
+     * Adds the cached propositions to the proposition store, once, before propositions are first
+     * read or updated.
+     */
+    private void loadDeferredCachedPropositions() {
+        synchronized (cachedPropositionsLock) {
+            propositionStoreAccessed = true;
+            if (deferredCachedPropositions == null) {
+                return;
+            }
+            propositionStore.updatePropositions(
+                    deferredCachedPropositions, Collections.<Surface>emptyList());
+            deferredCachedPropositions = null;
+        }
     }
 
     /**
@@ -273,7 +610,7 @@ class EdgePersonalizationResponseHandler {
                         .build();
 
         // create entries in our local containers for managing streamed responses from edge
-        beginRequestForSurfaces(newEvent, requestedSurfaces);
+        final boolean canDispatch = beginRequestForSurfaces(newEvent, requestedSurfaces);
 
         // if we have a handler, update the edge request event id and put it back in the list
         if (handler != null) {
@@ -281,23 +618,47 @@ class EdgePersonalizationResponseHandler {
             MessagingExtension.addCompletionHandler(handler);
         }
 
-        // dispatch the event and handle the response callback
+        if (!canDispatch) {
+            Log.debug(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Deferring personalization request %s until earlier requests for the same"
+                            + " surfaces have completed.",
+                    newEvent.getUniqueIdentifier());
+            return;
+        }
+        dispatchRequestEvent(newEvent);
+    }
+
+    /**
+     * Dispatches the provided personalization request event to the Edge extension and handles the
+     * response callback.
+     *
+     * @param requestEvent the personalization request {@link Event}
+     */
+    private void dispatchRequestEvent(final Event requestEvent) {
         MobileCore.dispatchEventWithResponseCallback(
-                newEvent,
+                requestEvent,
                 MessagingConstants.RESPONSE_CALLBACK_TIMEOUT,
                 new AdobeCallbackWithError<Event>() {
                     @Override
                     public void fail(final AdobeError adobeError) {
                         // response event failed or timed out, need to remove this event from the
                         // queue
-                        String eventId = newEvent.getUniqueIdentifier();
+                        String eventId = requestEvent.getUniqueIdentifier();
                         requestedSurfacesForEventId.remove(eventId);
+                        stagedPropositionsForEventId.remove(eventId);
+                        inProgressPropositionsForEventId.remove(eventId);
+                        synchronized (pendingSurfacesForEventId) {
+                            pendingSurfacesForEventId.remove(eventId);
+                        }
                         CompletionHandler completionHandler =
                                 parent.completionHandlerForEdgeRequestEventId(eventId);
                         if (completionHandler != null) {
                             completionHandler.handle.call(false);
                         }
                         serialWorkDispatcher.resume();
+                        dispatchDeferredRequests();
                         Log.warning(
                                 MessagingConstants.LOG_TAG,
                                 SELF_TAG,
@@ -342,9 +703,11 @@ class EdgePersonalizationResponseHandler {
      */
     void handleProcessCompletedEvent(final Event event) {
         final String endingEventId = InternalMessagingUtils.getEndingEventId(event);
-        final List<Surface> requestedSurfaces = requestedSurfacesForEventId.get(endingEventId);
-        if (StringUtils.isNullOrEmpty(endingEventId)
-                || MessagingUtils.isNullOrEmpty(requestedSurfaces)) {
+        final List<Surface> requestedSurfaces =
+                StringUtils.isNullOrEmpty(endingEventId)
+                        ? null
+                        : requestedSurfacesForEventId.get(endingEventId);
+        if (MessagingUtils.isNullOrEmpty(requestedSurfaces)) {
             // shouldn't ever get here, but if we do, we don't have anything to process so we should
             // bail
             return;
@@ -406,9 +769,21 @@ class EdgePersonalizationResponseHandler {
         if (eventType.equals(MessagingConstants.EventHistoryOperationEventTypes.UNQUALIFY)
                 || eventType.equals(
                         MessagingConstants.EventHistoryOperationEventTypes.DISQUALIFY)) {
+            removeContentCardsForActivity(activityId);
+        }
+    }
+
+    /**
+     * Removes qualified content cards with the provided activity id from the in-memory cache.
+     *
+     * @param activityId {@link String} activity id of the content cards to remove
+     */
+    private void removeContentCardsForActivity(final String activityId) {
+        synchronized (contentCardsLock) {
             // remove the content card from the in-memory cache using the activity id
+            final Map<Surface, List<Proposition>> updatedContentCards = new HashMap<>();
             for (final Map.Entry<Surface, List<Proposition>> contentCardEntry :
-                    contentCardsBySurface.entrySet()) {
+                    propositionStore.current().getContentCards().entrySet()) {
                 final Surface surface = contentCardEntry.getKey();
                 final List<Proposition> propositions = contentCardEntry.getValue();
                 final List<Proposition> updatedPropositions = new ArrayList<>(propositions);
@@ -427,14 +802,19 @@ class EdgePersonalizationResponseHandler {
                                 .removeContentCardSchemaData(proposition.getActivityId());
                     }
                 }
-                contentCardsBySurface.put(surface, updatedPropositions);
+                if (updatedPropositions.size() != propositions.size()) {
+                    updatedContentCards.put(surface, updatedPropositions);
+                }
             }
+            propositionStore.updateContentCards(updatedContentCards, null);
         }
     }
 
     private void dispatchNotificationEventForSurfaces(final List<Surface> requestedSurfaces) {
+        loadDeferredCachedPropositions();
+        final PropositionStore.Generation generation = propositionStore.current();
         final Map<Surface, List<Proposition>> requestedPropositionsMap =
-                retrieveCachedPropositions(requestedSurfaces);
+                retrieveCachedPropositions(generation, requestedSurfaces);
         if (MapUtils.isNullOrEmpty(requestedPropositionsMap)) {
             Log.trace(
                     MessagingConstants.LOG_TAG,
@@ -450,7 +830,7 @@ class EdgePersonalizationResponseHandler {
         for (final Map.Entry<Surface, List<Proposition>> propositionEntry :
                 requestedPropositionsMap.entrySet()) {
             for (final Proposition proposition : propositionEntry.getValue()) {
-                convertedPropositions.add(proposition.toEventData());
+                convertedPropositions.add(generation.getEventData(proposition));
             }
         }
         eventData.put(
@@ -505,20 +885,24 @@ class EdgePersonalizationResponseHandler {
             return;
         }
 
+        // read content cards and propositions from the same store generation
+        loadDeferredCachedPropositions();
+        final PropositionStore.Generation generation = propositionStore.current();
+
         // get a copy of qualified content cards and filter by requested surfaces
         final Map<Surface, List<Proposition>> requestedContentCards =
-                new HashMap<>(contentCardsBySurface);
-        requestedContentCards.keySet().retainAll(requestedSurfaces);
+                new HashMap<>(generation.getContentCards());
+        requestedContentCards.keySet().retainAll(new HashSet<>(requestedSurfaces));
 
         // get a copy of in memory propositions (cbe)
-        Map<Surface, List<Proposition>> requestedPropositions =
-                retrieveCachedPropositions(requestedSurfaces);
+        final Map<Surface, List<Proposition>> requestedPropositions =
+                retrieveCachedPropositions(generation, requestedSurfaces);
 
         // merge their entries
+        final SurfaceMapBuilder<Proposition> requestedPropositionsBuilder =
+                new SurfaceMapBuilder<>(requestedPropositions);
         for (final Map.Entry<Surface, List<Proposition>> entry : requestedContentCards.entrySet()) {
-            requestedPropositions =
-                    MessagingUtils.updatePropositionMapForSurface(
-                            entry.getKey(), entry.getValue(), requestedPropositions);
+            requestedPropositionsBuilder.merge(entry.getKey(), entry.getValue());
         }
 
         // dispatch an event with the cached content card propositions
@@ -527,7 +911,9 @@ class EdgePersonalizationResponseHandler {
         for (final Map.Entry<Surface, List<Proposition>> propositionEntry :
                 requestedPropositions.entrySet()) {
             for (final Proposition proposition : propositionEntry.getValue()) {
-                convertedPropositions.add(proposition.toEventData());
+                // the event data is converted once per stored proposition and cloned by the
+                // event, so every response shares it
+                convertedPropositions.add(generation.getEventData(proposition));
             }
         }
         eventData.put(
@@ -597,21 +983,52 @@ class EdgePersonalizationResponseHandler {
             return;
         }
 
-        // loop through propositions for this event and add them to existing proposition map by
-        // surface
+        // loop through propositions for this event and add them to the propositions streamed so
+        // far for the same request by surface
+        Map<Surface, List<Proposition>> inProgressPropositions =
+                inProgressPropositionsForEventId.get(requestEventId);
+        if (inProgressPropositions == null) {
+            inProgressPropositions = new HashMap<>();
+            inProgressPropositionsForEventId.put(requestEventId, inProgressPropositions);
+        }
+        final SurfaceMapBuilder<Proposition> inProgressPropositionsBuilder =
+                new SurfaceMapBuilder<>(inProgressPropositions);
         for (final Proposition proposition : propositions) {
             final Surface surface = Surface.fromUriString(proposition.getScope());
-            inProgressPropositions =
-                    MessagingUtils.updatePropositionMapForSurface(
-                            surface, proposition, inProgressPropositions);
+            inProgressPropositionsBuilder.add(surface, proposition);
         }
+
+        // parse and stage the rules for this chunk now so the work isn't deferred until the
+        // response stream is closed
+        IncrementalParsedPropositions stagedPropositions =
+                stagedPropositionsForEventId.get(requestEventId);
+        if (stagedPropositions == null) {
+            stagedPropositions =
+                    new IncrementalParsedPropositions(extensionApi, parsedRulesCache);
+            stagedPropositionsForEventId.put(requestEventId, stagedPropositions);
+        }
+        stagedPropositions.stage(propositions);
     }
 
-    private void beginRequestForSurfaces(final Event event, final List<Surface> surfaces) {
+    /**
+     * Registers a personalization request for the provided surfaces. Requests for disjoint
+     * surfaces run concurrently, while a request for a surface that an earlier request is still
+     * pending for is deferred so that responses for the same surface are applied in request order.
+     *
+     * @param event the personalization request {@link Event}
+     * @param surfaces {@code List<Surface>} requested by the event
+     * @return true if the request can be dispatched now, false if it was deferred
+     */
+    private boolean beginRequestForSurfaces(final Event event, final List<Surface> surfaces) {
         requestedSurfacesForEventId.put(event.getUniqueIdentifier(), surfaces);
-
-        // add the Edge request event to update propositions in the events queue.
-        serialWorkDispatcher.offer(event);
+        synchronized (pendingSurfacesForEventId) {
+            pendingSurfacesForEventId.put(event.getUniqueIdentifier(), surfaces);
+            if (!overlapsEarlierRequest(event.getUniqueIdentifier())) {
+                return true;
+            }
+            deferredRequestEvents.add(event);
+            return false;
+        }
     }
 
     private void endRequestForEventId(final String eventId) {
@@ -620,15 +1037,76 @@ class EdgePersonalizationResponseHandler {
 
         // remove event from surfaces dictionary
         requestedSurfacesForEventId.remove(eventId);
+        stagedPropositionsForEventId.remove(eventId);
 
         // clear pending propositions
-        inProgressPropositions.clear();
+        inProgressPropositionsForEventId.remove(eventId);
+        synchronized (pendingSurfacesForEventId) {
+            pendingSurfacesForEventId.remove(eventId);
+        }
 
         // call the handler if we have one
         final CompletionHandler handler = parent.completionHandlerForEdgeRequestEventId(eventId);
         if (handler != null) {
             handler.handle.call(true);
         }
+
+        dispatchDeferredRequests();
+    }
+
+    /** Dispatches the deferred requests which no longer overlap an earlier pending request. */
+    private void dispatchDeferredRequests() {
+        final List<Event> readyRequestEvents = new ArrayList<>();
+        synchronized (pendingSurfacesForEventId) {
+            final Iterator<Event> iterator = deferredRequestEvents.iterator();
+            while (iterator.hasNext()) {
+                final Event requestEvent = iterator.next();
+                if (!overlapsEarlierRequest(requestEvent.getUniqueIdentifier())) {
+                    iterator.remove();
+                    readyRequestEvents.add(requestEvent);
+                }
+            }
+        }
+        for (final Event requestEvent : readyRequestEvents) {
+            dispatchRequestEvent(requestEvent);
+        }
+    }
+
+    // must be called while holding pendingSurfacesForEventId
+    private boolean overlapsEarlierRequest(final String eventId) {
+        final List<Surface> surfaces = pendingSurfacesForEventId.get(eventId);
+        for (final Map.Entry<String, List<Surface>> entry : pendingSurfacesForEventId.entrySet()) {
+            if (entry.getKey().equals(eventId)) {
+                return false;
+            }
+            if (surfaces == null
+                    || entry.getValue() == null
+                    || !Collections.disjoint(entry.getValue(), surfaces)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a personalization request for any of the provided surfaces has not yet
+     * completed, in which case cached propositions for the surfaces should not be read yet.
+     *
+     * @param surfaces {@code List<Surface>} to be checked, null or empty to check for any request
+     * @return true if a request for any of the provided surfaces is pending
+     */
+    boolean hasPendingRequestForSurfaces(final List<Surface> surfaces) {
+        synchronized (pendingSurfacesForEventId) {
+            if (MessagingUtils.isNullOrEmpty(surfaces)) {
+                return !pendingSurfacesForEventId.isEmpty();
+            }
+            for (final List<Surface> pendingSurfaces : pendingSurfacesForEventId.values()) {
+                if (pendingSurfaces == null || !Collections.disjoint(pendingSurfaces, surfaces)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
     private void applyPropositionChangeForEventId(final String eventId) {
@@ -637,9 +1115,27 @@ class EdgePersonalizationResponseHandler {
         if (MessagingUtils.isNullOrEmpty(requestedSurfaces)) {
             return;
         }
-
+        final Map<Surface, List<Proposition>> streamedPropositions =
+                inProgressPropositionsForEventId.get(eventId);
+        final Map<Surface, List<Proposition>> inProgressPropositions =
+                streamedPropositions != null
+                        ? streamedPropositions
+                        : new HashMap<Surface, List<Proposition>>();
+
+        // commit the rules staged while the response was streamed, falling back to a full parse
+        // if nothing was staged for this event
+        final IncrementalParsedPropositions stagedPropositions =
+                stagedPropositionsForEventId.get(eventId);
         final ParsedPropositions parsedPropositions =
-                new ParsedPropositions(inProgressPropositions, requestedSurfaces, extensionApi);
+                stagedPropositions != null
+                        ? stagedPropositions.build(requestedSurfaces)
+                        : new ParsedPropositions(
+                                inProgressPropositions,
+                                requestedSurfaces,
+                                extensionApi,
+                                parsedRulesCache,
+                                ParsedPropositions.getParsingExecutor(
+                                        inProgressPropositions.size()));
 
         // we need to preserve cache for any surfaces that were not a part of this request
         // any requested surface that is absent from the response needs to be removed from cache and
@@ -648,14 +1144,20 @@ class EdgePersonalizationResponseHandler {
         final List<Surface> surfacesToRemove = new ArrayList<>(requestedSurfaces);
         surfacesToRemove.removeAll(returnedSurfaces);
 
+        // the cached rules still being loaded are outdated by this response, see
+        // loadCachedInAppRules
+        synchronized (inAppRulesLock) {
+            responsePropositionsApplied = true;
+        }
+
         // update persistence, reporting data cache, and finally rules engine for in-app messages
         // order matters here because the rules engine must be a full replace, and when we update
         // persistence we will be removing empty surfaces and making sure unrequested surfaces
         // continue to have their rules active
         updatePropositions(parsedPropositions.propositionsToCache, surfacesToRemove);
         updatePropositionInfo(parsedPropositions.propositionInfoToCache, surfacesToRemove);
-        messagingCacheUtilities.cachePropositions(
-                parsedPropositions.propositionsToPersist, surfacesToRemove);
+        // the cache is written off the event hub thread, coalesced with any following update
+        propositionPersister.persist(parsedPropositions.propositionsToPersist, surfacesToRemove);
 
         // apply rules
         updateRulesEngines(parsedPropositions.surfaceRulesBySchemaType, requestedSurfaces);
@@ -664,41 +1166,71 @@ class EdgePersonalizationResponseHandler {
     private void updateRulesEngines(
             @NonNull final Map<SchemaType, Map<Surface, List<LaunchRule>>> surfaceRulesBySchemaType,
             @NonNull final List<Surface> requestedSurfaces) {
-        // process rules from response
-        processRulesForSchemaType(
-                SchemaType.INAPP, surfaceRulesBySchemaType, requestedSurfaces, inAppRulesBySurface);
-        processRulesForSchemaType(
-                SchemaType.CONTENT_CARD,
-                surfaceRulesBySchemaType,
-                requestedSurfaces,
-                contentCardRulesBySurface);
-        processRulesForSchemaType(
-                SchemaType.EVENT_HISTORY_OPERATION,
-                surfaceRulesBySchemaType,
-                requestedSurfaces,
-                eventHistoryRulesBySurface);
+        // process rules from response and publish them in a single store generation
+        final PropositionStore.Generation currentGeneration = propositionStore.current();
+        final Map<SchemaType, Map<Surface, List<LaunchRule>>> updatedRulesBySchemaType =
+                new HashMap<>();
+        for (final SchemaType schemaType :
+                new SchemaType[] {
+                    SchemaType.INAPP, SchemaType.CONTENT_CARD, SchemaType.EVENT_HISTORY_OPERATION
+                }) {
+            updatedRulesBySchemaType.put(
+                    schemaType,
+                    processRulesForSchemaType(
+                            schemaType,
+                            surfaceRulesBySchemaType,
+                            requestedSurfaces,
+                            currentGeneration.getRules(schemaType)));
+        }
+        final PropositionStore.Generation rulesGeneration =
+                propositionStore.replaceRules(updatedRulesBySchemaType);
+        final Map<Surface, List<LaunchRule>> inAppRulesBySurface =
+                rulesGeneration.getRules(SchemaType.INAPP);
+        final Map<Surface, List<LaunchRule>> contentCardRulesBySurface =
+                rulesGeneration.getRules(SchemaType.CONTENT_CARD);
+        final Map<Surface, List<LaunchRule>> eventHistoryRulesBySurface =
+                rulesGeneration.getRules(SchemaType.EVENT_HISTORY_OPERATION);
 
         // Always sync the content card rules engine and refresh the qualified cache.
         // processRulesForSchemaType clears contentCardRulesBySurface for requested surfaces
         // when CONTENT_CARD is absent from the response (e.g. all campaigns removed
-        // server-side); we must still replaceRules and call removeOrReplaceContentCards in
-        // that case — not only when the key is present.
-        final List<LaunchRule> collectedContentCardRules =
-                collectRulesFrom(contentCardRulesBySurface);
-        contentCardRulesEngine.replaceRules(collectedContentCardRules);
+        // server-side); the removed rules must be unloaded and removeOrReplaceContentCards
+        // called in that case — not only when the key is present.
+        // The rules are replaced under contentCardsLock so the qualification worker cannot apply
+        // cards it evaluated against the previous rules after the stale cards are evicted.
+        boolean rulesUpdated = false;
+        synchronized (contentCardsLock) {
+            final RulesDelta contentCardRulesDelta =
+                    appliedContentCardRules != null
+                            ? RulesDelta.compute(
+                                    appliedContentCardRules, contentCardRulesBySurface)
+                            : null;
+            if (applyRulesDelta(
+                    contentCardRulesEngine,
+                    contentCardRulesDelta,
+                    collectRulesFrom(contentCardRulesBySurface))) {
+                // store generations are immutable, so the published rules can be kept as applied
+                appliedContentCardRules = contentCardRulesBySurface;
+                rulesUpdated = true;
+            }
 
-        final Event contentCardSeedEvent =
-                new Event.Builder(
-                                "Seed content cards",
-                                EventType.MESSAGING,
-                                EventSource.REQUEST_CONTENT)
-                        .build();
-        removeOrReplaceContentCards(contentCardSeedEvent, requestedSurfaces);
+            final Event contentCardSeedEvent =
+                    new Event.Builder(
+                                    "Seed content cards",
+                                    EventType.MESSAGING,
+                                    EventSource.REQUEST_CONTENT)
+                            .build();
+            removeOrReplaceContentCards(contentCardSeedEvent, requestedSurfaces);
+        }
 
         // Always sync the in-app + event history rules engine, for the same reason as
         // content cards above: processRulesForSchemaType already cleared stale entries from
         // inAppRulesBySurface / eventHistoryRulesBySurface, and the engine must reflect that.
-        final List<LaunchRule> collectedInAppRules = collectRulesFrom(inAppRulesBySurface);
+        // in-app rules are loaded ranked, so the first in-app consequence dispatched for an event
+        // is the message to show, see InAppMessageArbiter
+        final List<LaunchRule> collectedInAppRules =
+                InAppMessageArbiter.rank(
+                        collectRulesFrom(inAppRulesBySurface), this::getPropositionInfo);
 
         // Pre-fetch assets only when the response actually contained new in-app rules
         if (surfaceRulesBySchemaType.get(SchemaType.INAPP) != null) {
@@ -709,17 +1241,103 @@ class EdgePersonalizationResponseHandler {
             cacheImageAssetsFromPayload(collectedInAppConsequences);
         }
 
-        final List<LaunchRule> collectedInAppAndEventHistoryRules =
-                new ArrayList<>(collectedInAppRules);
-        collectedInAppAndEventHistoryRules.addAll(collectRulesFrom(eventHistoryRulesBySurface));
-        launchRulesEngine.replaceRules(collectedInAppAndEventHistoryRules);
+        synchronized (inAppRulesLock) {
+            RulesDelta inAppAndEventHistoryRulesDelta =
+                    appliedInAppRules != null && appliedEventHistoryRules != null
+                            ? RulesDelta.compute(appliedInAppRules, inAppRulesBySurface)
+                                    .plus(
+                                            RulesDelta.compute(
+                                                    appliedEventHistoryRules,
+                                                    eventHistoryRulesBySurface))
+                            : null;
+            final List<LaunchRule> collectedInAppAndEventHistoryRules =
+                    new ArrayList<>(collectedInAppRules);
+            collectedInAppAndEventHistoryRules.addAll(collectRulesFrom(eventHistoryRulesBySurface));
+            if (inAppAndEventHistoryRulesDelta != null
+                    && inAppAndEventHistoryRulesDelta.isAdditive()
+                    && !isLoadedInOrder(
+                            inAppAndEventHistoryRulesDelta, collectedInAppAndEventHistoryRules)) {
+                // appending the added rules would break the ranking, replace all rules instead
+                inAppAndEventHistoryRulesDelta = null;
+            }
+            if (applyRulesDelta(
+                    launchRulesEngine,
+                    inAppAndEventHistoryRulesDelta,
+                    collectedInAppAndEventHistoryRules)) {
+                appliedInAppRules = inAppRulesBySurface;
+                loadedInAppRules = collectedInAppAndEventHistoryRules;
+                appliedEventHistoryRules = eventHistoryRulesBySurface;
+                loadedInAppRuleCount = collectedInAppAndEventHistoryRules.size();
+                rulesUpdated = true;
+            }
+
+            if (rulesUpdated) {
+                final List<List<LaunchRule>> loadedRules = new ArrayList<>();
+                loadedRules.addAll(inAppRulesBySurface.values());
+                loadedRules.addAll(contentCardRulesBySurface.values());
+                loadedRules.addAll(eventHistoryRulesBySurface.values());
+                eventPrefilterIndex.rebuild(loadedRules);
+            }
+        }
     }
 
-    private void processRulesForSchemaType(
+    /**
+     * Updates the provided rules engine with only the changes described by the provided {@link
+     * RulesDelta}. Added rules are appended to the rules engine if no rules were removed or
+     * reordered, otherwise all rules in the rules engine are replaced.
+     *
+     * @param rulesEngine the {@link LaunchRulesEngine} to be updated
+     * @param rulesDelta the {@link RulesDelta} for the rules engine, or null if the rules currently
+     *     loaded in the rules engine are unknown
+     * @param rules {@code List<LaunchRule>} containing all rules which should be loaded
+     * @return true if the rules engine was updated
+     */
+    private boolean applyRulesDelta(
+            final LaunchRulesEngine rulesEngine,
+            final RulesDelta rulesDelta,
+            final List<LaunchRule> rules) {
+        if (rulesDelta == null) {
+            rulesEngine.replaceRules(rules);
+            return true;
+        }
+
+        if (rulesDelta.isEmpty()) {
+            Log.trace(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Rules are unchanged (%d rule(s)), skipping the rules engine update.",
+                    rulesDelta.getUnchangedCount());
+            return false;
+        }
+
+        if (rulesDelta.isAdditive()) {
+            Log.trace(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Adding %d rule(s) to the rules engine, %d rule(s) unchanged.",
+                    rulesDelta.getAddedRules().size(),
+                    rulesDelta.getUnchangedCount());
+            rulesEngine.addRules(rulesDelta.getAddedRules());
+        } else {
+            Log.trace(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Replacing rules in the rules engine, %d rule(s) added, %d rule(s) removed and"
+                            + " %d rule(s) unchanged.",
+                    rulesDelta.getAddedRules().size(),
+                    rulesDelta.getRemovedRules().size(),
+                    rulesDelta.getUnchangedCount());
+            rulesEngine.replaceRules(rules);
+        }
+        return true;
+    }
+
+    private Map<Surface, List<LaunchRule>> processRulesForSchemaType(
             final SchemaType schemaType,
             final Map<SchemaType, Map<Surface, List<LaunchRule>>> surfaceRulesBySchemaType,
             final List<Surface> requestedSurfaces,
-            final Map<Surface, List<LaunchRule>> rulesBySurface) {
+            final Map<Surface, List<LaunchRule>> currentRules) {
+        final Map<Surface, List<LaunchRule>> rulesBySurface = new HashMap<>(currentRules);
         final Map<Surface, List<LaunchRule>> newRules = surfaceRulesBySchemaType.get(schemaType);
         if (newRules != null) {
             final Set<Surface> newSurfaces = newRules.keySet();
@@ -734,9 +1352,10 @@ class EdgePersonalizationResponseHandler {
             rulesBySurface.putAll(newRules);
 
             // remove any surfaces that were requested but had no content returned
-            final List<Surface> surfacesToRemove = new ArrayList<>(requestedSurfaces);
-            surfacesToRemove.removeAll(newSurfaces);
-            for (final Surface surface : surfacesToRemove) {
+            for (final Surface surface : requestedSurfaces) {
+                if (newSurfaces.contains(surface)) {
+                    continue;
+                }
                 Log.trace(
                         MessagingConstants.LOG_TAG,
                         SELF_TAG,
@@ -758,6 +1377,21 @@ class EdgePersonalizationResponseHandler {
                 rulesBySurface.remove(surface);
             }
         }
+        return rulesBySurface;
+    }
+
+    /**
+     * Determines if appending the rules added by the provided {@link RulesDelta} to the rules
+     * loaded in the in-app rules engine results in the provided rules, in the same order.
+     *
+     * @param rulesDelta an additive {@link RulesDelta} for the in-app rules engine
+     * @param rules {@code List<LaunchRule>} containing all rules which should be loaded, in order
+     * @return true if the rules would be loaded in the provided order
+     */
+    private boolean isLoadedInOrder(final RulesDelta rulesDelta, final List<LaunchRule> rules) {
+        final List<LaunchRule> appendedRules = new ArrayList<>(loadedInAppRules);
+        appendedRules.addAll(rulesDelta.getAddedRules());
+        return appendedRules.equals(rules);
     }
 
     private List<LaunchRule> collectRulesFrom(final Map<Surface, List<LaunchRule>> rulesBySurface) {
@@ -788,18 +1422,153 @@ class EdgePersonalizationResponseHandler {
      *
      * @param event the rules engine {@link Event} that may result in content card qualification.
      */
-    @SuppressWarnings("NestedIfDepth")
     void addOrReplaceContentCards(final Event event) {
-        final Map<Surface, List<Proposition>> qualifiedContentCardsBySurface =
-                getPropositionsFromContentCardRulesEngine(event);
+        addOrReplaceContentCardsForEvents(Collections.singletonList(event));
+    }
+
+    /**
+     * Incrementally updates the content card cache for surfaces qualified by any of the provided
+     * events, publishing a single update for the batch.
+     *
+     * <p>Each event is evaluated by the content card rules engine in order. A proposition qualified
+     * by more than one event is added once and only triggers a single {@code TRIGGER} event.
+     *
+     * <p>The events are evaluated and the results applied while holding the lock which guards
+     * content card rule replacement, so cards are never qualified against rules that have since
+     * been replaced.
+     *
+     * <p>Surfaces for which the same cards qualified as in the previous call, and whose cached
+     * cards have not been changed since, are skipped entirely.
+     *
+     * @param events {@code List<Event>} that may result in content card qualification
+     * @see #addOrReplaceContentCards(Event)
+     */
+    void addOrReplaceContentCardsForEvents(final List<Event> events) {
+        synchronized (contentCardsLock) {
+            final List<Map<Surface, List<PropositionItem>>> qualifiedItemsByEvent =
+                    new ArrayList<>();
+            final Map<Surface, ContentCardFingerprint.Builder> fingerprintBuilders =
+                    new HashMap<>();
+            for (final Event event : events) {
+                final Map<Surface, List<PropositionItem>> qualifiedItems =
+                        contentCardRulesEngine.evaluate(event);
+                if (MapUtils.isNullOrEmpty(qualifiedItems)) {
+                    continue;
+                }
+
+                qualifiedItemsByEvent.add(qualifiedItems);
+                for (final Map.Entry<Surface, List<PropositionItem>> entry :
+                        qualifiedItems.entrySet()) {
+                    ContentCardFingerprint.Builder fingerprintBuilder =
+                            fingerprintBuilders.get(entry.getKey());
+                    if (fingerprintBuilder == null) {
+                        fingerprintBuilder = new ContentCardFingerprint.Builder();
+                        fingerprintBuilders.put(entry.getKey(), fingerprintBuilder);
+                    }
+                    fingerprintBuilder.add(entry.getValue());
+                }
+            }
+            if (qualifiedItemsByEvent.isEmpty()) {
+                return;
+            }
+
+            final Map<Surface, List<Proposition>> existingContentCards =
+                    propositionStore.current().getContentCards();
+            final Map<Surface, ContentCardFingerprint> changedFingerprints = new HashMap<>();
+            for (final Map.Entry<Surface, ContentCardFingerprint.Builder> entry :
+                    fingerprintBuilders.entrySet()) {
+                final Surface surface = entry.getKey();
+                final ContentCardFingerprint fingerprint = entry.getValue().build();
+                final List<Proposition> cachedContentCards = existingContentCards.get(surface);
+                if (cachedContentCards == null
+                        || cachedContentCards != fingerprintedContentCards.get(surface)
+                        || !fingerprint.equals(contentCardFingerprints.get(surface))) {
+                    changedFingerprints.put(surface, fingerprint);
+                }
+            }
+            if (changedFingerprints.isEmpty()) {
+                Log.trace(
+                        MessagingConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Qualified content cards are unchanged, skipping the content card update.");
+                return;
+            }
+
+            final Map<Surface, List<Proposition>> qualifiedContentCardsBySurface =
+                    new LinkedHashMap<>();
+            for (final Map<Surface, List<PropositionItem>> qualifiedItems :
+                    qualifiedItemsByEvent) {
+                final Map<Surface, List<PropositionItem>> changedItems = new HashMap<>();
+                for (final Map.Entry<Surface, List<PropositionItem>> entry :
+                        qualifiedItems.entrySet()) {
+                    if (changedFingerprints.containsKey(entry.getKey())) {
+                        changedItems.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                for (final Map.Entry<Surface, List<Proposition>> entry :
+                        createContentCardPropositions(changedItems).entrySet()) {
+                    List<Proposition> qualifiedPropositions =
+                            qualifiedContentCardsBySurface.get(entry.getKey());
+                    if (qualifiedPropositions == null) {
+                        qualifiedPropositions = new ArrayList<>();
+                        qualifiedContentCardsBySurface.put(entry.getKey(), qualifiedPropositions);
+                    }
+                    qualifiedPropositions.addAll(entry.getValue());
+                }
+            }
+            if (qualifiedContentCardsBySurface.isEmpty()) {
+                return;
+            }
+
+            final Map<Surface, List<Proposition>> updatedContentCards =
+                    addQualifiedContentCards(qualifiedContentCardsBySurface).getContentCards();
+            for (final Surface surface : qualifiedContentCardsBySurface.keySet()) {
+                contentCardFingerprints.put(surface, changedFingerprints.get(surface));
+                fingerprintedContentCards.put(surface, updatedContentCards.get(surface));
+            }
+        }
+    }
+
+    /**
+     * Queues the provided {@link Event} for content card qualification on the {@link
+     * ContentCardQualificationWorker}, which qualifies bursts of events together.
+     *
+     * @param event the rules engine {@link Event} that may result in content card qualification
+     */
+    void qualifyContentCards(final Event event) {
+        contentCardQualificationWorker.submit(event);
+    }
+
+    /**
+     * Sets the time events are collected for before content cards are qualified for them.
+     *
+     * @param windowMillis the coalescing window in milliseconds
+     */
+    void setContentCardQualificationWindow(final long windowMillis) {
+        contentCardQualificationWorker.setCoalescingWindowMillis(windowMillis);
+    }
+
+    /** Writes any pending update of the propositions cache on the calling thread. */
+    @VisibleForTesting
+    void flushPendingPropositionUpdates() {
+        propositionPersister.flush();
+    }
+
+    @SuppressWarnings("NestedIfDepth")
+    private PropositionStore.Generation addQualifiedContentCards(
+            final Map<Surface, List<Proposition>> qualifiedContentCardsBySurface) {
+        final Map<Surface, List<Proposition>> existingContentCards =
+                propositionStore.current().getContentCards();
+        final Map<Surface, List<Proposition>> updatedContentCards = new HashMap<>();
         for (final Map.Entry<Surface, List<Proposition>> entry :
                 qualifiedContentCardsBySurface.entrySet()) {
             final List<Proposition> propositions = entry.getValue();
             final Surface surface = entry.getKey();
-            List<Proposition> existingPropositionsArray = contentCardsBySurface.get(surface);
-            if (existingPropositionsArray == null) {
-                existingPropositionsArray = new ArrayList<>();
-            }
+            final List<Proposition> existingPropositions = existingContentCards.get(surface);
+            final List<Proposition> existingPropositionsArray =
+                    existingPropositions != null
+                            ? new ArrayList<>(existingPropositions)
+                            : new ArrayList<Proposition>();
 
             int startingCount = existingPropositionsArray.size();
             // Track proposition items that are new so we can fire TRIGGER events for them
@@ -820,10 +1589,11 @@ class EdgePersonalizationResponseHandler {
                 storeContentCardInMapper(proposition);
             }
 
-            contentCardsBySurface.put(surface, existingPropositionsArray);
+            updatedContentCards.put(surface, existingPropositionsArray);
             sendTriggersForNewPropositions(newPropositionItems);
             logContentCardCountChange(surface, startingCount, existingPropositionsArray.size());
         }
+        return propositionStore.updateContentCards(updatedContentCards, null);
     }
 
     /**
@@ -848,15 +1618,29 @@ class EdgePersonalizationResponseHandler {
      *     the response.
      */
     void removeOrReplaceContentCards(final Event event, final List<Surface> requestedSurfaces) {
-        final Map<Surface, List<Proposition>> qualifiedContentCardsBySurface =
-                getPropositionsFromContentCardRulesEngine(event);
+        synchronized (contentCardsLock) {
+            // only the rules for the requested surfaces can have changed with this response
+            final Map<Surface, List<Proposition>> qualifiedContentCardsBySurface =
+                    getPropositionsFromContentCardRulesEngine(event, requestedSurfaces);
+            replaceQualifiedContentCards(qualifiedContentCardsBySurface, requestedSurfaces);
+        }
+    }
+
+    private void replaceQualifiedContentCards(
+            final Map<Surface, List<Proposition>> qualifiedContentCardsBySurface,
+            final List<Surface> requestedSurfaces) {
+        final Map<Surface, List<Proposition>> existingContentCards =
+                propositionStore.current().getContentCards();
+        final Map<Surface, List<Proposition>> updatedContentCards = new HashMap<>();
+        final List<Surface> evictedSurfaces = new ArrayList<>();
 
         // Clear any requested surface that returned no qualified propositions in this response.
         // This ensures cards removed server-side are also evicted from the local cache.
         for (final Surface surface : requestedSurfaces) {
             if (!qualifiedContentCardsBySurface.containsKey(surface)) {
-                final List<Proposition> evictedPropositions = contentCardsBySurface.remove(surface);
+                final List<Proposition> evictedPropositions = existingContentCards.get(surface);
                 if (evictedPropositions != null) {
+                    evictedSurfaces.add(surface);
                     for (final Proposition proposition : evictedPropositions) {
                         ContentCardMapper.getInstance()
                                 .removeContentCardSchemaData(proposition.getActivityId());
@@ -870,7 +1654,7 @@ class EdgePersonalizationResponseHandler {
                 qualifiedContentCardsBySurface.entrySet()) {
             final List<Proposition> propositions = entry.getValue();
             final Surface surface = entry.getKey();
-            List<Proposition> existingPropositionsArray = contentCardsBySurface.get(surface);
+            List<Proposition> existingPropositionsArray = existingContentCards.get(surface);
             if (existingPropositionsArray == null) {
                 existingPropositionsArray = new ArrayList<>();
             }
@@ -901,10 +1685,11 @@ class EdgePersonalizationResponseHandler {
                 }
             }
 
-            contentCardsBySurface.put(surface, newPropositionsArray);
+            updatedContentCards.put(surface, newPropositionsArray);
             sendTriggersForNewPropositions(newPropositionItems);
             logContentCardCountChange(surface, startingCount, newPropositionsArray.size());
         }
+        propositionStore.updateContentCards(updatedContentCards, evictedSurfaces);
     }
 
     /**
@@ -1002,37 +1787,39 @@ class EdgePersonalizationResponseHandler {
     private void updatePropositionInfo(
             final Map<String, PropositionInfo> newPropositionInfo,
             final List<Surface> surfacesToRemove) {
-        propositionInfo.putAll(newPropositionInfo);
-
         // currently, we can't remove entries that pre-exist by message id since they are not linked
         // to surfaces
         // need to get surface uri from propositionInfo.scope and remove entry based on incoming
         // surfaces
-        if (MessagingUtils.isNullOrEmpty(surfacesToRemove)) {
-            return;
-        }
+        final Set<String> urisToRemove =
+                MessagingUtils.isNullOrEmpty(surfacesToRemove)
+                        ? null
+                        : SurfaceRegistry.getUris(surfacesToRemove);
+        propositionStore.updatePropositionInfo(newPropositionInfo, urisToRemove);
+    }
 
-        final Map<String, PropositionInfo> tempPropositionInfoMap = new HashMap<>(propositionInfo);
-        for (final Map.Entry<String, PropositionInfo> entry : tempPropositionInfoMap.entrySet()) {
-            if (surfacesToRemove.contains(Surface.fromUriString(entry.getValue().scope))) {
-                propositionInfo.remove(entry.getKey());
-            }
-        }
+    /**
+     * Evaluates the content card rules for the provided surfaces and returns the qualified content
+     * cards by surface.
+     */
+    private Map<Surface, List<Proposition>> getPropositionsFromContentCardRulesEngine(
+            final Event event, final List<Surface> surfaces) {
+        return createContentCardPropositions(contentCardRulesEngine.evaluate(event, surfaces));
     }
 
     @SuppressWarnings("NestedForDepth")
-    private Map<Surface, List<Proposition>> getPropositionsFromContentCardRulesEngine(
-            final Event event) {
-        Map<Surface, List<Proposition>> surfacePropositions = new HashMap<>();
-        final Map<Surface, List<PropositionItem>> propositionItemsBySurface =
-                contentCardRulesEngine.evaluate(event);
+    private Map<Surface, List<Proposition>> createContentCardPropositions(
+            final Map<Surface, List<PropositionItem>> propositionItemsBySurface) {
+        final SurfaceMapBuilder<Proposition> surfacePropositions = new SurfaceMapBuilder<>();
+        final Map<String, PropositionInfo> currentPropositionInfo =
+                propositionStore.current().getPropositionInfo();
         if (!MapUtils.isNullOrEmpty(propositionItemsBySurface)) {
             for (final Map.Entry<Surface, List<PropositionItem>> entry :
                     propositionItemsBySurface.entrySet()) {
                 final List<Proposition> tempPropositions = new ArrayList<>();
                 for (final PropositionItem propositionItem : entry.getValue()) {
                     final PropositionInfo propositionInfo =
-                            this.propositionInfo.get(propositionItem.getItemId());
+                            currentPropositionInfo.get(propositionItem.getItemId());
                     if (propositionInfo == null) {
                         continue;
                     }
@@ -1074,40 +1861,34 @@ class EdgePersonalizationResponseHandler {
                     }
                 }
 
-                surfacePropositions =
-                        MessagingUtils.updatePropositionMapForSurface(
-                                entry.getKey(), tempPropositions, surfacePropositions);
+                surfacePropositions.merge(entry.getKey(), tempPropositions);
             }
         }
-        return surfacePropositions;
+        return surfacePropositions.build();
     }
 
     private void updatePropositions(
             final Map<Surface, List<Proposition>> newPropositions,
             final List<Surface> surfacesToRemove) {
-        // add new surfaces or replace existing surfaces
-        Map<Surface, List<Proposition>> tempPropositionsMap = new HashMap<>(inMemoryPropositions);
-        tempPropositionsMap.putAll(newPropositions);
-
-        // remove any surfaces if necessary
-        for (final Surface surface : surfacesToRemove) {
-            tempPropositionsMap.remove(surface);
-        }
-
-        inMemoryPropositions = tempPropositionsMap;
+        // add new surfaces or replace existing surfaces, then remove any surfaces if necessary
+        loadDeferredCachedPropositions();
+        propositionStore.updatePropositions(newPropositions, surfacesToRemove);
     }
 
     /**
-     * Returns propositions by surface from `propositions` matching the provided `surfaces`
+     * Returns propositions by surface from the provided store generation matching the provided
+     * `surfaces`
      *
+     * @param generation the {@link PropositionStore.Generation} to read propositions from
      * @param surfaces A {@link List<Surface>} of surfaces to retrieve feeds for
      * @return {@link Map<Surface, List< Proposition >>} containing previously fetched propositions
      */
     private Map<Surface, List<Proposition>> retrieveCachedPropositions(
-            final List<Surface> surfaces) {
+            final PropositionStore.Generation generation, final List<Surface> surfaces) {
         Map<Surface, List<Proposition>> propositionMap = new HashMap<>();
         for (final Surface surface : surfaces) {
-            final List<Proposition> propositionsList = inMemoryPropositions.get(surface);
+            final List<Proposition> propositionsList =
+                    generation.getPropositions().get(surface);
             if (!MessagingUtils.isNullOrEmpty(propositionsList)) {
                 propositionMap.put(surface, new ArrayList<>(propositionsList));
             }
@@ -1119,10 +1900,11 @@ class EdgePersonalizationResponseHandler {
      * Creates an in-app message object then attempts to display it.
      *
      * @param propositionItem A {@link PropositionItem} containing an in-app message item data.
+     * @return true if the in-app message was created and shown
      */
-    void createInAppMessage(final PropositionItem propositionItem) {
+    boolean createInAppMessage(final PropositionItem propositionItem) {
         if (propositionItem == null) {
-            return;
+            return false;
         }
         try {
             final PresentableMessageMapper.InternalMessage message =
@@ -1132,22 +1914,36 @@ class EdgePersonalizationResponseHandler {
                                             parent,
                                             propositionItem,
                                             messagingCacheUtilities.getAssetsMap(),
-                                            propositionInfo.get(propositionItem.getItemId()));
+                                            propositionStore
+                                                    .current()
+                                                    .getPropositionInfo()
+                                                    .get(propositionItem.getItemId()));
             message.trigger();
             message.show();
+            return true;
         } catch (final MessageRequiredFieldMissingException | IllegalStateException exception) {
             Log.warning(
                     MessagingConstants.LOG_TAG,
                     SELF_TAG,
                     "Unable to create an in-app message, an exception occurred during creation: %s",
                     exception.getLocalizedMessage());
+            return false;
         }
     }
 
+    /**
+     * @param itemId {@link String} id of a proposition item
+     * @return the {@link PropositionInfo} of the cached proposition containing the item, or null
+     */
+    PropositionInfo getPropositionInfo(final String itemId) {
+        return propositionStore.current().getPropositionInfo().get(itemId);
+    }
+
     void setSerialWorkDispatcher(final SerialWorkDispatcher<Event> serialWorkDispatcher) {
         this.serialWorkDispatcher = serialWorkDispatcher;
     }
 
+    @VisibleForTesting
     Map<String, List<Surface>> getRequestedSurfacesForEventId() {
         return requestedSurfacesForEventId;
     }
@@ -1208,16 +2004,58 @@ class EdgePersonalizationResponseHandler {
 
     @VisibleForTesting
     Map<Surface, List<Proposition>> getInProgressPropositions() {
-        return inProgressPropositions;
+        final SurfaceMapBuilder<Proposition> builder = new SurfaceMapBuilder<>();
+        for (final Map<Surface, List<Proposition>> inProgressPropositions :
+                inProgressPropositionsForEventId.values()) {
+            for (final Map.Entry<Surface, List<Proposition>> entry :
+                    inProgressPropositions.entrySet()) {
+                for (final Proposition proposition : entry.getValue()) {
+                    builder.add(entry.getKey(), proposition);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    @VisibleForTesting
+    ParsedRulesCache getParsedRulesCache() {
+        return parsedRulesCache;
+    }
+
+    @VisibleForTesting
+    Map<String, IncrementalParsedPropositions> getStagedPropositionsForEventId() {
+        return stagedPropositionsForEventId;
+    }
+
+    /**
+     * @return the {@link PropositionStore} holding the current propositions, content cards,
+     *     proposition info and rules
+     */
+    PropositionStore getPropositionStore() {
+        return propositionStore;
+    }
+
+    /**
+     * @return the {@link EventPrefilterIndex} for the rules loaded in the rules engines
+     */
+    EventPrefilterIndex getEventPrefilterIndex() {
+        return eventPrefilterIndex;
+    }
+
+    /**
+     * @return the number of in-app and event history rules loaded in the in-app rules engine
+     */
+    int getLoadedInAppRuleCount() {
+        return loadedInAppRuleCount;
     }
 
     @VisibleForTesting
     void setQualifiedContentCardsBySurface(final Map<Surface, List<Proposition>> contentCards) {
-        contentCardsBySurface = contentCards;
+        propositionStore.replaceContentCards(contentCards);
     }
 
     @VisibleForTesting
     Map<Surface, List<Proposition>> getQualifiedContentCardsBySurface() {
-        return contentCardsBySurface;
+        return propositionStore.current().getContentCards();
     }
 }
@@ -0,0 +1,371 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.AdobeError;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventHistoryRequest;
+import com.adobe.marketing.mobile.EventHistoryResult;
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps in-memory counts of the proposition interactions recorded in event history by {@link
+ * PropositionHistory}, keyed by the values of the event history mask (event type, activity id and
+ * tracking action).
+ *
+ * <p>Keys referenced by the historical conditions of loaded rules are registered with the cache,
+ * which seeds each of them once from the event history database. From then on the counts are
+ * updated as interactions are recorded, so frequency caps can be checked without querying the
+ * database. A count is only reported once it is known to include every recorded interaction; until
+ * then {@link #getCount(Key)} returns null and callers fall back to querying event history.
+ */
+class EventHistoryCounterCache {
+    private static final String SELF_TAG = "EventHistoryCounterCache";
+    private static final Set<String> HISTORY_MASK =
+            new HashSet<>(
+                    Arrays.asList(
+                            MessagingConstants.EventMask.Mask.EVENT_TYPE,
+                            MessagingConstants.EventMask.Mask.ACTIVITY_ID,
+                            MessagingConstants.EventMask.Mask.TRACKING_ACTION));
+
+    private final Object lock = new Object();
+    private final Map<Key, Counter> counters = new HashMap<>();
+    private ExtensionApi extensionApi;
+
+    private static class EventHistoryCounterCacheSingleton {
+        private static final EventHistoryCounterCache INSTANCE = new EventHistoryCounterCache();
+    }
+
+    /**
+     * Singleton method to get the instance of EventHistoryCounterCache
+     *
+     * @return the {@link EventHistoryCounterCache} singleton
+     */
+    static EventHistoryCounterCache getInstance() {
+        return EventHistoryCounterCacheSingleton.INSTANCE;
+    }
+
+    @VisibleForTesting
+    EventHistoryCounterCache() {}
+
+    /**
+     * Sets the {@link ExtensionApi} used to seed counts from event history and seeds any keys
+     * registered before it was available.
+     *
+     * @param extensionApi {@link ExtensionApi} of the Messaging extension
+     */
+    void setExtensionApi(final ExtensionApi extensionApi) {
+        synchronized (lock) {
+            this.extensionApi = extensionApi;
+        }
+        seed(null);
+    }
+
+    /**
+     * Registers keys referenced by the historical conditions of loaded rules, seeding the ones
+     * without a count from event history.
+     *
+     * @param keys {@code Collection<Key>} referenced by loaded rules
+     */
+    void register(final Collection<Key> keys) {
+        if (MessagingUtils.isNullOrEmpty(keys)) {
+            return;
+        }
+        synchronized (lock) {
+            for (final Key key : keys) {
+                counterFor(key).registered = true;
+            }
+        }
+        seed(keys);
+    }
+
+    /**
+     * @param key {@link Key} of the recorded interaction
+     * @return the number of interactions recorded for the key, or null if the count is not known
+     */
+    Long getCount(final Key key) {
+        synchronized (lock) {
+            final Counter counter = counters.get(key);
+            return counter != null ? counter.count : null;
+        }
+    }
+
+    /**
+     * Counts an interaction being written to event history by {@link PropositionHistory}.
+     *
+     * <p>The write is tracked as pending until its event is seen by {@link #onEvent(Event)}, as
+     * event history does not include it before then.
+     *
+     * @param key {@link Key} of the recorded interaction
+     */
+    void onRecord(final Key key) {
+        synchronized (lock) {
+            final Counter counter = counterFor(key);
+            counter.pendingWrites++;
+            if (counter.count != null) {
+                counter.count++;
+            } else if (counter.seedInFlight) {
+                counter.writtenDuringSeed = true;
+            }
+        }
+    }
+
+    /**
+     * Processes an event seen by the Messaging extension. Events written to event history with the
+     * proposition history mask either complete a write counted by {@link #onRecord(Key)}, or are
+     * counted here if they were written by another source.
+     *
+     * @param event {@link Event} seen by the Messaging extension
+     */
+    void onEvent(final Event event) {
+        final Key key = Key.fromHistoryEvent(event);
+        if (key == null) {
+            return;
+        }
+
+        boolean needsSeed = false;
+        synchronized (lock) {
+            final Counter counter = counters.get(key);
+            if (counter == null) {
+                return;
+            }
+            if (counter.pendingWrites > 0) {
+                counter.pendingWrites--;
+            } else if (counter.count != null) {
+                counter.count++;
+            } else if (counter.seedInFlight) {
+                counter.writtenDuringSeed = true;
+            }
+            if (!counter.registered && counter.pendingWrites == 0) {
+                // no loaded rule references the key, nothing to keep once its writes completed
+                counters.remove(key);
+                return;
+            }
+            needsSeed = counter.needsSeed();
+        }
+        if (needsSeed) {
+            seed(Collections.singletonList(key));
+        }
+    }
+
+    /**
+     * Seeds the counts of the provided registered keys from event history. Keys with writes that
+     * are not yet stored in event history are skipped and seeded once those writes are seen.
+     *
+     * @param keys {@code Collection<Key>} to seed, or null to seed every registered key
+     */
+    private void seed(final Collection<Key> keys) {
+        final ExtensionApi api;
+        final List<Key> keysToSeed = new ArrayList<>();
+        synchronized (lock) {
+            api = extensionApi;
+            if (api == null) {
+                return;
+            }
+            for (final Key key : keys != null ? keys : counters.keySet()) {
+                final Counter counter = counters.get(key);
+                if (counter != null && counter.needsSeed()) {
+                    counter.seedInFlight = true;
+                    counter.writtenDuringSeed = false;
+                    keysToSeed.add(key);
+                }
+            }
+        }
+        if (keysToSeed.isEmpty()) {
+            return;
+        }
+
+        final EventHistoryRequest[] requests = new EventHistoryRequest[keysToSeed.size()];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = new EventHistoryRequest(keysToSeed.get(i).toRequestMap(), 0, 0);
+        }
+        Log.trace(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Seeding %d event history counter(s).",
+                requests.length);
+        api.getHistoricalEvents(
+                requests,
+                false,
+                new AdobeCallbackWithError<EventHistoryResult[]>() {
+                    @Override
+                    public void call(final EventHistoryResult[] results) {
+                        completeSeed(keysToSeed, results);
+                    }
+
+                    @Override
+                    public void fail(final AdobeError error) {
+                        Log.debug(
+                                MessagingConstants.LOG_TAG,
+                                SELF_TAG,
+                                "Unable to seed event history counters (%s).",
+                                error != null ? error.getErrorName() : "unknown error");
+                        completeSeed(keysToSeed, null);
+                    }
+                });
+    }
+
+    private void completeSeed(final List<Key> keys, final EventHistoryResult[] results) {
+        final boolean validResults = results != null && results.length == keys.size();
+        final List<Key> keysToReseed = new ArrayList<>();
+        synchronized (lock) {
+            for (int i = 0; i < keys.size(); i++) {
+                final Counter counter = counters.get(keys.get(i));
+                if (counter == null) {
+                    continue;
+                }
+                counter.seedInFlight = false;
+                if (!validResults || results[i] == null || results[i].getCount() < 0) {
+                    continue;
+                }
+                // counts read while an interaction was being written may not include it
+                if (counter.writtenDuringSeed) {
+                    if (counter.needsSeed()) {
+                        keysToReseed.add(keys.get(i));
+                    }
+                    continue;
+                }
+                counter.count = (long) results[i].getCount();
+            }
+        }
+        if (!keysToReseed.isEmpty()) {
+            seed(keysToReseed);
+        }
+    }
+
+    private Counter counterFor(final Key key) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = new Counter();
+            counters.put(key, counter);
+        }
+        return counter;
+    }
+
+    private static final class Counter {
+        Long count;
+        int pendingWrites;
+        boolean registered;
+        boolean seedInFlight;
+        boolean writtenDuringSeed;
+
+        boolean needsSeed() {
+            return registered && count == null && !seedInFlight && pendingWrites == 0;
+        }
+    }
+
+    /** The values of the proposition history event mask identifying a counter. */
+    static final class Key {
+        private final String eventType;
+        private final String activityId;
+        private final String action;
+
+        Key(final String eventType, final String activityId, final String action) {
+            this.eventType = eventType;
+            this.activityId = activityId;
+            this.action = action != null ? action : "";
+        }
+
+        /**
+         * @param event {@link Event} seen by the Messaging extension
+         * @return the {@link Key} of the interaction written to event history by the event, or
+         *     null if the event is not written with the proposition history mask
+         */
+        static Key fromHistoryEvent(final Event event) {
+            final String[] mask = event != null ? event.getMask() : null;
+            if (mask == null
+                    || mask.length != HISTORY_MASK.size()
+                    || !HISTORY_MASK.containsAll(Arrays.asList(mask))) {
+                return null;
+            }
+            final Map<String, Object> eventData = event.getEventData();
+            final Object history =
+                    eventData != null
+                            ? eventData.get(MessagingConstants.EventDataKeys.IAM_HISTORY)
+                            : null;
+            if (!(history instanceof Map)) {
+                return null;
+            }
+            final Map<?, ?> historyMap = (Map<?, ?>) history;
+            final Object eventType = historyMap.get(MessagingConstants.EventMask.Keys.EVENT_TYPE);
+            final Object activityId = historyMap.get(MessagingConstants.EventMask.Keys.ACTIVITY_ID);
+            final Object action = historyMap.get(MessagingConstants.EventMask.Keys.TRACKING_ACTION);
+            if (!(eventType instanceof String)
+                    || !(activityId instanceof String)
+                    || !(action instanceof String)) {
+                return null;
+            }
+            return new Key((String) eventType, (String) activityId, (String) action);
+        }
+
+        /**
+         * @param query {@code Map} of a historical rule condition event
+         * @return the {@link Key} queried by the map, or null if the map does not query exactly
+         *     the proposition history mask
+         */
+        static Key fromQuery(final Map<?, ?> query) {
+            if (query == null
+                    || query.size() != HISTORY_MASK.size()
+                    || !HISTORY_MASK.containsAll(query.keySet())) {
+                return null;
+            }
+            final Object eventType = query.get(MessagingConstants.EventMask.Mask.EVENT_TYPE);
+            final Object activityId = query.get(MessagingConstants.EventMask.Mask.ACTIVITY_ID);
+            final Object action = query.get(MessagingConstants.EventMask.Mask.TRACKING_ACTION);
+            if (!(eventType instanceof String)
+                    || !(activityId instanceof String)
+                    || !(action instanceof String)) {
+                return null;
+            }
+            return new Key((String) eventType, (String) activityId, (String) action);
+        }
+
+        Map<String, Object> toRequestMap() {
+            final Map<String, Object> requestMap = new HashMap<>();
+            requestMap.put(MessagingConstants.EventMask.Mask.EVENT_TYPE, eventType);
+            requestMap.put(MessagingConstants.EventMask.Mask.ACTIVITY_ID, activityId);
+            requestMap.put(MessagingConstants.EventMask.Mask.TRACKING_ACTION, action);
+            return requestMap;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) object;
+            return eventType.equals(other.eventType)
+                    && activityId.equals(other.activityId)
+                    && action.equals(other.action);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * eventType.hashCode() + activityId.hashCode()) + action.hashCode();
+        }
+    }
+}
@@ -14,7 +14,6 @@ package com.adobe.marketing.mobile.messaging;
 import androidx.annotation.Nullable;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.DataReader;
-import com.adobe.marketing.mobile.util.JSONUtils;
 import java.util.Map;
 import org.json.JSONObject;
 
@@ -25,13 +24,17 @@ class EventHistoryOperationSchemaData implements SchemaData {
     private String operation;
 
     EventHistoryOperationSchemaData(final JSONObject schemaData) {
+        this(SchemaDataReader.fromJson(schemaData));
+    }
+
+    EventHistoryOperationSchemaData(final Map<String, Object> schemaData) {
         try {
             this.operation =
-                    schemaData.getString(MessagingConstants.ConsequenceDetailDataKeys.OPERATION);
+                    SchemaDataReader.getString(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.OPERATION);
             this.content =
-                    JSONUtils.toMap(
-                            schemaData.getJSONObject(
-                                    MessagingConstants.ConsequenceDetailDataKeys.CONTENT));
+                    SchemaDataReader.getMap(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
         } catch (final Exception exception) {
             Log.trace(
                     MessagingConstants.LOG_TAG,
@@ -0,0 +1,417 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventType;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Index of the event types, event sources and event data keys referenced by the loaded rules,
+ * used to reject events that cannot match any rule before they are evaluated by the rules engines.
+ *
+ * <p>Filters are derived from the ruleset JSON when rules are parsed and registered with {@link
+ * #registerRules(List, Map)}. A rule without a registered filter, or with a condition that does not
+ * constrain the event type or source, can match any event. Until {@link #rebuild(Collection)} is
+ * first called every event is accepted, so events are still delivered to a rules engine that has
+ * not received its initial rules.
+ */
+class EventPrefilterIndex {
+    private static final String SELF_TAG = "EventPrefilterIndex";
+    private static final String ANY = "*";
+    private static final String BUCKET_SEPARATOR = "|";
+    private static final String KEY_PATH_SEPARATOR = ".";
+    // matchers which can only succeed if the key is present in the event data
+    private static final Set<String> PRESENCE_MATCHERS =
+            new HashSet<>(Arrays.asList("eq", "gt", "ge", "lt", "le", "co", "sw", "ew", "ex"));
+
+    // filters derived from rule conditions, weakly keyed so rules can be collected once unloaded
+    private static final Map<LaunchRule, RuleEventFilter> ruleFilters = new WeakHashMap<>();
+
+    // required event data keys by "type|source" bucket, a null value means no key is required
+    private volatile Map<String, Set<String>> requiredKeysByBucket;
+
+    /**
+     * Registers the event filters for rules parsed from the provided ruleset data. Rules are
+     * matched to the ruleset JSON by position, so nothing is registered if the counts differ.
+     *
+     * @param rules {@code List<LaunchRule>} parsed from {@code rulesetData}
+     * @param rulesetData {@code Map<String, Object>} containing the ruleset JSON
+     */
+    static void registerRules(final List<LaunchRule> rules, final Map<String, Object> rulesetData) {
+        if (MessagingUtils.isNullOrEmpty(rules) || rulesetData == null) {
+            return;
+        }
+        final Object rulesJson =
+                rulesetData.get(MessagingConstants.EventDataKeys.RulesEngine.JSON_RULES_KEY);
+        if (!(rulesJson instanceof List) || ((List<?>) rulesJson).size() != rules.size()) {
+            return;
+        }
+
+        final List<?> rulesList = (List<?>) rulesJson;
+        synchronized (ruleFilters) {
+            for (int i = 0; i < rules.size(); i++) {
+                final Object condition = getCondition(rulesList.get(i));
+                ruleFilters.put(rules.get(i), RuleEventFilter.fromCondition(condition));
+            }
+        }
+    }
+
+    /**
+     * Registers the event filter for a single rule with the provided condition json.
+     *
+     * @param rule the {@link LaunchRule} to register
+     * @param condition the condition json of the rule
+     */
+    static void registerRule(final LaunchRule rule, final Object condition) {
+        if (rule == null) {
+            return;
+        }
+        synchronized (ruleFilters) {
+            ruleFilters.put(rule, RuleEventFilter.fromCondition(condition));
+        }
+    }
+
+    /**
+     * Rebuilds the index from all rules currently loaded in the rules engines.
+     *
+     * @param loadedRules {@code Collection<List<LaunchRule>>} of all loaded rules
+     */
+    void rebuild(final Collection<List<LaunchRule>> loadedRules) {
+        final Map<String, Set<String>> index = new HashMap<>();
+        int ruleCount = 0;
+        synchronized (ruleFilters) {
+            for (final List<LaunchRule> rules : loadedRules) {
+                for (final LaunchRule rule : rules) {
+                    final RuleEventFilter filter = ruleFilters.get(rule);
+                    addToIndex(index, filter != null ? filter : RuleEventFilter.MATCH_ALL);
+                    ruleCount++;
+                }
+            }
+        }
+        requiredKeysByBucket = index;
+        Log.trace(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Rebuilt event prefilter index with %d bucket(s) for %d rule(s).",
+                index.size(),
+                ruleCount);
+    }
+
+    /**
+     * Rebuilds the index from the rule conditions in the provided ruleset data, without the rules
+     * having been parsed.
+     *
+     * @param rulesets {@code Collection<Map<String, Object>>} containing the ruleset JSON
+     */
+    void rebuildFromRulesets(final Collection<Map<String, Object>> rulesets) {
+        final Map<String, Set<String>> index = new HashMap<>();
+        int ruleCount = 0;
+        for (final Map<String, Object> rulesetData : rulesets) {
+            final Object rulesJson =
+                    rulesetData != null
+                            ? rulesetData.get(
+                                    MessagingConstants.EventDataKeys.RulesEngine.JSON_RULES_KEY)
+                            : null;
+            if (!(rulesJson instanceof List)) {
+                continue;
+            }
+            for (final Object ruleJson : (List<?>) rulesJson) {
+                addToIndex(index, RuleEventFilter.fromCondition(getCondition(ruleJson)));
+                ruleCount++;
+            }
+        }
+        requiredKeysByBucket = index;
+        Log.trace(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Rebuilt event prefilter index with %d bucket(s) for %d unparsed rule(s).",
+                index.size(),
+                ruleCount);
+    }
+
+    /**
+     * @param event the {@link Event} to be evaluated
+     * @return false if no loaded rule can match the provided event
+     */
+    boolean mayMatch(final Event event) {
+        final Map<String, Set<String>> index = requiredKeysByBucket;
+        if (index == null) {
+            return true;
+        }
+        if (event == null) {
+            return false;
+        }
+        // rules engine events, e.g. the reset event which replays events cached before the initial
+        // rules were loaded, must always reach the rules engine
+        if (EventType.RULES_ENGINE.equalsIgnoreCase(event.getType())) {
+            return true;
+        }
+        if (index.isEmpty()) {
+            return false;
+        }
+
+        final String type = normalize(event.getType());
+        final String source = normalize(event.getSource());
+        final Map<String, Object> eventData = event.getEventData();
+        return bucketMatches(index, bucketKey(type, source), eventData)
+                || bucketMatches(index, bucketKey(type, ANY), eventData)
+                || bucketMatches(index, bucketKey(ANY, source), eventData)
+                || bucketMatches(index, bucketKey(ANY, ANY), eventData);
+    }
+
+    @VisibleForTesting
+    boolean isBuilt() {
+        return requiredKeysByBucket != null;
+    }
+
+    private static Object getCondition(final Object ruleJson) {
+        return ruleJson instanceof Map
+                ? ((Map<?, ?>) ruleJson)
+                        .get(MessagingConstants.EventDataKeys.RulesEngine.JSON_CONDITION_KEY)
+                : null;
+    }
+
+    private static void addToIndex(
+            final Map<String, Set<String>> index, final RuleEventFilter filter) {
+        final Set<String> types =
+                filter.types != null ? filter.types : Collections.singleton(ANY);
+        final Set<String> sources =
+                filter.sources != null ? filter.sources : Collections.singleton(ANY);
+        for (final String type : types) {
+            for (final String source : sources) {
+                final String bucket = bucketKey(type, source);
+                if (filter.requiredKey == null) {
+                    index.put(bucket, null);
+                } else if (!index.containsKey(bucket)) {
+                    index.put(bucket, new HashSet<>(Collections.singleton(filter.requiredKey)));
+                } else if (index.get(bucket) != null) {
+                    index.get(bucket).add(filter.requiredKey);
+                }
+            }
+        }
+    }
+
+    private static boolean bucketMatches(
+            final Map<String, Set<String>> index,
+            final String bucket,
+            final Map<String, Object> eventData) {
+        if (!index.containsKey(bucket)) {
+            return false;
+        }
+        final Set<String> requiredKeys = index.get(bucket);
+        if (requiredKeys == null) {
+            return true;
+        }
+        if (eventData == null) {
+            return false;
+        }
+        for (final String requiredKey : requiredKeys) {
+            if (containsKeyPath(eventData, requiredKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any prefix of the dot-separated key path is a top-level event data key, as
+     * event data may contain flattened keys as well as nested maps.
+     */
+    private static boolean containsKeyPath(final Map<String, Object> eventData, final String key) {
+        int separatorIndex = key.indexOf(KEY_PATH_SEPARATOR);
+        while (separatorIndex > 0) {
+            if (eventData.containsKey(key.substring(0, separatorIndex))) {
+                return true;
+            }
+            separatorIndex = key.indexOf(KEY_PATH_SEPARATOR, separatorIndex + 1);
+        }
+        return eventData.containsKey(key);
+    }
+
+    private static String bucketKey(final String type, final String source) {
+        return type + BUCKET_SEPARATOR + source;
+    }
+
+    private static String normalize(final String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Necessary conditions an event must meet to match a rule. Null fields do not constrain the
+     * event.
+     */
+    static final class RuleEventFilter {
+        static final RuleEventFilter MATCH_ALL = new RuleEventFilter(null, null, null);
+
+        final Set<String> types;
+        final Set<String> sources;
+        final String requiredKey;
+
+        private RuleEventFilter(
+                final Set<String> types, final Set<String> sources, final String requiredKey) {
+            this.types = types;
+            this.sources = sources;
+            this.requiredKey = requiredKey;
+        }
+
+        /**
+         * Derives a filter from a rule condition. Unsupported condition types, such as historical
+         * conditions, do not constrain the event.
+         *
+         * @param condition the rule condition JSON as a {@code Map}
+         * @return the {@link RuleEventFilter} for the condition
+         */
+        static RuleEventFilter fromCondition(final Object condition) {
+            if (!(condition instanceof Map)) {
+                return MATCH_ALL;
+            }
+            final Map<?, ?> conditionMap = (Map<?, ?>) condition;
+            final Object definition =
+                    conditionMap.get(
+                            MessagingConstants.EventDataKeys.RulesEngine.CONDITION_DEFINITION);
+            if (!(definition instanceof Map)) {
+                return MATCH_ALL;
+            }
+            final Map<?, ?> definitionMap = (Map<?, ?>) definition;
+            final Object type =
+                    conditionMap.get(MessagingConstants.EventDataKeys.RulesEngine.CONDITION_TYPE);
+            if (MessagingConstants.EventDataKeys.RulesEngine.CONDITION_TYPE_GROUP.equals(type)) {
+                return fromGroup(definitionMap);
+            }
+            if (MessagingConstants.EventDataKeys.RulesEngine.CONDITION_TYPE_MATCHER.equals(type)) {
+                return fromMatcher(definitionMap);
+            }
+            return MATCH_ALL;
+        }
+
+        private static RuleEventFilter fromGroup(final Map<?, ?> definition) {
+            final Object logic =
+                    definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_LOGIC);
+            final Object conditions =
+                    definition.get(
+                            MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_CONDITIONS);
+            if (!(conditions instanceof List) || ((List<?>) conditions).isEmpty()) {
+                return MATCH_ALL;
+            }
+
+            final boolean isAnd =
+                    MessagingConstants.EventDataKeys.RulesEngine.LOGIC_AND.equals(logic);
+            if (!isAnd && !MessagingConstants.EventDataKeys.RulesEngine.LOGIC_OR.equals(logic)) {
+                return MATCH_ALL;
+            }
+            RuleEventFilter result = null;
+            for (final Object childCondition : (List<?>) conditions) {
+                final RuleEventFilter childFilter = fromCondition(childCondition);
+                if (result == null) {
+                    result = childFilter;
+                } else {
+                    result = isAnd ? result.and(childFilter) : result.or(childFilter);
+                }
+            }
+            return result;
+        }
+
+        private static RuleEventFilter fromMatcher(final Map<?, ?> definition) {
+            final Object key =
+                    definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_KEY);
+            final Object matcher =
+                    definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_MATCHER);
+            if (!(key instanceof String) || !(matcher instanceof String)) {
+                return MATCH_ALL;
+            }
+
+            final String keyString = (String) key;
+            if (MessagingConstants.EventDataKeys.RulesEngine.EVENT_TYPE_TOKEN.equals(keyString)) {
+                return new RuleEventFilter(equalsValues(matcher, definition), null, null);
+            }
+            if (MessagingConstants.EventDataKeys.RulesEngine.EVENT_SOURCE_TOKEN.equals(keyString)) {
+                return new RuleEventFilter(null, equalsValues(matcher, definition), null);
+            }
+            // tokens starting with '~' are not read from the event data
+            if (keyString.isEmpty()
+                    || keyString.startsWith("~")
+                    || !PRESENCE_MATCHERS.contains(matcher)) {
+                return MATCH_ALL;
+            }
+            return new RuleEventFilter(null, null, keyString);
+        }
+
+        private static Set<String> equalsValues(final Object matcher, final Map<?, ?> definition) {
+            if (!MessagingConstants.EventDataKeys.RulesEngine.MATCHER_EQUALS.equals(matcher)) {
+                return null;
+            }
+            final Object values =
+                    definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_VALUES);
+            if (!(values instanceof List) || ((List<?>) values).isEmpty()) {
+                return null;
+            }
+            final Set<String> normalizedValues = new HashSet<>();
+            for (final Object value : (List<?>) values) {
+                if (!(value instanceof String)) {
+                    return null;
+                }
+                normalizedValues.add(normalize((String) value));
+            }
+            return normalizedValues;
+        }
+
+        private RuleEventFilter and(final RuleEventFilter other) {
+            return new RuleEventFilter(
+                    intersect(types, other.types),
+                    intersect(sources, other.sources),
+                    requiredKey != null ? requiredKey : other.requiredKey);
+        }
+
+        private RuleEventFilter or(final RuleEventFilter other) {
+            return new RuleEventFilter(
+                    union(types, other.types),
+                    union(sources, other.sources),
+                    requiredKey != null && requiredKey.equals(other.requiredKey)
+                            ? requiredKey
+                            : null);
+        }
+
+        private static Set<String> intersect(final Set<String> first, final Set<String> second) {
+            if (first == null) {
+                return second;
+            }
+            if (second == null) {
+                return first;
+            }
+            final Set<String> intersection = new HashSet<>(first);
+            intersection.retainAll(second);
+            return intersection;
+        }
+
+        private static Set<String> union(final Set<String> first, final Set<String> second) {
+            if (first == null || second == null) {
+                return null;
+            }
+            final Set<String> union = new HashSet<>(first);
+            union.addAll(second);
+            return union;
+        }
+    }
+}
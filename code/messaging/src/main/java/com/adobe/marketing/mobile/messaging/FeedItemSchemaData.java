@@ -16,10 +16,8 @@ import androidx.annotation.VisibleForTesting;
 import com.adobe.marketing.mobile.MessagingEdgeEventType;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.DataReader;
-import com.adobe.marketing.mobile.util.JSONUtils;
-import java.util.HashMap;
+import com.adobe.marketing.mobile.util.DataReaderException;
 import java.util.Map;
-import org.json.JSONException;
 import org.json.JSONObject;
 
 /**
@@ -39,40 +37,47 @@ public class FeedItemSchemaData implements SchemaData {
     PropositionItem parent;
 
     FeedItemSchemaData(final JSONObject schemaData) {
+        this(SchemaDataReader.fromJson(schemaData));
+    }
+
+    FeedItemSchemaData(final Map<String, Object> schemaData) {
         try {
             this.contentType =
                     ContentType.fromString(
-                            schemaData.optString(
+                            SchemaDataReader.optString(
+                                    schemaData,
                                     MessagingConstants.ConsequenceDetailDataKeys.CONTENT_TYPE));
             if (contentType.equals(ContentType.APPLICATION_JSON)) {
                 this.content =
-                        JSONUtils.toMap(
-                                schemaData.getJSONObject(
-                                        MessagingConstants.ConsequenceDetailDataKeys.CONTENT));
+                        SchemaDataReader.getMap(
+                                schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
             } else {
                 this.content =
-                        schemaData.getString(MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
+                        SchemaDataReader.getString(
+                                schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
             }
             this.publishedDate =
-                    schemaData.optInt(MessagingConstants.ConsequenceDetailDataKeys.PUBLISHED_DATE);
+                    SchemaDataReader.optInt(
+                            schemaData,
+                            MessagingConstants.ConsequenceDetailDataKeys.PUBLISHED_DATE);
             this.expiryDate =
-                    schemaData.optInt(MessagingConstants.ConsequenceDetailDataKeys.EXPIRY_DATE);
+                    SchemaDataReader.optInt(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.EXPIRY_DATE);
             this.meta =
-                    JSONUtils.toMap(
-                            schemaData.optJSONObject(
-                                    MessagingConstants.ConsequenceDetailDataKeys.METADATA));
-        } catch (final JSONException exception) {
+                    SchemaDataReader.optMap(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.METADATA);
+        } catch (final DataReaderException exception) {
             Log.trace(
                     MessagingConstants.LOG_TAG,
                     SELF_TAG,
-                    "Exception occurred creating FeedItemSchemaData from json object: %s",
+                    "Exception occurred creating FeedItemSchemaData from schema data: %s",
                     exception.getLocalizedMessage());
         }
     }
 
     @Override
     public Object getContent() {
-        return content;
+        return SchemaDataReader.copy(content);
     }
 
     public ContentType getContentType() {
@@ -88,7 +93,7 @@ public class FeedItemSchemaData implements SchemaData {
     }
 
     @Nullable public Map<String, Object> getMeta() {
-        return meta;
+        return SchemaDataReader.copy(meta);
     }
 
     @VisibleForTesting
@@ -102,7 +107,7 @@ public class FeedItemSchemaData implements SchemaData {
         }
 
         try {
-            final Map<String, Object> contentMap = (HashMap<String, Object>) content;
+            final Map<String, Object> contentMap = (Map<String, Object>) content;
             final String title =
                     DataReader.optString(contentMap, MessagingConstants.MessageFeedKeys.TITLE, "");
             final String body =
@@ -13,8 +13,9 @@ package com.adobe.marketing.mobile.messaging;
 
 import androidx.annotation.Nullable;
 import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.DataReaderException;
 import com.adobe.marketing.mobile.util.StringUtils;
-import org.json.JSONException;
+import java.util.Map;
 import org.json.JSONObject;
 
 // represents the schema data object for a html content schema
@@ -24,22 +25,28 @@ public class HtmlContentSchemaData implements SchemaData {
     private ContentType format = null;
 
     HtmlContentSchemaData(final JSONObject schemaData) {
+        this(SchemaDataReader.fromJson(schemaData));
+    }
+
+    HtmlContentSchemaData(final Map<String, Object> schemaData) {
         try {
             final String decodedFormat =
-                    schemaData.optString(MessagingConstants.ConsequenceDetailDataKeys.FORMAT);
+                    SchemaDataReader.optString(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.FORMAT);
             if (StringUtils.isNullOrEmpty(decodedFormat)) {
                 format = ContentType.TEXT_HTML;
             } else {
                 format = ContentType.fromString(decodedFormat);
             }
             this.content =
-                    schemaData.getString(MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
-        } catch (final JSONException jsonException) {
+                    SchemaDataReader.getString(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
+        } catch (final DataReaderException exception) {
             Log.trace(
                     MessagingConstants.LOG_TAG,
                     SELF_TAG,
-                    "Exception occurred creating HtmlContentSchemaData from json object: %s",
-                    jsonException.getLocalizedMessage());
+                    "Exception occurred creating HtmlContentSchemaData from schema data: %s",
+                    exception.getLocalizedMessage());
         }
     }
 
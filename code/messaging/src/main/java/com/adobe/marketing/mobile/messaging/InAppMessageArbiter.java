@@ -0,0 +1,156 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.launch.rulesengine.RuleConsequence;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.StringUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Shows a single in-app message when one event triggers several in-app rules.
+ *
+ * <p>The rules engine dispatches a consequence event, chained to the triggering event, for every
+ * matching rule in the order the rules are loaded. In-app rules are loaded ranked with {@link
+ * #rank(List, PropositionInfoProvider)}, so the first in-app consequence of a triggering event is
+ * the highest ranked one. It is shown immediately and the other consequences of the same
+ * triggering event are dropped without building their presentables. If a message cannot be shown,
+ * the next consequence of the same triggering event is shown instead. Consequences which are not
+ * chained to a triggering event are always shown.
+ */
+class InAppMessageArbiter {
+    private static final String SELF_TAG = "InAppMessageArbiter";
+
+    /** Creates and shows the in-app message winning arbitration. */
+    interface Presenter {
+        /**
+         * @param propositionItem the in-app {@link PropositionItem} to be shown
+         * @return true if the in-app message was shown
+         */
+        boolean present(final PropositionItem propositionItem);
+    }
+
+    /** Looks up the {@link PropositionInfo} of the proposition an in-app item belongs to. */
+    interface PropositionInfoProvider {
+        PropositionInfo getPropositionInfo(final String itemId);
+    }
+
+    private final Presenter presenter;
+
+    // id of the triggering event the last in-app message was shown for
+    private String presentedParentId;
+
+    InAppMessageArbiter(final Presenter presenter) {
+        this.presenter = presenter;
+    }
+
+    /**
+     * Shows the in-app message triggered by the provided rules consequence event, unless a message
+     * was already shown for the same triggering event.
+     *
+     * @param consequenceEvent the rules engine consequence {@link Event}
+     * @param propositionItem the in-app {@link PropositionItem} created from the consequence
+     */
+    void offer(final Event consequenceEvent, final PropositionItem propositionItem) {
+        if (propositionItem == null) {
+            return;
+        }
+        final String parentId = consequenceEvent != null ? consequenceEvent.getParentID() : null;
+        if (!StringUtils.isNullOrEmpty(parentId) && parentId.equals(presentedParentId)) {
+            Log.debug(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Ignoring in-app message (%s), a higher ranked message was already shown for"
+                            + " the same event.",
+                    propositionItem.getItemId());
+            return;
+        }
+        // only a message which was shown prevents the other messages of the same event, so the
+        // next ranked message is shown if this one cannot be
+        if (presenter.present(propositionItem) && !StringUtils.isNullOrEmpty(parentId)) {
+            presentedParentId = parentId;
+        }
+    }
+
+    /**
+     * Orders the provided in-app rules by the priority of their propositions, highest first. Ties
+     * are broken by the lowest valid proposition rank, then by the order of {@code rules}.
+     *
+     * @param rules {@code List<LaunchRule>} in-app rules to be loaded in the rules engine
+     * @param propositionInfoProvider the {@link PropositionInfoProvider} for the rules' items
+     * @return a new ranked {@code List<LaunchRule>}
+     */
+    static List<LaunchRule> rank(
+            final List<LaunchRule> rules, final PropositionInfoProvider propositionInfoProvider) {
+        final List<RankedRule> rankedRules = new ArrayList<>(rules.size());
+        for (final LaunchRule rule : rules) {
+            rankedRules.add(
+                    new RankedRule(rule, getPropositionInfo(rule, propositionInfoProvider)));
+        }
+        // the sort is stable, so rules which rank the same keep their order
+        Collections.sort(rankedRules, RANKED_RULE_COMPARATOR);
+
+        final List<LaunchRule> sortedRules = new ArrayList<>(rankedRules.size());
+        for (final RankedRule rankedRule : rankedRules) {
+            sortedRules.add(rankedRule.rule);
+        }
+        return sortedRules;
+    }
+
+    private static PropositionInfo getPropositionInfo(
+            final LaunchRule rule, final PropositionInfoProvider propositionInfoProvider) {
+        final List<RuleConsequence> consequences = rule.getConsequenceList();
+        if (MessagingUtils.isNullOrEmpty(consequences) || consequences.get(0) == null) {
+            return null;
+        }
+        return propositionInfoProvider.getPropositionInfo(consequences.get(0).getId());
+    }
+
+    private static final Comparator<RankedRule> RANKED_RULE_COMPARATOR =
+            new Comparator<RankedRule>() {
+                @Override
+                public int compare(final RankedRule first, final RankedRule second) {
+                    if (first.priority != second.priority) {
+                        return first.priority > second.priority ? -1 : 1;
+                    }
+                    if (ranksBefore(first.rank, second.rank)) {
+                        return -1;
+                    }
+                    return ranksBefore(second.rank, first.rank) ? 1 : 0;
+                }
+            };
+
+    // a rank of -1 means it was missing from the response and sorts after any valid rank
+    private static boolean ranksBefore(final int rank, final int otherRank) {
+        if (rank < 0) {
+            return false;
+        }
+        return otherRank < 0 || rank < otherRank;
+    }
+
+    private static final class RankedRule {
+        private final LaunchRule rule;
+        private final int priority;
+        private final int rank;
+
+        RankedRule(final LaunchRule rule, final PropositionInfo propositionInfo) {
+            this.rule = rule;
+            this.priority = propositionInfo != null ? propositionInfo.getPriority() : 0;
+            this.rank = propositionInfo != null ? propositionInfo.getRank() : -1;
+        }
+    }
+}
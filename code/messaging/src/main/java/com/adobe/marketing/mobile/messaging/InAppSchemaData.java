@@ -13,12 +13,11 @@ package com.adobe.marketing.mobile.messaging;
 
 import androidx.annotation.Nullable;
 import com.adobe.marketing.mobile.services.Log;
-import com.adobe.marketing.mobile.util.JSONUtils;
+import com.adobe.marketing.mobile.util.DataReaderException;
 import com.adobe.marketing.mobile.util.StringUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import org.json.JSONException;
 import org.json.JSONObject;
 
 // represents the schema data object for an in-app schema
@@ -35,69 +34,78 @@ public class InAppSchemaData implements SchemaData {
     private List<String> remoteAssets = null;
 
     InAppSchemaData(final JSONObject schemaData) {
+        this(SchemaDataReader.fromJson(schemaData));
+    }
+
+    InAppSchemaData(final Map<String, Object> schemaData) {
         try {
             String contentTypeString =
-                    schemaData.optString(MessagingConstants.ConsequenceDetailDataKeys.CONTENT_TYPE);
+                    SchemaDataReader.optString(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT_TYPE);
             if (StringUtils.isNullOrEmpty(contentTypeString)) {
                 this.contentType = ContentType.fromString(contentTypeString);
                 return;
             }
             this.contentType = ContentType.fromString(contentTypeString);
             if (contentType.equals(ContentType.APPLICATION_JSON)) {
-                try {
-                    this.content =
-                            JSONUtils.toMap(
-                                    schemaData.getJSONObject(
-                                            MessagingConstants.ConsequenceDetailDataKeys.CONTENT));
-                } catch (JSONException e) {
+                final Map<String, Object> contentMap =
+                        SchemaDataReader.optMap(
+                                schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
+                if (contentMap != null) {
+                    this.content = contentMap;
+                } else {
                     this.content =
-                            JSONUtils.toList(
-                                    schemaData.getJSONArray(
-                                            MessagingConstants.ConsequenceDetailDataKeys.CONTENT));
+                            SchemaDataReader.getList(
+                                    schemaData,
+                                    MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
                 }
             } else {
                 this.content =
-                        schemaData.getString(MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
+                        SchemaDataReader.getString(
+                                schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
             }
             this.publishedDate =
-                    schemaData.optInt(MessagingConstants.ConsequenceDetailDataKeys.PUBLISHED_DATE);
+                    SchemaDataReader.optInt(
+                            schemaData,
+                            MessagingConstants.ConsequenceDetailDataKeys.PUBLISHED_DATE);
             this.expiryDate =
-                    schemaData.optInt(MessagingConstants.ConsequenceDetailDataKeys.EXPIRY_DATE);
+                    SchemaDataReader.optInt(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.EXPIRY_DATE);
             this.meta =
-                    JSONUtils.toMap(
-                            schemaData.optJSONObject(
-                                    MessagingConstants.ConsequenceDetailDataKeys.METADATA));
+                    SchemaDataReader.optMap(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.METADATA);
             this.mobileParameters =
-                    JSONUtils.toMap(
-                            schemaData.optJSONObject(
-                                    MessagingConstants.ConsequenceDetailDataKeys
-                                            .MOBILE_PARAMETERS));
+                    SchemaDataReader.optMap(
+                            schemaData,
+                            MessagingConstants.ConsequenceDetailDataKeys.MOBILE_PARAMETERS);
             this.webParameters =
-                    JSONUtils.toMap(
-                            schemaData.optJSONObject(
-                                    MessagingConstants.ConsequenceDetailDataKeys.WEB_PARAMETERS));
+                    SchemaDataReader.optMap(
+                            schemaData,
+                            MessagingConstants.ConsequenceDetailDataKeys.WEB_PARAMETERS);
             final List<Object> assetList =
-                    JSONUtils.toList(
-                            schemaData.optJSONArray(
-                                    MessagingConstants.ConsequenceDetailDataKeys.REMOTE_ASSETS));
+                    SchemaDataReader.optList(
+                            schemaData,
+                            MessagingConstants.ConsequenceDetailDataKeys.REMOTE_ASSETS);
             if (!MessagingUtils.isNullOrEmpty(assetList)) {
                 this.remoteAssets = new ArrayList<>();
                 for (final Object asset : assetList) {
-                    this.remoteAssets.add(asset.toString());
+                    if (asset != null) {
+                        this.remoteAssets.add(asset.toString());
+                    }
                 }
             }
-        } catch (final JSONException jsonException) {
+        } catch (final DataReaderException exception) {
             Log.trace(
                     LOG_TAG,
                     SELF_TAG,
-                    "Exception occurred creating InAppSchemaData from json object: %s",
-                    jsonException.getLocalizedMessage());
+                    "Exception occurred creating InAppSchemaData from schema data: %s",
+                    exception.getLocalizedMessage());
         }
     }
 
     @Override
     public Object getContent() {
-        return content;
+        return SchemaDataReader.copy(content);
     }
 
     public ContentType getContentType() {
@@ -113,18 +121,23 @@ public class InAppSchemaData implements SchemaData {
     }
 
     @Nullable public Map<String, Object> getMeta() {
-        return meta;
+        return SchemaDataReader.copy(meta);
     }
 
     @Nullable public Map<String, Object> getMobileParameters() {
+        return SchemaDataReader.copy(mobileParameters);
+    }
+
+    // returns the mobile parameters without copying them, they must not be modified
+    @Nullable Map<String, Object> getSharedMobileParameters() {
         return mobileParameters;
     }
 
     @Nullable public Map<String, Object> getWebParameters() {
-        return webParameters;
+        return SchemaDataReader.copy(webParameters);
     }
 
     @Nullable public List<String> getRemoteAssets() {
-        return remoteAssets;
+        return SchemaDataReader.copy(remoteAssets);
     }
 }
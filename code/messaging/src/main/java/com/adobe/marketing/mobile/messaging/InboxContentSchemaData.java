@@ -12,7 +12,6 @@
 package com.adobe.marketing.mobile.messaging;
 
 import com.adobe.marketing.mobile.services.Log;
-import com.adobe.marketing.mobile.util.JSONUtils;
 import java.util.Map;
 import org.json.JSONObject;
 
@@ -22,30 +21,32 @@ public class InboxContentSchemaData implements SchemaData {
     private Map<String, Object> metadata = null;
 
     InboxContentSchemaData(final JSONObject schemaData) {
+        this(SchemaDataReader.fromJson(schemaData));
+    }
+
+    InboxContentSchemaData(final Map<String, Object> schemaData) {
         try {
             this.content =
-                    JSONUtils.toMap(
-                            schemaData.getJSONObject(
-                                    MessagingConstants.ConsequenceDetailDataKeys.CONTENT));
+                    SchemaDataReader.getMap(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
             this.metadata =
-                    JSONUtils.toMap(
-                            schemaData.getJSONObject(
-                                    MessagingConstants.ConsequenceDetailDataKeys.METADATA));
+                    SchemaDataReader.getMap(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.METADATA);
         } catch (final Exception exception) {
             Log.trace(
                     MessagingConstants.LOG_TAG,
                     SELF_TAG,
-                    "Exception occurred creating InboxContentSchemaData from json object: %s",
+                    "Exception occurred creating InboxContentSchemaData from schema data: %s",
                     exception.getLocalizedMessage());
         }
     }
 
     @Override
     public Map<String, Object> getContent() {
-        return content;
+        return SchemaDataReader.copy(content);
     }
 
     public Map<String, Object> getMetadata() {
-        return metadata;
+        return SchemaDataReader.copy(metadata);
     }
 }
@@ -0,0 +1,85 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.ExtensionApi;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the propositions of a single personalization request as each streamed
+ * personalization:decisions response arrives. When the response stream is closed, {@link
+ * #build(List)} assembles the staged rules into a {@link ParsedPropositions} without any further
+ * rule parsing.
+ */
+class IncrementalParsedPropositions {
+    private final ExtensionApi extensionApi;
+    private final ParsedRulesCache parsedRulesCache;
+
+    // staged propositions by surface, in the order they were received
+    private final Map<Surface, List<ParsedPropositions.StagedProposition>> stagedPropositions =
+            new HashMap<>();
+
+    IncrementalParsedPropositions(final ExtensionApi extensionApi) {
+        this(extensionApi, null);
+    }
+
+    IncrementalParsedPropositions(
+            final ExtensionApi extensionApi, final ParsedRulesCache parsedRulesCache) {
+        this.extensionApi = extensionApi;
+        this.parsedRulesCache = parsedRulesCache;
+    }
+
+    /**
+     * Parses the rules contained in a chunk of streamed propositions and stages them by surface.
+     *
+     * @param propositions {@code List<Proposition>} received in a single edge response event
+     */
+    void stage(final List<Proposition> propositions) {
+        if (MessagingUtils.isNullOrEmpty(propositions)) {
+            return;
+        }
+
+        for (final Proposition proposition : propositions) {
+            final ParsedPropositions.StagedProposition stagedProposition =
+                    ParsedPropositions.stageProposition(
+                            proposition, extensionApi, parsedRulesCache);
+            if (stagedProposition == null) {
+                continue;
+            }
+
+            List<ParsedPropositions.StagedProposition> stagedList =
+                    stagedPropositions.get(stagedProposition.surface);
+            if (stagedList == null) {
+                stagedList = new ArrayList<>();
+                stagedPropositions.put(stagedProposition.surface, stagedList);
+            }
+            stagedList.add(stagedProposition);
+        }
+    }
+
+    /**
+     * Commits the staged propositions for the provided requested surfaces.
+     *
+     * @param requestedSurfaces {@code List<Surface>} of surfaces requested for this request
+     * @return {@link ParsedPropositions} built from the staged propositions
+     */
+    ParsedPropositions build(final List<Surface> requestedSurfaces) {
+        return new ParsedPropositions(stagedPropositions, requestedSurfaces);
+    }
+
+    boolean isEmpty() {
+        return stagedPropositions.isEmpty();
+    }
+}
@@ -180,6 +180,22 @@ class InternalMessagingUtils {
                 && EventSource.REQUEST_RESET.equalsIgnoreCase(event.getSource());
     }
 
+    /**
+     * Determines if the passed in {@code Event} is a configuration response content event.
+     *
+     * @param event A Configuration Response Content {@link Event}.
+     * @return {@code boolean} indicating if the passed in event is a configuration response content
+     *     event.
+     */
+    static boolean isConfigurationResponseEvent(final Event event) {
+        if (event == null || event.getEventData() == null) {
+            return false;
+        }
+
+        return EventType.CONFIGURATION.equalsIgnoreCase(event.getType())
+                && EventSource.RESPONSE_CONTENT.equalsIgnoreCase(event.getSource());
+    }
+
     /**
      * Determines if the passed in {@code Event} is a messaging request content event.
      *
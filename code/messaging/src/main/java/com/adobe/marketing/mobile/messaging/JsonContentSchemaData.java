@@ -13,11 +13,10 @@ package com.adobe.marketing.mobile.messaging;
 
 import androidx.annotation.Nullable;
 import com.adobe.marketing.mobile.services.Log;
-import com.adobe.marketing.mobile.util.JSONUtils;
+import com.adobe.marketing.mobile.util.DataReaderException;
 import com.adobe.marketing.mobile.util.StringUtils;
 import java.util.List;
 import java.util.Map;
-import org.json.JSONException;
 import org.json.JSONObject;
 
 public class JsonContentSchemaData implements SchemaData {
@@ -26,31 +25,35 @@ public class JsonContentSchemaData implements SchemaData {
     private ContentType format = null;
 
     JsonContentSchemaData(final JSONObject schemaData) {
+        this(SchemaDataReader.fromJson(schemaData));
+    }
+
+    JsonContentSchemaData(final Map<String, Object> schemaData) {
         try {
             final String decodedFormat =
-                    schemaData.optString(MessagingConstants.ConsequenceDetailDataKeys.FORMAT);
+                    SchemaDataReader.optString(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.FORMAT);
             if (StringUtils.isNullOrEmpty(decodedFormat)) {
                 format = ContentType.APPLICATION_JSON;
             } else {
                 format = ContentType.fromString(decodedFormat);
             }
-            try {
-                this.content =
-                        JSONUtils.toMap(
-                                schemaData.getJSONObject(
-                                        MessagingConstants.ConsequenceDetailDataKeys.CONTENT));
-            } catch (JSONException e) {
+            final Map<String, Object> contentMap =
+                    SchemaDataReader.optMap(
+                            schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
+            if (contentMap != null) {
+                this.content = contentMap;
+            } else {
                 this.content =
-                        JSONUtils.toList(
-                                schemaData.getJSONArray(
-                                        MessagingConstants.ConsequenceDetailDataKeys.CONTENT));
+                        SchemaDataReader.getList(
+                                schemaData, MessagingConstants.ConsequenceDetailDataKeys.CONTENT);
             }
-        } catch (final JSONException jsonException) {
+        } catch (final DataReaderException exception) {
             Log.trace(
                     MessagingConstants.LOG_TAG,
                     SELF_TAG,
-                    "Exception occurred creating HtmlContentSchemaData from json object: %s",
-                    jsonException.getLocalizedMessage());
+                    "Exception occurred creating JsonContentSchemaData from schema data: %s",
+                    exception.getLocalizedMessage());
         }
     }
 
@@ -68,6 +71,6 @@ public class JsonContentSchemaData implements SchemaData {
 
     @Override
     @Nullable public Object getContent() {
-        return content;
+        return SchemaDataReader.copy(content);
     }
 }
@@ -12,6 +12,8 @@
 package com.adobe.marketing.mobile.messaging;
 
 import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.Messaging;
+import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.services.ServiceProvider;
 import com.adobe.marketing.mobile.services.caching.CacheEntry;
@@ -21,17 +23,21 @@ import com.adobe.marketing.mobile.services.caching.CacheService;
 import com.adobe.marketing.mobile.util.MapUtils;
 import com.adobe.marketing.mobile.util.StringUtils;
 import com.adobe.marketing.mobile.util.UrlUtils;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * This class contains functionality to cache the json message payload and any image asset URL's
@@ -42,6 +48,13 @@ final class MessagingCacheUtilities {
     private final CacheService cacheService;
     private final String assetCacheLocation;
     private final String METADATA_KEY_PATH_TO_FILE = "pathToFile";
+    // holds the manifest while the propositions cache entry is being updated
+    private static final String PENDING_MANIFEST_KEY =
+            MessagingConstants.PROPOSITIONS_CACHE_SUBDIRECTORY + ".pending";
+    // holds the rules snapshot of the cached propositions
+    @VisibleForTesting
+    static final String RULES_SNAPSHOT_KEY =
+            MessagingConstants.PROPOSITIONS_CACHE_SUBDIRECTORY + ".rules";
     private final Map<String, String> assetMap = new HashMap<>();
 
     public MessagingCacheUtilities() {
@@ -67,9 +80,15 @@ final class MessagingCacheUtilities {
     /** Delete all contents in the Messaging extension cache subdirectory. */
     @VisibleForTesting
     void clearCachedData() {
+        final InputStream cachedData = openPropositionsCacheEntry();
+        if (!isSingleEntryCache(cachedData)) {
+            removeSurfaceEntries(readCommittedManifest(cachedData), null);
+        }
         cacheService.remove(
                 MessagingConstants.CACHE_BASE_DIR,
                 MessagingConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
+        cacheService.remove(MessagingConstants.CACHE_BASE_DIR, PENDING_MANIFEST_KEY);
+        cacheService.remove(MessagingConstants.CACHE_BASE_DIR, RULES_SNAPSHOT_KEY);
         cacheService.remove(
                 MessagingConstants.CACHE_BASE_DIR, MessagingConstants.IMAGES_CACHE_SUBDIRECTORY);
         Log.trace(
@@ -84,9 +103,171 @@ final class MessagingCacheUtilities {
      * Retrieves cached {@code String} proposition payloads and returns them in a {@link List<
      * Proposition >}.
      *
+     * <p>Propositions are read from the cache entry of each surface listed in the {@link
+     * PropositionCacheManifest}. Propositions cached in a single entry by a previous version of the
+     * extension, in the {@link PropositionCacheFormat} or with Java serialization, are migrated to
+     * one entry per surface once read.
+     *
      * @return a {@code Map<Surface, List<Proposition>>} containing the cached proposition payloads.
      */
     Map<Surface, List<Proposition>> getCachedPropositions() {
+        final InputStream cachedData = openPropositionsCacheEntry();
+        if (isSingleEntryCache(cachedData)) {
+            final Map<Surface, List<Proposition>> propositions =
+                    readSingleEntryPropositions(cachedData);
+            if (!MapUtils.isNullOrEmpty(propositions)) {
+                Log.debug(
+                        MessagingConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Migrating cached propositions to one cache entry per surface.");
+                writeSurfaceEntries(propositions, Collections.<Surface>emptyList(), null);
+            }
+            return propositions;
+        }
+
+        final PropositionCacheManifest manifest = readCommittedManifest(cachedData);
+        return manifest != null ? readSurfaceEntries(manifest) : null;
+    }
+
+    /**
+     * Returns the manifest listing the cached surfaces along with the digest of their cache entry.
+     *
+     * @return the committed {@link PropositionCacheManifest}, or null if no propositions are cached
+     *     or they are cached in a single entry by a previous version of the extension
+     */
+    PropositionCacheManifest getCachedManifest() {
+        final InputStream cachedData = openPropositionsCacheEntry();
+        if (isSingleEntryCache(cachedData)) {
+            close(cachedData);
+            return null;
+        }
+        return readCommittedManifest(cachedData);
+    }
+
+    /**
+     * Retrieves the {@link RulesSnapshot} of the cached propositions.
+     *
+     * @return the cached {@link RulesSnapshot}, or null if none is cached, it cannot be read or it
+     *     was created by another version of the extension or of Core
+     */
+    RulesSnapshot getCachedRulesSnapshot() {
+        final CacheResult cacheResult =
+                cacheService.get(MessagingConstants.CACHE_BASE_DIR, RULES_SNAPSHOT_KEY);
+        if (cacheResult == null) {
+            return null;
+        }
+        final InputStream cachedData = cacheResult.getData();
+        try {
+            return RulesSnapshot.read(
+                    cachedData, Messaging.extensionVersion(), MobileCore.extensionVersion());
+        } catch (final IOException ioException) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Exception occurred when reading the cached rules snapshot: %s",
+                    ioException.getMessage());
+            return null;
+        } finally {
+            close(cachedData);
+        }
+    }
+
+    /**
+     * Caches the provided {@link RulesSnapshot}, replacing any previously cached snapshot.
+     *
+     * @param rulesSnapshot the {@link RulesSnapshot} of the cached propositions
+     */
+    void cacheRulesSnapshot(final RulesSnapshot rulesSnapshot) {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try {
+            rulesSnapshot.write(byteArrayOutputStream);
+        } catch (final IOException e) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "IOException while attempting to write the rules snapshot (%s)",
+                    e);
+            return;
+        }
+        if (!cacheService.set(
+                MessagingConstants.CACHE_BASE_DIR,
+                RULES_SNAPSHOT_KEY,
+                new CacheEntry(
+                        new ByteArrayInputStream(byteArrayOutputStream.toByteArray()),
+                        CacheExpiry.never(),
+                        null))) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Unable to write the cached rules snapshot.");
+        }
+    }
+
+    /**
+     * @param cachedData the {@link InputStream} of the propositions cache entry, may be null
+     * @return true if the entry contains propositions cached in a single entry by a previous
+     *     version of the extension rather than a {@link PropositionCacheManifest}
+     */
+    private boolean isSingleEntryCache(final InputStream cachedData) {
+        return cachedData != null
+                && !isTruncatedBeforeHeader(cachedData)
+                && !PropositionCacheManifest.hasManifestHeader(cachedData);
+    }
+
+    private static boolean isTruncatedBeforeHeader(final InputStream cachedData) {
+        try {
+            cachedData.mark(PropositionCacheFormat.HEADER_LENGTH);
+            int length = 0;
+            while (length < PropositionCacheFormat.HEADER_LENGTH && cachedData.read() != -1) {
+                length++;
+            }
+            cachedData.reset();
+            return length < PropositionCacheFormat.HEADER_LENGTH;
+        } catch (final IOException exception) {
+            return true;
+        }
+    }
+
+    /**
+     * Reads the manifest from the provided propositions cache entry. If the entry is missing or
+     * incomplete because an update was interrupted while it was written, the update is completed
+     * from the pending manifest.
+     *
+     * @param cachedData the {@link InputStream} of the propositions cache entry, may be null
+     * @return the committed {@link PropositionCacheManifest}, or null if none is found
+     */
+    private PropositionCacheManifest readCommittedManifest(final InputStream cachedData) {
+        if (cachedData != null && !isTruncatedBeforeHeader(cachedData)) {
+            final PropositionCacheManifest manifest = readManifest(cachedData);
+            if (manifest != null) {
+                return manifest;
+            }
+        } else {
+            close(cachedData);
+        }
+
+        final CacheResult cacheResult =
+                cacheService.get(MessagingConstants.CACHE_BASE_DIR, PENDING_MANIFEST_KEY);
+        if (cacheResult == null) {
+            return null;
+        }
+        final PropositionCacheManifest pendingManifest =
+                readManifest(new BufferedInputStream(cacheResult.getData()));
+        if (pendingManifest == null) {
+            return null;
+        }
+        Log.debug(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Completing an interrupted update of the cached propositions.");
+        final byte[] content = serializeManifest(pendingManifest);
+        if (content != null) {
+            publishManifest(content);
+        }
+        return pendingManifest;
+    }
+
+    private InputStream openPropositionsCacheEntry() {
         final CacheResult cacheResult =
                 cacheService.get(
                         MessagingConstants.CACHE_BASE_DIR,
@@ -104,11 +285,88 @@ final class MessagingCacheUtilities {
                     "Loading cached proposition from (%s)",
                     fileMetadata.get(METADATA_KEY_PATH_TO_FILE));
         }
+        return new BufferedInputStream(cacheResult.getData());
+    }
 
+    private PropositionCacheManifest readManifest(final InputStream cachedData) {
+        try {
+            return PropositionCacheManifest.read(cachedData);
+        } catch (final IOException ioException) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Exception occurred when reading the cached propositions manifest: %s",
+                    ioException.getMessage());
+            return null;
+        } finally {
+            close(cachedData);
+        }
+    }
+
+    private Map<Surface, List<Proposition>> readSurfaceEntries(
+            final PropositionCacheManifest manifest) {
+        final Map<Surface, List<Proposition>> cachedPropositions = new HashMap<>();
+        for (final String surfaceUri : manifest.getSurfaceUris()) {
+            final CacheResult cacheResult =
+                    cacheService.get(
+                            MessagingConstants.CACHE_BASE_DIR,
+                            PropositionCacheManifest.shardKey(
+                                    surfaceUri, manifest.getDigest(surfaceUri)));
+            if (cacheResult == null) {
+                Log.warning(
+                        MessagingConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Unable to find the cached propositions for surface (%s).",
+                        surfaceUri);
+                continue;
+            }
+            final Map<Surface, List<Proposition>> surfacePropositions =
+                    readPropositionCache(cacheResult.getData());
+            if (surfacePropositions != null) {
+                cachedPropositions.putAll(surfacePropositions);
+            }
+        }
+        return cachedPropositions;
+    }
+
+    private Map<Surface, List<Proposition>> readSingleEntryPropositions(
+            final InputStream cachedData) {
+        if (PropositionCacheReader.hasCacheHeader(cachedData)) {
+            return readPropositionCache(cachedData);
+        }
+        return readSerializedPropositions(cachedData);
+    }
+
+    private Map<Surface, List<Proposition>> readPropositionCache(final InputStream cachedData) {
+        PropositionCacheReader reader = null;
+        try {
+            reader = new PropositionCacheReader(cachedData);
+            return reader.readAll();
+        } catch (final IOException ioException) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Exception occurred when reading from the cached file: %s",
+                    ioException.getMessage());
+            return null;
+        } finally {
+            close(reader != null ? reader : cachedData);
+        }
+    }
+
+    /**
+     * Reads propositions cached with Java serialization, as {@code Proposition} or legacy {@code
+     * PropositionPayload} objects.
+     *
+     * @param serializedData the {@link InputStream} of the cached file
+     * @return a {@code Map<Surface, List<Proposition>>} containing the cached propositions
+     */
+    private Map<Surface, List<Proposition>> readSerializedPropositions(
+            final InputStream serializedData) {
         ObjectInputStream objectInputStream = null;
         Map<Surface, List<Proposition>> cachedPropositions = new HashMap<>();
         try {
-            objectInputStream = new ObjectInputStream(cacheResult.getData());
+            objectInputStream = new ObjectInputStream(serializedData);
 
             final Object cachedData = objectInputStream.readObject();
             if (cachedData == null) {
@@ -188,6 +446,9 @@ final class MessagingCacheUtilities {
     /**
      * Caches the provided {@code Map<Surface, List<Proposition>>}.
      *
+     * <p>Only the cache entries of the provided surfaces and of the surfaces to be removed are
+     * written, the entries of other cached surfaces are left untouched.
+     *
      * @param newPropositions the {@link Map<Surface, List< Proposition >>} containing the
      *     propositions to be cached.
      * @param surfacesToRemove {@link List<Surface>} containing surfaces to be removed from the
@@ -196,27 +457,43 @@ final class MessagingCacheUtilities {
     void cachePropositions(
             final Map<Surface, List<Proposition>> newPropositions,
             final List<Surface> surfacesToRemove) {
-        final Map<Surface, List<Proposition>> cachedPropositions = getCachedPropositions();
-        final Map<Surface, List<Proposition>> updatedPropositions =
-                cachedPropositions != null ? cachedPropositions : new HashMap<>();
-        updatedPropositions.putAll(newPropositions);
-        final List<Surface> propositionsToRemove = new ArrayList<>();
-        for (final Map.Entry<Surface, List<Proposition>> entry : updatedPropositions.entrySet()) {
-            if (surfacesToRemove.contains(entry.getKey())) {
-                propositionsToRemove.add(entry.getKey());
+        // only the manifest is read, unless the propositions were cached in a single entry by a
+        // previous version of the extension in which case they are all rewritten once
+        PropositionCacheManifest manifest = null;
+        final Map<Surface, List<Proposition>> updatedPropositions = new HashMap<>();
+        final InputStream cachedData = openPropositionsCacheEntry();
+        if (isSingleEntryCache(cachedData)) {
+            final Map<Surface, List<Proposition>> singleEntryPropositions =
+                    readSingleEntryPropositions(cachedData);
+            if (singleEntryPropositions != null) {
+                updatedPropositions.putAll(singleEntryPropositions);
             }
+        } else {
+            manifest = readCommittedManifest(cachedData);
         }
-        for (final Surface surface : propositionsToRemove) {
+        updatedPropositions.putAll(newPropositions);
+        for (final Surface surface : surfacesToRemove) {
             updatedPropositions.remove(surface);
         }
 
-        // clean any existing cached propositions first if the provided propositions are null or
-        // empty
-        final Map<Surface, List<Proposition>> propositions = new HashMap<>(updatedPropositions);
-        if (MapUtils.isNullOrEmpty(propositions)) {
+        // clean any existing cached propositions if no surface remains cached
+        final Set<String> cachedSurfaceUris = new HashSet<>();
+        if (manifest != null) {
+            cachedSurfaceUris.addAll(manifest.getSurfaceUris());
+        }
+        for (final Surface surface : updatedPropositions.keySet()) {
+            cachedSurfaceUris.add(surface.getUri());
+        }
+        for (final Surface surface : surfacesToRemove) {
+            cachedSurfaceUris.remove(surface.getUri());
+        }
+        if (cachedSurfaceUris.isEmpty()) {
+            removeSurfaceEntries(manifest, null);
             cacheService.remove(
                     MessagingConstants.CACHE_BASE_DIR,
                     MessagingConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
+            cacheService.remove(MessagingConstants.CACHE_BASE_DIR, PENDING_MANIFEST_KEY);
+            cacheService.remove(MessagingConstants.CACHE_BASE_DIR, RULES_SNAPSHOT_KEY);
             Log.trace(
                     MessagingConstants.LOG_TAG,
                     SELF_TAG,
@@ -225,47 +502,185 @@ final class MessagingCacheUtilities {
         }
 
         Log.debug(MessagingConstants.LOG_TAG, SELF_TAG, "Creating new cached propositions");
-        ByteArrayOutputStream byteArrayOutputStream = null;
-        InputStream inputStream = null;
-        ObjectOutputStream objectOutputStream = null;
-        try {
-            byteArrayOutputStream = new ByteArrayOutputStream();
-            objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
-            objectOutputStream.writeObject(propositions);
-            objectOutputStream.flush();
-            inputStream = new ByteArrayInputStream(byteArrayOutputStream.toByteArray());
-            final CacheEntry cacheEntry = new CacheEntry(inputStream, CacheExpiry.never(), null);
-            cacheService.set(
+        writeSurfaceEntries(updatedPropositions, surfacesToRemove, manifest);
+    }
+
+    /**
+     * Writes the cache entry of each provided surface whose content changed, then commits the
+     * updated manifest, and finally removes the entries no longer listed in the manifest.
+     *
+     * <p>Surface entries are keyed by their content digest so a committed entry is never
+     * overwritten, and an update interrupted at any point leaves either the previous or the
+     * updated manifest readable along with all the entries it lists.
+     *
+     * @param propositions the {@code Map<Surface, List<Proposition>>} to be cached
+     * @param surfacesToRemove {@code List<Surface>} to be removed from the cache
+     * @param previousManifest the {@link PropositionCacheManifest} currently cached, if any
+     */
+    private void writeSurfaceEntries(
+            final Map<Surface, List<Proposition>> propositions,
+            final List<Surface> surfacesToRemove,
+            final PropositionCacheManifest previousManifest) {
+        final PropositionCacheManifest manifest =
+                previousManifest != null
+                        ? new PropositionCacheManifest(previousManifest)
+                        : new PropositionCacheManifest();
+        for (final Map.Entry<Surface, List<Proposition>> entry : propositions.entrySet()) {
+            final String surfaceUri = entry.getKey().getUri();
+            final byte[] content = serializePropositions(entry.getKey(), entry.getValue());
+            if (content == null) {
+                // leave the manifest untouched, the surface is rewritten by the next update
+                return;
+            }
+            final String digest = PropositionCacheManifest.digest(content);
+            if (manifest.hasDigest(surfaceUri, digest)) {
+                continue;
+            }
+            final CacheEntry cacheEntry =
+                    new CacheEntry(
+                            new ByteArrayInputStream(content), CacheExpiry.never(), null);
+            if (cacheService.set(
                     MessagingConstants.CACHE_BASE_DIR,
-                    MessagingConstants.PROPOSITIONS_CACHE_SUBDIRECTORY,
-                    cacheEntry);
+                    PropositionCacheManifest.shardKey(surfaceUri, digest),
+                    cacheEntry)) {
+                manifest.put(surfaceUri, digest);
+            }
+        }
+        for (final Surface surface : surfacesToRemove) {
+            manifest.remove(surface.getUri());
+        }
+
+        if (previousManifest != null && manifest.equals(previousManifest)) {
+            return;
+        }
+        final byte[] content = serializeManifest(manifest);
+        if (content != null && commitManifest(content)) {
+            removeSurfaceEntries(previousManifest, manifest);
+        }
+    }
+
+    /**
+     * Writes the serialized manifest to the pending manifest entry, then to the propositions cache
+     * entry, so the update can be completed if it is interrupted while the latter is written.
+     *
+     * @param content the serialized {@link PropositionCacheManifest}
+     * @return true if the manifest was committed to the propositions cache entry
+     */
+    private boolean commitManifest(final byte[] content) {
+        if (!cacheService.set(
+                MessagingConstants.CACHE_BASE_DIR,
+                PENDING_MANIFEST_KEY,
+                new CacheEntry(new ByteArrayInputStream(content), CacheExpiry.never(), null))) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Unable to write the pending cached propositions manifest.");
+            return false;
+        }
+        return publishManifest(content);
+    }
+
+    private boolean publishManifest(final byte[] content) {
+        if (!cacheService.set(
+                MessagingConstants.CACHE_BASE_DIR,
+                MessagingConstants.PROPOSITIONS_CACHE_SUBDIRECTORY,
+                new CacheEntry(new ByteArrayInputStream(content), CacheExpiry.never(), null))) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Unable to write the cached propositions manifest.");
+            return false;
+        }
+        cacheService.remove(MessagingConstants.CACHE_BASE_DIR, PENDING_MANIFEST_KEY);
+        return true;
+    }
+
+    private byte[] serializeManifest(final PropositionCacheManifest manifest) {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try {
+            manifest.write(byteArrayOutputStream);
+            return byteArrayOutputStream.toByteArray();
+        } catch (final IOException e) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "IOException while attempting to write the cached propositions manifest"
+                            + " (%s)",
+                    e);
+            return null;
+        }
+    }
+
+    /**
+     * Serializes the propositions of a single surface in the {@link PropositionCacheFormat}.
+     *
+     * @param surface the {@link Surface} the propositions are cached for
+     * @param propositions {@code List<Proposition>} cached for the surface
+     * @return the serialized {@code byte[]}, or null if the propositions cannot be serialized
+     */
+    private byte[] serializePropositions(
+            final Surface surface, final List<Proposition> propositions) {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        PropositionCacheWriter writer = null;
+        try {
+            writer = new PropositionCacheWriter(byteArrayOutputStream);
+            writer.writeSurface(surface, propositions);
+            writer.finish();
+            return byteArrayOutputStream.toByteArray();
         } catch (final IOException e) {
             Log.warning(
                     MessagingConstants.LOG_TAG,
                     SELF_TAG,
                     "IOException while attempting to write remote file (%s)",
                     e);
+            return null;
         } finally {
-            try {
-                if (objectOutputStream != null) {
-                    objectOutputStream.close();
-                }
-                if (byteArrayOutputStream != null) {
-                    byteArrayOutputStream.close();
-                }
-                if (inputStream != null) {
-                    inputStream.close();
-                }
-            } catch (final IOException e) {
-                Log.warning(
-                        MessagingConstants.LOG_TAG,
-                        SELF_TAG,
-                        "Unable to close the ObjectOutputStream (%s) ",
-                        e);
+            close(writer);
+        }
+    }
+
+    /**
+     * Removes the cache entries listed in the previous manifest but not in the retained one.
+     *
+     * @param previousManifest the {@link PropositionCacheManifest} listing the cached entries
+     * @param retainedManifest the {@link PropositionCacheManifest} listing the entries to be kept,
+     *     null to remove all entries
+     */
+    private void removeSurfaceEntries(
+            final PropositionCacheManifest previousManifest,
+            final PropositionCacheManifest retainedManifest) {
+        if (previousManifest == null) {
+            return;
+        }
+        for (final String surfaceUri : previousManifest.getSurfaceUris()) {
+            final String shardKey =
+                    PropositionCacheManifest.shardKey(
+                            surfaceUri, previousManifest.getDigest(surfaceUri));
+            final String retainedDigest =
+                    retainedManifest != null ? retainedManifest.getDigest(surfaceUri) : null;
+            if (retainedDigest == null
+                    || !shardKey.equals(
+                            PropositionCacheManifest.shardKey(surfaceUri, retainedDigest))) {
+                cacheService.remove(MessagingConstants.CACHE_BASE_DIR, shardKey);
             }
         }
     }
 
+    private void close(final Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (final IOException ioException) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Exception occurred when closing the cached file: %s",
+                    ioException.getMessage());
+        }
+    }
+
     /**
      * Converts the provided {@code PropositionPayload} into a {@code Proposition}.
      *
@@ -34,6 +34,15 @@ public final class MessagingConstants {
     static final long CACHE_EXPIRY_TIME = 604800000; // 7 days in milliseconds
     static final int DOWNLOAD_ASSET_TIMEOUT = 5000;
     static final int IGNORE_PUSH_SYNC_TIMEOUT_MS = 1000;
+    static final int PARALLEL_PARSING_MIN_SURFACES = 4;
+    static final int MAX_PARSING_THREADS = 4;
+    static final long PARSING_THREAD_KEEP_ALIVE_SECONDS = 30;
+    static final long DEFAULT_CONTENT_CARD_QUALIFICATION_WINDOW_MS = 50;
+    static final long MAX_CONTENT_CARD_QUALIFICATION_WINDOW_MS = 1000;
+    static final int MAX_PENDING_QUALIFICATION_EVENTS = 50;
+    static final long QUALIFICATION_THREAD_KEEP_ALIVE_SECONDS = 30;
+    static final long PROPOSITION_PERSISTENCE_DELAY_MS = 100;
+    static final long PERSISTENCE_THREAD_KEEP_ALIVE_SECONDS = 30;
 
     private MessagingConstants() {}
 
@@ -182,6 +191,30 @@ public final class MessagingConstants {
             private Identity() {}
         }
 
+        final class Debug {
+            static final String DEBUG = "debug";
+            static final String EVENT_TYPE = "eventType";
+            static final String EVENT_SOURCE = "eventSource";
+
+            private Debug() {}
+        }
+
+        final class RulesProfile {
+            static final String RULES_PROFILE = "rulesprofile";
+            static final String ENABLED = "enabled";
+            static final String ENGINES = "engines";
+            static final String MATCHES = "matches";
+            static final String EARLY_REJECTIONS = "earlyrejections";
+            static final String EVALUATIONS = "evaluations";
+            static final String TOTAL_MICROS = "totalmicros";
+            static final String MAX_MICROS = "maxmicros";
+            static final String AVERAGE_RULES_EVALUATED = "averagerulesevaluated";
+            static final String LATENCY_BUCKET_BOUNDS_MICROS = "latencybucketboundsmicros";
+            static final String LATENCY_HISTOGRAM = "latencyhistogram";
+
+            private RulesProfile() {}
+        }
+
         final class Consent {
             /**
              * Top-level boolean field on {@code CONSENT_PREFERENCES_UPDATED} events emitted by
@@ -318,6 +351,26 @@ public final class MessagingConstants {
             static final String MESSAGE_CONSEQUENCE_DETAIL_KEY_MOBILE_PARAMETERS =
                     "mobileParameters";
             static final String CONSEQUENCE_TRIGGERED = "triggeredconsequence";
+            static final String JSON_CONDITION_KEY = "condition";
+            static final String CONDITION_TYPE = "type";
+            static final String CONDITION_DEFINITION = "definition";
+            static final String CONDITION_TYPE_GROUP = "group";
+            static final String CONDITION_TYPE_MATCHER = "matcher";
+            static final String CONDITION_TYPE_HISTORICAL = "historical";
+            static final String DEFINITION_LOGIC = "logic";
+            static final String DEFINITION_CONDITIONS = "conditions";
+            static final String DEFINITION_KEY = "key";
+            static final String DEFINITION_MATCHER = "matcher";
+            static final String DEFINITION_VALUES = "values";
+            static final String DEFINITION_EVENTS = "events";
+            static final String DEFINITION_VALUE = "value";
+            static final String DEFINITION_SEARCH_TYPE = "searchType";
+            static final String SEARCH_TYPE_ANY = "any";
+            static final String LOGIC_AND = "and";
+            static final String LOGIC_OR = "or";
+            static final String MATCHER_EQUALS = "eq";
+            static final String EVENT_TYPE_TOKEN = "~type";
+            static final String EVENT_SOURCE_TOKEN = "~source";
 
             private RulesEngine() {}
         }
@@ -363,6 +416,7 @@ public final class MessagingConstants {
         static final String ASSURANCE_SPOOFED_IAM_EVENT_NAME = "Rule Consequence Event (Spoof)";
         static final String TRACK_PROPOSITIONS = "Track propositions";
         static final String EVENT_HISTORY_WRITE = "Write IAM event to history";
+        static final String RULES_PROFILE_RESPONSE = "Messaging rules evaluation profile";
 
         private EventName() {}
     }
@@ -410,6 +464,9 @@ public final class MessagingConstants {
             // Messaging
             static final String EXPERIENCE_EVENT_DATASET_ID = "messaging.eventDataset";
             static final String OPTIMIZE_PUSH_SYNC = "messaging.optimizePushSync";
+            static final String CONTENT_CARD_QUALIFICATION_WINDOW =
+                    "messaging.contentCardQualificationWindowMs";
+            static final String RULES_PROFILING_ENABLED = "messaging.rulesProfilingEnabled";
 
             private Configuration() {}
         }
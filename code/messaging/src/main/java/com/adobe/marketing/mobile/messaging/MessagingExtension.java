@@ -48,6 +48,8 @@ public final class MessagingExtension extends Extension {
     final LaunchRulesEngine messagingRulesEngine;
     final ContentCardRulesEngine contentCardRulesEngine;
     private SerialWorkDispatcher<Event> serialWorkDispatcher;
+    // shows a single in-app message when one event triggers several in-app rules
+    private final InAppMessageArbiter inAppMessageArbiter;
 
     @VisibleForTesting static final Object completionHandlersMutex = new Object();
     @VisibleForTesting static List<CompletionHandler> completionHandlers = new ArrayList<>();
@@ -84,6 +86,7 @@ public final class MessagingExtension extends Extension {
             final ContentCardRulesEngine contentCardRulesEngine,
             final EdgePersonalizationResponseHandler edgePersonalizationResponseHandler) {
         super(extensionApi);
+        EventHistoryCounterCache.getInstance().setExtensionApi(extensionApi);
         this.messagingRulesEngine =
                 messagingRulesEngine != null
                         ? messagingRulesEngine
@@ -103,6 +106,9 @@ public final class MessagingExtension extends Extension {
                                 extensionApi,
                                 this.messagingRulesEngine,
                                 this.contentCardRulesEngine);
+        this.inAppMessageArbiter =
+                new InAppMessageArbiter(
+                        this.edgePersonalizationResponseHandler::createInAppMessage);
     }
 
     // region Extension interface methods
@@ -180,21 +186,21 @@ public final class MessagingExtension extends Extension {
                         this::handleEdgeConsentResponse);
 
         // Handler function called for each queued event. If the queued event is a get propositions
-        // event, process it
-        // otherwise if it is an Edge event to update propositions, process it only if it is
-        // completed.
+        // event, process it only once no personalization request for the same surfaces is pending.
         if (serialWorkDispatcher == null) {
             serialWorkDispatcher =
                     new SerialWorkDispatcher<>(
                             "MessagingEvents",
                             event -> {
                                 if (InternalMessagingUtils.isGetPropositionsEvent(event)) {
+                                    final List<Surface> surfaces =
+                                            InternalMessagingUtils.getSurfaces(event);
+                                    if (edgePersonalizationResponseHandler
+                                            .hasPendingRequestForSurfaces(surfaces)) {
+                                        return false;
+                                    }
                                     edgePersonalizationResponseHandler.retrieveInMemoryPropositions(
-                                            InternalMessagingUtils.getSurfaces(event), event);
-                                } else if (event.getType().equals(EventType.EDGE)) {
-                                    return !edgePersonalizationResponseHandler
-                                            .getRequestedSurfacesForEventId()
-                                            .containsKey(event.getUniqueIdentifier());
+                                            surfaces, event);
                                 }
                                 return true;
                             });
@@ -234,6 +240,15 @@ public final class MessagingExtension extends Extension {
             return false;
         }
 
+        // hold events which could trigger cached in-app messages until their rules are loaded
+        if (edgePersonalizationResponseHandler.shouldHoldForCachedInAppRules(event)) {
+            Log.trace(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Event processing is paused - waiting for cached in-app rules to be loaded.");
+            return false;
+        }
+
         // fetch propositions on initial launch once we have configuration and identity state set
         if (!initialMessageFetchComplete) {
             edgePersonalizationResponseHandler.fetchPropositions(event, null);
@@ -283,9 +298,45 @@ public final class MessagingExtension extends Extension {
                     break;
                 default:
             }
+        } else if (MessagingConstants.EventType.MESSAGING.equals(
+                        EventUtils.getDebugEventType(event))
+                && MessagingConstants.EventSource.REQUEST_CONTENT.equals(
+                        EventUtils.getDebugEventSource(event))) {
+            dispatchRulesProfile(event);
         }
     }
 
+    /**
+     * Dispatches a debug event containing a snapshot of the {@link RulesEvaluationProfiler} in
+     * response to the provided debug request event.
+     *
+     * @param requestEvent the debug {@link Event} requesting the rules evaluation profile
+     */
+    private void dispatchRulesProfile(final Event requestEvent) {
+        final Map<String, Object> debugData = new HashMap<>();
+        debugData.put(
+                MessagingConstants.EventDataKeys.Debug.EVENT_TYPE,
+                MessagingConstants.EventType.MESSAGING);
+        debugData.put(
+                MessagingConstants.EventDataKeys.Debug.EVENT_SOURCE,
+                EventSource.RESPONSE_CONTENT);
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put(MessagingConstants.EventDataKeys.Debug.DEBUG, debugData);
+        eventData.put(
+                MessagingConstants.EventDataKeys.RulesProfile.RULES_PROFILE,
+                RulesEvaluationProfiler.getInstance().snapshot().toEventData());
+
+        final Event responseEvent =
+                new Event.Builder(
+                                MessagingConstants.EventName.RULES_PROFILE_RESPONSE,
+                                EventType.SYSTEM,
+                                EventSource.DEBUG)
+                        .setEventData(eventData)
+                        .inResponseToEvent(requestEvent)
+                        .build();
+        getApi().dispatch(responseEvent);
+    }
+
     // Called on every event, used to allow processing of the Messaging rules engine
     @SuppressWarnings("NestedIfDepth")
     void handleWildcardEvents(final Event event) {
@@ -306,8 +357,46 @@ public final class MessagingExtension extends Extension {
                     PropositionItem.fromSchemaConsequenceEvent(event));
             return;
         }
-        messagingRulesEngine.processEvent(event);
-        edgePersonalizationResponseHandler.addOrReplaceContentCards(event);
+
+        if (InternalMessagingUtils.isConfigurationResponseEvent(event)) {
+            edgePersonalizationResponseHandler.setContentCardQualificationWindow(
+                    DataReader.optLong(
+                            event.getEventData(),
+                            MessagingConstants.SharedState.Configuration
+                                    .CONTENT_CARD_QUALIFICATION_WINDOW,
+                            MessagingConstants.DEFAULT_CONTENT_CARD_QUALIFICATION_WINDOW_MS));
+            RulesEvaluationProfiler.getInstance()
+                    .setEnabled(
+                            DataReader.optBoolean(
+                                    event.getEventData(),
+                                    MessagingConstants.SharedState.Configuration
+                                            .RULES_PROFILING_ENABLED,
+                                    false));
+        }
+
+        // keep the in-memory event history counts in sync with event history writes
+        EventHistoryCounterCache.getInstance().onEvent(event);
+
+        // skip rules evaluation for events which cannot match any loaded rule
+        final EventPrefilterIndex eventPrefilterIndex =
+                edgePersonalizationResponseHandler.getEventPrefilterIndex();
+        final RulesEvaluationProfiler profiler = RulesEvaluationProfiler.getInstance();
+        if (eventPrefilterIndex != null && !eventPrefilterIndex.mayMatch(event)) {
+            profiler.recordEarlyRejection();
+            return;
+        }
+        if (profiler.isEnabled()) {
+            final long startNanos = System.nanoTime();
+            messagingRulesEngine.processEvent(event);
+            profiler.recordEvaluation(
+                    RulesEvaluationProfiler.Engine.IN_APP,
+                    System.nanoTime() - startNanos,
+                    edgePersonalizationResponseHandler.getLoadedInAppRuleCount());
+        } else {
+            messagingRulesEngine.processEvent(event);
+        }
+        // content cards are qualified off the event hub thread, coalescing bursts of events
+        edgePersonalizationResponseHandler.qualifyContentCards(event);
     }
 
     /**
@@ -315,7 +404,8 @@ public final class MessagingExtension extends Extension {
      * in the Messaging {@link LaunchRulesEngine}. The {@link EdgePersonalizationResponseHandler}
      * will then attempt to show a {@link
      * com.adobe.marketing.mobile.services.ui.Presentable<com.adobe.marketing.mobile.services.ui.InAppMessage>}
-     * created from the triggered rule consequence payload.
+     * created from the triggered rule consequence payload. When one event triggers several in-app
+     * rules, only the highest ranked message is created, see {@link InAppMessageArbiter}.
      *
      * @param event incoming {@link Event} object to be processed
      */
@@ -337,9 +427,10 @@ public final class MessagingExtension extends Extension {
                             + " null");
             return;
         }
+        RulesEvaluationProfiler.getInstance().recordMatch(propositionItem.getItemId());
         switch (propositionItem.getSchema()) {
             case INAPP:
-                edgePersonalizationResponseHandler.createInAppMessage(propositionItem);
+                inAppMessageArbiter.offer(event, propositionItem);
                 break;
             case EVENT_HISTORY_OPERATION:
                 edgePersonalizationResponseHandler.handleEventHistoryRuleConsequence(
@@ -16,10 +16,19 @@ import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
 import com.adobe.marketing.mobile.launch.rulesengine.RuleConsequence;
 import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser;
 import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.json.JSONObject;
 
 @SuppressWarnings("NestedForDepth")
@@ -29,142 +38,458 @@ public class ParsedPropositions {
     final Map<String, PropositionInfo> propositionInfoToCache = new HashMap<>();
 
     // non-in-app propositions should be cached and not persisted
-    Map<Surface, List<Proposition>> propositionsToCache = new HashMap<>();
+    final Map<Surface, List<Proposition>> propositionsToCache = new HashMap<>();
 
     // in-app propositions don't need to stay in cache, but must be persisted
     // also need to store tracking info for in-app propositions as `PropositionInfo`
-    Map<Surface, List<Proposition>> propositionsToPersist = new HashMap<>();
+    final Map<Surface, List<Proposition>> propositionsToPersist = new HashMap<>();
 
     // in-app and content card rules need to be applied to their respective rules engines
     final Map<SchemaType, Map<Surface, List<LaunchRule>>> surfaceRulesBySchemaType =
             new HashMap<>();
 
+    // staged propositions the maps above were built from, used to create a rules snapshot
+    final Map<Surface, List<StagedProposition>> stagedPropositions = new HashMap<>();
+
+    // builders updating the maps above in place
+    private final SurfaceMapBuilder<Proposition> propositionsToCacheBuilder =
+            new SurfaceMapBuilder<>(propositionsToCache);
+    private final SurfaceMapBuilder<Proposition> propositionsToPersistBuilder =
+            new SurfaceMapBuilder<>(propositionsToPersist);
+    private final Map<SchemaType, SurfaceMapBuilder<LaunchRule>> ruleBuildersBySchemaType =
+            new HashMap<>();
+    private final SurfaceMapBuilder<StagedProposition> stagedPropositionsBuilder =
+            new SurfaceMapBuilder<>(stagedPropositions);
+
     ParsedPropositions(
             final Map<Surface, List<Proposition>> propositions,
             final List<Surface> requestedSurfaces,
             final ExtensionApi extensionApi) {
-        for (final List<Proposition> propositionList : propositions.values()) {
-            // sort the propositions by rank before processing
+        this(propositions, requestedSurfaces, extensionApi, null);
+    }
+
+    ParsedPropositions(
+            final Map<Surface, List<Proposition>> propositions,
+            final List<Surface> requestedSurfaces,
+            final ExtensionApi extensionApi,
+            final ParsedRulesCache parsedRulesCache) {
+        this(propositions, requestedSurfaces, extensionApi, parsedRulesCache, null);
+    }
+
+    /**
+     * Parses the provided propositions, optionally staging each surface's propositions
+     * concurrently on the provided {@link ExecutorService}.
+     *
+     * <p>Staged results are always applied on the calling thread in the iteration order of {@code
+     * propositions}, so the output is identical to a serial parse. Surfaces which cannot be staged
+     * on the executor are staged on the calling thread instead.
+     *
+     * @param propositions {@code Map<Surface, List<Proposition>>} of propositions to be parsed
+     * @param requestedSurfaces {@code List<Surface>} of surfaces requested for the propositions
+     * @param extensionApi {@link ExtensionApi} used by the rules parser
+     * @param parsedRulesCache {@link ParsedRulesCache} used to look up previously parsed rules, or
+     *     null to always parse the rules
+     * @param parsingExecutor {@link ExecutorService} used to stage surfaces concurrently, or null
+     *     to parse all surfaces on the calling thread
+     */
+    ParsedPropositions(
+            final Map<Surface, List<Proposition>> propositions,
+            final List<Surface> requestedSurfaces,
+            final ExtensionApi extensionApi,
+            final ParsedRulesCache parsedRulesCache,
+            final ExecutorService parsingExecutor) {
+        final Set<String> requestedUris = SurfaceRegistry.getUris(requestedSurfaces);
+        final List<List<Proposition>> propositionLists = new ArrayList<>(propositions.values());
+        if (parsingExecutor == null || propositionLists.size() < 2) {
+            for (final List<Proposition> propositionList : propositionLists) {
+                applyStagedPropositions(
+                        stageSurfacePropositions(
+                                propositionList, requestedUris, extensionApi, parsedRulesCache));
+            }
+            return;
+        }
+
+        final List<Future<List<StagedProposition>>> stagedFutures = new ArrayList<>();
+        for (final List<Proposition> propositionList : propositionLists) {
+            Future<List<StagedProposition>> stagedFuture = null;
+            try {
+                stagedFuture =
+                        parsingExecutor.submit(
+                                () ->
+                                        stageSurfacePropositions(
+                                                propositionList,
+                                                requestedUris,
+                                                extensionApi,
+                                                parsedRulesCache));
+            } catch (final RejectedExecutionException exception) {
+                Log.trace(
+                        MessagingConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Parsing executor rejected surface, it will be parsed serially.");
+            }
+            stagedFutures.add(stagedFuture);
+        }
+
+        // apply the results in submission order so the output matches a serial parse
+        for (int i = 0; i < propositionLists.size(); i++) {
+            List<StagedProposition> stagedPropositions = awaitStaged(stagedFutures.get(i));
+            if (stagedPropositions == null) {
+                stagedPropositions =
+                        stageSurfacePropositions(
+                                propositionLists.get(i),
+                                requestedUris,
+                                extensionApi,
+                                parsedRulesCache);
+            }
+            applyStagedPropositions(stagedPropositions);
+        }
+    }
+
+    /**
+     * Builds a {@link ParsedPropositions} from propositions that were already parsed by {@link
+     * #stageProposition(Proposition, ExtensionApi, ParsedRulesCache)}. Staged propositions are
+     * applied per surface in rank order, matching the output of a full parse of the same
+     * propositions.
+     *
+     * @param stagedPropositions {@code Map<Surface, List<StagedProposition>>} of staged
+     *     propositions in the order they were received
+     * @param requestedSurfaces {@code List<Surface>} of surfaces requested for the propositions
+     */
+    ParsedPropositions(
+            final Map<Surface, List<StagedProposition>> stagedPropositions,
+            final List<Surface> requestedSurfaces) {
+        final Set<String> requestedUris = SurfaceRegistry.getUris(requestedSurfaces);
+        for (final List<StagedProposition> stagedList : stagedPropositions.values()) {
+            // copy and sort the staged propositions by rank before applying them
+            final List<StagedProposition> sortedStagedList = new ArrayList<>(stagedList);
             Collections.sort(
-                    propositionList,
+                    sortedStagedList,
                     (p1, p2) -> {
-                        return Integer.compare(p1.getRank(), p2.getRank());
+                        return Integer.compare(p1.rank, p2.rank);
                     });
 
-            for (final Proposition proposition : propositionList) {
-                if (proposition == null) {
+            for (final StagedProposition stagedProposition : sortedStagedList) {
+                if (!isRequested(stagedProposition.proposition, requestedUris)) {
                     continue;
                 }
-                final String scope = proposition.getScope();
-                boolean found = false;
-                for (final Surface surface : requestedSurfaces) {
-                    if (surface.getUri().equals(scope)) {
-                        found = true;
-                        break;
-                    }
-                }
+                applyStagedProposition(stagedProposition);
+            }
+        }
+    }
 
-                if (!found) {
-                    Log.debug(
-                            MessagingConstants.LOG_TAG,
-                            SELF_TAG,
-                            "Ignoring proposition where scope (%s) does not match one of the"
-                                    + " expected surfaces (%s).",
-                            scope,
-                            requestedSurfaces.toString());
-                    continue;
-                }
+    /**
+     * Parses the rules contained in the provided {@link Proposition} without applying them.
+     *
+     * @param proposition {@link Proposition} to be parsed
+     * @param extensionApi {@link ExtensionApi} used by the rules parser
+     * @param parsedRulesCache {@link ParsedRulesCache} used to look up previously parsed rules, or
+     *     null to always parse the rules
+     * @return {@link StagedProposition} containing the parsed rules, or null if the proposition has
+     *     no items
+     */
+    static StagedProposition stageProposition(
+            final Proposition proposition,
+            final ExtensionApi extensionApi,
+            final ParsedRulesCache parsedRulesCache) {
+        if (proposition == null || MessagingUtils.isNullOrEmpty(proposition.getItems())) {
+            return null;
+        }
 
-                if (MessagingUtils.isNullOrEmpty(proposition.getItems())) {
-                    continue;
+        final Surface surface = Surface.fromUriString(proposition.getScope());
+        final PropositionItem firstPropositionItem = proposition.getItems().get(0);
+        final List<StagedRule> stagedRules = new ArrayList<>();
+        boolean cacheable = false;
+        switch (firstPropositionItem.getSchema()) {
+            case RULESET:
+                final List<LaunchRule> parsedRules;
+                if (parsedRulesCache != null) {
+                    parsedRules =
+                            parsedRulesCache.getOrParse(
+                                    firstPropositionItem.getItemData(), extensionApi);
+                } else {
+                    parsedRules =
+                            RuleConditionCompiler.compile(
+                                    JSONRulesParser.parse(
+                                            new JSONObject(firstPropositionItem.getItemData())
+                                                    .toString(),
+                                            extensionApi),
+                                    firstPropositionItem.getItemData());
+                    EventPrefilterIndex.registerRules(
+                            parsedRules, firstPropositionItem.getItemData());
                 }
-
-                final Surface surface = Surface.fromUriString(scope);
-                final PropositionItem firstPropositionItem = proposition.getItems().get(0);
-                switch (firstPropositionItem.getSchema()) {
-                    case RULESET:
-                        final JSONObject content =
-                                new JSONObject(firstPropositionItem.getItemData());
-                        final List<LaunchRule> parsedRules =
-                                JSONRulesParser.parse(content.toString(), extensionApi);
-                        // iam and feed / content card items will be wrapped in a valid rules engine
-                        // rule -
-                        // code-based experiences are not
-                        if (MessagingUtils.isNullOrEmpty(parsedRules)) {
-                            break;
-                        }
-                        for (final LaunchRule parsedRule : parsedRules) {
-                            final List<RuleConsequence> consequences =
-                                    parsedRule.getConsequenceList();
-                            if (MessagingUtils.isNullOrEmpty(consequences)) {
-                                break;
-                            }
-                            final RuleConsequence consequence = consequences.get(0);
-                            final PropositionItem schemaConsequence =
-                                    PropositionItem.fromRuleConsequence(consequence);
-                            if (schemaConsequence == null) {
-                                break;
-                            }
-                            switch (schemaConsequence.getSchema()) {
-                                case INAPP:
-                                case DEFAULT_CONTENT:
-                                    final PropositionInfo propositionInfo =
-                                            PropositionInfo.createFromProposition(proposition);
-                                    propositionInfoToCache.put(
-                                            consequence.getId(), propositionInfo);
-                                    propositionsToPersist =
-                                            MessagingUtils.updatePropositionMapForSurface(
-                                                    surface, proposition, propositionsToPersist);
-                                    mergeRules(parsedRule, surface, SchemaType.INAPP);
-                                    break;
-                                case CONTENT_CARD:
-                                case FEED:
-                                    final PropositionInfo contentCardPropositionInfo =
-                                            PropositionInfo.createFromProposition(proposition);
-                                    propositionInfoToCache.put(
-                                            consequence.getId(), contentCardPropositionInfo);
-                                    mergeRules(parsedRule, surface, SchemaType.CONTENT_CARD);
-                                    break;
-                                case EVENT_HISTORY_OPERATION:
-                                    mergeRules(
-                                            parsedRule,
-                                            surface,
-                                            SchemaType.EVENT_HISTORY_OPERATION);
-                                    break;
-                                default:
-                                    break;
-                            }
-                        }
-                        break;
-                    case JSON_CONTENT:
-                    case HTML_CONTENT:
-                    case INBOX:
-                    case DEFAULT_CONTENT:
-                        propositionsToCache =
-                                MessagingUtils.updatePropositionMapForSurface(
-                                        surface, proposition, propositionsToCache);
+                // iam and feed / content card items will be wrapped in a valid rules engine rule -
+                // code-based experiences are not
+                if (MessagingUtils.isNullOrEmpty(parsedRules)) {
+                    break;
+                }
+                for (int ruleIndex = 0; ruleIndex < parsedRules.size(); ruleIndex++) {
+                    final LaunchRule parsedRule = parsedRules.get(ruleIndex);
+                    final List<RuleConsequence> consequences = parsedRule.getConsequenceList();
+                    if (MessagingUtils.isNullOrEmpty(consequences)) {
                         break;
-                    default:
+                    }
+                    final RuleConsequence consequence = consequences.get(0);
+                    final PropositionItem schemaConsequence =
+                            PropositionItem.fromRuleConsequence(consequence);
+                    if (schemaConsequence == null) {
                         break;
+                    }
+                    switch (schemaConsequence.getSchema()) {
+                        case INAPP:
+                        case DEFAULT_CONTENT:
+                            stagedRules.add(
+                                    new StagedRule(
+                                            parsedRule,
+                                            consequence.getId(),
+                                            SchemaType.INAPP,
+                                            ruleIndex));
+                            break;
+                        case CONTENT_CARD:
+                        case FEED:
+                            stagedRules.add(
+                                    new StagedRule(
+                                            parsedRule,
+                                            consequence.getId(),
+                                            SchemaType.CONTENT_CARD,
+                                            ruleIndex));
+                            break;
+                        case EVENT_HISTORY_OPERATION:
+                            stagedRules.add(
+                                    new StagedRule(
+                                            parsedRule,
+                                            consequence.getId(),
+                                            SchemaType.EVENT_HISTORY_OPERATION,
+                                            ruleIndex));
+                            break;
+                        default:
+                            break;
+                    }
                 }
+                break;
+            case JSON_CONTENT:
+            case HTML_CONTENT:
+            case INBOX:
+            case DEFAULT_CONTENT:
+                cacheable = true;
+                break;
+            default:
+                break;
+        }
+
+        return new StagedProposition(proposition, surface, stagedRules, cacheable);
+    }
+
+    /**
+     * Sorts the propositions of a single surface by rank and stages the requested ones.
+     *
+     * <p>This method does not touch any {@link ParsedPropositions} state and may be run on a
+     * parsing worker thread.
+     */
+    static List<StagedProposition> stageSurfacePropositions(
+            final List<Proposition> propositionList,
+            final Set<String> requestedUris,
+            final ExtensionApi extensionApi,
+            final ParsedRulesCache parsedRulesCache) {
+        // sort the propositions by rank before processing
+        Collections.sort(
+                propositionList,
+                (p1, p2) -> {
+                    return Integer.compare(p1.getRank(), p2.getRank());
+                });
+
+        final List<StagedProposition> stagedPropositions = new ArrayList<>();
+        for (final Proposition proposition : propositionList) {
+            if (proposition == null || !isRequested(proposition, requestedUris)) {
+                continue;
+            }
+            final StagedProposition stagedProposition =
+                    stageProposition(proposition, extensionApi, parsedRulesCache);
+            if (stagedProposition != null) {
+                stagedPropositions.add(stagedProposition);
             }
         }
+        return stagedPropositions;
+    }
+
+    private static List<StagedProposition> awaitStaged(
+            final Future<List<StagedProposition>> stagedFuture) {
+        if (stagedFuture == null) {
+            return null;
+        }
+
+        try {
+            return stagedFuture.get();
+        } catch (final ExecutionException exception) {
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to parse surface on the parsing executor, retrying serially: %s",
+                    exception.getLocalizedMessage());
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            Log.warning(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Interrupted while waiting for the parsing executor, parsing surface"
+                            + " serially.");
+        }
+        return null;
+    }
+
+    /**
+     * Returns the shared executor used to parse large responses, or null if the number of surfaces
+     * is too small to benefit from parsing them concurrently.
+     *
+     * @param surfaceCount the number of surfaces to be parsed
+     * @return the shared parsing {@link ExecutorService}, or null to parse serially
+     */
+    static ExecutorService getParsingExecutor(final int surfaceCount) {
+        if (surfaceCount < MessagingConstants.PARALLEL_PARSING_MIN_SURFACES) {
+            return null;
+        }
+        return ParsingExecutorHolder.INSTANCE;
+    }
+
+    private static boolean isRequested(
+            final Proposition proposition, final Set<String> requestedUris) {
+        final String scope = proposition.getScope();
+        if (requestedUris.contains(scope)) {
+            return true;
+        }
+
+        Log.debug(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Ignoring proposition where scope (%s) does not match one of the"
+                        + " expected surfaces (%s).",
+                scope,
+                requestedUris.toString());
+        return false;
+    }
+
+    private void applyStagedPropositions(final List<StagedProposition> stagedPropositions) {
+        for (final StagedProposition stagedProposition : stagedPropositions) {
+            applyStagedProposition(stagedProposition);
+        }
+    }
+
+    private void applyStagedProposition(final StagedProposition stagedProposition) {
+        if (stagedProposition == null) {
+            return;
+        }
+
+        final Proposition proposition = stagedProposition.proposition;
+        final Surface surface = stagedProposition.surface;
+        stagedPropositionsBuilder.add(surface, stagedProposition);
+        if (stagedProposition.cacheable) {
+            propositionsToCacheBuilder.add(surface, proposition);
+            return;
+        }
+
+        for (final StagedRule stagedRule : stagedProposition.rules) {
+            switch (stagedRule.schemaType) {
+                case INAPP:
+                    propositionInfoToCache.put(
+                            stagedRule.consequenceId,
+                            PropositionInfo.createFromProposition(proposition));
+                    propositionsToPersistBuilder.add(surface, proposition);
+                    break;
+                case CONTENT_CARD:
+                    propositionInfoToCache.put(
+                            stagedRule.consequenceId,
+                            PropositionInfo.createFromProposition(proposition));
+                    break;
+                default:
+                    break;
+            }
+            mergeRules(stagedRule.rule, surface, stagedRule.schemaType);
+        }
     }
 
     private void mergeRules(
             final LaunchRule rule, final Surface surface, final SchemaType schemaType) {
-        // get rules we may already have for this inboundType
-        Map<Surface, List<LaunchRule>> tempRulesByInboundType =
-                surfaceRulesBySchemaType.get(schemaType) != null
-                        ? surfaceRulesBySchemaType.get(schemaType)
-                        : new HashMap<>();
+        // get the rules we may already have for this schema type
+        SurfaceMapBuilder<LaunchRule> rulesBuilder = ruleBuildersBySchemaType.get(schemaType);
+        if (rulesBuilder == null) {
+            rulesBuilder = new SurfaceMapBuilder<>();
+            ruleBuildersBySchemaType.put(schemaType, rulesBuilder);
+            surfaceRulesBySchemaType.put(schemaType, rulesBuilder.build());
+        }
 
         // combine rules with existing
-        tempRulesByInboundType =
-                InternalMessagingUtils.updateRuleMapForSurface(
-                        surface, rule, tempRulesByInboundType);
+        rulesBuilder.add(surface, rule);
+    }
+
+    /**
+     * Bounded pool shared by all parses. Threads are daemons and time out when idle, so the pool
+     * holds no threads between fetches.
+     */
+    private static class ParsingExecutorHolder {
+        static final ExecutorService INSTANCE = createParsingExecutor();
+
+        private static ExecutorService createParsingExecutor() {
+            final int threadCount =
+                    Math.max(
+                            1,
+                            Math.min(
+                                    MessagingConstants.MAX_PARSING_THREADS,
+                                    Runtime.getRuntime().availableProcessors() - 1));
+            final ThreadPoolExecutor executor =
+                    new ThreadPoolExecutor(
+                            threadCount,
+                            threadCount,
+                            MessagingConstants.PARSING_THREAD_KEEP_ALIVE_SECONDS,
+                            TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(),
+                            runnable -> {
+                                final Thread thread =
+                                        new Thread(runnable, "AEPMessagingPropositionParser");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    /** A {@link Proposition} whose rules have been parsed but not yet applied. */
+    static final class StagedProposition {
+        final Proposition proposition;
+        final Surface surface;
+        final int rank;
+        final List<StagedRule> rules;
+        final boolean cacheable;
 
-        // apply up to surfaceRulesByInboundType
-        surfaceRulesBySchemaType.put(schemaType, tempRulesByInboundType);
+        StagedProposition(
+                final Proposition proposition,
+                final Surface surface,
+                final List<StagedRule> rules,
+                final boolean cacheable) {
+            this.proposition = proposition;
+            this.surface = surface;
+            this.rank = proposition.getRank();
+            this.rules = rules;
+            this.cacheable = cacheable;
+        }
+    }
+
+    /** A parsed {@link LaunchRule} along with the schema type of the rules engine it targets. */
+    static final class StagedRule {
+        final LaunchRule rule;
+        final String consequenceId;
+        final SchemaType schemaType;
+        // position of the rule in the ruleset it was parsed from
+        final int ruleIndex;
+
+        StagedRule(
+                final LaunchRule rule,
+                final String consequenceId,
+                final SchemaType schemaType,
+                final int ruleIndex) {
+            this.rule = rule;
+            this.consequenceId = consequenceId;
+            this.schemaType = schemaType;
+            this.ruleIndex = ruleIndex;
+        }
     }
 }
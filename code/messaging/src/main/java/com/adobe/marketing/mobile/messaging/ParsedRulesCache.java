@@ -0,0 +1,138 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONObject;
+
+/**
+ * In-memory cache of {@link LaunchRule}s parsed from ruleset {@link PropositionItem} data, keyed by
+ * a hash of the item content. Rulesets returned unchanged by a subsequent fetch reuse the rules
+ * parsed previously instead of being serialized and parsed again.
+ */
+class ParsedRulesCache {
+    private static final String SELF_TAG = "ParsedRulesCache";
+
+    // maximum number of rulesets kept in memory, least recently used entries are evicted first
+    static final int MAX_CACHED_RULESETS = 200;
+
+    private final Map<Integer, CachedRules> cachedRules =
+            new LinkedHashMap<Integer, CachedRules>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Integer, CachedRules> eldest) {
+                    return size() > MAX_CACHED_RULESETS;
+                }
+            };
+
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Returns the {@link LaunchRule}s for the provided ruleset item data, parsing the item data
+     * only if an identical ruleset has not already been parsed.
+     *
+     * @param itemData {@code Map<String, Object>} containing the ruleset item data
+     * @param extensionApi {@link ExtensionApi} used by the rules parser
+     * @return {@code List<LaunchRule>} parsed from the item data, or null if no rules could be
+     *     parsed
+     */
+    List<LaunchRule> getOrParse(
+            final Map<String, Object> itemData, final ExtensionApi extensionApi) {
+        if (itemData == null) {
+            return null;
+        }
+
+        final int contentHash = itemData.hashCode();
+        synchronized (this) {
+            final CachedRules cached = cachedRules.get(contentHash);
+            if (cached != null && cached.itemData.equals(itemData)) {
+                hitCount++;
+                return cached.rules.isEmpty() ? null : cached.rules;
+            }
+            missCount++;
+        }
+
+        final List<LaunchRule> parsedRules =
+                RuleConditionCompiler.compile(
+                        JSONRulesParser.parse(new JSONObject(itemData).toString(), extensionApi),
+                        itemData);
+        final List<LaunchRule> rulesToCache =
+                parsedRules != null
+                        ? Collections.unmodifiableList(parsedRules)
+                        : Collections.<LaunchRule>emptyList();
+        EventPrefilterIndex.registerRules(rulesToCache, itemData);
+        synchronized (this) {
+            cachedRules.put(contentHash, new CachedRules(itemData, rulesToCache));
+        }
+
+        Log.trace(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Parsed and cached %d rule(s) for ruleset content hash %d.",
+                rulesToCache.size(),
+                contentHash);
+        return rulesToCache.isEmpty() ? null : rulesToCache;
+    }
+
+    /**
+     * Caches rules which were not parsed from the provided ruleset item data, such as rules
+     * restored from a {@link RulesSnapshot}, so an identical ruleset is not parsed again.
+     *
+     * @param itemData {@code Map<String, Object>} containing the ruleset item data
+     * @param rules {@code List<LaunchRule>} equivalent to the rules parsed from the item data
+     */
+    void put(final Map<String, Object> itemData, final List<LaunchRule> rules) {
+        if (itemData == null || rules == null) {
+            return;
+        }
+        synchronized (this) {
+            cachedRules.put(
+                    itemData.hashCode(),
+                    new CachedRules(itemData, Collections.unmodifiableList(rules)));
+        }
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    synchronized int size() {
+        return cachedRules.size();
+    }
+
+    synchronized void clear() {
+        cachedRules.clear();
+        hitCount = 0;
+        missCount = 0;
+    }
+
+    private static final class CachedRules {
+        final Map<String, Object> itemData;
+        final List<LaunchRule> rules;
+
+        CachedRules(final Map<String, Object> itemData, final List<LaunchRule> rules) {
+            this.itemData = itemData;
+            this.rules = rules;
+        }
+    }
+}
@@ -239,7 +239,7 @@ class PresentableMessageMapper {
 
                 final InAppMessageSettings settings =
                         InAppMessageSettingsFromMap(
-                                inAppSchemaData.getMobileParameters(), html, assetMap);
+                                inAppSchemaData.getSharedMobileParameters(), html, assetMap);
                 aepMessage =
                         uiService.create(
                                 new InAppMessage(settings, new MessagingFullscreenEventListener()),
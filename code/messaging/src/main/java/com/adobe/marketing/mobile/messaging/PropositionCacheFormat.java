@@ -0,0 +1,87 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Constants describing the binary format of the propositions cache, written by {@link
+ * PropositionCacheWriter} and read by {@link PropositionCacheReader}.
+ *
+ * <p>A cache file starts with {@link #MAGIC} and the {@link #VERSION} of the format, followed by
+ * one {@link #RECORD_SURFACE} record per cached surface and a final {@link #RECORD_END}. A surface
+ * record contains the surface uri and its propositions, each written as its id, scope, scope
+ * details and items. Lengths and integers are written as varints, strings as UTF-8. Surface uris,
+ * scopes, schemas and map keys are written once per file and referenced by index afterwards.
+ *
+ * <p>Propositions are persisted in one file per surface, listed by a {@link
+ * PropositionCacheManifest} starting with {@link #MANIFEST_MAGIC}. The rules parsed from them are
+ * persisted in a {@link RulesSnapshot} starting with {@link #SNAPSHOT_MAGIC}, which uses the same
+ * records and value encoding.
+ */
+final class PropositionCacheFormat {
+    // "AJOC", cannot collide with the 0xACED magic of Java serialized caches
+    static final int MAGIC = 0x414A4F43;
+    static final int VERSION = 1;
+    // "AJOM"
+    static final int MANIFEST_MAGIC = 0x414A4F4D;
+    static final int MANIFEST_VERSION = 1;
+    // "AJOR", the version must be bumped when the snapshot records or the way the snapshot rules
+    // are parsed change, so snapshots of the previous version are discarded
+    static final int SNAPSHOT_MAGIC = 0x414A4F52;
+    static final int SNAPSHOT_VERSION = 2;
+    static final int HEADER_LENGTH = 4;
+
+    static final int RECORD_END = 0;
+    static final int RECORD_SURFACE = 1;
+
+    static final int VALUE_NULL = 0;
+    static final int VALUE_STRING = 1;
+    static final int VALUE_TRUE = 2;
+    static final int VALUE_FALSE = 3;
+    static final int VALUE_INT = 4;
+    static final int VALUE_LONG = 5;
+    static final int VALUE_FLOAT = 6;
+    static final int VALUE_DOUBLE = 7;
+    static final int VALUE_MAP = 8;
+    static final int VALUE_LIST = 9;
+
+    // reference to a string not written before, the string follows
+    static final int NEW_STRING_REFERENCE = 0;
+
+    private PropositionCacheFormat() {}
+
+    /**
+     * Returns whether the provided stream starts with the provided magic number, without consuming
+     * it.
+     *
+     * @param inputStream an {@link InputStream} supporting {@link InputStream#mark(int)}
+     * @param magic the expected {@code int} magic number
+     * @return true if the stream starts with the magic number, false otherwise or if the stream
+     *     cannot be read
+     */
+    static boolean hasHeader(final InputStream inputStream, final int magic) {
+        try {
+            inputStream.mark(HEADER_LENGTH);
+            final int header =
+                    (inputStream.read() << 24)
+                            | (inputStream.read() << 16)
+                            | (inputStream.read() << 8)
+                            | inputStream.read();
+            inputStream.reset();
+            return header == magic;
+        } catch (final IOException exception) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.internal.util.StringEncoder;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lists the surfaces whose propositions are persisted, each in its own cache entry, with a digest
+ * of the persisted content so that unchanged surfaces are not rewritten.
+ */
+class PropositionCacheManifest {
+    private final Map<String, String> digestsBySurfaceUri;
+
+    PropositionCacheManifest() {
+        this.digestsBySurfaceUri = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a copy of the provided manifest.
+     *
+     * @param manifest the {@link PropositionCacheManifest} to be copied
+     */
+    PropositionCacheManifest(final PropositionCacheManifest manifest) {
+        this.digestsBySurfaceUri = new LinkedHashMap<>(manifest.digestsBySurfaceUri);
+    }
+
+    /**
+     * Reads a manifest written with {@link #write(OutputStream)}.
+     *
+     * @param inputStream the {@link InputStream} to read from
+     * @return the {@link PropositionCacheManifest} read from the stream
+     * @throws IOException if the stream is not a supported manifest or is corrupted
+     */
+    static PropositionCacheManifest read(final InputStream inputStream) throws IOException {
+        final DataInputStream dataInputStream =
+                new DataInputStream(new BufferedInputStream(inputStream));
+        if (dataInputStream.readInt() != PropositionCacheFormat.MANIFEST_MAGIC) {
+            throw new IOException("Not a proposition cache manifest");
+        }
+        final int version = dataInputStream.readUnsignedByte();
+        if (version != PropositionCacheFormat.MANIFEST_VERSION) {
+            throw new IOException("Unsupported proposition cache manifest version " + version);
+        }
+        final PropositionCacheManifest manifest = new PropositionCacheManifest();
+        final int surfaceCount = dataInputStream.readInt();
+        for (int i = 0; i < surfaceCount; i++) {
+            final String surfaceUri = dataInputStream.readUTF();
+            manifest.put(surfaceUri, dataInputStream.readUTF());
+        }
+        return manifest;
+    }
+
+    /**
+     * Returns whether the provided stream starts with a manifest header, without consuming it.
+     *
+     * @param inputStream an {@link InputStream} supporting {@link InputStream#mark(int)}
+     * @return true if the stream contains a manifest
+     */
+    static boolean hasManifestHeader(final InputStream inputStream) {
+        return PropositionCacheFormat.hasHeader(
+                inputStream, PropositionCacheFormat.MANIFEST_MAGIC);
+    }
+
+    /**
+     * @param surfaceUri the {@code String} uri of a surface
+     * @param digest the {@code String} digest of the persisted content of the surface
+     * @return the {@code String} key of the cache entry containing the surface propositions
+     */
+    static String shardKey(final String surfaceUri, final String digest) {
+        return MessagingConstants.PROPOSITIONS_CACHE_SUBDIRECTORY
+                + "."
+                + StringEncoder.sha2hash(surfaceUri)
+                + "."
+                + digest;
+    }
+
+    /**
+     * @param content the persisted {@code byte[]} content of a surface
+     * @return the {@code String} digest of the content, or an empty string if no digest is
+     *     available in which case the content is always rewritten
+     */
+    static String digest(final byte[] content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            final StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (final byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (final NoSuchAlgorithmException exception) {
+            return "";
+        }
+    }
+
+    /**
+     * Writes this manifest to the provided stream.
+     *
+     * @param outputStream the {@link OutputStream} to write to
+     * @throws IOException if the manifest cannot be written
+     */
+    void write(final OutputStream outputStream) throws IOException {
+        final DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(PropositionCacheFormat.MANIFEST_MAGIC);
+        dataOutputStream.writeByte(PropositionCacheFormat.MANIFEST_VERSION);
+        dataOutputStream.writeInt(digestsBySurfaceUri.size());
+        for (final Map.Entry<String, String> entry : digestsBySurfaceUri.entrySet()) {
+            dataOutputStream.writeUTF(entry.getKey());
+            dataOutputStream.writeUTF(entry.getValue());
+        }
+        dataOutputStream.flush();
+    }
+
+    Set<String> getSurfaceUris() {
+        return Collections.unmodifiableSet(digestsBySurfaceUri.keySet());
+    }
+
+    /**
+     * @param surfaceUri the {@code String} uri of a surface
+     * @return the {@code String} digest of the persisted content of the surface, or null if the
+     *     surface is not listed
+     */
+    String getDigest(final String surfaceUri) {
+        return digestsBySurfaceUri.get(surfaceUri);
+    }
+
+    /**
+     * @param surfaceUri the {@code String} uri of a surface
+     * @param digest the {@code String} digest of the content to be persisted for the surface
+     * @return true if the persisted content of the surface matches the provided digest
+     */
+    boolean hasDigest(final String surfaceUri, final String digest) {
+        return !digest.isEmpty() && digest.equals(digestsBySurfaceUri.get(surfaceUri));
+    }
+
+    void put(final String surfaceUri, final String digest) {
+        digestsBySurfaceUri.put(surfaceUri, digest);
+    }
+
+    void remove(final String surfaceUri) {
+        digestsBySurfaceUri.remove(surfaceUri);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof PropositionCacheManifest)) {
+            return false;
+        }
+        return digestsBySurfaceUri.equals(((PropositionCacheManifest) object).digestsBySurfaceUri);
+    }
+
+    @Override
+    public int hashCode() {
+        return digestsBySurfaceUri.hashCode();
+    }
+}
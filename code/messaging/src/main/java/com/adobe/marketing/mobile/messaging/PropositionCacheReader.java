@@ -0,0 +1,252 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams propositions from an {@link InputStream} written in the {@link PropositionCacheFormat}.
+ *
+ * <p>Surfaces are read one at a time with {@link #nextSurface()} followed by {@link
+ * #readPropositions()}, or all at once with {@link #readAll()}.
+ */
+class PropositionCacheReader implements Closeable {
+    // upper bound of preallocated buffers, so a corrupted length cannot trigger a huge allocation
+    private static final int MAX_PREALLOCATED_SIZE = 8192;
+
+    private final DataInputStream inputStream;
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Creates a reader and validates the format header of the provided stream.
+     *
+     * @param inputStream the {@link InputStream} to read from
+     * @throws IOException if the stream is not in a supported version of the format
+     */
+    PropositionCacheReader(final InputStream inputStream) throws IOException {
+        this(inputStream, PropositionCacheFormat.MAGIC, PropositionCacheFormat.VERSION);
+    }
+
+    /**
+     * Creates a reader for a file using the value encoding of the {@link PropositionCacheFormat}
+     * under its own header, such as a {@link RulesSnapshot}.
+     *
+     * @param inputStream the {@link InputStream} to read from
+     * @param magic the expected {@code int} magic number of the file
+     * @param version the expected {@code int} version of the file format
+     * @throws IOException if the stream does not start with the expected header
+     */
+    PropositionCacheReader(final InputStream inputStream, final int magic, final int version)
+            throws IOException {
+        this.inputStream = new DataInputStream(new BufferedInputStream(inputStream));
+        if (this.inputStream.readInt() != magic) {
+            throw new IOException("Not a proposition cache");
+        }
+        final long fileVersion = readVarLong();
+        if (fileVersion != version) {
+            throw new IOException("Unsupported proposition cache version " + fileVersion);
+        }
+    }
+
+    /**
+     * Returns whether the provided stream starts with the {@link PropositionCacheFormat} header,
+     * without consuming it.
+     *
+     * @param inputStream an {@link InputStream} supporting {@link InputStream#mark(int)}
+     * @return true if the stream contains a proposition cache, false otherwise or if the stream
+     *     cannot be read
+     */
+    static boolean hasCacheHeader(final InputStream inputStream) {
+        return PropositionCacheFormat.hasHeader(inputStream, PropositionCacheFormat.MAGIC);
+    }
+
+    /**
+     * Reads the next cached surface, to be followed by {@link #readPropositions()}.
+     *
+     * @return the next {@link Surface}, or null once all surfaces have been read
+     * @throws IOException if the data is truncated or corrupted
+     */
+    Surface nextSurface() throws IOException {
+        final int record = inputStream.readUnsignedByte();
+        if (record == PropositionCacheFormat.RECORD_END) {
+            return null;
+        }
+        if (record != PropositionCacheFormat.RECORD_SURFACE) {
+            throw new IOException("Unexpected proposition cache record " + record);
+        }
+        return Surface.fromUriString(readReference());
+    }
+
+    /**
+     * Reads the propositions cached for the surface returned by the last {@link #nextSurface()}.
+     *
+     * @return {@code List<Proposition>} cached for the surface
+     * @throws IOException if the data is truncated or corrupted
+     */
+    List<Proposition> readPropositions() throws IOException {
+        final int propositionCount = readLength();
+        final List<Proposition> propositions = new ArrayList<>(preallocated(propositionCount));
+        try {
+            for (int i = 0; i < propositionCount; i++) {
+                final String uniqueId = readString();
+                final String scope = readReference();
+                final Map<String, Object> scopeDetails = readMap();
+                final int itemCount = readLength();
+                final List<PropositionItem> items = new ArrayList<>(preallocated(itemCount));
+                for (int j = 0; j < itemCount; j++) {
+                    final String itemId = readString();
+                    final SchemaType schema = SchemaType.fromString(readReference());
+                    items.add(new PropositionItem(itemId, schema, readMap()));
+                }
+                propositions.add(new Proposition(uniqueId, scope, scopeDetails, items));
+            }
+        } catch (final MessageRequiredFieldMissingException exception) {
+            throw new IOException("Invalid cached proposition: " + exception.getMessage());
+        }
+        return propositions;
+    }
+
+    /**
+     * Reads all remaining cached surfaces.
+     *
+     * @return {@code Map<Surface, List<Proposition>>} containing the cached propositions
+     * @throws IOException if the data is truncated or corrupted
+     */
+    Map<Surface, List<Proposition>> readAll() throws IOException {
+        final Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        Surface surface;
+        while ((surface = nextSurface()) != null) {
+            propositions.put(surface, readPropositions());
+        }
+        return propositions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+    Object readValue() throws IOException {
+        final int type = inputStream.readUnsignedByte();
+        switch (type) {
+            case PropositionCacheFormat.VALUE_NULL:
+                return null;
+            case PropositionCacheFormat.VALUE_STRING:
+                return readString();
+            case PropositionCacheFormat.VALUE_TRUE:
+                return Boolean.TRUE;
+            case PropositionCacheFormat.VALUE_FALSE:
+                return Boolean.FALSE;
+            case PropositionCacheFormat.VALUE_INT:
+                return (int) unZigZag(readVarLong());
+            case PropositionCacheFormat.VALUE_LONG:
+                return unZigZag(readVarLong());
+            case PropositionCacheFormat.VALUE_FLOAT:
+                return inputStream.readFloat();
+            case PropositionCacheFormat.VALUE_DOUBLE:
+                return inputStream.readDouble();
+            case PropositionCacheFormat.VALUE_MAP:
+                return readMap();
+            case PropositionCacheFormat.VALUE_LIST:
+                final int size = readLength();
+                final List<Object> list = new ArrayList<>(preallocated(size));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue());
+                }
+                return list;
+            default:
+                throw new IOException("Unexpected proposition cache value type " + type);
+        }
+    }
+
+    private Map<String, Object> readMap() throws IOException {
+        final int size = readLength();
+        final Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final String key = readReference();
+            map.put(key, readValue());
+        }
+        return map;
+    }
+
+    String readReference() throws IOException {
+        final long reference = readVarLong();
+        if (reference == PropositionCacheFormat.NEW_STRING_REFERENCE) {
+            final String value = readString();
+            strings.add(value);
+            return value;
+        }
+        if (reference > strings.size()) {
+            throw new IOException("Invalid proposition cache string reference " + reference);
+        }
+        return strings.get((int) reference - 1);
+    }
+
+    String readString() throws IOException {
+        final int length = readLength();
+        if (length <= MAX_PREALLOCATED_SIZE) {
+            final byte[] bytes = new byte[length];
+            inputStream.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        // read long strings in chunks, a truncated file fails before the whole length is allocated
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(MAX_PREALLOCATED_SIZE);
+        final byte[] chunk = new byte[MAX_PREALLOCATED_SIZE];
+        int remaining = length;
+        while (remaining > 0) {
+            final int chunkLength = Math.min(remaining, chunk.length);
+            inputStream.readFully(chunk, 0, chunkLength);
+            bytes.write(chunk, 0, chunkLength);
+            remaining -= chunkLength;
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    int readLength() throws IOException {
+        final long length = readVarLong();
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new IOException("Invalid proposition cache length " + length);
+        }
+        return (int) length;
+    }
+
+    private static int preallocated(final int size) {
+        return Math.min(size, MAX_PREALLOCATED_SIZE);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = inputStream.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed proposition cache varint");
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams propositions to an {@link OutputStream} in the {@link PropositionCacheFormat}.
+ *
+ * <p>Surfaces are written one at a time with {@link #writeSurface(Surface, List)}, and {@link
+ * #finish()} must be called once all surfaces have been written.
+ */
+class PropositionCacheWriter implements Closeable {
+    private final DataOutputStream outputStream;
+    private final Map<String, Integer> stringReferences = new HashMap<>();
+
+    /**
+     * Creates a writer and writes the format header to the provided stream.
+     *
+     * @param outputStream the {@link OutputStream} to write to
+     * @throws IOException if the header cannot be written
+     */
+    PropositionCacheWriter(final OutputStream outputStream) throws IOException {
+        this(outputStream, PropositionCacheFormat.MAGIC, PropositionCacheFormat.VERSION);
+    }
+
+    /**
+     * Creates a writer for a file using the value encoding of the {@link PropositionCacheFormat}
+     * under its own header, such as a {@link RulesSnapshot}.
+     *
+     * @param outputStream the {@link OutputStream} to write to
+     * @param magic the {@code int} magic number of the file
+     * @param version the {@code int} version of the file format
+     * @throws IOException if the header cannot be written
+     */
+    PropositionCacheWriter(final OutputStream outputStream, final int magic, final int version)
+            throws IOException {
+        this.outputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+        this.outputStream.writeInt(magic);
+        writeVarLong(version);
+    }
+
+    /**
+     * Writes the propositions cached for the provided surface.
+     *
+     * @param surface the {@link Surface} the propositions are cached for
+     * @param propositions {@code List<Proposition>} cached for the surface
+     * @throws IOException if the propositions cannot be written
+     */
+    void writeSurface(final Surface surface, final List<Proposition> propositions)
+            throws IOException {
+        beginSurface(surface);
+        writeVarLong(propositions.size());
+        for (final Proposition proposition : propositions) {
+            writeString(proposition.getUniqueId());
+            writeReference(proposition.getScope());
+            writeMap(proposition.getScopeDetails());
+            final List<PropositionItem> items = proposition.getItems();
+            writeVarLong(items.size());
+            for (final PropositionItem item : items) {
+                writeString(item.getItemId());
+                writeReference(item.getSchema().toString());
+                writeMap(item.getItemData());
+            }
+        }
+    }
+
+    /**
+     * Starts the record of a surface, to be read back with {@link
+     * PropositionCacheReader#nextSurface()}.
+     *
+     * @param surface the {@link Surface} of the record
+     * @throws IOException if the record cannot be written
+     */
+    void beginSurface(final Surface surface) throws IOException {
+        outputStream.writeByte(PropositionCacheFormat.RECORD_SURFACE);
+        writeReference(surface.getUri());
+    }
+
+    /**
+     * Ends the written data and flushes it to the underlying stream.
+     *
+     * @throws IOException if the data cannot be written
+     */
+    void finish() throws IOException {
+        outputStream.writeByte(PropositionCacheFormat.RECORD_END);
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+
+    void writeValue(final Object value) throws IOException {
+        if (value == null) {
+            outputStream.writeByte(PropositionCacheFormat.VALUE_NULL);
+        } else if (value instanceof String || value instanceof Character) {
+            outputStream.writeByte(PropositionCacheFormat.VALUE_STRING);
+            writeString(value.toString());
+        } else if (value instanceof Boolean) {
+            outputStream.writeByte(
+                    (Boolean) value
+                            ? PropositionCacheFormat.VALUE_TRUE
+                            : PropositionCacheFormat.VALUE_FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            outputStream.writeByte(PropositionCacheFormat.VALUE_INT);
+            writeVarLong(zigZag(((Number) value).intValue()));
+        } else if (value instanceof Long) {
+            outputStream.writeByte(PropositionCacheFormat.VALUE_LONG);
+            writeVarLong(zigZag((Long) value));
+        } else if (value instanceof Float) {
+            outputStream.writeByte(PropositionCacheFormat.VALUE_FLOAT);
+            outputStream.writeFloat((Float) value);
+        } else if (value instanceof Number) {
+            outputStream.writeByte(PropositionCacheFormat.VALUE_DOUBLE);
+            outputStream.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Map) {
+            outputStream.writeByte(PropositionCacheFormat.VALUE_MAP);
+            writeMap((Map<?, ?>) value);
+        } else if (value instanceof List) {
+            outputStream.writeByte(PropositionCacheFormat.VALUE_LIST);
+            final List<?> list = (List<?>) value;
+            writeVarLong(list.size());
+            for (final Object element : list) {
+                writeValue(element);
+            }
+        } else {
+            throw new IOException(
+                    "Unsupported proposition value type " + value.getClass().getName());
+        }
+    }
+
+    private void writeMap(final Map<?, ?> map) throws IOException {
+        writeVarLong(map.size());
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                throw new IOException("Unsupported proposition map key " + entry.getKey());
+            }
+            writeReference((String) entry.getKey());
+            writeValue(entry.getValue());
+        }
+    }
+
+    // writes a string expected to repeat across the file, once and as a reference afterwards
+    void writeReference(final String value) throws IOException {
+        final Integer reference = stringReferences.get(value);
+        if (reference != null) {
+            writeVarLong(reference);
+            return;
+        }
+        writeVarLong(PropositionCacheFormat.NEW_STRING_REFERENCE);
+        writeString(value);
+        stringReferences.put(value, stringReferences.size() + 1);
+    }
+
+    void writeString(final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    void writeVarLong(final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            outputStream.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        outputStream.writeByte((int) remaining);
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -46,14 +46,14 @@ final class PropositionHistory {
             return;
         }
 
+        final String trackingAction = StringUtils.isNullOrEmpty(interaction) ? "" : interaction;
+
         // create map for event history
         final Map<String, String> historyMap = new HashMap<>();
         historyMap.put(
                 MessagingConstants.EventMask.Keys.EVENT_TYPE, eventType.getPropositionEventType());
         historyMap.put(MessagingConstants.EventMask.Keys.ACTIVITY_ID, activityId);
-        historyMap.put(
-                MessagingConstants.EventMask.Keys.TRACKING_ACTION,
-                (StringUtils.isNullOrEmpty(interaction) ? "" : interaction));
+        historyMap.put(MessagingConstants.EventMask.Keys.TRACKING_ACTION, trackingAction);
 
         // wrap history in an "iam" object
         final Map<String, Object> eventHistoryData = new HashMap<>();
@@ -75,6 +75,11 @@ final class PropositionHistory {
                         .setEventData(eventHistoryData)
                         .build();
 
+        // count the interaction before dispatching so rules evaluated next already see it
+        EventHistoryCounterCache.getInstance()
+                .onRecord(
+                        new EventHistoryCounterCache.Key(
+                                eventType.getPropositionEventType(), activityId, trackingAction));
         MobileCore.dispatchEvent(event);
     }
 }
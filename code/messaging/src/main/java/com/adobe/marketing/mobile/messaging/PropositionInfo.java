@@ -81,4 +81,23 @@ class PropositionInfo implements Serializable {
             return null;
         }
     }
+
+    /**
+     * @return the {@code int} priority of the campaign from 0 (lowest) to 100 (highest), see
+     *     {@link Proposition#getPriority()}
+     */
+    int getPriority() {
+        final Map<String, Object> activityMap =
+                DataReader.optTypedMap(
+                        Object.class, scopeDetails, MessagingConstants.PayloadKeys.ACTIVITY, null);
+        return DataReader.optInt(activityMap, MessagingConstants.PayloadKeys.PRIORITY, 0);
+    }
+
+    /**
+     * @return the {@code int} ordinal rank computed by IDS, or -1 if missing, see {@link
+     *     Proposition#getRank()}
+     */
+    int getRank() {
+        return DataReader.optInt(scopeDetails, MessagingConstants.PayloadKeys.RANK, -1);
+    }
 }
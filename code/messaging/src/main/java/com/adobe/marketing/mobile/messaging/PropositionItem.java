@@ -30,7 +30,6 @@ import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.json.JSONObject;
 
 /**
  * A {@link PropositionItem} object represents a personalization JSON object returned by Konductor.
@@ -54,6 +53,10 @@ public class PropositionItem implements Serializable {
     // Soft reference to Proposition instance
     SoftReference<Proposition> propositionReference;
 
+    // Soft reference to the schema data decoded from itemData, created on first access and
+    // released under memory pressure
+    private transient volatile SoftReference<SchemaData> schemaDataReference;
+
     public PropositionItem(
             @NonNull final String itemId,
             @NonNull final SchemaType schema,
@@ -216,8 +219,8 @@ public class PropositionItem implements Serializable {
             return null;
         }
         final JsonContentSchemaData schemaData =
-                (JsonContentSchemaData) createSchemaData(SchemaType.JSON_CONTENT);
-        return schemaData != null ? schemaData.getJsonObjectContent() : null;
+                (JsonContentSchemaData) getSchemaData();
+        return schemaData != null ? SchemaDataReader.copy(schemaData.getJsonObjectContent()) : null;
     }
 
     /**
@@ -232,8 +235,8 @@ public class PropositionItem implements Serializable {
             return null;
         }
         final JsonContentSchemaData schemaData =
-                (JsonContentSchemaData) createSchemaData(SchemaType.JSON_CONTENT);
-        return schemaData != null ? schemaData.getJsonArrayContent() : null;
+                (JsonContentSchemaData) getSchemaData();
+        return schemaData != null ? SchemaDataReader.copy(schemaData.getJsonArrayContent()) : null;
     }
 
     /**
@@ -246,7 +249,7 @@ public class PropositionItem implements Serializable {
             return null;
         }
         final HtmlContentSchemaData schemaData =
-                (HtmlContentSchemaData) createSchemaData(SchemaType.HTML_CONTENT);
+                (HtmlContentSchemaData) getSchemaData();
         return schemaData != null ? schemaData.getContent() : null;
     }
 
@@ -259,7 +262,7 @@ public class PropositionItem implements Serializable {
         if (!schema.equals(SchemaType.INAPP)) {
             return null;
         }
-        return (InAppSchemaData) createSchemaData(SchemaType.INAPP);
+        return (InAppSchemaData) getSchemaData();
     }
 
     /**
@@ -272,14 +275,7 @@ public class PropositionItem implements Serializable {
         if (!schema.equals(SchemaType.CONTENT_CARD)) {
             return null;
         }
-        final ContentCardSchemaData contentCardSchemaData =
-                (ContentCardSchemaData) createSchemaData(SchemaType.CONTENT_CARD);
-
-        if (contentCardSchemaData != null) {
-            contentCardSchemaData.parent = this;
-        }
-
-        return contentCardSchemaData;
+        return (ContentCardSchemaData) getSchemaData();
     }
 
     /**
@@ -294,14 +290,7 @@ public class PropositionItem implements Serializable {
             return null;
         }
 
-        final FeedItemSchemaData feedItemSchemaData =
-                (FeedItemSchemaData) createSchemaData(SchemaType.FEED);
-
-        if (feedItemSchemaData != null) {
-            feedItemSchemaData.parent = this;
-        }
-
-        return feedItemSchemaData;
+        return (FeedItemSchemaData) getSchemaData();
     }
 
     /**
@@ -314,7 +303,7 @@ public class PropositionItem implements Serializable {
         if (!schema.equals(SchemaType.INBOX)) {
             return null;
         }
-        return (InboxContentSchemaData) createSchemaData(SchemaType.INBOX);
+        return (InboxContentSchemaData) getSchemaData();
     }
 
     /**
@@ -329,7 +318,44 @@ public class PropositionItem implements Serializable {
             return null;
         }
         return (EventHistoryOperationSchemaData)
-                createSchemaData(SchemaType.EVENT_HISTORY_OPERATION);
+                getSchemaData();
+    }
+
+    /**
+     * Gets the schema data object decoded from this {@code PropositionItem}'s content.
+     *
+     * <p>The schema data is decoded on first access and reused by later calls until it is released
+     * under memory pressure, in which case it is decoded again. The schema of an item never
+     * changes, so a single decoded object serves all of the typed getters.
+     *
+     * @return {@code SchemaData} object for this item's schema, or null if the content cannot be
+     *     decoded
+     */
+    SchemaData getSchemaData() {
+        final SchemaData cachedSchemaData = dereference(schemaDataReference);
+        if (cachedSchemaData != null) {
+            return cachedSchemaData;
+        }
+
+        synchronized (this) {
+            SchemaData schemaData = dereference(schemaDataReference);
+            if (schemaData == null) {
+                schemaData = createSchemaData(schema);
+                if (schemaData instanceof ContentCardSchemaData) {
+                    ((ContentCardSchemaData) schemaData).parent = this;
+                } else if (schemaData instanceof FeedItemSchemaData) {
+                    ((FeedItemSchemaData) schemaData).parent = this;
+                }
+                if (schemaData != null) {
+                    schemaDataReference = new SoftReference<>(schemaData);
+                }
+            }
+            return schemaData;
+        }
+    }
+
+    private static SchemaData dereference(final SoftReference<SchemaData> reference) {
+        return reference != null ? reference.get() : null;
     }
 
     /**
@@ -348,22 +374,21 @@ public class PropositionItem implements Serializable {
             return null;
         }
 
-        final JSONObject ruleJson = new JSONObject(itemData);
         switch (schemaType) {
             case HTML_CONTENT:
-                return new HtmlContentSchemaData(ruleJson);
+                return new HtmlContentSchemaData(itemData);
             case JSON_CONTENT:
-                return new JsonContentSchemaData(ruleJson);
+                return new JsonContentSchemaData(itemData);
             case INAPP:
-                return new InAppSchemaData(ruleJson);
+                return new InAppSchemaData(itemData);
             case FEED:
-                return new FeedItemSchemaData(ruleJson);
+                return new FeedItemSchemaData(itemData);
             case CONTENT_CARD:
-                return new ContentCardSchemaData(ruleJson);
+                return new ContentCardSchemaData(itemData);
             case EVENT_HISTORY_OPERATION:
-                return new EventHistoryOperationSchemaData(ruleJson);
+                return new EventHistoryOperationSchemaData(itemData);
             case INBOX:
-                return new InboxContentSchemaData(ruleJson);
+                return new InboxContentSchemaData(itemData);
             default:
                 break;
         }
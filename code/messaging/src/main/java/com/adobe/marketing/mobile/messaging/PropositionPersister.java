@@ -0,0 +1,178 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serial worker which persists propositions off the event hub thread.
+ *
+ * <p>Updates submitted before a pending write starts are merged, so back-to-back updates result in
+ * a single write of the propositions cache. The latest update of a surface wins, whether it caches
+ * or removes the surface propositions.
+ */
+class PropositionPersister {
+    private static final String SELF_TAG = "PropositionPersister";
+    private static final String THREAD_NAME = "AEPMessagingPropositionPersister";
+
+    private final MessagingCacheUtilities messagingCacheUtilities;
+    private ScheduledExecutorService executor;
+
+    // held while pending updates are written so a flush returns once prior updates are written,
+    // and while the cache is accessed through runExclusively
+    private final Object writeLock = new Object();
+
+    // pending updates, guarded by this
+    private Map<Surface, List<Proposition>> pendingPropositions = new HashMap<>();
+    private Set<Surface> pendingSurfacesToRemove = new LinkedHashSet<>();
+    private boolean writeScheduled;
+
+    PropositionPersister(final MessagingCacheUtilities messagingCacheUtilities) {
+        this(messagingCacheUtilities, null);
+    }
+
+    @VisibleForTesting
+    PropositionPersister(
+            final MessagingCacheUtilities messagingCacheUtilities,
+            final ScheduledExecutorService executor) {
+        this.messagingCacheUtilities = messagingCacheUtilities;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the provided update of the propositions cache.
+     *
+     * @param propositions the {@code Map<Surface, List<Proposition>>} to be cached
+     * @param surfacesToRemove {@code List<Surface>} to be removed from the cache
+     */
+    void persist(
+            final Map<Surface, List<Proposition>> propositions,
+            final List<Surface> surfacesToRemove) {
+        final boolean scheduleWrite;
+        synchronized (this) {
+            for (final Map.Entry<Surface, List<Proposition>> entry : propositions.entrySet()) {
+                pendingSurfacesToRemove.remove(entry.getKey());
+                pendingPropositions.put(entry.getKey(), entry.getValue());
+            }
+            for (final Surface surface : surfacesToRemove) {
+                pendingPropositions.remove(surface);
+                pendingSurfacesToRemove.add(surface);
+            }
+            scheduleWrite = !writeScheduled;
+            writeScheduled = true;
+        }
+
+        if (scheduleWrite) {
+            schedule();
+        }
+    }
+
+    /**
+     * Writes all pending updates to the propositions cache on the calling thread, waiting for any
+     * write in progress to complete first.
+     */
+    void flush() {
+        synchronized (writeLock) {
+            final Map<Surface, List<Proposition>> propositions;
+            final List<Surface> surfacesToRemove;
+            synchronized (this) {
+                writeScheduled = false;
+                if (pendingPropositions.isEmpty() && pendingSurfacesToRemove.isEmpty()) {
+                    return;
+                }
+                propositions = pendingPropositions;
+                surfacesToRemove = new ArrayList<>(pendingSurfacesToRemove);
+                pendingPropositions = new HashMap<>();
+                pendingSurfacesToRemove = new LinkedHashSet<>();
+            }
+
+            Log.trace(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Persisting propositions for %d surface(s), removing %d surface(s).",
+                    propositions.size(),
+                    surfacesToRemove.size());
+            try {
+                messagingCacheUtilities.cachePropositions(propositions, surfacesToRemove);
+            } catch (final Exception exception) {
+                Log.warning(
+                        MessagingConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Failed to persist propositions, an exception occurred: %s",
+                        exception.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs the provided access to the propositions cache on the calling thread, waiting for any
+     * write in progress to complete first, so it cannot interleave with the writes of this
+     * persister.
+     *
+     * @param cacheAccess the {@link Runnable} reading or writing the propositions cache
+     */
+    void runExclusively(final Runnable cacheAccess) {
+        synchronized (writeLock) {
+            cacheAccess.run();
+        }
+    }
+
+    @VisibleForTesting
+    synchronized boolean hasPendingUpdates() {
+        return !pendingPropositions.isEmpty() || !pendingSurfacesToRemove.isEmpty();
+    }
+
+    private void schedule() {
+        try {
+            getExecutor()
+                    .schedule(
+                            this::flush,
+                            MessagingConstants.PROPOSITION_PERSISTENCE_DELAY_MS,
+                            TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException exception) {
+            Log.debug(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Proposition persister is unavailable, persisting on the calling thread.");
+            flush();
+        }
+    }
+
+    private synchronized ScheduledExecutorService getExecutor() {
+        if (executor == null) {
+            final ScheduledThreadPoolExecutor scheduledExecutor =
+                    new ScheduledThreadPoolExecutor(
+                            1,
+                            runnable -> {
+                                final Thread thread = new Thread(runnable, THREAD_NAME);
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            scheduledExecutor.setKeepAliveTime(
+                    MessagingConstants.PERSISTENCE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            scheduledExecutor.allowCoreThreadTimeOut(true);
+            executor = scheduledExecutor;
+        }
+        return executor;
+    }
+}
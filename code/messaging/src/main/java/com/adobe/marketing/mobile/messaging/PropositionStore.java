@@ -0,0 +1,412 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the propositions, qualified content cards, proposition info and rules known to the
+ * Messaging extension as a series of immutable {@link Generation}s.
+ *
+ * <p>Each update copies only the affected maps and publishes the result as a new generation with
+ * an incremented version. Readers on any thread get a consistent view from {@link #current()}
+ * without locking, and can use {@link #changedSince(long)} to find out whether anything was updated
+ * after a generation they previously read.
+ *
+ * <p>The event data of the stored propositions is converted once with {@link
+ * Proposition#toEventData()} when first read and shared by every response event built from the
+ * store, carrying it over to later generations for the propositions they still contain.
+ */
+class PropositionStore {
+    private static final String SELF_TAG = "PropositionStore";
+
+    private final Object writeLock = new Object();
+    private final AtomicReference<Generation> currentGeneration =
+            new AtomicReference<>(Generation.EMPTY);
+
+    /** An immutable view of the store contents at a single version. */
+    static final class Generation {
+        static final Generation EMPTY =
+                new Generation(
+                        0,
+                        Collections.<Surface, List<Proposition>>emptyMap(),
+                        Collections.<Surface, List<Proposition>>emptyMap(),
+                        Collections.<String, PropositionInfo>emptyMap(),
+                        Collections.<SchemaType, Map<Surface, List<LaunchRule>>>emptyMap());
+
+        private final long version;
+        private final Map<Surface, List<Proposition>> propositions;
+        private final Map<Surface, List<Proposition>> contentCards;
+        private final Map<String, PropositionInfo> propositionInfo;
+        private final Map<SchemaType, Map<Surface, List<LaunchRule>>> rulesBySchemaType;
+        // event data of the stored propositions by instance, guarded by itself
+        private final Map<Proposition, Map<String, Object>> propositionEventData =
+                new IdentityHashMap<>();
+
+        private Generation(
+                final long version,
+                final Map<Surface, List<Proposition>> propositions,
+                final Map<Surface, List<Proposition>> contentCards,
+                final Map<String, PropositionInfo> propositionInfo,
+                final Map<SchemaType, Map<Surface, List<LaunchRule>>> rulesBySchemaType) {
+            this.version = version;
+            this.propositions = propositions;
+            this.contentCards = contentCards;
+            this.propositionInfo = propositionInfo;
+            this.rulesBySchemaType = rulesBySchemaType;
+        }
+
+        /**
+         * @return the version of this generation, incremented every time the store is updated
+         */
+        long getVersion() {
+            return version;
+        }
+
+        /**
+         * @return read-only {@code Map<Surface, List<Proposition>>} of fetched propositions
+         */
+        Map<Surface, List<Proposition>> getPropositions() {
+            return propositions;
+        }
+
+        /**
+         * @return read-only {@code Map<Surface, List<Proposition>>} of content cards the user has
+         *     qualified for
+         */
+        Map<Surface, List<Proposition>> getContentCards() {
+            return contentCards;
+        }
+
+        /**
+         * @return read-only {@code Map<String, PropositionInfo>} keyed by proposition item id
+         */
+        Map<String, PropositionInfo> getPropositionInfo() {
+            return propositionInfo;
+        }
+
+        /**
+         * @param schemaType the {@link SchemaType} of the rules
+         * @return read-only {@code Map<Surface, List<LaunchRule>>} of rules for the schema type
+         */
+        Map<Surface, List<LaunchRule>> getRules(final SchemaType schemaType) {
+            final Map<Surface, List<LaunchRule>> rules = rulesBySchemaType.get(schemaType);
+            return rules != null ? rules : Collections.<Surface, List<LaunchRule>>emptyMap();
+        }
+
+        /**
+         * Returns the event data of a proposition of this generation, converting it on first use.
+         * The returned map is shared and must not be modified.
+         *
+         * @param proposition a {@link Proposition} read from this generation
+         * @return the read-only {@code Map<String, Object>} event data of {@code proposition}
+         */
+        Map<String, Object> getEventData(final Proposition proposition) {
+            synchronized (propositionEventData) {
+                Map<String, Object> eventData = propositionEventData.get(proposition);
+                if (eventData == null) {
+                    eventData = Collections.unmodifiableMap(proposition.toEventData());
+                    propositionEventData.put(proposition, eventData);
+                }
+                return eventData;
+            }
+        }
+
+        private void retainEventDataFrom(final Generation previous) {
+            synchronized (previous.propositionEventData) {
+                if (previous.propositionEventData.isEmpty()) {
+                    return;
+                }
+                synchronized (propositionEventData) {
+                    retainEventData(previous.propositionEventData, propositions);
+                    retainEventData(previous.propositionEventData, contentCards);
+                }
+            }
+        }
+
+        private void retainEventData(
+                final Map<Proposition, Map<String, Object>> previousEventData,
+                final Map<Surface, List<Proposition>> propositionsBySurface) {
+            for (final List<Proposition> surfacePropositions : propositionsBySurface.values()) {
+                for (final Proposition proposition : surfacePropositions) {
+                    final Map<String, Object> eventData = previousEventData.get(proposition);
+                    if (eventData != null) {
+                        propositionEventData.put(proposition, eventData);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the most recently published {@link Generation}
+     */
+    Generation current() {
+        return currentGeneration.get();
+    }
+
+    /**
+     * @return the version of the most recently published {@link Generation}
+     */
+    long getVersion() {
+        return currentGeneration.get().version;
+    }
+
+    /**
+     * @param version a version previously returned by {@link #getVersion()} or {@link
+     *     Generation#getVersion()}
+     * @return true if a newer {@link Generation} has been published since {@code version}
+     */
+    boolean changedSince(final long version) {
+        return currentGeneration.get().version > version;
+    }
+
+    /**
+     * Adds or replaces propositions for the surfaces in {@code propositions}, then removes the
+     * surfaces in {@code surfacesToRemove}.
+     *
+     * @param propositions {@code Map<Surface, List<Proposition>>} to add or replace
+     * @param surfacesToRemove {@code Collection<Surface>} to remove, may be null
+     * @return the published {@link Generation}
+     */
+    Generation updatePropositions(
+            final Map<Surface, List<Proposition>> propositions,
+            final Collection<Surface> surfacesToRemove) {
+        synchronized (writeLock) {
+            final Generation current = currentGeneration.get();
+            final Map<Surface, List<Proposition>> updated =
+                    updateSurfaces(current.propositions, propositions, surfacesToRemove);
+            if (updated == null) {
+                return current;
+            }
+            return publish(
+                    current,
+                    updated,
+                    current.contentCards,
+                    current.propositionInfo,
+                    current.rulesBySchemaType);
+        }
+    }
+
+    /**
+     * Replaces all propositions with the provided {@code propositions}.
+     *
+     * @param propositions {@code Map<Surface, List<Proposition>>} replacing the current
+     *     propositions
+     * @return the published {@link Generation}
+     */
+    Generation replacePropositions(final Map<Surface, List<Proposition>> propositions) {
+        synchronized (writeLock) {
+            final Generation current = currentGeneration.get();
+            return publish(
+                    current,
+                    copySurfaces(propositions),
+                    current.contentCards,
+                    current.propositionInfo,
+                    current.rulesBySchemaType);
+        }
+    }
+
+    /**
+     * Adds or replaces qualified content cards for the surfaces in {@code contentCards}, then
+     * removes the surfaces in {@code surfacesToRemove}.
+     *
+     * @param contentCards {@code Map<Surface, List<Proposition>>} to add or replace
+     * @param surfacesToRemove {@code Collection<Surface>} to remove, may be null
+     * @return the published {@link Generation}
+     */
+    Generation updateContentCards(
+            final Map<Surface, List<Proposition>> contentCards,
+            final Collection<Surface> surfacesToRemove) {
+        synchronized (writeLock) {
+            final Generation current = currentGeneration.get();
+            final Map<Surface, List<Proposition>> updated =
+                    updateSurfaces(current.contentCards, contentCards, surfacesToRemove);
+            if (updated == null) {
+                return current;
+            }
+            return publish(
+                    current,
+                    current.propositions,
+                    updated,
+                    current.propositionInfo,
+                    current.rulesBySchemaType);
+        }
+    }
+
+    /**
+     * Replaces all qualified content cards with the provided {@code contentCards}.
+     *
+     * @param contentCards {@code Map<Surface, List<Proposition>>} replacing the current content
+     *     cards
+     * @return the published {@link Generation}
+     */
+    Generation replaceContentCards(final Map<Surface, List<Proposition>> contentCards) {
+        synchronized (writeLock) {
+            final Generation current = currentGeneration.get();
+            return publish(
+                    current,
+                    current.propositions,
+                    copySurfaces(contentCards),
+                    current.propositionInfo,
+                    current.rulesBySchemaType);
+        }
+    }
+
+    /**
+     * Adds or replaces the provided proposition info, then removes any proposition info with a
+     * scope in {@code scopesToRemove}.
+     *
+     * @param propositionInfo {@code Map<String, PropositionInfo>} to add or replace
+     * @param scopesToRemove {@code Set<String>} of surface uris to remove, may be null
+     * @return the published {@link Generation}
+     */
+    Generation updatePropositionInfo(
+            final Map<String, PropositionInfo> propositionInfo, final Set<String> scopesToRemove) {
+        synchronized (writeLock) {
+            final Generation current = currentGeneration.get();
+            final Map<String, PropositionInfo> updated = new HashMap<>(current.propositionInfo);
+            boolean changed = false;
+            if (propositionInfo != null && !propositionInfo.isEmpty()) {
+                updated.putAll(propositionInfo);
+                changed = true;
+            }
+            if (scopesToRemove != null && !scopesToRemove.isEmpty()) {
+                final Iterator<Map.Entry<String, PropositionInfo>> iterator =
+                        updated.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    if (scopesToRemove.contains(iterator.next().getValue().scope)) {
+                        iterator.remove();
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                return current;
+            }
+            return publish(
+                    current,
+                    current.propositions,
+                    current.contentCards,
+                    Collections.unmodifiableMap(updated),
+                    current.rulesBySchemaType);
+        }
+    }
+
+    /**
+     * Replaces the rules for each {@link SchemaType} in {@code rulesBySchemaType}. Rules for schema
+     * types not present in {@code rulesBySchemaType} are kept.
+     *
+     * @param rulesBySchemaType {@code Map<SchemaType, Map<Surface, List<LaunchRule>>>} of rules
+     * @return the published {@link Generation}
+     */
+    Generation replaceRules(
+            final Map<SchemaType, Map<Surface, List<LaunchRule>>> rulesBySchemaType) {
+        synchronized (writeLock) {
+            final Generation current = currentGeneration.get();
+            if (rulesBySchemaType == null || rulesBySchemaType.isEmpty()) {
+                return current;
+            }
+            final Map<SchemaType, Map<Surface, List<LaunchRule>>> updated =
+                    new EnumMap<>(SchemaType.class);
+            updated.putAll(current.rulesBySchemaType);
+            for (final Map.Entry<SchemaType, Map<Surface, List<LaunchRule>>> entry :
+                    rulesBySchemaType.entrySet()) {
+                updated.put(entry.getKey(), copySurfaces(entry.getValue()));
+            }
+            return publish(
+                    current,
+                    current.propositions,
+                    current.contentCards,
+                    current.propositionInfo,
+                    Collections.unmodifiableMap(updated));
+        }
+    }
+
+    private Generation publish(
+            final Generation current,
+            final Map<Surface, List<Proposition>> propositions,
+            final Map<Surface, List<Proposition>> contentCards,
+            final Map<String, PropositionInfo> propositionInfo,
+            final Map<SchemaType, Map<Surface, List<LaunchRule>>> rulesBySchemaType) {
+        final Generation next =
+                new Generation(
+                        current.version + 1,
+                        propositions,
+                        contentCards,
+                        propositionInfo,
+                        rulesBySchemaType);
+        next.retainEventDataFrom(current);
+        currentGeneration.set(next);
+        Log.trace(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Published proposition store version %d.",
+                next.version);
+        return next;
+    }
+
+    /**
+     * Copies {@code current} with the provided surfaces added or replaced and removed.
+     *
+     * @return the updated read-only map, or null if nothing changed
+     */
+    private static <T> Map<Surface, List<T>> updateSurfaces(
+            final Map<Surface, List<T>> current,
+            final Map<Surface, List<T>> surfacesToUpdate,
+            final Collection<Surface> surfacesToRemove) {
+        final Map<Surface, List<T>> updated = new HashMap<>(current);
+        boolean changed = false;
+        if (surfacesToUpdate != null) {
+            for (final Map.Entry<Surface, List<T>> entry : surfacesToUpdate.entrySet()) {
+                updated.put(entry.getKey(), readOnlyCopyOf(entry.getValue()));
+                changed = true;
+            }
+        }
+        if (surfacesToRemove != null) {
+            for (final Surface surface : surfacesToRemove) {
+                if (updated.remove(surface) != null) {
+                    changed = true;
+                }
+            }
+        }
+        return changed ? Collections.unmodifiableMap(updated) : null;
+    }
+
+    private static <T> Map<Surface, List<T>> copySurfaces(final Map<Surface, List<T>> surfaces) {
+        final Map<Surface, List<T>> copy = new HashMap<>();
+        if (surfaces != null) {
+            for (final Map.Entry<Surface, List<T>> entry : surfaces.entrySet()) {
+                copy.put(entry.getKey(), readOnlyCopyOf(entry.getValue()));
+            }
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static <T> List<T> readOnlyCopyOf(final List<T> list) {
+        return list != null
+                ? Collections.unmodifiableList(new ArrayList<>(list))
+                : Collections.<T>emptyList();
+    }
+}
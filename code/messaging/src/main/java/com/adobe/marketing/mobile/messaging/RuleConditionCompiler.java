@@ -0,0 +1,477 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.rulesengine.Context;
+import com.adobe.marketing.mobile.rulesengine.Evaluable;
+import com.adobe.marketing.mobile.rulesengine.RulesResult;
+import com.adobe.marketing.mobile.rulesengine.TokenFinder;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the conditions of parsed {@link LaunchRule}s into specialized matchers.
+ *
+ * <p>Most rules only check event type, source and a few event data keys for equality or
+ * existence. Conditions made up exclusively of {@code and} / {@code or} groups of {@code eq}
+ * matchers with string values, {@code ex} matchers and {@code nx} matchers are compiled into a
+ * {@link CompiledCondition}, which reads the referenced values directly from the token finder
+ * instead of walking the generic condition tree. Rules with any other condition are left
+ * unchanged.
+ *
+ * <p>Historical conditions counting a single proposition interaction over all of event history,
+ * as used for frequency caps, are compiled into matchers reading the count from the {@link
+ * EventHistoryCounterCache} instead of querying the event history database.
+ */
+class RuleConditionCompiler {
+    private static final String SELF_TAG = "RuleConditionCompiler";
+
+    private static final String MATCHER_EXISTS = "ex";
+    private static final String MATCHER_NOT_EXISTS = "nx";
+    private static final String MATCHER_NOT_EQUALS = "ne";
+    private static final String MATCHER_GREATER_THAN = "gt";
+    private static final String MATCHER_GREATER_THAN_OR_EQUALS = "ge";
+    private static final String MATCHER_LESS_THAN = "lt";
+    private static final String MATCHER_LESS_THAN_OR_EQUALS = "le";
+
+    private static final RulesResult CONDITION_FAILED =
+            new RulesResult(
+                    RulesResult.FailureType.CONDITION_FAILED,
+                    "Compiled rule condition did not match.");
+
+    private RuleConditionCompiler() {}
+
+    /**
+     * Compiles the conditions of the provided rules.
+     *
+     * <p>{@code rules} must have been parsed from {@code rulesetData}, as the condition for each
+     * rule is read from the ruleset at the same position.
+     *
+     * @param rules {@code List<LaunchRule>} parsed from {@code rulesetData}
+     * @param rulesetData {@code Map<String, Object>} containing the ruleset json
+     * @return {@code List<LaunchRule>} where each rule with a supported condition is replaced by an
+     *     equivalent rule using a {@link CompiledCondition}
+     */
+    static List<LaunchRule> compile(
+            final List<LaunchRule> rules, final Map<String, Object> rulesetData) {
+        if (MessagingUtils.isNullOrEmpty(rules) || rulesetData == null) {
+            return rules;
+        }
+        final Object rulesJson =
+                rulesetData.get(MessagingConstants.EventDataKeys.RulesEngine.JSON_RULES_KEY);
+        if (!(rulesJson instanceof List) || ((List<?>) rulesJson).size() != rules.size()) {
+            return rules;
+        }
+
+        final List<?> rulesList = (List<?>) rulesJson;
+        final List<LaunchRule> compiledRules = new ArrayList<>(rules.size());
+        final List<EventHistoryCounterCache.Key> historyKeys = new ArrayList<>();
+        int compiledCount = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            final LaunchRule rule = rules.get(i);
+            final Object ruleJson = rulesList.get(i);
+            final List<EventHistoryCounterCache.Key> ruleHistoryKeys = new ArrayList<>();
+            final Matcher matcher =
+                    rule != null && rule.getCondition() != null && ruleJson instanceof Map
+                            ? compileCondition(
+                                    ((Map<?, ?>) ruleJson)
+                                            .get(
+                                                    MessagingConstants.EventDataKeys.RulesEngine
+                                                            .JSON_CONDITION_KEY),
+                                    ruleHistoryKeys)
+                            : null;
+            if (matcher == null) {
+                compiledRules.add(rule);
+                continue;
+            }
+            historyKeys.addAll(ruleHistoryKeys);
+
+            compiledRules.add(
+                    new LaunchRule(
+                            new CompiledCondition(matcher, rule.getCondition()),
+                            rule.getConsequenceList()));
+            compiledCount++;
+        }
+
+        Log.trace(
+                MessagingConstants.LOG_TAG,
+                SELF_TAG,
+                "Compiled the conditions of %d of %d rule(s).",
+                compiledCount,
+                rules.size());
+        // seed the counts read by compiled historical conditions
+        EventHistoryCounterCache.getInstance().register(historyKeys);
+        return compiledRules;
+    }
+
+    /**
+     * Compiles the provided condition json of a rule whose generic condition has not been parsed,
+     * as for rules restored from a {@link RulesSnapshot}.
+     *
+     * @param condition the condition json of the rule
+     * @param fallbackCondition the {@link Evaluable} used when the compiled condition cannot decide
+     * @return a {@link CompiledCondition} for a supported condition, otherwise {@code
+     *     fallbackCondition}
+     */
+    static Evaluable compileRestoredCondition(
+            final Object condition, final Evaluable fallbackCondition) {
+        final List<EventHistoryCounterCache.Key> historyKeys = new ArrayList<>();
+        final Matcher matcher = compileCondition(condition, historyKeys);
+        if (matcher == null) {
+            return fallbackCondition;
+        }
+        // seed the counts read by compiled historical conditions
+        EventHistoryCounterCache.getInstance().register(historyKeys);
+        return new CompiledCondition(matcher, fallbackCondition);
+    }
+
+    /**
+     * @return the compiled {@link Matcher} for the provided condition json, or null if the
+     *     condition is not supported
+     */
+    static Matcher compileCondition(final Object condition) {
+        return compileCondition(condition, new ArrayList<EventHistoryCounterCache.Key>());
+    }
+
+    private static Matcher compileCondition(
+            final Object condition, final List<EventHistoryCounterCache.Key> historyKeys) {
+        if (!(condition instanceof Map)) {
+            return null;
+        }
+        final Map<?, ?> conditionMap = (Map<?, ?>) condition;
+        final Object definition =
+                conditionMap.get(MessagingConstants.EventDataKeys.RulesEngine.CONDITION_DEFINITION);
+        if (!(definition instanceof Map)) {
+            return null;
+        }
+        final Object type =
+                conditionMap.get(MessagingConstants.EventDataKeys.RulesEngine.CONDITION_TYPE);
+        if (MessagingConstants.EventDataKeys.RulesEngine.CONDITION_TYPE_GROUP.equals(type)) {
+            return compileGroup((Map<?, ?>) definition, historyKeys);
+        }
+        if (MessagingConstants.EventDataKeys.RulesEngine.CONDITION_TYPE_MATCHER.equals(type)) {
+            return compileMatcher((Map<?, ?>) definition);
+        }
+        if (MessagingConstants.EventDataKeys.RulesEngine.CONDITION_TYPE_HISTORICAL.equals(type)) {
+            return compileHistorical((Map<?, ?>) definition, historyKeys);
+        }
+        return null;
+    }
+
+    private static Matcher compileGroup(
+            final Map<?, ?> definition, final List<EventHistoryCounterCache.Key> historyKeys) {
+        final Object logic =
+                definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_LOGIC);
+        final Object conditions =
+                definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_CONDITIONS);
+        if (!(conditions instanceof List) || ((List<?>) conditions).isEmpty()) {
+            return null;
+        }
+        final boolean isAnd = MessagingConstants.EventDataKeys.RulesEngine.LOGIC_AND.equals(logic);
+        if (!isAnd && !MessagingConstants.EventDataKeys.RulesEngine.LOGIC_OR.equals(logic)) {
+            return null;
+        }
+
+        final List<?> conditionList = (List<?>) conditions;
+        final Matcher[] children = new Matcher[conditionList.size()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = compileCondition(conditionList.get(i), historyKeys);
+            if (children[i] == null) {
+                return null;
+            }
+        }
+        return new GroupMatcher(isAnd, children);
+    }
+
+    private static Matcher compileMatcher(final Map<?, ?> definition) {
+        final Object key =
+                definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_KEY);
+        final Object matcher =
+                definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_MATCHER);
+        // keys with transforming functions and definitions with additional options are left to
+        // the generic evaluator
+        if (!(key instanceof String)
+                || ((String) key).isEmpty()
+                || ((String) key).indexOf('(') >= 0
+                || !(matcher instanceof String)) {
+            return null;
+        }
+        for (final Object definitionKey : definition.keySet()) {
+            if (!MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_KEY.equals(definitionKey)
+                    && !MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_MATCHER.equals(
+                            definitionKey)
+                    && !MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_VALUES.equals(
+                            definitionKey)) {
+                return null;
+            }
+        }
+
+        if (MATCHER_EXISTS.equals(matcher)) {
+            return new ExistsMatcher((String) key, true);
+        }
+        if (MATCHER_NOT_EXISTS.equals(matcher)) {
+            return new ExistsMatcher((String) key, false);
+        }
+        if (!MessagingConstants.EventDataKeys.RulesEngine.MATCHER_EQUALS.equals(matcher)) {
+            return null;
+        }
+
+        final Object values =
+                definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_VALUES);
+        if (!(values instanceof List) || ((List<?>) values).isEmpty()) {
+            return null;
+        }
+        final List<?> valueList = (List<?>) values;
+        final String[] expectedValues = new String[valueList.size()];
+        for (int i = 0; i < expectedValues.length; i++) {
+            final Object value = valueList.get(i);
+            if (!(value instanceof String)) {
+                return null;
+            }
+            expectedValues[i] = (String) value;
+        }
+        return new EqualsMatcher((String) key, expectedValues);
+    }
+
+    private static Matcher compileHistorical(
+            final Map<?, ?> definition, final List<EventHistoryCounterCache.Key> historyKeys) {
+        // searches over a time window or for an ordered sequence of events are left to the
+        // generic evaluator
+        for (final Object definitionKey : definition.keySet()) {
+            if (!MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_EVENTS.equals(
+                            definitionKey)
+                    && !MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_MATCHER.equals(
+                            definitionKey)
+                    && !MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_VALUE.equals(
+                            definitionKey)
+                    && !MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_SEARCH_TYPE.equals(
+                            definitionKey)) {
+                return null;
+            }
+        }
+        final Object searchType =
+                definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_SEARCH_TYPE);
+        if (searchType != null
+                && !MessagingConstants.EventDataKeys.RulesEngine.SEARCH_TYPE_ANY.equals(
+                        searchType)) {
+            return null;
+        }
+        final Object events =
+                definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_EVENTS);
+        if (!(events instanceof List) || ((List<?>) events).size() != 1) {
+            return null;
+        }
+        final Object query = ((List<?>) events).get(0);
+        final EventHistoryCounterCache.Key key =
+                query instanceof Map
+                        ? EventHistoryCounterCache.Key.fromQuery((Map<?, ?>) query)
+                        : null;
+        final Object matcher =
+                definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_MATCHER);
+        final Object value =
+                definition.get(MessagingConstants.EventDataKeys.RulesEngine.DEFINITION_VALUE);
+        if (key == null || !(value instanceof Number) || !isCountMatcher(matcher)) {
+            return null;
+        }
+
+        historyKeys.add(key);
+        return new HistoricalCountMatcher(
+                EventHistoryCounterCache.getInstance(),
+                key,
+                (String) matcher,
+                ((Number) value).doubleValue());
+    }
+
+    private static boolean isCountMatcher(final Object matcher) {
+        return MessagingConstants.EventDataKeys.RulesEngine.MATCHER_EQUALS.equals(matcher)
+                || MATCHER_NOT_EQUALS.equals(matcher)
+                || MATCHER_GREATER_THAN.equals(matcher)
+                || MATCHER_GREATER_THAN_OR_EQUALS.equals(matcher)
+                || MATCHER_LESS_THAN.equals(matcher)
+                || MATCHER_LESS_THAN_OR_EQUALS.equals(matcher);
+    }
+
+    /** Result of a compiled {@link Matcher}. */
+    enum MatchResult {
+        MATCH,
+        NO_MATCH,
+        /** The values referenced by the condition need the generic evaluator to be compared. */
+        UNDECIDED
+    }
+
+    /** A compiled condition, or part of one. */
+    interface Matcher {
+        MatchResult match(final TokenFinder tokenFinder);
+    }
+
+    /**
+     * An {@link Evaluable} which evaluates a compiled {@link Matcher}, falling back to the generic
+     * condition the rule was parsed with when the matcher can not decide.
+     */
+    static final class CompiledCondition implements Evaluable {
+        private final Matcher matcher;
+        private final Evaluable fallbackCondition;
+
+        CompiledCondition(final Matcher matcher, final Evaluable fallbackCondition) {
+            this.matcher = matcher;
+            this.fallbackCondition = fallbackCondition;
+        }
+
+        @Override
+        public RulesResult evaluate(final Context context) {
+            final TokenFinder tokenFinder = context != null ? context.tokenFinder : null;
+            if (tokenFinder == null) {
+                return fallbackCondition.evaluate(context);
+            }
+
+            switch (matcher.match(tokenFinder)) {
+                case MATCH:
+                    return RulesResult.SUCCESS;
+                case NO_MATCH:
+                    return CONDITION_FAILED;
+                default:
+                    return fallbackCondition.evaluate(context);
+            }
+        }
+    }
+
+    private static final class GroupMatcher implements Matcher {
+        private final boolean isAnd;
+        private final Matcher[] children;
+
+        GroupMatcher(final boolean isAnd, final Matcher[] children) {
+            this.isAnd = isAnd;
+            this.children = children;
+        }
+
+        @Override
+        public MatchResult match(final TokenFinder tokenFinder) {
+            // a conclusive child decides the group, otherwise any undecided child makes the group
+            // undecided
+            final MatchResult conclusiveResult = isAnd ? MatchResult.NO_MATCH : MatchResult.MATCH;
+            boolean undecided = false;
+            for (final Matcher child : children) {
+                final MatchResult result = child.match(tokenFinder);
+                if (result == conclusiveResult) {
+                    return conclusiveResult;
+                }
+                if (result == MatchResult.UNDECIDED) {
+                    undecided = true;
+                }
+            }
+            if (undecided) {
+                return MatchResult.UNDECIDED;
+            }
+            return isAnd ? MatchResult.MATCH : MatchResult.NO_MATCH;
+        }
+    }
+
+    private static final class ExistsMatcher implements Matcher {
+        private final String key;
+        private final boolean exists;
+
+        ExistsMatcher(final String key, final boolean exists) {
+            this.key = key;
+            this.exists = exists;
+        }
+
+        @Override
+        public MatchResult match(final TokenFinder tokenFinder) {
+            return (tokenFinder.get(key) != null) == exists
+                    ? MatchResult.MATCH
+                    : MatchResult.NO_MATCH;
+        }
+    }
+
+    private static final class EqualsMatcher implements Matcher {
+        private final String key;
+        private final String[] expectedValues;
+
+        EqualsMatcher(final String key, final String[] expectedValues) {
+            this.key = key;
+            this.expectedValues = expectedValues;
+        }
+
+        @Override
+        public MatchResult match(final TokenFinder tokenFinder) {
+            final Object value = tokenFinder.get(key);
+            if (value == null) {
+                return MatchResult.NO_MATCH;
+            }
+            // non-string values are converted by the generic evaluator before being compared
+            if (!(value instanceof String)) {
+                return MatchResult.UNDECIDED;
+            }
+
+            // launch rules compare strings case insensitively
+            for (final String expectedValue : expectedValues) {
+                if (expectedValue.equalsIgnoreCase((String) value)) {
+                    return MatchResult.MATCH;
+                }
+            }
+            return MatchResult.NO_MATCH;
+        }
+    }
+
+    private static final class HistoricalCountMatcher implements Matcher {
+        private final EventHistoryCounterCache counterCache;
+        private final EventHistoryCounterCache.Key key;
+        private final String matcher;
+        private final double value;
+
+        HistoricalCountMatcher(
+                final EventHistoryCounterCache counterCache,
+                final EventHistoryCounterCache.Key key,
+                final String matcher,
+                final double value) {
+            this.counterCache = counterCache;
+            this.key = key;
+            this.matcher = matcher;
+            this.value = value;
+        }
+
+        @Override
+        public MatchResult match(final TokenFinder tokenFinder) {
+            final Long count = counterCache.getCount(key);
+            // counts not yet seeded from event history are queried by the generic evaluator
+            if (count == null) {
+                return MatchResult.UNDECIDED;
+            }
+
+            final boolean matches;
+            switch (matcher) {
+                case MessagingConstants.EventDataKeys.RulesEngine.MATCHER_EQUALS:
+                    matches = count == value;
+                    break;
+                case MATCHER_NOT_EQUALS:
+                    matches = count != value;
+                    break;
+                case MATCHER_GREATER_THAN:
+                    matches = count > value;
+                    break;
+                case MATCHER_GREATER_THAN_OR_EQUALS:
+                    matches = count >= value;
+                    break;
+                case MATCHER_LESS_THAN:
+                    matches = count < value;
+                    break;
+                default:
+                    matches = count <= value;
+                    break;
+            }
+            return matches ? MatchResult.MATCH : MatchResult.NO_MATCH;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The difference between the {@link LaunchRule}s currently loaded in a rules engine and the rules
+ * which should be loaded, computed per {@link Surface}.
+ *
+ * <p>Rules are compared by identity. Rulesets which are returned unchanged by a fetch are served
+ * from the {@link ParsedRulesCache} and therefore produce the same {@code LaunchRule} instances.
+ */
+final class RulesDelta {
+    private final List<LaunchRule> addedRules;
+    private final List<LaunchRule> removedRules;
+    private final int unchangedCount;
+    private final boolean additive;
+
+    private RulesDelta(
+            final List<LaunchRule> addedRules,
+            final List<LaunchRule> removedRules,
+            final int unchangedCount,
+            final boolean additive) {
+        this.addedRules = addedRules;
+        this.removedRules = removedRules;
+        this.unchangedCount = unchangedCount;
+        this.additive = additive;
+    }
+
+    /**
+     * Computes the delta between the currently applied rules and the desired rules.
+     *
+     * @param appliedRules {@code Map<Surface, List<LaunchRule>>} of rules currently loaded in the
+     *     rules engine
+     * @param desiredRules {@code Map<Surface, List<LaunchRule>>} of rules which should be loaded
+     * @return the computed {@link RulesDelta}
+     */
+    static RulesDelta compute(
+            final Map<Surface, List<LaunchRule>> appliedRules,
+            final Map<Surface, List<LaunchRule>> desiredRules) {
+        final List<LaunchRule> added = new ArrayList<>();
+        final List<LaunchRule> removed = new ArrayList<>();
+        int unchanged = 0;
+        boolean additive = true;
+
+        for (final Map.Entry<Surface, List<LaunchRule>> entry : desiredRules.entrySet()) {
+            final List<LaunchRule> desired = nonNull(entry.getValue());
+            final List<LaunchRule> applied = nonNull(appliedRules.get(entry.getKey()));
+
+            if (isPrefix(applied, desired)) {
+                // existing rules kept in the same order, anything after them is new
+                unchanged += applied.size();
+                added.addAll(desired.subList(applied.size(), desired.size()));
+                continue;
+            }
+
+            additive = false;
+            final Set<LaunchRule> appliedSet = identitySetOf(applied);
+            final Set<LaunchRule> desiredSet = identitySetOf(desired);
+            for (final LaunchRule rule : desired) {
+                if (appliedSet.contains(rule)) {
+                    unchanged++;
+                } else {
+                    added.add(rule);
+                }
+            }
+            for (final LaunchRule rule : applied) {
+                if (!desiredSet.contains(rule)) {
+                    removed.add(rule);
+                }
+            }
+        }
+
+        for (final Map.Entry<Surface, List<LaunchRule>> entry : appliedRules.entrySet()) {
+            if (desiredRules.containsKey(entry.getKey())) {
+                continue;
+            }
+            final List<LaunchRule> applied = nonNull(entry.getValue());
+            if (!applied.isEmpty()) {
+                additive = false;
+                removed.addAll(applied);
+            }
+        }
+
+        return new RulesDelta(added, removed, unchanged, additive);
+    }
+
+    /**
+     * Combines this delta with the delta computed for another set of rules loaded in the same
+     * rules engine.
+     *
+     * @param other the {@link RulesDelta} to combine with this delta
+     * @return a new {@link RulesDelta} containing the changes of both deltas
+     */
+    RulesDelta plus(final RulesDelta other) {
+        final List<LaunchRule> added = new ArrayList<>(addedRules);
+        added.addAll(other.addedRules);
+        final List<LaunchRule> removed = new ArrayList<>(removedRules);
+        removed.addAll(other.removedRules);
+        return new RulesDelta(
+                added,
+                removed,
+                unchangedCount + other.unchangedCount,
+                additive && other.additive);
+    }
+
+    /**
+     * @return true if no rules were added, removed or reordered
+     */
+    boolean isEmpty() {
+        return additive && addedRules.isEmpty();
+    }
+
+    /**
+     * @return true if the delta can be applied by appending {@link #getAddedRules()} to the rules
+     *     already loaded, meaning no rules were removed or reordered
+     */
+    boolean isAdditive() {
+        return additive;
+    }
+
+    List<LaunchRule> getAddedRules() {
+        return addedRules;
+    }
+
+    List<LaunchRule> getRemovedRules() {
+        return removedRules;
+    }
+
+    int getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    /**
+     * Creates a snapshot of the provided rules which is not affected by later changes to the
+     * provided map or its lists.
+     *
+     * @param rulesBySurface {@code Map<Surface, List<LaunchRule>>} to copy
+     * @return a copy of the provided map
+     */
+    static Map<Surface, List<LaunchRule>> snapshot(
+            final Map<Surface, List<LaunchRule>> rulesBySurface) {
+        final Map<Surface, List<LaunchRule>> snapshot = new HashMap<>();
+        for (final Map.Entry<Surface, List<LaunchRule>> entry : rulesBySurface.entrySet()) {
+            snapshot.put(entry.getKey(), new ArrayList<>(nonNull(entry.getValue())));
+        }
+        return snapshot;
+    }
+
+    private static boolean isPrefix(final List<LaunchRule> prefix, final List<LaunchRule> list) {
+        if (prefix.size() > list.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            if (prefix.get(i) != list.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<LaunchRule> identitySetOf(final List<LaunchRule> rules) {
+        final Set<LaunchRule> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(rules);
+        return set;
+    }
+
+    private static List<LaunchRule> nonNull(final List<LaunchRule> rules) {
+        return rules != null ? rules : Collections.<LaunchRule>emptyList();
+    }
+}
@@ -0,0 +1,336 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in profiler for the Messaging rules engines.
+ *
+ * <p>While enabled, the profiler records for each rules engine the evaluation latency as a
+ * histogram, the number of rules evaluated per event and how often each rule matched, keyed by
+ * the id of its consequence. It also counts the events rejected by the {@link EventPrefilterIndex}
+ * before reaching the rules engines. Profiling is disabled by default and only costs a volatile
+ * read per evaluation while disabled.
+ */
+class RulesEvaluationProfiler {
+    private static final String SELF_TAG = "RulesEvaluationProfiler";
+
+    /** Upper bounds, in microseconds, of the latency histogram buckets except the last one. */
+    static final long[] LATENCY_BUCKET_BOUNDS_MICROS = {
+        50, 100, 250, 500, 1000, 2500, 5000, 10000, 25000
+    };
+
+    // matches are only tracked for this many distinct rules, further rules are counted together
+    static final int MAX_PROFILED_RULES = 500;
+    static final String OTHER_RULES = "other";
+
+    /** The rules engines which can be profiled. */
+    enum Engine {
+        IN_APP("inapp"),
+        CONTENT_CARD("contentcard");
+
+        private final String key;
+
+        Engine(final String key) {
+            this.key = key;
+        }
+
+        String getKey() {
+            return key;
+        }
+    }
+
+    private volatile boolean enabled;
+
+    // guarded by this
+    private final Map<Engine, EngineStats> engineStats = new HashMap<>();
+    private final Map<String, Long> matchesByRule = new HashMap<>();
+    private long earlyRejections;
+
+    private static class RulesEvaluationProfilerSingleton {
+        private static final RulesEvaluationProfiler INSTANCE = new RulesEvaluationProfiler();
+    }
+
+    /**
+     * Singleton method to get the instance of RulesEvaluationProfiler
+     *
+     * @return the {@link RulesEvaluationProfiler} singleton
+     */
+    static RulesEvaluationProfiler getInstance() {
+        return RulesEvaluationProfilerSingleton.INSTANCE;
+    }
+
+    @VisibleForTesting
+    RulesEvaluationProfiler() {
+        reset();
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables profiling. Statistics recorded so far are kept when profiling is
+     * disabled, see {@link #reset()}.
+     *
+     * @param enabled {@code boolean} indicating if rules evaluations should be profiled
+     */
+    void setEnabled(final boolean enabled) {
+        if (this.enabled != enabled) {
+            Log.debug(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Rules evaluation profiling is %s.",
+                    enabled ? "enabled" : "disabled");
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records a single evaluation of an event by a rules engine.
+     *
+     * @param engine the {@link Engine} which evaluated the event
+     * @param elapsedNanos {@code long} time the evaluation took in nanoseconds
+     * @param rulesEvaluated {@code int} number of rules the event was evaluated against
+     */
+    void recordEvaluation(final Engine engine, final long elapsedNanos, final int rulesEvaluated) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            engineStats.get(engine).record(elapsedNanos, rulesEvaluated);
+        }
+    }
+
+    /**
+     * Records a rule matching an event.
+     *
+     * @param ruleId {@link String} id of the matching rule's consequence
+     */
+    void recordMatch(final String ruleId) {
+        if (!enabled || ruleId == null) {
+            return;
+        }
+        synchronized (this) {
+            final String key =
+                    matchesByRule.containsKey(ruleId) || matchesByRule.size() < MAX_PROFILED_RULES
+                            ? ruleId
+                            : OTHER_RULES;
+            final Long matches = matchesByRule.get(key);
+            matchesByRule.put(key, matches != null ? matches + 1 : 1);
+        }
+    }
+
+    /** Records an event rejected before being evaluated by the rules engines. */
+    void recordEarlyRejection() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            earlyRejections++;
+        }
+    }
+
+    /** Discards all recorded statistics. */
+    synchronized void reset() {
+        for (final Engine engine : Engine.values()) {
+            engineStats.put(engine, new EngineStats());
+        }
+        matchesByRule.clear();
+        earlyRejections = 0;
+    }
+
+    /**
+     * @return a {@link Snapshot} of the statistics recorded so far
+     */
+    synchronized Snapshot snapshot() {
+        final Map<Engine, EngineSnapshot> engineSnapshots = new HashMap<>();
+        for (final Map.Entry<Engine, EngineStats> entry : engineStats.entrySet()) {
+            engineSnapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new Snapshot(
+                enabled,
+                Collections.unmodifiableMap(engineSnapshots),
+                Collections.unmodifiableMap(new HashMap<>(matchesByRule)),
+                earlyRejections);
+    }
+
+    /** Read-only statistics of the profiler at the time the snapshot was taken. */
+    static final class Snapshot {
+        private final boolean enabled;
+        private final Map<Engine, EngineSnapshot> engines;
+        private final Map<String, Long> matchesByRule;
+        private final long earlyRejections;
+
+        private Snapshot(
+                final boolean enabled,
+                final Map<Engine, EngineSnapshot> engines,
+                final Map<String, Long> matchesByRule,
+                final long earlyRejections) {
+            this.enabled = enabled;
+            this.engines = engines;
+            this.matchesByRule = matchesByRule;
+            this.earlyRejections = earlyRejections;
+        }
+
+        boolean isEnabled() {
+            return enabled;
+        }
+
+        EngineSnapshot getEngine(final Engine engine) {
+            return engines.get(engine);
+        }
+
+        /**
+         * @return {@code Map<String, Long>} containing how often each rule matched, keyed by the
+         *     id of the rule's consequence
+         */
+        Map<String, Long> getMatchesByRule() {
+            return matchesByRule;
+        }
+
+        long getEarlyRejections() {
+            return earlyRejections;
+        }
+
+        /**
+         * @return {@code Map<String, Object>} representation of the snapshot to be used as event
+         *     data
+         */
+        Map<String, Object> toEventData() {
+            final Map<String, Object> engineData = new HashMap<>();
+            for (final Map.Entry<Engine, EngineSnapshot> entry : engines.entrySet()) {
+                engineData.put(entry.getKey().getKey(), entry.getValue().toEventData());
+            }
+            final Map<String, Object> eventData = new HashMap<>();
+            eventData.put(MessagingConstants.EventDataKeys.RulesProfile.ENABLED, enabled);
+            eventData.put(MessagingConstants.EventDataKeys.RulesProfile.ENGINES, engineData);
+            eventData.put(
+                    MessagingConstants.EventDataKeys.RulesProfile.MATCHES,
+                    new HashMap<String, Object>(matchesByRule));
+            eventData.put(
+                    MessagingConstants.EventDataKeys.RulesProfile.EARLY_REJECTIONS,
+                    earlyRejections);
+            return eventData;
+        }
+    }
+
+    /** Read-only statistics of a single rules engine. */
+    static final class EngineSnapshot {
+        private final long evaluations;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long rulesEvaluated;
+        private final long[] latencyHistogram;
+
+        private EngineSnapshot(
+                final long evaluations,
+                final long totalNanos,
+                final long maxNanos,
+                final long rulesEvaluated,
+                final long[] latencyHistogram) {
+            this.evaluations = evaluations;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.rulesEvaluated = rulesEvaluated;
+            this.latencyHistogram = latencyHistogram;
+        }
+
+        long getEvaluations() {
+            return evaluations;
+        }
+
+        long getTotalNanos() {
+            return totalNanos;
+        }
+
+        long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @return {@code double} average number of rules evaluated per event
+         */
+        double getAverageRulesEvaluated() {
+            return evaluations > 0 ? (double) rulesEvaluated / evaluations : 0;
+        }
+
+        /**
+         * @return copy of the evaluation counts per latency bucket, bucket {@code i} counts
+         *     evaluations faster than {@link #LATENCY_BUCKET_BOUNDS_MICROS}{@code [i]} and the last
+         *     bucket counts all slower evaluations
+         */
+        long[] getLatencyHistogram() {
+            return latencyHistogram.clone();
+        }
+
+        Map<String, Object> toEventData() {
+            final List<Long> histogram = new ArrayList<>(latencyHistogram.length);
+            for (final long count : latencyHistogram) {
+                histogram.add(count);
+            }
+            final List<Long> bounds = new ArrayList<>(LATENCY_BUCKET_BOUNDS_MICROS.length);
+            for (final long bound : LATENCY_BUCKET_BOUNDS_MICROS) {
+                bounds.add(bound);
+            }
+            final Map<String, Object> eventData = new HashMap<>();
+            eventData.put(MessagingConstants.EventDataKeys.RulesProfile.EVALUATIONS, evaluations);
+            eventData.put(
+                    MessagingConstants.EventDataKeys.RulesProfile.TOTAL_MICROS, totalNanos / 1000);
+            eventData.put(
+                    MessagingConstants.EventDataKeys.RulesProfile.MAX_MICROS, maxNanos / 1000);
+            eventData.put(
+                    MessagingConstants.EventDataKeys.RulesProfile.AVERAGE_RULES_EVALUATED,
+                    getAverageRulesEvaluated());
+            eventData.put(
+                    MessagingConstants.EventDataKeys.RulesProfile.LATENCY_BUCKET_BOUNDS_MICROS,
+                    bounds);
+            eventData.put(
+                    MessagingConstants.EventDataKeys.RulesProfile.LATENCY_HISTOGRAM, histogram);
+            return eventData;
+        }
+    }
+
+    private static final class EngineStats {
+        private long evaluations;
+        private long totalNanos;
+        private long maxNanos;
+        private long rulesEvaluated;
+        private final long[] latencyHistogram = new long[LATENCY_BUCKET_BOUNDS_MICROS.length + 1];
+
+        void record(final long elapsedNanos, final int rulesEvaluated) {
+            evaluations++;
+            totalNanos += elapsedNanos;
+            maxNanos = Math.max(maxNanos, elapsedNanos);
+            this.rulesEvaluated += rulesEvaluated;
+            final long elapsedMicros = elapsedNanos / 1000;
+            int bucket = 0;
+            while (bucket < LATENCY_BUCKET_BOUNDS_MICROS.length
+                    && elapsedMicros >= LATENCY_BUCKET_BOUNDS_MICROS[bucket]) {
+                bucket++;
+            }
+            latencyHistogram[bucket]++;
+        }
+
+        EngineSnapshot snapshot() {
+            return new EngineSnapshot(
+                    evaluations, totalNanos, maxNanos, rulesEvaluated, latencyHistogram.clone());
+        }
+    }
+}
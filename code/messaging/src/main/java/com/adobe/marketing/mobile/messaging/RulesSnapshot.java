@@ -0,0 +1,478 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.launch.rulesengine.RuleConsequence;
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser;
+import com.adobe.marketing.mobile.messaging.ParsedPropositions.StagedProposition;
+import com.adobe.marketing.mobile.messaging.ParsedPropositions.StagedRule;
+import com.adobe.marketing.mobile.rulesengine.Context;
+import com.adobe.marketing.mobile.rulesengine.Evaluable;
+import com.adobe.marketing.mobile.rulesengine.RulesResult;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.StringUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONObject;
+
+/**
+ * Snapshot of the rules parsed from the cached propositions, persisted so that a warm start loads
+ * the cached rules without parsing the ruleset of every cached proposition again.
+ *
+ * <p>For each surface, the snapshot holds the digest of the surface cache entry it was created
+ * from and, for each ruleset proposition in rank order, the consequences of its parsed rules and
+ * the rules engine they target. The consequence ids map the rules to their proposition, from which
+ * the {@link PropositionInfo} used for tracking is restored. Rule conditions are read from the
+ * cached ruleset and compiled by the {@link RuleConditionCompiler}; the generic conditions of the
+ * restored rules are parsed off the event hub thread by {@link #parseDeferredConditions()}.
+ *
+ * <p>A snapshot created by another version of the extension or of Core, whose rules parser built
+ * the snapshot rules, is discarded. So is a snapshot of another {@link
+ * PropositionCacheFormat#SNAPSHOT_VERSION}. A surface is only restored if its cache entry digest is
+ * unchanged. Other surfaces must be parsed.
+ */
+class RulesSnapshot {
+    private static final String SELF_TAG = "RulesSnapshot";
+
+    private final String extensionVersion;
+    private final String coreVersion;
+    private final Map<String, SurfaceRules> rulesBySurfaceUri = new LinkedHashMap<>();
+
+    // generic conditions of the restored rules which are not parsed yet
+    private final List<DeferredCondition> deferredConditions = new ArrayList<>();
+
+    private RulesSnapshot(final String extensionVersion, final String coreVersion) {
+        this.extensionVersion = extensionVersion;
+        this.coreVersion = coreVersion != null ? coreVersion : "";
+    }
+
+    /**
+     * Creates a snapshot of the rules parsed from the propositions cached for the surfaces listed
+     * in the provided manifest.
+     *
+     * @param stagedPropositions {@code Map<Surface, List<StagedProposition>>} parsed from the
+     *     cached propositions
+     * @param manifest the {@link PropositionCacheManifest} of the cached propositions
+     * @param extensionVersion the {@code String} version of the extension creating the snapshot
+     * @param coreVersion the {@code String} version of Core, which parsed the rules
+     * @return the created {@link RulesSnapshot}
+     */
+    static RulesSnapshot create(
+            final Map<Surface, List<StagedProposition>> stagedPropositions,
+            final PropositionCacheManifest manifest,
+            final String extensionVersion,
+            final String coreVersion) {
+        final RulesSnapshot snapshot = new RulesSnapshot(extensionVersion, coreVersion);
+        for (final Map.Entry<Surface, List<StagedProposition>> entry :
+                stagedPropositions.entrySet()) {
+            final String surfaceUri = entry.getKey().getUri();
+            final String digest = manifest.getDigest(surfaceUri);
+            if (StringUtils.isNullOrEmpty(digest)) {
+                continue;
+            }
+            final SurfaceRules surfaceRules = new SurfaceRules(digest);
+            for (final StagedProposition stagedProposition : entry.getValue()) {
+                if (!isRuleset(stagedProposition.proposition)) {
+                    continue;
+                }
+                final List<SnapshotRule> rules = new ArrayList<>();
+                for (final StagedRule stagedRule : stagedProposition.rules) {
+                    rules.add(
+                            new SnapshotRule(
+                                    stagedRule.ruleIndex,
+                                    stagedRule.schemaType,
+                                    stagedRule.rule.getConsequenceList()));
+                }
+                surfaceRules.propositionRules.add(
+                        new PropositionRules(stagedProposition.proposition.getUniqueId(), rules));
+            }
+            snapshot.rulesBySurfaceUri.put(surfaceUri, surfaceRules);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads a snapshot written with {@link #write(OutputStream)}.
+     *
+     * @param inputStream the {@link InputStream} to read from
+     * @param extensionVersion the {@code String} version of the running extension
+     * @param coreVersion the {@code String} version of the running Core
+     * @return the {@link RulesSnapshot}, or null if it was created by another version of the
+     *     extension or of Core
+     * @throws IOException if the stream is not a supported snapshot or is corrupted
+     */
+    static RulesSnapshot read(
+            final InputStream inputStream, final String extensionVersion, final String coreVersion)
+            throws IOException {
+        final PropositionCacheReader reader =
+                new PropositionCacheReader(
+                        inputStream,
+                        PropositionCacheFormat.SNAPSHOT_MAGIC,
+                        PropositionCacheFormat.SNAPSHOT_VERSION);
+        final String snapshotVersion = reader.readString();
+        final String snapshotCoreVersion = reader.readString();
+        final RulesSnapshot snapshot = new RulesSnapshot(extensionVersion, coreVersion);
+        if (!snapshotVersion.equals(snapshot.extensionVersion)
+                || !snapshotCoreVersion.equals(snapshot.coreVersion)) {
+            Log.debug(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Ignoring the rules snapshot created by version %s of the extension and %s of"
+                            + " Core.",
+                    snapshotVersion,
+                    snapshotCoreVersion);
+            return null;
+        }
+
+        Surface surface;
+        while ((surface = reader.nextSurface()) != null) {
+            final SurfaceRules surfaceRules = new SurfaceRules(reader.readString());
+            final int propositionCount = reader.readLength();
+            for (int i = 0; i < propositionCount; i++) {
+                final String propositionId = reader.readString();
+                final int ruleCount = reader.readLength();
+                final List<SnapshotRule> rules = new ArrayList<>();
+                for (int j = 0; j < ruleCount; j++) {
+                    rules.add(readRule(reader));
+                }
+                surfaceRules.propositionRules.add(new PropositionRules(propositionId, rules));
+            }
+            snapshot.rulesBySurfaceUri.put(surface.getUri(), surfaceRules);
+        }
+        return snapshot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SnapshotRule readRule(final PropositionCacheReader reader) throws IOException {
+        final int ruleIndex = reader.readLength();
+        final SchemaType schemaType;
+        try {
+            schemaType = SchemaType.valueOf(reader.readReference());
+        } catch (final IllegalArgumentException exception) {
+            throw new IOException("Unknown rules snapshot schema type", exception);
+        }
+        final int consequenceCount = reader.readLength();
+        final List<RuleConsequence> consequences = new ArrayList<>();
+        for (int i = 0; i < consequenceCount; i++) {
+            final String id = reader.readString();
+            final String type = reader.readReference();
+            final Object detail = reader.readValue();
+            if (detail != null && !(detail instanceof Map)) {
+                throw new IOException("Invalid rules snapshot consequence detail");
+            }
+            consequences.add(new RuleConsequence(id, type, (Map<String, Object>) detail));
+        }
+        return new SnapshotRule(ruleIndex, schemaType, consequences);
+    }
+
+    /**
+     * Writes this snapshot to the provided stream.
+     *
+     * @param outputStream the {@link OutputStream} to write to
+     * @throws IOException if the snapshot cannot be written
+     */
+    void write(final OutputStream outputStream) throws IOException {
+        final PropositionCacheWriter writer =
+                new PropositionCacheWriter(
+                        outputStream,
+                        PropositionCacheFormat.SNAPSHOT_MAGIC,
+                        PropositionCacheFormat.SNAPSHOT_VERSION);
+        writer.writeString(extensionVersion);
+        writer.writeString(coreVersion);
+        for (final Map.Entry<String, SurfaceRules> entry : rulesBySurfaceUri.entrySet()) {
+            writer.beginSurface(Surface.fromUriString(entry.getKey()));
+            final SurfaceRules surfaceRules = entry.getValue();
+            writer.writeString(surfaceRules.digest);
+            writer.writeVarLong(surfaceRules.propositionRules.size());
+            for (final PropositionRules propositionRules : surfaceRules.propositionRules) {
+                writer.writeString(propositionRules.propositionId);
+                writer.writeVarLong(propositionRules.rules.size());
+                for (final SnapshotRule rule : propositionRules.rules) {
+                    writer.writeVarLong(rule.ruleIndex);
+                    writer.writeReference(rule.schemaType.name());
+                    writer.writeVarLong(rule.consequences.size());
+                    for (final RuleConsequence consequence : rule.consequences) {
+                        writer.writeString(consequence.getId());
+                        writer.writeReference(consequence.getType());
+                        writer.writeValue(consequence.getDetail());
+                    }
+                }
+            }
+        }
+        writer.finish();
+    }
+
+    /**
+     * Restores the staged propositions of a cached surface, as they would be returned by {@link
+     * ParsedPropositions#stageSurfacePropositions}, without parsing their rulesets.
+     *
+     * @param surface the cached {@link Surface}
+     * @param propositions {@code List<Proposition>} cached for the surface
+     * @param digest the {@code String} digest of the surface cache entry
+     * @param extensionApi {@link ExtensionApi} used to parse the generic rule conditions
+     * @param parsedRulesCache {@link ParsedRulesCache} seeded with the restored rules, may be null
+     * @return {@code List<StagedProposition>} for the surface, or null if the surface cannot be
+     *     restored from this snapshot and must be parsed
+     */
+    List<StagedProposition> restoreSurface(
+            final Surface surface,
+            final List<Proposition> propositions,
+            final String digest,
+            final ExtensionApi extensionApi,
+            final ParsedRulesCache parsedRulesCache) {
+        final SurfaceRules surfaceRules = rulesBySurfaceUri.get(surface.getUri());
+        if (surfaceRules == null
+                || StringUtils.isNullOrEmpty(digest)
+                || !digest.equals(surfaceRules.digest)) {
+            return null;
+        }
+
+        // ruleset propositions are matched in the rank order they were parsed in
+        final List<Proposition> sortedPropositions = new ArrayList<>(propositions);
+        Collections.sort(
+                sortedPropositions,
+                (p1, p2) -> {
+                    return Integer.compare(p1.getRank(), p2.getRank());
+                });
+
+        final List<StagedProposition> stagedPropositions = new ArrayList<>();
+        int rulesetIndex = 0;
+        for (final Proposition proposition : sortedPropositions) {
+            if (proposition == null || MessagingUtils.isNullOrEmpty(proposition.getItems())) {
+                continue;
+            }
+            if (!isRuleset(proposition)) {
+                final StagedProposition stagedProposition =
+                        ParsedPropositions.stageProposition(proposition, extensionApi, null);
+                if (stagedProposition != null) {
+                    stagedPropositions.add(stagedProposition);
+                }
+                continue;
+            }
+            final PropositionRules propositionRules =
+                    rulesetIndex < surfaceRules.propositionRules.size()
+                            ? surfaceRules.propositionRules.get(rulesetIndex++)
+                            : null;
+            final List<StagedRule> stagedRules =
+                    propositionRules != null
+                                    && propositionRules.propositionId.equals(
+                                            proposition.getUniqueId())
+                            ? restoreRules(
+                                    proposition,
+                                    propositionRules.rules,
+                                    extensionApi,
+                                    parsedRulesCache)
+                            : null;
+            if (stagedRules == null) {
+                return null;
+            }
+            stagedPropositions.add(
+                    new StagedProposition(
+                            proposition,
+                            Surface.fromUriString(proposition.getScope()),
+                            stagedRules,
+                            false));
+        }
+        return rulesetIndex == surfaceRules.propositionRules.size() ? stagedPropositions : null;
+    }
+
+    private List<StagedRule> restoreRules(
+            final Proposition proposition,
+            final List<SnapshotRule> snapshotRules,
+            final ExtensionApi extensionApi,
+            final ParsedRulesCache parsedRulesCache) {
+        final Map<String, Object> rulesetData = proposition.getItems().get(0).getItemData();
+        final Object rulesJson =
+                rulesetData != null
+                        ? rulesetData.get(
+                                MessagingConstants.EventDataKeys.RulesEngine.JSON_RULES_KEY)
+                        : null;
+        if (!(rulesJson instanceof List)) {
+            return null;
+        }
+
+        final List<?> rulesList = (List<?>) rulesJson;
+        final List<StagedRule> stagedRules = new ArrayList<>(snapshotRules.size());
+        final List<LaunchRule> restoredRules = new ArrayList<>(snapshotRules.size());
+        for (final SnapshotRule snapshotRule : snapshotRules) {
+            if (snapshotRule.ruleIndex >= rulesList.size()
+                    || !(rulesList.get(snapshotRule.ruleIndex) instanceof Map)
+                    || MessagingUtils.isNullOrEmpty(snapshotRule.consequences)) {
+                return null;
+            }
+            final Object condition =
+                    ((Map<?, ?>) rulesList.get(snapshotRule.ruleIndex))
+                            .get(MessagingConstants.EventDataKeys.RulesEngine.JSON_CONDITION_KEY);
+            final DeferredCondition deferredCondition =
+                    new DeferredCondition(rulesetData, snapshotRule.ruleIndex, extensionApi);
+            deferredConditions.add(deferredCondition);
+            final LaunchRule rule =
+                    new LaunchRule(
+                            RuleConditionCompiler.compileRestoredCondition(
+                                    condition, deferredCondition),
+                            snapshotRule.consequences);
+            EventPrefilterIndex.registerRule(rule, condition);
+            restoredRules.add(rule);
+            stagedRules.add(
+                    new StagedRule(
+                            rule,
+                            snapshotRule.consequences.get(0).getId(),
+                            snapshotRule.schemaType,
+                            snapshotRule.ruleIndex));
+        }
+
+        // rulesets fully restored are reused if they are fetched again unchanged
+        if (parsedRulesCache != null && restoredRules.size() == rulesList.size()) {
+            parsedRulesCache.put(rulesetData, restoredRules);
+        }
+        return stagedRules;
+    }
+
+    /**
+     * Parses the generic conditions of the rules restored so far, on the calling thread. A
+     * condition which is evaluated before it is parsed here is parsed by the evaluating thread.
+     */
+    void parseDeferredConditions() {
+        final List<DeferredCondition> conditionsToParse = new ArrayList<>(deferredConditions);
+        deferredConditions.clear();
+        for (final DeferredCondition deferredCondition : conditionsToParse) {
+            deferredCondition.getCondition();
+        }
+        if (!conditionsToParse.isEmpty()) {
+            Log.trace(
+                    MessagingConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Parsed the conditions of %d restored rule(s).",
+                    conditionsToParse.size());
+        }
+    }
+
+    private static boolean isRuleset(final Proposition proposition) {
+        return !MessagingUtils.isNullOrEmpty(proposition.getItems())
+                && proposition.getItems().get(0).getSchema() == SchemaType.RULESET;
+    }
+
+    /** The rules of the ruleset propositions of a surface, in rank order. */
+    private static final class SurfaceRules {
+        final String digest;
+        final List<PropositionRules> propositionRules = new ArrayList<>();
+
+        SurfaceRules(final String digest) {
+            this.digest = digest;
+        }
+    }
+
+    /** The rules parsed from the ruleset of a proposition. */
+    private static final class PropositionRules {
+        final String propositionId;
+        final List<SnapshotRule> rules;
+
+        PropositionRules(final String propositionId, final List<SnapshotRule> rules) {
+            this.propositionId = propositionId;
+            this.rules = rules;
+        }
+    }
+
+    /** A parsed rule, without its condition which is read back from the ruleset. */
+    private static final class SnapshotRule {
+        final int ruleIndex;
+        final SchemaType schemaType;
+        final List<RuleConsequence> consequences;
+
+        SnapshotRule(
+                final int ruleIndex,
+                final SchemaType schemaType,
+                final List<RuleConsequence> consequences) {
+            this.ruleIndex = ruleIndex;
+            this.schemaType = schemaType;
+            this.consequences = consequences;
+        }
+    }
+
+    /**
+     * The generic condition of a restored rule, parsed from its ruleset by {@link
+     * #parseDeferredConditions()} or, if it is evaluated first, when it is evaluated.
+     */
+    private static final class DeferredCondition implements Evaluable {
+        private static final RulesResult PARSING_FAILED =
+                new RulesResult(
+                        RulesResult.FailureType.UNKNOWN,
+                        "Unable to parse the condition of a restored rule.");
+        private static final Evaluable UNPARSABLE_CONDITION = context -> PARSING_FAILED;
+
+        private final Map<String, Object> rulesetData;
+        private final int ruleIndex;
+        private final ExtensionApi extensionApi;
+        private volatile Evaluable condition;
+
+        DeferredCondition(
+                final Map<String, Object> rulesetData,
+                final int ruleIndex,
+                final ExtensionApi extensionApi) {
+            this.rulesetData = rulesetData;
+            this.ruleIndex = ruleIndex;
+            this.extensionApi = extensionApi;
+        }
+
+        @Override
+        public RulesResult evaluate(final Context context) {
+            return getCondition().evaluate(context);
+        }
+
+        Evaluable getCondition() {
+            Evaluable parsedCondition = condition;
+            if (parsedCondition == null) {
+                synchronized (this) {
+                    parsedCondition = condition;
+                    if (parsedCondition == null) {
+                        parsedCondition = parseCondition();
+                        condition = parsedCondition;
+                    }
+                }
+            }
+            return parsedCondition;
+        }
+
+        private Evaluable parseCondition() {
+            // parse a copy of the ruleset holding only this rule
+            final Map<String, Object> singleRuleset = new HashMap<>(rulesetData);
+            singleRuleset.put(
+                    MessagingConstants.EventDataKeys.RulesEngine.JSON_RULES_KEY,
+                    Collections.singletonList(
+                            ((List<?>)
+                                            rulesetData.get(
+                                                    MessagingConstants.EventDataKeys.RulesEngine
+                                                            .JSON_RULES_KEY))
+                                    .get(ruleIndex)));
+            final List<LaunchRule> parsedRules =
+                    JSONRulesParser.parse(new JSONObject(singleRuleset).toString(), extensionApi);
+            if (MessagingUtils.isNullOrEmpty(parsedRules)) {
+                Log.warning(
+                        MessagingConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Unable to parse the condition of a rule restored from the rules"
+                                + " snapshot.");
+                return UNPARSABLE_CONDITION;
+            }
+            return parsedRules.get(0).getCondition();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.util.DataReaderException;
+import com.adobe.marketing.mobile.util.JSONUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Reads schema data values directly from a {@code Map<String, Object>}, mirroring the {@link
+ * JSONObject} accessors previously used by the {@link SchemaData} decoders.
+ *
+ * <p>Values are returned as stored in the map without being copied. Decoded values handed out by
+ * the public {@link SchemaData} accessors must be copied with {@link #copy(Object)}, as the map may
+ * be shared with the {@link PropositionItem} data and the decoded schema data is memoized.
+ */
+final class SchemaDataReader {
+
+    private SchemaDataReader() {}
+
+    /**
+     * Converts the provided {@link JSONObject} to a map for decoding. Nested objects and arrays are
+     * converted to maps and lists.
+     *
+     * @param schemaData {@code JSONObject} containing the schema data
+     * @return {@code Map<String, Object>} containing the schema data, or an empty map if it is null
+     */
+    static Map<String, Object> fromJson(final JSONObject schemaData) {
+        final Map<String, Object> schemaDataMap = new HashMap<>();
+        if (schemaData == null) {
+            return schemaDataMap;
+        }
+
+        final Iterator<String> keys = schemaData.keys();
+        while (keys.hasNext()) {
+            final String key = keys.next();
+            final Object value = schemaData.opt(key);
+            try {
+                if (value instanceof JSONObject) {
+                    schemaDataMap.put(key, JSONUtils.toMap((JSONObject) value));
+                } else if (value instanceof JSONArray) {
+                    schemaDataMap.put(key, JSONUtils.toList((JSONArray) value));
+                } else if (value != null && value != JSONObject.NULL) {
+                    schemaDataMap.put(key, value);
+                }
+            } catch (final JSONException ignored) {
+                // skip the value, the decoder will report it as missing
+            }
+        }
+        return schemaDataMap;
+    }
+
+    /**
+     * @return the value for {@code key} as a {@code String}, or an empty string if it is missing
+     */
+    static String optString(final Map<String, Object> schemaData, final String key) {
+        final Object value = schemaData.get(key);
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * @return the value for {@code key} as a {@code String}
+     * @throws DataReaderException if the value is missing or not a string
+     */
+    static String getString(final Map<String, Object> schemaData, final String key)
+            throws DataReaderException {
+        final Object value = schemaData.get(key);
+        if (!(value instanceof String)) {
+            throw new DataReaderException("Value for key " + key + " is not a string");
+        }
+        return (String) value;
+    }
+
+    /**
+     * @return the value for {@code key} as an {@code int}, or 0 if it is missing or not a number
+     */
+    static int optInt(final Map<String, Object> schemaData, final String key) {
+        final Object value = schemaData.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof String) {
+            try {
+                return (int) Double.parseDouble((String) value);
+            } catch (final NumberFormatException ignored) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the value for {@code key} as a {@code Map<String, Object>}
+     * @throws DataReaderException if the value is missing or not a map
+     */
+    static Map<String, Object> getMap(final Map<String, Object> schemaData, final String key)
+            throws DataReaderException {
+        final Map<String, Object> value = optMap(schemaData, key);
+        if (value == null) {
+            throw new DataReaderException("Value for key " + key + " is not a map");
+        }
+        return value;
+    }
+
+    /**
+     * @return the value for {@code key} as a {@code Map<String, Object>}, or null if it is missing
+     *     or not a map
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> optMap(final Map<String, Object> schemaData, final String key) {
+        final Object value = schemaData.get(key);
+        return value instanceof Map ? (Map<String, Object>) value : null;
+    }
+
+    /**
+     * @return the value for {@code key} as a {@code List<Object>}
+     * @throws DataReaderException if the value is missing or not a list
+     */
+    static List<Object> getList(final Map<String, Object> schemaData, final String key)
+            throws DataReaderException {
+        final List<Object> value = optList(schemaData, key);
+        if (value == null) {
+            throw new DataReaderException("Value for key " + key + " is not a list");
+        }
+        return value;
+    }
+
+    /**
+     * @return the value for {@code key} as a {@code List<Object>}, or null if it is missing or not
+     *     a list
+     */
+    @SuppressWarnings("unchecked")
+    static List<Object> optList(final Map<String, Object> schemaData, final String key) {
+        final Object value = schemaData.get(key);
+        return value instanceof List ? (List<Object>) value : null;
+    }
+
+    /**
+     * Deep copies the provided schema data value, so that modifying the copy does not modify the
+     * schema data it was read from. Maps and lists are copied to mutable collections, other values
+     * are returned as is.
+     *
+     * @param value the value to be copied, may be null
+     * @return a copy of the value
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(final T value) {
+        if (value instanceof Map) {
+            final Map<Object, Object> copy = new HashMap<>();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return (T) copy;
+        }
+        if (value instanceof List) {
+            final List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (final Object element : (List<?>) value) {
+                copy.add(copy(element));
+            }
+            return (T) copy;
+        }
+        return value;
+    }
+}
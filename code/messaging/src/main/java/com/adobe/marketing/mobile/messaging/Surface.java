@@ -21,8 +21,6 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -53,7 +51,7 @@ public class Surface implements Serializable {
                         : null);
     }
 
-    private Surface(final boolean isFullPathString, final String path) {
+    Surface(final boolean isFullPathString, final String path) {
         if (!isFullPathString) {
             final String packageName =
                     ServiceProvider.getInstance()
@@ -75,14 +73,7 @@ public class Surface implements Serializable {
     }
 
     public boolean isValid() {
-        try {
-            new URI(this.uri);
-        } catch (final URISyntaxException uriSyntaxException) {
-            Log.warning(LOG_TAG, SELF_TAG, "Invalid surface URI found: %s", this.uri);
-            return false;
-        }
-
-        return this.uri.startsWith(SURFACE_BASE);
+        return SurfaceRegistry.getInstance().isValidUri(this.uri);
     }
 
     public int hashCode() {
@@ -104,8 +95,7 @@ public class Surface implements Serializable {
     }
 
     static Surface fromUriString(final String uri) {
-        final Surface surface = new Surface(true, uri);
-        return !surface.isValid() ? null : surface;
+        return SurfaceRegistry.getInstance().getSurface(uri);
     }
 
     public Map<String, Object> toEventData() {
@@ -0,0 +1,113 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a {@code Map<Surface, List<T>>} in place.
+ *
+ * <p>Unlike {@link MessagingUtils#updatePropositionMapForSurface} and {@link
+ * InternalMessagingUtils#updateRuleMapForSurface}, which return a copy of the map for every
+ * insertion, the builder updates a single backing map so building a map of N values does not copy
+ * the map N times.
+ *
+ * @param <T> the type of the values stored for each {@link Surface}
+ */
+class SurfaceMapBuilder<T> {
+    private final Map<Surface, List<T>> surfaceMap;
+
+    SurfaceMapBuilder() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Creates a builder which updates the provided map in place.
+     *
+     * @param surfaceMap the mutable {@code Map<Surface, List<T>>} to be updated
+     */
+    SurfaceMapBuilder(final Map<Surface, List<T>> surfaceMap) {
+        this.surfaceMap = surfaceMap;
+    }
+
+    /**
+     * Appends the provided value to the list stored for the provided {@link Surface}.
+     *
+     * @param surface the {@link Surface} key
+     * @param value the {@link T} value to append, ignored if null
+     * @return this {@link SurfaceMapBuilder}
+     */
+    SurfaceMapBuilder<T> add(final Surface surface, final T value) {
+        if (value == null) {
+            return this;
+        }
+
+        getOrCreateList(surface).add(value);
+        return this;
+    }
+
+    /**
+     * Merges the provided values into the list stored for the provided {@link Surface}. A value
+     * equal to one already in the list replaces the existing value, any other value is appended.
+     *
+     * @param surface the {@link Surface} key
+     * @param values the {@code List<T>} of values to merge, ignored if null or empty
+     * @return this {@link SurfaceMapBuilder}
+     */
+    SurfaceMapBuilder<T> merge(final Surface surface, final List<T> values) {
+        if (MessagingUtils.isNullOrEmpty(values)) {
+            return this;
+        }
+
+        final List<T> existingList = surfaceMap.get(surface);
+        if (existingList == null) {
+            surfaceMap.put(surface, new ArrayList<>(values));
+            return this;
+        }
+
+        for (final T value : values) {
+            final int index = existingList.indexOf(value);
+            if (index >= 0) {
+                existingList.set(index, value);
+            } else {
+                existingList.add(value);
+            }
+        }
+        return this;
+    }
+
+    boolean isEmpty() {
+        return surfaceMap.isEmpty();
+    }
+
+    /**
+     * Returns the built map. The map is not copied, changes made through this builder after
+     * calling {@code build()} are visible in the returned map.
+     *
+     * @return the {@code Map<Surface, List<T>>} backing this builder
+     */
+    Map<Surface, List<T>> build() {
+        return surfaceMap;
+    }
+
+    private List<T> getOrCreateList(final Surface surface) {
+        List<T> list = surfaceMap.get(surface);
+        if (list == null) {
+            list = new ArrayList<>();
+            surfaceMap.put(surface, list);
+        }
+        return list;
+    }
+}
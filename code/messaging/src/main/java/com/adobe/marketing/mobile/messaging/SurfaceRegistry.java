@@ -0,0 +1,140 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.StringUtils;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of canonical {@link Surface} instances. Each surface URI is validated once, and valid
+ * URIs map to a single shared {@code Surface} instance which is handed out for every subsequent
+ * lookup of the same URI.
+ */
+final class SurfaceRegistry {
+    private static final String SELF_TAG = "SurfaceRegistry";
+    private static final String SURFACE_BASE = "mobileapp://";
+
+    // upper bound on the number of URIs remembered, lookups beyond this are validated each time
+    static final int MAX_REGISTERED_URIS = 1000;
+
+    private static final SurfaceRegistry INSTANCE = new SurfaceRegistry();
+
+    private final ConcurrentMap<String, Surface> validSurfaces = new ConcurrentHashMap<>();
+    private final Set<String> invalidUris =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private SurfaceRegistry() {}
+
+    static SurfaceRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the canonical {@link Surface} for the provided URI.
+     *
+     * @param uri {@code String} containing the surface URI
+     * @return the shared {@link Surface} instance, or null if the URI is not a valid surface URI
+     */
+    Surface getSurface(final String uri) {
+        if (StringUtils.isNullOrEmpty(uri)) {
+            return null;
+        }
+
+        final Surface registeredSurface = validSurfaces.get(uri);
+        if (registeredSurface != null) {
+            return registeredSurface;
+        }
+
+        if (!isValidUri(uri)) {
+            return null;
+        }
+
+        final Surface surface = new Surface(true, uri);
+        if (validSurfaces.size() >= MAX_REGISTERED_URIS) {
+            return surface;
+        }
+        final Surface existingSurface = validSurfaces.putIfAbsent(uri, surface);
+        return existingSurface != null ? existingSurface : surface;
+    }
+
+    /**
+     * Validates the provided surface URI, reusing the result of any previous validation of the
+     * same URI.
+     *
+     * @param uri {@code String} containing the surface URI
+     * @return {@code boolean} indicating whether the URI is a valid surface URI
+     */
+    boolean isValidUri(final String uri) {
+        if (uri == null) {
+            return false;
+        }
+        if (validSurfaces.containsKey(uri)) {
+            return true;
+        }
+        if (invalidUris.contains(uri)) {
+            return false;
+        }
+
+        boolean valid;
+        try {
+            new URI(uri);
+            valid = uri.startsWith(SURFACE_BASE);
+        } catch (final URISyntaxException uriSyntaxException) {
+            Log.warning(MessagingConstants.LOG_TAG, SELF_TAG, "Invalid surface URI found: %s", uri);
+            valid = false;
+        }
+
+        if (valid) {
+            if (validSurfaces.size() < MAX_REGISTERED_URIS) {
+                validSurfaces.putIfAbsent(uri, new Surface(true, uri));
+            }
+        } else if (invalidUris.size() < MAX_REGISTERED_URIS) {
+            invalidUris.add(uri);
+        }
+        return valid;
+    }
+
+    /**
+     * Creates a {@code Set} containing the URIs of the provided surfaces for constant time
+     * membership checks.
+     *
+     * @param surfaces {@code Collection<Surface>} of surfaces
+     * @return {@code Set<String>} of surface URIs
+     */
+    static Set<String> getUris(final Collection<Surface> surfaces) {
+        final Set<String> uris = new HashSet<>();
+        if (surfaces == null) {
+            return uris;
+        }
+        for (final Surface surface : surfaces) {
+            if (surface != null) {
+                uris.add(surface.getUri());
+            }
+        }
+        return uris;
+    }
+
+    @VisibleForTesting
+    void clear() {
+        validSurfaces.clear();
+        invalidUris.clear();
+    }
+}
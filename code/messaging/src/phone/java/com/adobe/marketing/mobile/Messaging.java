@@ -471,7 +471,7 @@ public final class Messaging {
                                 return;
                             }
 
-                            Map<Surface, List<Proposition>> requestedPropositionsMap =
+                            final Map<Surface, List<Proposition>> requestedPropositionsMap =
                                     new HashMap<>();
                             final List<Map<String, Object>> retrievedPropositions =
                                     DataReader.optTypedListOfMap(
@@ -490,9 +490,15 @@ public final class Messaging {
                                 if (proposition != null) {
                                     final Surface surface =
                                             MessagingUtils.scopeToSurface(proposition.getScope());
-                                    requestedPropositionsMap =
-                                            MessagingUtils.updatePropositionMapForSurface(
-                                                    surface, proposition, requestedPropositionsMap);
+                                    // update the map in place rather than copying it for each
+                                    // proposition
+                                    List<Proposition> surfacePropositions =
+                                            requestedPropositionsMap.get(surface);
+                                    if (surfacePropositions == null) {
+                                        surfacePropositions = new ArrayList<>();
+                                        requestedPropositionsMap.put(surface, surfacePropositions);
+                                    }
+                                    surfacePropositions.add(proposition);
                                 }
                             }
 
@@ -0,0 +1,104 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ContentCardFingerprintTests {
+
+    @Test
+    public void test_build_SameItemsAndContent_AreEqual() throws Exception {
+        // setup
+        PropositionItem item = createItem("item1", "content");
+        PropositionItem sameItem = createItem("item1", "content");
+
+        // test
+        ContentCardFingerprint fingerprint =
+                new ContentCardFingerprint.Builder().add(Arrays.asList(item)).build();
+        ContentCardFingerprint sameFingerprint =
+                new ContentCardFingerprint.Builder().add(Arrays.asList(sameItem)).build();
+
+        // verify
+        assertEquals(fingerprint, sameFingerprint);
+        assertEquals(fingerprint.hashCode(), sameFingerprint.hashCode());
+    }
+
+    @Test
+    public void test_build_ChangedContent_AreNotEqual() throws Exception {
+        // test
+        ContentCardFingerprint fingerprint =
+                new ContentCardFingerprint.Builder()
+                        .add(Arrays.asList(createItem("item1", "content")))
+                        .build();
+        ContentCardFingerprint changedFingerprint =
+                new ContentCardFingerprint.Builder()
+                        .add(Arrays.asList(createItem("item1", "updated content")))
+                        .build();
+
+        // verify
+        assertNotEquals(fingerprint, changedFingerprint);
+    }
+
+    @Test
+    public void test_build_DifferentOrder_AreNotEqual() throws Exception {
+        // setup
+        PropositionItem first = createItem("item1", "content");
+        PropositionItem second = createItem("item2", "content");
+
+        // test
+        ContentCardFingerprint fingerprint =
+                new ContentCardFingerprint.Builder().add(Arrays.asList(first, second)).build();
+        ContentCardFingerprint reorderedFingerprint =
+                new ContentCardFingerprint.Builder().add(Arrays.asList(second, first)).build();
+
+        // verify
+        assertNotEquals(fingerprint, reorderedFingerprint);
+    }
+
+    @Test
+    public void test_add_MultipleLists_SameAsSingleList() throws Exception {
+        // setup
+        PropositionItem first = createItem("item1", "content");
+        PropositionItem second = createItem("item2", "content");
+
+        // test
+        ContentCardFingerprint fingerprint =
+                new ContentCardFingerprint.Builder()
+                        .add(Collections.singletonList(first))
+                        .add(null)
+                        .add(Collections.singletonList(second))
+                        .build();
+
+        // verify
+        assertEquals(
+                new ContentCardFingerprint.Builder().add(Arrays.asList(first, second)).build(),
+                fingerprint);
+    }
+
+    private PropositionItem createItem(final String itemId, final String content)
+            throws MessageRequiredFieldMissingException {
+        Map<String, Object> itemData = new HashMap<>();
+        itemData.put("content", content);
+        itemData.put("contentType", "text/plain");
+        return new PropositionItem(itemId, SchemaType.CONTENT_CARD, itemData);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventSource;
+import com.adobe.marketing.mobile.EventType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ContentCardQualificationWorkerTests {
+
+    @Mock private ScheduledExecutorService mockExecutor;
+
+    private final List<List<Event>> qualifiedBatches = new ArrayList<>();
+    private ContentCardQualificationWorker contentCardQualificationWorker;
+
+    @Before
+    public void setup() {
+        contentCardQualificationWorker =
+                new ContentCardQualificationWorker(
+                        events -> qualifiedBatches.add(events), mockExecutor);
+    }
+
+    @Test
+    public void test_submit_SchedulesFlushAfterWindow() {
+        // test
+        contentCardQualificationWorker.submit(createEvent("one"));
+        contentCardQualificationWorker.submit(createEvent("two"));
+
+        // verify only one flush is scheduled for the window
+        verify(mockExecutor, times(1))
+                .schedule(
+                        any(Runnable.class),
+                        eq(MessagingConstants.DEFAULT_CONTENT_CARD_QUALIFICATION_WINDOW_MS),
+                        eq(TimeUnit.MILLISECONDS));
+        assertEquals(2, contentCardQualificationWorker.getPendingCount());
+        assertEquals(0, qualifiedBatches.size());
+    }
+
+    @Test
+    public void test_flush_QualifiesPendingEventsInOneBatch() {
+        // setup
+        Event first = createEvent("one");
+        Event second = createEvent("two");
+        contentCardQualificationWorker.submit(first);
+        contentCardQualificationWorker.submit(second);
+
+        // test
+        captureScheduledFlush().run();
+
+        // verify
+        assertEquals(1, qualifiedBatches.size());
+        assertEquals(2, qualifiedBatches.get(0).size());
+        assertSame(first, qualifiedBatches.get(0).get(0));
+        assertSame(second, qualifiedBatches.get(0).get(1));
+        assertEquals(0, contentCardQualificationWorker.getPendingCount());
+    }
+
+    @Test
+    public void test_submit_IdenticalEvents_QualifiesEach() {
+        // setup
+        Event first = createEvent("one");
+        Event other = createEvent("two");
+        Event repeated = createEvent("one");
+
+        // test
+        contentCardQualificationWorker.submit(first);
+        contentCardQualificationWorker.submit(other);
+        contentCardQualificationWorker.submit(repeated);
+        contentCardQualificationWorker.flush();
+
+        // verify events with the same content are all qualified in submission order
+        assertEquals(1, qualifiedBatches.size());
+        assertEquals(3, qualifiedBatches.get(0).size());
+        assertSame(first, qualifiedBatches.get(0).get(0));
+        assertSame(other, qualifiedBatches.get(0).get(1));
+        assertSame(repeated, qualifiedBatches.get(0).get(2));
+    }
+
+    @Test
+    public void test_submit_SameEventTwice_QualifiesOnce() {
+        // setup
+        Event first = createEvent("one");
+        Event other = createEvent("two");
+
+        // test
+        contentCardQualificationWorker.submit(first);
+        contentCardQualificationWorker.submit(other);
+        contentCardQualificationWorker.submit(first);
+        contentCardQualificationWorker.flush();
+
+        // verify
+        assertEquals(1, qualifiedBatches.size());
+        assertEquals(2, qualifiedBatches.get(0).size());
+        assertSame(first, qualifiedBatches.get(0).get(0));
+        assertSame(other, qualifiedBatches.get(0).get(1));
+    }
+
+    @Test
+    public void test_submit_AfterFlush_SchedulesNewFlush() {
+        // setup
+        contentCardQualificationWorker.submit(createEvent("one"));
+        contentCardQualificationWorker.flush();
+
+        // test
+        contentCardQualificationWorker.submit(createEvent("two"));
+
+        // verify
+        verify(mockExecutor, times(2))
+                .schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void test_submit_MaxPendingEvents_FlushesImmediately() {
+        // test
+        for (int i = 0; i < MessagingConstants.MAX_PENDING_QUALIFICATION_EVENTS; i++) {
+            contentCardQualificationWorker.submit(createEvent("event" + i));
+        }
+
+        // verify
+        verify(mockExecutor, times(1))
+                .schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void test_submit_NullEvent_Ignored() {
+        // test
+        contentCardQualificationWorker.submit(null);
+
+        // verify
+        verify(mockExecutor, never()).schedule(any(Runnable.class), anyLong(), any());
+        assertEquals(0, contentCardQualificationWorker.getPendingCount());
+    }
+
+    @Test
+    public void test_submit_ExecutorRejects_QualifiesOnCallingThread() {
+        // setup
+        when(mockExecutor.schedule(any(Runnable.class), anyLong(), any()))
+                .thenThrow(new RejectedExecutionException());
+        Event event = createEvent("one");
+
+        // test
+        contentCardQualificationWorker.submit(event);
+
+        // verify
+        assertEquals(1, qualifiedBatches.size());
+        assertSame(event, qualifiedBatches.get(0).get(0));
+    }
+
+    @Test
+    public void test_flush_QualifierThrows_ExceptionHandled() {
+        // setup
+        ContentCardQualificationWorker.Qualifier mockQualifier =
+                mock(ContentCardQualificationWorker.Qualifier.class);
+        doThrow(new IllegalStateException("failure")).when(mockQualifier).qualify(anyList());
+        contentCardQualificationWorker =
+                new ContentCardQualificationWorker(mockQualifier, mockExecutor);
+        contentCardQualificationWorker.submit(createEvent("one"));
+
+        // test
+        contentCardQualificationWorker.flush();
+
+        // verify
+        verify(mockQualifier, times(1)).qualify(anyList());
+        assertEquals(0, contentCardQualificationWorker.getPendingCount());
+    }
+
+    @Test
+    public void test_flush_NoPendingEvents_DoesNotQualify() {
+        // test
+        contentCardQualificationWorker.flush();
+
+        // verify
+        assertEquals(0, qualifiedBatches.size());
+    }
+
+    @Test
+    public void test_setCoalescingWindowMillis_ClampsValue() {
+        // test
+        contentCardQualificationWorker.setCoalescingWindowMillis(-5);
+        long negative = contentCardQualificationWorker.getCoalescingWindowMillis();
+        contentCardQualificationWorker.setCoalescingWindowMillis(5000);
+        long tooLarge = contentCardQualificationWorker.getCoalescingWindowMillis();
+        contentCardQualificationWorker.setCoalescingWindowMillis(200);
+        long valid = contentCardQualificationWorker.getCoalescingWindowMillis();
+
+        // verify
+        assertEquals(0, negative);
+        assertEquals(MessagingConstants.MAX_CONTENT_CARD_QUALIFICATION_WINDOW_MS, tooLarge);
+        assertEquals(200, valid);
+    }
+
+    private Runnable captureScheduledFlush() {
+        ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockExecutor).schedule(runnableCaptor.capture(), anyLong(), any());
+        return runnableCaptor.getValue();
+    }
+
+    private Event createEvent(final String action) {
+        Map<String, Object> eventData = Collections.singletonMap("action", action);
+        return new Event.Builder("track", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+                .setEventData(eventData)
+                .build();
+    }
+}
@@ -25,6 +25,8 @@ import com.adobe.marketing.mobile.EventType;
 import com.adobe.marketing.mobile.ExtensionApi;
 import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
 import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -255,4 +257,185 @@ public class ContentCardRulesEngineTests {
         // verify
         Assert.assertNull(propositionItemsBySurface);
     }
+
+    @Test
+    public void test_evaluate_WithSurfaces_OnlyEvaluatesRequestedSurfaces() {
+        // setup
+        mockAlreadyQualifiedCardHistory();
+        List<LaunchRule> rules = new ArrayList<>();
+        rules.addAll(parseRules("contentCardPropositionContent.json"));
+        rules.addAll(parseRules("contentCardPropositionMultipleCardConsequences.json"));
+        contentCardRulesEngine.replaceRules(rules);
+        Surface apiFeedSurface =
+                Surface.fromUriString("mobileapp://com.feeds.testing/feeds/apifeed");
+
+        // test
+        Map<Surface, List<PropositionItem>> propositionItemsBySurface =
+                contentCardRulesEngine.evaluate(
+                        defaultEvent, Collections.singletonList(apiFeedSurface));
+
+        // verify
+        Assert.assertNotNull(propositionItemsBySurface);
+        assertEquals(1, propositionItemsBySurface.size());
+        assertEquals(2, propositionItemsBySurface.get(apiFeedSurface).size());
+    }
+
+    @Test
+    public void test_evaluate_WithoutSurfaces_EvaluatesAllSurfaces() {
+        // setup
+        mockAlreadyQualifiedCardHistory();
+        List<LaunchRule> rules = new ArrayList<>();
+        rules.addAll(parseRules("contentCardPropositionContent.json"));
+        rules.addAll(parseRules("contentCardPropositionMultipleCardConsequences.json"));
+        contentCardRulesEngine.replaceRules(rules);
+
+        // test
+        Map<Surface, List<PropositionItem>> propositionItemsBySurface =
+                contentCardRulesEngine.evaluate(defaultEvent);
+
+        // verify
+        Assert.assertNotNull(propositionItemsBySurface);
+        assertEquals(2, propositionItemsBySurface.size());
+        assertEquals(
+                1,
+                propositionItemsBySurface
+                        .get(Surface.fromUriString("mobileapp://mockPackageName"))
+                        .size());
+        assertEquals(
+                2,
+                propositionItemsBySurface
+                        .get(Surface.fromUriString("mobileapp://com.feeds.testing/feeds/apifeed"))
+                        .size());
+    }
+
+    @Test
+    public void test_evaluate_ProfilingEnabled_RecordsEvaluationAndMatches() {
+        // setup
+        mockAlreadyQualifiedCardHistory();
+        List<LaunchRule> rules = new ArrayList<>();
+        rules.addAll(parseRules("contentCardPropositionContent.json"));
+        rules.addAll(parseRules("contentCardPropositionMultipleCardConsequences.json"));
+        contentCardRulesEngine.replaceRules(rules);
+        RulesEvaluationProfiler profiler = RulesEvaluationProfiler.getInstance();
+        profiler.reset();
+        profiler.setEnabled(true);
+
+        try {
+            // test
+            contentCardRulesEngine.evaluate(defaultEvent);
+
+            // verify
+            RulesEvaluationProfiler.Snapshot snapshot = profiler.snapshot();
+            RulesEvaluationProfiler.EngineSnapshot engineSnapshot =
+                    snapshot.getEngine(RulesEvaluationProfiler.Engine.CONTENT_CARD);
+            assertEquals(1, engineSnapshot.getEvaluations());
+            assertEquals(rules.size(), engineSnapshot.getAverageRulesEvaluated(), 0);
+            long matches = 0;
+            for (Long ruleMatches : snapshot.getMatchesByRule().values()) {
+                matches += ruleMatches;
+            }
+            assertEquals(3, matches);
+        } finally {
+            profiler.setEnabled(false);
+            profiler.reset();
+        }
+    }
+
+    @Test
+    public void test_evaluate_WithSurfaces_NoRulesForRequestedSurface() {
+        // setup
+        contentCardRulesEngine.replaceRules(
+                parseRules("contentCardPropositionMultipleCardConsequences.json"));
+
+        // test
+        Map<Surface, List<PropositionItem>> propositionItemsBySurface =
+                contentCardRulesEngine.evaluate(
+                        defaultEvent,
+                        Collections.singletonList(Surface.fromUriString("mobileapp://other")));
+
+        // verify
+        Assert.assertNull(propositionItemsBySurface);
+    }
+
+    @Test
+    public void test_addRules_KeepsPreviouslyLoadedSurfaces() {
+        // setup
+        mockAlreadyQualifiedCardHistory();
+        contentCardRulesEngine.replaceRules(
+                parseRules("contentCardPropositionMultipleCardConsequences.json"));
+
+        // test
+        contentCardRulesEngine.addRules(parseRules("contentCardPropositionContent.json"));
+
+        // verify
+        Map<Surface, List<PropositionItem>> propositionItemsBySurface =
+                contentCardRulesEngine.evaluate(defaultEvent);
+        Assert.assertNotNull(propositionItemsBySurface);
+        assertEquals(2, propositionItemsBySurface.size());
+    }
+
+    @Test
+    public void test_replaceRules_RemovesPreviouslyLoadedSurfaces() {
+        // setup
+        mockAlreadyQualifiedCardHistory();
+        contentCardRulesEngine.replaceRules(parseRules("contentCardPropositionContent.json"));
+
+        // test
+        contentCardRulesEngine.replaceRules(
+                parseRules("contentCardPropositionMultipleCardConsequences.json"));
+
+        // verify
+        Map<Surface, List<PropositionItem>> propositionItemsBySurface =
+                contentCardRulesEngine.evaluate(defaultEvent);
+        Assert.assertNotNull(propositionItemsBySurface);
+        assertEquals(1, propositionItemsBySurface.size());
+        Surface removedSurface = Surface.fromUriString("mobileapp://mockPackageName");
+        Assert.assertNull(propositionItemsBySurface.get(removedSurface));
+    }
+
+    @Test
+    public void test_replaceRules_RulesOnlyLoadedInSurfaceRulesEngines() {
+        // setup
+        mockAlreadyQualifiedCardHistory();
+
+        // test
+        contentCardRulesEngine.replaceRules(parseRules("contentCardPropositionContent.json"));
+
+        // verify the rules are evaluated by evaluate and not loaded in the base rules engine
+        Assert.assertNotNull(contentCardRulesEngine.evaluate(defaultEvent));
+        Assert.assertTrue(contentCardRulesEngine.evaluateEvent(defaultEvent).isEmpty());
+    }
+
+    private List<LaunchRule> parseRules(final String fileName) {
+        String rulesJson = MessagingTestUtils.loadStringFromFile(fileName);
+        Assert.assertNotNull(rulesJson);
+        return JSONRulesParser.parse(rulesJson, mockExtensionApi);
+    }
+
+    private void mockAlreadyQualifiedCardHistory() {
+        // return found for qualify and trigger events, not found for disqualify and unqualify
+        doAnswer(
+                        invocation -> {
+                            EventHistoryRequest[] requestsArray = invocation.getArgument(0);
+                            EventHistoryResult[] resultsArray =
+                                    new EventHistoryResult[requestsArray.length];
+                            AdobeCallbackWithError<EventHistoryResult[]> callback =
+                                    invocation.getArgument(2);
+                            for (int i = 0; i < requestsArray.length; i++) {
+                                if (requestsArray[i].getMaskAsDecimalHash() == 2655746408L
+                                        || requestsArray[i].getMaskAsDecimalHash() == 2479650165L) {
+                                    resultsArray[i] = new EventHistoryResult(0, null, null);
+                                } else {
+                                    resultsArray[i] = new EventHistoryResult(1, 123L, 456L);
+                                }
+                            }
+                            callback.call(resultsArray);
+                            return null;
+                        })
+                .when(mockExtensionApi)
+                .getHistoricalEvents(
+                        any(EventHistoryRequest[].class),
+                        anyBoolean(),
+                        any(AdobeCallbackWithError.class));
+    }
 }
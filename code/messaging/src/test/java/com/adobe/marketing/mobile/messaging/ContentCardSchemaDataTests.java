@@ -18,6 +18,7 @@ import static com.adobe.marketing.mobile.messaging.MessagingTestConstants.Conseq
 import static com.adobe.marketing.mobile.messaging.MessagingTestConstants.ConsequenceDetailDataKeys.PUBLISHED_DATE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -62,6 +63,26 @@ public class ContentCardSchemaDataTests {
         assertEquals("metaValue", contentCardSchemaData.getMeta().get("metaKey"));
     }
 
+    @Test
+    public void constructor_fromMap_matchesJsonConstructor() throws JSONException {
+        // setup
+        JSONObject schemaObject = createValidContentCardSchemaObject("json");
+        Map<String, Object> schemaMap = SchemaDataReader.fromJson(schemaObject);
+
+        // test
+        ContentCardSchemaData fromJson = new ContentCardSchemaData(schemaObject);
+        ContentCardSchemaData fromMap = new ContentCardSchemaData(schemaMap);
+
+        // verify
+        assertEquals(fromJson.getContentType(), fromMap.getContentType());
+        assertEquals(fromJson.getContent(), fromMap.getContent());
+        assertEquals(fromJson.getPublishedDate(), fromMap.getPublishedDate());
+        assertEquals(fromJson.getExpiryDate(), fromMap.getExpiryDate());
+        assertEquals(fromJson.getMeta(), fromMap.getMeta());
+        // map content is copied rather than handed out as stored
+        assertNotSame(schemaMap.get(CONTENT), fromMap.getContent());
+    }
+
     @Test
     public void constructor_setsAllFieldsCorrectly_whenContentTypeIsString() throws JSONException {
         // test
@@ -16,14 +16,20 @@ import static com.adobe.marketing.mobile.messaging.MessagingTestConstants.EventD
 import static com.adobe.marketing.mobile.messaging.MessagingTestConstants.EventName.FINALIZE_PROPOSITIONS_RESPONSE;
 import static com.adobe.marketing.mobile.messaging.MessagingTestConstants.EventName.MESSAGE_PROPOSITIONS_RESPONSE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -58,10 +64,14 @@ import com.adobe.marketing.mobile.util.SerialWorkDispatcher;
 import java.io.File;
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.After;
@@ -90,6 +100,8 @@ public class EdgePersonalizationResponseHandlerTests {
     private final ArgumentCaptor<List<LaunchRule>> contentCardRulesListCaptor =
             ArgumentCaptor.forClass(List.class);
     private CompletionHandler completionHandler;
+    // unique identifiers of the next constructed events, "mockEventId" is used once empty
+    private final Queue<String> mockEventIds = new LinkedList<>();
 
     // Mocks
     @Mock ExtensionApi mockExtensionApi;
@@ -145,6 +157,7 @@ public class EdgePersonalizationResponseHandlerTests {
         reset(mockInternalMessage);
         reset(mockAdobeCallback);
         ContentCardMapper.getInstance().clear();
+        mockEventIds.clear();
 
         if (cacheDir.exists()) {
             cacheDir.delete();
@@ -176,9 +189,11 @@ public class EdgePersonalizationResponseHandlerTests {
                         Mockito.mockConstruction(
                                 Event.class,
                                 withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS),
-                                (mock, context) ->
-                                        when(mock.getUniqueIdentifier())
-                                                .thenReturn("mockEventId"))) {
+                                (mock, context) -> {
+                                    final String eventId = mockEventIds.poll();
+                                    when(mock.getUniqueIdentifier())
+                                            .thenReturn(eventId != null ? eventId : "mockEventId");
+                                })) {
             when(mockEvent.getUniqueIdentifier()).thenReturn("mockParentId");
             serviceProviderMockedStatic
                     .when(ServiceProvider::getInstance)
@@ -698,6 +713,84 @@ public class EdgePersonalizationResponseHandlerTests {
                 });
     }
 
+    @Test
+    public void test_fetchMessages_DisjointSurfaces_RequestsDispatchedConcurrently() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    mockEventIds.add("firstRequestId");
+                    mockEventIds.add("secondRequestId");
+                    Surface feed1 = new Surface("promos/feed1");
+                    Surface feed2 = new Surface("promos/feed2");
+
+                    // test
+                    edgePersonalizationResponseHandler.fetchPropositions(
+                            mockEvent, Collections.singletonList(feed1));
+                    edgePersonalizationResponseHandler.fetchPropositions(
+                            mockEvent, Collections.singletonList(feed2));
+
+                    // verify both edge request events dispatched without waiting for the first
+                    // request to complete
+                    List<Event> edgeRequestEvents = eventArgumentCaptor.getAllValues();
+                    assertEquals(2, edgeRequestEvents.size());
+                    assertEquals("firstRequestId", edgeRequestEvents.get(0).getUniqueIdentifier());
+                    assertEquals(
+                            "secondRequestId", edgeRequestEvents.get(1).getUniqueIdentifier());
+                    assertTrue(
+                            edgePersonalizationResponseHandler.hasPendingRequestForSurfaces(
+                                    Collections.singletonList(feed1)));
+                    assertFalse(
+                            edgePersonalizationResponseHandler.hasPendingRequestForSurfaces(
+                                    Collections.singletonList(new Surface("promos/feed3"))));
+                });
+    }
+
+    @Test
+    public void
+            test_fetchMessages_OverlappingSurfaces_RequestDeferredUntilEarlierRequestCompletes() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    mockEventIds.add("firstRequestId");
+                    mockEventIds.add("secondRequestId");
+                    Surface feed1 = new Surface("promos/feed1");
+                    Surface feed2 = new Surface("promos/feed2");
+
+                    // test
+                    edgePersonalizationResponseHandler.fetchPropositions(
+                            mockEvent, Arrays.asList(feed1, feed2));
+                    edgePersonalizationResponseHandler.fetchPropositions(
+                            mockEvent, Collections.singletonList(feed2));
+
+                    // verify only the first edge request event dispatched
+                    assertEquals(1, eventArgumentCaptor.getAllValues().size());
+                    assertEquals(
+                            "firstRequestId",
+                            eventArgumentCaptor.getAllValues().get(0).getUniqueIdentifier());
+
+                    // setup processing completed event for the first request
+                    Map<String, Object> eventData = new HashMap<>();
+                    eventData.put(ENDING_EVENT_ID, "firstRequestId");
+                    when(mockEvent.getEventData()).thenReturn(eventData);
+
+                    // test
+                    edgePersonalizationResponseHandler.handleProcessCompletedEvent(mockEvent);
+
+                    // verify the deferred edge request event dispatched once the first request
+                    // completed
+                    List<Event> edgeRequestEvents = eventArgumentCaptor.getAllValues();
+                    assertEquals(2, edgeRequestEvents.size());
+                    assertEquals(
+                            "secondRequestId", edgeRequestEvents.get(1).getUniqueIdentifier());
+                    assertFalse(
+                            edgePersonalizationResponseHandler.hasPendingRequestForSurfaces(
+                                    Collections.singletonList(feed1)));
+                    assertTrue(
+                            edgePersonalizationResponseHandler.hasPendingRequestForSurfaces(
+                                    Collections.singletonList(feed2)));
+                });
+    }
+
     // ========================================================================================
     // handleEdgePersonalizationNotification
     // ========================================================================================
@@ -795,6 +888,167 @@ public class EdgePersonalizationResponseHandlerTests {
                 });
     }
 
+    @Test
+    public void test_handleEdgePersonalizationNotification_PropositionsBufferedPerRequest() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    try (MockedStatic<JSONRulesParser> ignored =
+                            Mockito.mockStatic(JSONRulesParser.class)) {
+                        edgePersonalizationResponseHandler.setMessagesRequestEventId(
+                                "OTHER_TESTING_ID", Collections.singletonList(new Surface()));
+                        MessageTestConfig config = new MessageTestConfig();
+                        config.count = 3;
+                        Map<String, Object> eventData = new HashMap<>();
+                        eventData.put("payload", MessagingTestUtils.generateInAppPayload(config));
+                        eventData.put("requestEventId", "TESTING_ID");
+                        Event mockEvent = mock(Event.class);
+                        when(mockEvent.getEventData()).thenReturn(eventData);
+                        edgePersonalizationResponseHandler.handleEdgePersonalizationNotification(
+                                mockEvent);
+
+                        config.count = 1;
+                        eventData = new HashMap<>();
+                        eventData.put("payload", MessagingTestUtils.generateInAppPayload(config));
+                        eventData.put("requestEventId", "OTHER_TESTING_ID");
+                        when(mockEvent.getEventData()).thenReturn(eventData);
+                        edgePersonalizationResponseHandler.handleEdgePersonalizationNotification(
+                                mockEvent);
+
+                        // setup processing completed event for the first request
+                        eventData = new HashMap<>();
+                        eventData.put(ENDING_EVENT_ID, "TESTING_ID");
+                        when(mockEvent.getEventData()).thenReturn(eventData);
+
+                        // test
+                        edgePersonalizationResponseHandler.handleProcessCompletedEvent(mockEvent);
+
+                        // verify only the propositions streamed for the completed request are
+                        // cleared
+                        Map<Surface, List<Proposition>> inProgressPropositions =
+                                edgePersonalizationResponseHandler.getInProgressPropositions();
+                        assertEquals(1, inProgressPropositions.size());
+                        assertEquals(1, inProgressPropositions.get(new Surface()).size());
+                    }
+                });
+    }
+
+    @Test
+    public void test_handleEdgePersonalizationNotification_RulesStagedForEachChunk() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    try (MockedStatic<JSONRulesParser> jsonRulesParserMockedStatic =
+                            Mockito.mockStatic(JSONRulesParser.class)) {
+                        when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
+                                .thenCallRealMethod();
+                        MessageTestConfig config = new MessageTestConfig();
+                        config.count = 2;
+                        List<Map<String, Object>> payload =
+                                MessagingTestUtils.generateInAppPayload(config);
+                        Map<String, Object> eventData = new HashMap<>();
+                        eventData.put("payload", payload);
+                        eventData.put("requestEventId", "TESTING_ID");
+                        Event mockEvent = mock(Event.class);
+                        when(mockEvent.getEventData()).thenReturn(eventData);
+
+                        // test
+                        edgePersonalizationResponseHandler.handleEdgePersonalizationNotification(
+                                mockEvent);
+                        edgePersonalizationResponseHandler.handleEdgePersonalizationNotification(
+                                mockEvent);
+
+                        // verify each chunk was parsed as it arrived, the identical rulesets in
+                        // the second chunk are served from the parsed rules cache
+                        jsonRulesParserMockedStatic.verify(
+                                () -> JSONRulesParser.parse(anyString(), any(ExtensionApi.class)),
+                                times(2));
+                        ParsedRulesCache parsedRulesCache =
+                                edgePersonalizationResponseHandler.getParsedRulesCache();
+                        assertEquals(2, parsedRulesCache.getMissCount());
+                        assertEquals(2, parsedRulesCache.getHitCount());
+                        IncrementalParsedPropositions stagedPropositions =
+                                edgePersonalizationResponseHandler
+                                        .getStagedPropositionsForEventId()
+                                        .get("TESTING_ID");
+                        assertNotNull(stagedPropositions);
+                        assertFalse(stagedPropositions.isEmpty());
+
+                        // setup processing completed event
+                        eventData = new HashMap<>();
+                        eventData.put(ENDING_EVENT_ID, "TESTING_ID");
+                        when(mockEvent.getEventData()).thenReturn(eventData);
+
+                        // test
+                        edgePersonalizationResponseHandler.handleProcessCompletedEvent(mockEvent);
+
+                        // verify no additional parsing when the request completes and the staged
+                        // rules are committed
+                        jsonRulesParserMockedStatic.verify(
+                                () -> JSONRulesParser.parse(anyString(), any(ExtensionApi.class)),
+                                times(2));
+                        assertNull(
+                                edgePersonalizationResponseHandler
+                                        .getStagedPropositionsForEventId()
+                                        .get("TESTING_ID"));
+                        verify(mockMessagingRulesEngine, times(1))
+                                .replaceRules(rulesListCaptor.capture());
+                        assertEquals(4, rulesListCaptor.getValue().size());
+                    }
+                });
+    }
+
+    @Test
+    public void test_handleProcessCompletedEvent_UnchangedRulesNotReapplied() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    try (MockedStatic<JSONRulesParser> ignored =
+                            Mockito.mockStatic(JSONRulesParser.class)) {
+                        when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
+                                .thenCallRealMethod();
+                        Surface inappSurface = new Surface();
+                        MessageTestConfig config = new MessageTestConfig();
+                        config.count = 3;
+                        List<Map<String, Object>> payload =
+                                MessagingTestUtils.generateInAppPayload(config);
+                        Event mockEvent = mock(Event.class);
+
+                        // test : same in-app propositions returned for two requests
+                        for (final String requestEventId :
+                                new String[] {"TESTING_ID_1", "TESTING_ID_2"}) {
+                            Map<String, Object> eventData = new HashMap<>();
+                            eventData.put("payload", payload);
+                            eventData.put("requestEventId", requestEventId);
+                            when(mockEvent.getEventData()).thenReturn(eventData);
+                            edgePersonalizationResponseHandler.setMessagesRequestEventId(
+                                    requestEventId,
+                                    new ArrayList<Surface>() {
+                                        {
+                                            add(inappSurface);
+                                        }
+                                    });
+                            edgePersonalizationResponseHandler
+                                    .handleEdgePersonalizationNotification(mockEvent);
+
+                            eventData = new HashMap<>();
+                            eventData.put(ENDING_EVENT_ID, requestEventId);
+                            when(mockEvent.getEventData()).thenReturn(eventData);
+                            edgePersonalizationResponseHandler.handleProcessCompletedEvent(
+                                    mockEvent);
+                        }
+
+                        // verify rules engines updated for the first response only
+                        verify(mockMessagingRulesEngine, times(1))
+                                .replaceRules(rulesListCaptor.capture());
+                        assertEquals(3, rulesListCaptor.getValue().size());
+                        verify(mockMessagingRulesEngine, times(0)).addRules(anyList());
+                        verify(mockContentCardRulesEngine, times(1)).replaceRules(anyList());
+                        verify(mockContentCardRulesEngine, times(0)).addRules(anyList());
+                    }
+                });
+    }
+
     @Test
     public void test_handleEdgePersonalizationNotification_NullPayload() {
         runUsingMockedServiceProvider(
@@ -983,6 +1237,7 @@ public class EdgePersonalizationResponseHandlerTests {
 
                         // test
                         edgePersonalizationResponseHandler.handleProcessCompletedEvent(mockEvent);
+                        edgePersonalizationResponseHandler.flushPendingPropositionUpdates();
 
                         // verify parsed rules replaced in rules engine for in-app and content card
                         // event history
@@ -1099,6 +1354,7 @@ public class EdgePersonalizationResponseHandlerTests {
 
                         // cache propositions initially
                         edgePersonalizationResponseHandler.handleProcessCompletedEvent(mockEvent);
+                        edgePersonalizationResponseHandler.flushPendingPropositionUpdates();
 
                         // test : subsequent response does not contain previously cached in-app
                         // propositions
@@ -1125,6 +1381,7 @@ public class EdgePersonalizationResponseHandlerTests {
                         when(mockEvent.getEventData()).thenReturn(eventData);
 
                         edgePersonalizationResponseHandler.handleProcessCompletedEvent(mockEvent);
+                        edgePersonalizationResponseHandler.flushPendingPropositionUpdates();
 
                         // verify parsed rules replaced in rules engine only for the first in-app
                         // response but event history rules replaced for both responses
@@ -1133,11 +1390,13 @@ public class EdgePersonalizationResponseHandlerTests {
                         assertEquals(15, rulesListCaptor.getAllValues().get(0).size());
                         assertEquals(12, rulesListCaptor.getAllValues().get(1).size());
 
-                        // verify parsed rules replaced in feed rules engine for both responses
-                        verify(mockContentCardRulesEngine, times(2))
+                        // verify parsed rules replaced in feed rules engine for the first
+                        // response only, the content card rules are unchanged in the second
+                        // response
+                        verify(mockContentCardRulesEngine, times(1))
                                 .replaceRules(contentCardRulesListCaptor.capture());
-                        assertEquals(4, contentCardRulesListCaptor.getAllValues().get(0).size());
-                        assertEquals(4, contentCardRulesListCaptor.getAllValues().get(1).size());
+                        assertEquals(4, contentCardRulesListCaptor.getValue().size());
+                        verify(mockContentCardRulesEngine, times(0)).addRules(anyList());
                         List<LaunchRule> inAppRules = new ArrayList<>();
                         for (LaunchRule launchRule : rulesListCaptor.getAllValues().get(1)) {
                             for (RuleConsequence ruleConsequence :
@@ -1365,6 +1624,7 @@ public class EdgePersonalizationResponseHandlerTests {
 
                         // cache propositions initially
                         edgePersonalizationResponseHandler.handleProcessCompletedEvent(mockEvent);
+                        edgePersonalizationResponseHandler.flushPendingPropositionUpdates();
 
                         // test : subsequent response does not contain previously cached in-app
                         // propositions
@@ -1396,22 +1656,33 @@ public class EdgePersonalizationResponseHandlerTests {
                         when(mockEvent.getEventData()).thenReturn(eventData);
 
                         edgePersonalizationResponseHandler.handleProcessCompletedEvent(mockEvent);
+                        edgePersonalizationResponseHandler.flushPendingPropositionUpdates();
 
-                        // verify parsed rules replaced in rules engine only for the first in-app
-                        // response but event history rules replaced for both responses
-                        verify(mockMessagingRulesEngine, times(2))
+                        // verify parsed rules replaced in rules engine for the first in-app
+                        // response and only the new event history rules added for the second
+                        // response
+                        verify(mockMessagingRulesEngine, times(1))
                                 .replaceRules(rulesListCaptor.capture());
-                        assertEquals(3, rulesListCaptor.getAllValues().get(0).size());
-                        assertEquals(15, rulesListCaptor.getAllValues().get(1).size());
+                        assertEquals(3, rulesListCaptor.getValue().size());
+                        ArgumentCaptor<List<LaunchRule>> addedRulesListCaptor =
+                                ArgumentCaptor.forClass(List.class);
+                        verify(mockMessagingRulesEngine, times(1))
+                                .addRules(addedRulesListCaptor.capture());
+                        assertEquals(12, addedRulesListCaptor.getValue().size());
 
-                        // verify content card rules engine synced for both responses
-                        verify(mockContentCardRulesEngine, times(2))
+                        // verify content card rules engine synced for the first response and the
+                        // new content card rules added for the second response
+                        verify(mockContentCardRulesEngine, times(1))
                                 .replaceRules(contentCardRulesListCaptor.capture());
-                        assertEquals(0, contentCardRulesListCaptor.getAllValues().get(0).size());
-                        assertEquals(4, contentCardRulesListCaptor.getAllValues().get(1).size());
+                        assertEquals(0, contentCardRulesListCaptor.getValue().size());
+                        ArgumentCaptor<List<LaunchRule>> addedContentCardRulesListCaptor =
+                                ArgumentCaptor.forClass(List.class);
+                        verify(mockContentCardRulesEngine, times(1))
+                                .addRules(addedContentCardRulesListCaptor.capture());
+                        assertEquals(4, addedContentCardRulesListCaptor.getValue().size());
                         List<LaunchRule> eventHistoryRules = new ArrayList<>();
                         List<LaunchRule> inAppRules = new ArrayList<>();
-                        for (LaunchRule launchRule : rulesListCaptor.getAllValues().get(1)) {
+                        for (LaunchRule launchRule : addedRulesListCaptor.getValue()) {
                             for (RuleConsequence ruleConsequence :
                                     launchRule.getConsequenceList()) {
                                 String ruleType =
@@ -1432,15 +1703,16 @@ public class EdgePersonalizationResponseHandlerTests {
                                 }
                             }
                         }
-                        assertEquals(3, inAppRules.size());
+                        assertEquals(0, inAppRules.size());
                         assertEquals(12, eventHistoryRules.size());
 
-                        // verify in-app propositions are cached for first response
+                        // verify in-app propositions are cached for first response, the second
+                        // response has nothing to persist
                         ArgumentCaptor<Map<Surface, List<Proposition>>> cachedPropositionsCaptor =
                                 ArgumentCaptor.forClass(Map.class);
                         ArgumentCaptor<List<Surface>> surfacesToRemoveCaptor =
                                 ArgumentCaptor.forClass(List.class);
-                        verify(mockMessagingCacheUtilities, times(2))
+                        verify(mockMessagingCacheUtilities, times(1))
                                 .cachePropositions(
                                         cachedPropositionsCaptor.capture(),
                                         surfacesToRemoveCaptor.capture());
@@ -1587,7 +1859,7 @@ public class EdgePersonalizationResponseHandlerTests {
                                 surface, MessagingTestUtils.createMessagingPropositionItemList(4));
                         when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
                                 .thenCallRealMethod();
-                        when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                        when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
                                 .thenReturn(matchedFeedRules);
 
                         // setup in progress in-app propositions
@@ -1708,7 +1980,7 @@ public class EdgePersonalizationResponseHandlerTests {
                                 MessagingTestUtils.createMessagingPropositionItemList(3));
                         when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
                                 .thenCallRealMethod();
-                        when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                        when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
                                 .thenReturn(matchedFeedRules);
 
                         // setup in progress feed propositions
@@ -1816,7 +2088,7 @@ public class EdgePersonalizationResponseHandlerTests {
                                 MessagingTestUtils.createMessagingPropositionItemList(3));
                         when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
                                 .thenCallRealMethod();
-                        when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                        when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
                                 .thenReturn(matchedFeedRules);
 
                         // setup in progress feed propositions
@@ -1888,7 +2160,7 @@ public class EdgePersonalizationResponseHandlerTests {
                                 MessagingTestUtils.createMessagingPropositionItemList(3));
                         when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
                                 .thenCallRealMethod();
-                        when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                        when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
                                 .thenReturn(matchedFeedRules);
 
                         // setup in progress feed propositions
@@ -1952,7 +2224,7 @@ public class EdgePersonalizationResponseHandlerTests {
                                 MessagingTestUtils.createMessagingPropositionItemList(3));
                         when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
                                 .thenCallRealMethod();
-                        when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                        when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
                                 .thenReturn(matchedFeedRules);
 
                         // setup in progress feed propositions
@@ -2309,6 +2581,343 @@ public class EdgePersonalizationResponseHandlerTests {
                 });
     }
 
+    @Test
+    public void
+            test_cachedPropositions_loadedInBackground_eventsHeldUntilCachedInAppRulesLoaded() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    try (MockedStatic<JSONRulesParser> ignored =
+                            Mockito.mockStatic(JSONRulesParser.class)) {
+                        when(mockMessagingCacheUtilities.arePropositionsCached()).thenReturn(true);
+                        when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
+                                .thenCallRealMethod();
+                        Map<Surface, List<Proposition>> payload = new HashMap<>();
+                        try {
+                            MessageTestConfig config = new MessageTestConfig();
+                            config.count = 5;
+                            payload.put(
+                                    new Surface(),
+                                    InternalMessagingUtils.getPropositionsFromPayloads(
+                                            MessagingTestUtils.generateInAppPayload(config)));
+                        } catch (Exception e) {
+                            fail(e.getMessage());
+                        }
+                        when(mockMessagingCacheUtilities.getCachedPropositions())
+                                .thenReturn(payload);
+                        final List<Runnable> cacheLoadingTasks = new ArrayList<>();
+
+                        // test
+                        edgePersonalizationResponseHandler =
+                                new EdgePersonalizationResponseHandler(
+                                        mockMessagingExtension,
+                                        mockExtensionApi,
+                                        mockMessagingRulesEngine,
+                                        mockContentCardRulesEngine,
+                                        mockMessagingCacheUtilities,
+                                        cacheLoadingTasks::add);
+
+                        // verify events are held until the cached rules are loaded
+                        assertTrue(edgePersonalizationResponseHandler.isLoadingCachedInAppRules());
+                        assertTrue(
+                                edgePersonalizationResponseHandler.shouldHoldForCachedInAppRules(
+                                        new Event.Builder(
+                                                        "test event",
+                                                        EventType.CONFIGURATION,
+                                                        EventSource.RESPONSE_CONTENT)
+                                                .build()));
+                        verify(mockMessagingRulesEngine, times(0)).replaceRules(anyList());
+                        verify(mockExtensionApi, times(0)).startEvents();
+
+                        // test
+                        assertEquals(1, cacheLoadingTasks.size());
+                        cacheLoadingTasks.get(0).run();
+
+                        // verify cached rules replaced in rules engine and events resumed
+                        verify(mockMessagingRulesEngine, times(1))
+                                .replaceRules(rulesListCaptor.capture());
+                        assertEquals(5, rulesListCaptor.getValue().size());
+                        assertFalse(edgePersonalizationResponseHandler.isLoadingCachedInAppRules());
+                        verify(mockExtensionApi, times(1)).startEvents();
+                    }
+                });
+    }
+
+    @Test
+    public void test_cachedPropositions_loadedInBackground_ignoredWhenResponseAppliedFirst() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    try (MockedStatic<JSONRulesParser> ignored =
+                            Mockito.mockStatic(JSONRulesParser.class)) {
+                        when(mockMessagingCacheUtilities.arePropositionsCached()).thenReturn(true);
+                        when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
+                                .thenCallRealMethod();
+                        Map<Surface, List<Proposition>> cachedPayload = new HashMap<>();
+                        List<Map<String, Object>> responsePayload = null;
+                        try {
+                            MessageTestConfig config = new MessageTestConfig();
+                            config.count = 5;
+                            cachedPayload.put(
+                                    new Surface(),
+                                    InternalMessagingUtils.getPropositionsFromPayloads(
+                                            MessagingTestUtils.generateInAppPayload(config)));
+                            config.count = 2;
+                            responsePayload = MessagingTestUtils.generateInAppPayload(config);
+                        } catch (Exception e) {
+                            fail(e.getMessage());
+                        }
+                        when(mockMessagingCacheUtilities.getCachedPropositions())
+                                .thenReturn(cachedPayload);
+                        final List<Runnable> cacheLoadingTasks = new ArrayList<>();
+                        edgePersonalizationResponseHandler =
+                                new EdgePersonalizationResponseHandler(
+                                        mockMessagingExtension,
+                                        mockExtensionApi,
+                                        mockMessagingRulesEngine,
+                                        mockContentCardRulesEngine,
+                                        mockMessagingCacheUtilities,
+                                        cacheLoadingTasks::add);
+                        edgePersonalizationResponseHandler.setSerialWorkDispatcher(
+                                mockSerialWorkDispatcher);
+
+                        // test
+                        edgePersonalizationResponseHandler.setMessagesRequestEventId(
+                                "TESTING_ID", Collections.singletonList(new Surface()));
+                        Map<String, Object> eventData = new HashMap<>();
+                        eventData.put("payload", responsePayload);
+                        eventData.put("requestEventId", "TESTING_ID");
+                        Event mockEvent = mock(Event.class);
+                        when(mockEvent.getEventData()).thenReturn(eventData);
+                        edgePersonalizationResponseHandler.handleEdgePersonalizationNotification(
+                                mockEvent);
+                        eventData = new HashMap<>();
+                        eventData.put(ENDING_EVENT_ID, "TESTING_ID");
+                        when(mockEvent.getEventData()).thenReturn(eventData);
+                        edgePersonalizationResponseHandler.handleProcessCompletedEvent(mockEvent);
+                        cacheLoadingTasks.get(0).run();
+
+                        // verify only the rules of the response are loaded
+                        verify(mockMessagingRulesEngine, times(1))
+                                .replaceRules(rulesListCaptor.capture());
+                        assertEquals(2, rulesListCaptor.getValue().size());
+                        assertFalse(edgePersonalizationResponseHandler.isLoadingCachedInAppRules());
+                    }
+                });
+    }
+
+    @Test
+    public void
+            test_cachedPropositions_loadedInBackground_onlyEventsMatchingCachedRulesHeldWhileParsing() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    try (MockedStatic<JSONRulesParser> ignored =
+                            Mockito.mockStatic(JSONRulesParser.class)) {
+                        when(mockMessagingCacheUtilities.arePropositionsCached()).thenReturn(true);
+                        Map<Surface, List<Proposition>> payload = new HashMap<>();
+                        try {
+                            MessageTestConfig config = new MessageTestConfig();
+                            config.count = 1;
+                            payload.put(
+                                    new Surface(),
+                                    InternalMessagingUtils.getPropositionsFromPayloads(
+                                            MessagingTestUtils.generateInAppPayload(config)));
+                        } catch (Exception e) {
+                            fail(e.getMessage());
+                        }
+                        when(mockMessagingCacheUtilities.getCachedPropositions())
+                                .thenReturn(payload);
+                        final Event trackEvent =
+                                new Event.Builder(
+                                                "track event",
+                                                EventType.GENERIC_TRACK,
+                                                EventSource.REQUEST_CONTENT)
+                                        .setEventData(
+                                                Collections.<String, Object>singletonMap(
+                                                        "action", "fullscreen"))
+                                        .build();
+                        final Event configurationEvent =
+                                new Event.Builder(
+                                                "configuration event",
+                                                EventType.CONFIGURATION,
+                                                EventSource.RESPONSE_CONTENT)
+                                        .build();
+                        final List<Boolean> heldWhileParsing = new ArrayList<>();
+                        when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
+                                .thenAnswer(
+                                        invocation -> {
+                                            heldWhileParsing.add(
+                                                    edgePersonalizationResponseHandler
+                                                            .shouldHoldForCachedInAppRules(
+                                                                    trackEvent));
+                                            heldWhileParsing.add(
+                                                    edgePersonalizationResponseHandler
+                                                            .shouldHoldForCachedInAppRules(
+                                                                    configurationEvent));
+                                            return invocation.callRealMethod();
+                                        });
+                        final List<Runnable> cacheLoadingTasks = new ArrayList<>();
+                        edgePersonalizationResponseHandler =
+                                new EdgePersonalizationResponseHandler(
+                                        mockMessagingExtension,
+                                        mockExtensionApi,
+                                        mockMessagingRulesEngine,
+                                        mockContentCardRulesEngine,
+                                        mockMessagingCacheUtilities,
+                                        cacheLoadingTasks::add);
+
+                        // test
+                        cacheLoadingTasks.get(0).run();
+
+                        // verify only the event which could match the cached rule was held
+                        assertEquals(Arrays.asList(true, false), heldWhileParsing);
+                        assertFalse(
+                                edgePersonalizationResponseHandler.shouldHoldForCachedInAppRules(
+                                        trackEvent));
+                        verify(mockExtensionApi, times(1)).startEvents();
+                    }
+                });
+    }
+
+    @Test
+    public void
+            test_cachedPropositions_loadedInBackground_eventsNotResumedWhenNoEventWasHeld() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    when(mockMessagingCacheUtilities.arePropositionsCached()).thenReturn(false);
+                    final List<Runnable> cacheLoadingTasks = new ArrayList<>();
+                    edgePersonalizationResponseHandler =
+                            new EdgePersonalizationResponseHandler(
+                                    mockMessagingExtension,
+                                    mockExtensionApi,
+                                    mockMessagingRulesEngine,
+                                    mockContentCardRulesEngine,
+                                    mockMessagingCacheUtilities,
+                                    cacheLoadingTasks::add);
+
+                    // test
+                    cacheLoadingTasks.get(0).run();
+
+                    // verify
+                    assertFalse(edgePersonalizationResponseHandler.isLoadingCachedInAppRules());
+                    verify(mockExtensionApi, times(0)).startEvents();
+                });
+    }
+
+    @Test
+    public void
+            test_cachedPropositions_loadedOnCallingThread_whenLoadingExecutorRejectsTask() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    when(mockMessagingCacheUtilities.arePropositionsCached()).thenReturn(false);
+                    clearInvocations(mockMessagingCacheUtilities);
+
+                    // test
+                    edgePersonalizationResponseHandler =
+                            new EdgePersonalizationResponseHandler(
+                                    mockMessagingExtension,
+                                    mockExtensionApi,
+                                    mockMessagingRulesEngine,
+                                    mockContentCardRulesEngine,
+                                    mockMessagingCacheUtilities,
+                                    runnable -> {
+                                        throw new RejectedExecutionException();
+                                    });
+
+                    // verify
+                    verify(mockMessagingCacheUtilities, times(1)).arePropositionsCached();
+                    assertFalse(edgePersonalizationResponseHandler.isLoadingCachedInAppRules());
+                });
+    }
+
+    @Test
+    public void test_cachedPropositions_rulesSnapshotCreatedThenUsedToRestoreCachedRules() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    try (MockedStatic<JSONRulesParser> jsonRulesParserMockedStatic =
+                            Mockito.mockStatic(JSONRulesParser.class)) {
+                        when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
+                                .thenCallRealMethod();
+                        when(mockMessagingCacheUtilities.arePropositionsCached()).thenReturn(true);
+                        final Surface surface = new Surface();
+                        final Map<Surface, List<Proposition>> payload = new HashMap<>();
+                        try {
+                            MessageTestConfig config = new MessageTestConfig();
+                            config.count = 5;
+                            payload.put(
+                                    surface,
+                                    InternalMessagingUtils.getPropositionsFromPayloads(
+                                            MessagingTestUtils.generateInAppPayload(config)));
+                        } catch (Exception e) {
+                            fail(e.getMessage());
+                        }
+                        when(mockMessagingCacheUtilities.getCachedPropositions())
+                                .thenReturn(payload);
+                        final PropositionCacheManifest manifest = new PropositionCacheManifest();
+                        manifest.put(surface.getUri(), "digest");
+                        when(mockMessagingCacheUtilities.getCachedManifest()).thenReturn(manifest);
+                        final ArgumentCaptor<RulesSnapshot> rulesSnapshotCaptor =
+                                ArgumentCaptor.forClass(RulesSnapshot.class);
+
+                        // test
+                        new EdgePersonalizationResponseHandler(
+                                mockMessagingExtension,
+                                mockExtensionApi,
+                                mockMessagingRulesEngine,
+                                mockContentCardRulesEngine,
+                                mockMessagingCacheUtilities);
+
+                        // verify the snapshot is created from the parsed cached propositions
+                        verify(mockMessagingCacheUtilities, times(1))
+                                .cacheRulesSnapshot(rulesSnapshotCaptor.capture());
+
+                        // test
+                        clearInvocations(mockMessagingCacheUtilities, mockMessagingRulesEngine);
+                        jsonRulesParserMockedStatic.clearInvocations();
+                        when(mockMessagingCacheUtilities.getCachedRulesSnapshot())
+                                .thenReturn(rulesSnapshotCaptor.getValue());
+                        final List<String> parsedRulesets = new ArrayList<>();
+                        when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class)))
+                                .thenAnswer(
+                                        invocation -> {
+                                            parsedRulesets.add(invocation.getArgument(0));
+                                            return invocation.callRealMethod();
+                                        });
+                        final List<Boolean> parsedWhenLoaded = new ArrayList<>();
+                        doAnswer(
+                                        invocation -> {
+                                            parsedWhenLoaded.add(!parsedRulesets.isEmpty());
+                                            return null;
+                                        })
+                                .when(mockMessagingRulesEngine)
+                                .replaceRules(anyList());
+                        edgePersonalizationResponseHandler =
+                                new EdgePersonalizationResponseHandler(
+                                        mockMessagingExtension,
+                                        mockExtensionApi,
+                                        mockMessagingRulesEngine,
+                                        mockContentCardRulesEngine,
+                                        mockMessagingCacheUtilities);
+
+                        // verify cached rules are restored from the snapshot without parsing,
+                        // then their conditions are parsed one rule at a time once loaded
+                        assertEquals(Collections.singletonList(false), parsedWhenLoaded);
+                        jsonRulesParserMockedStatic.verify(
+                                () -> JSONRulesParser.parse(anyString(), any(ExtensionApi.class)),
+                                times(5));
+                        verify(mockMessagingRulesEngine, times(1))
+                                .replaceRules(rulesListCaptor.capture());
+                        assertEquals(5, rulesListCaptor.getValue().size());
+                        MessagingTestUtils.verifyInAppRulesOrdering(rulesListCaptor.getValue());
+                        verify(mockMessagingCacheUtilities, times(0)).cacheRulesSnapshot(any());
+                    }
+                });
+    }
+
     // ========================================================================================
     // createInAppMessage
     // ========================================================================================
@@ -2350,10 +2959,13 @@ public class EdgePersonalizationResponseHandlerTests {
                                     new PropositionItem("123456789", SchemaType.INAPP, data);
 
                             // test
-                            edgePersonalizationResponseHandler.createInAppMessage(propositionItem);
+                            boolean shown =
+                                    edgePersonalizationResponseHandler.createInAppMessage(
+                                            propositionItem);
 
                             // verify MessagingFullscreenMessage.trigger() then
                             // MessagingFullscreenMessage.show() called
+                            assertTrue(shown);
                             verify(mockPresentableMessageMapper, times(1))
                                     .createMessage(any(), eq(propositionItem), any(), any());
                             verify(mockInternalMessage, times(1)).trigger();
@@ -2381,9 +2993,10 @@ public class EdgePersonalizationResponseHandlerTests {
                                 .thenReturn(mockInternalMessage);
 
                         // test
-                        edgePersonalizationResponseHandler.createInAppMessage(null);
+                        boolean shown = edgePersonalizationResponseHandler.createInAppMessage(null);
 
                         // verify no message object created
+                        assertFalse(shown);
                         verifyNoInteractions(mockPresentableMessageMapper);
                         verifyNoInteractions(mockInternalMessage);
                     }
@@ -2428,9 +3041,12 @@ public class EdgePersonalizationResponseHandlerTests {
                                     new PropositionItem("123456789", SchemaType.INAPP, data);
 
                             // test
-                            edgePersonalizationResponseHandler.createInAppMessage(propositionItem);
+                            boolean shown =
+                                    edgePersonalizationResponseHandler.createInAppMessage(
+                                            propositionItem);
 
                             // verify no message object created
+                            assertFalse(shown);
                             verify(mockPresentableMessageMapper, times(1))
                                     .createMessage(any(), eq(propositionItem), any(), any());
                             verify(mockInternalMessage, times(0)).trigger();
@@ -2888,7 +3504,8 @@ public class EdgePersonalizationResponseHandlerTests {
                                     .size());
 
                     // mock evaluate to return null (no qualified content cards)
-                    when(mockContentCardRulesEngine.evaluate(any(Event.class))).thenReturn(null);
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
+                            .thenReturn(null);
 
                     Event testEvent = mock(Event.class);
                     List<Surface> requestedSurfaces = new ArrayList<>();
@@ -2938,7 +3555,8 @@ public class EdgePersonalizationResponseHandlerTests {
                                     .size());
 
                     // mock evaluate to return null (no qualified content cards)
-                    when(mockContentCardRulesEngine.evaluate(any(Event.class))).thenReturn(null);
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
+                            .thenReturn(null);
 
                     Event testEvent = mock(Event.class);
                     // request only A and B — not C
@@ -2986,7 +3604,7 @@ public class EdgePersonalizationResponseHandlerTests {
                     assertEquals(2, oldPropositionsA.size());
                     assertEquals(1, oldPropositionsB.size());
 
-                    // populate propositionInfo via reflection so
+                    // populate propositionInfo through the proposition store so
                     // getPropositionsFromContentCardRulesEngine
                     // can reconstruct propositions for items returned by evaluate()
                     try {
@@ -3002,25 +3620,21 @@ public class EdgePersonalizationResponseHandlerTests {
                         infoMap.put("scopeDetails", scopeDetails);
                         PropositionInfo info = PropositionInfo.create(infoMap);
 
-                        java.lang.reflect.Field propositionInfoField =
-                                EdgePersonalizationResponseHandler.class.getDeclaredField(
-                                        "propositionInfo");
-                        propositionInfoField.setAccessible(true);
-                        @SuppressWarnings("unchecked")
-                        Map<String, PropositionInfo> propositionInfoMap =
-                                (Map<String, PropositionInfo>)
-                                        propositionInfoField.get(
-                                                edgePersonalizationResponseHandler);
-                        propositionInfoMap.put("183639c4-cb37-458e-a8ef-4e130d767ebf", info);
+                        edgePersonalizationResponseHandler
+                                .getPropositionStore()
+                                .updatePropositionInfo(
+                                        Collections.singletonMap(
+                                                "183639c4-cb37-458e-a8ef-4e130d767ebf", info),
+                                        null);
                     } catch (Exception e) {
-                        fail("Failed to set propositionInfo via reflection: " + e.getMessage());
+                        fail("Failed to set propositionInfo: " + e.getMessage());
                     }
 
                     // mock evaluate to return 1 qualified item for surfaceA only
                     Map<Surface, List<PropositionItem>> evaluateResult = new HashMap<>();
                     evaluateResult.put(
                             surfaceA, MessagingTestUtils.createMessagingPropositionItemList(1));
-                    when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
                             .thenReturn(evaluateResult);
 
                     Event testEvent = mock(Event.class);
@@ -3095,6 +3709,184 @@ public class EdgePersonalizationResponseHandlerTests {
                 });
     }
 
+    @Test
+    public void test_addOrReplaceContentCardsForEvents_QualifiedByMultipleEvents_TriggersOnce() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    Surface surfaceA = new Surface("feed1");
+                    Map<String, Object> activity = new HashMap<>();
+                    activity.put("id", "newActivityId");
+                    Map<String, Object> scopeDetails = new HashMap<>();
+                    scopeDetails.put("activity", activity);
+                    scopeDetails.put("correlationID", "testCorrelationId");
+                    Map<String, Object> infoMap = new HashMap<>();
+                    infoMap.put("id", "newPropositionId");
+                    infoMap.put("scope", surfaceA.getUri());
+                    infoMap.put("scopeDetails", scopeDetails);
+                    edgePersonalizationResponseHandler
+                            .getPropositionStore()
+                            .updatePropositionInfo(
+                                    Collections.singletonMap(
+                                            "183639c4-cb37-458e-a8ef-4e130d767ebf",
+                                            PropositionInfo.create(infoMap)),
+                                    null);
+
+                    Map<Surface, List<PropositionItem>> evaluateResult = new HashMap<>();
+                    evaluateResult.put(
+                            surfaceA, MessagingTestUtils.createMessagingPropositionItemList(1));
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                            .thenReturn(evaluateResult);
+                    long initialVersion =
+                            edgePersonalizationResponseHandler.getPropositionStore().getVersion();
+
+                    // test
+                    edgePersonalizationResponseHandler.addOrReplaceContentCardsForEvents(
+                            Arrays.asList(mock(Event.class), mock(Event.class)));
+
+                    // verify the proposition is cached once and triggered once
+                    Map<Surface, List<Proposition>> result =
+                            edgePersonalizationResponseHandler.getQualifiedContentCardsBySurface();
+                    assertEquals(1, result.get(surfaceA).size());
+                    assertEquals("newPropositionId", result.get(surfaceA).get(0).getUniqueId());
+                    verify(mockContentCardRulesEngine, times(2)).evaluate(any(Event.class));
+                    verify(mockMessagingExtension, times(1)).sendPropositionInteraction(any());
+                    // verify a single store update was published for the batch
+                    assertEquals(
+                            initialVersion + 1,
+                            edgePersonalizationResponseHandler.getPropositionStore().getVersion());
+                });
+    }
+
+    @Test
+    public void
+            test_addOrReplaceContentCardsForEvents_ContentCardsReplacedDuringEvaluation_ReplacedAfterApply()
+                    throws InterruptedException {
+        final Thread[] replacingThread = new Thread[1];
+        final boolean[] replacementBlocked = new boolean[1];
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    Surface surfaceA = new Surface("feed1");
+                    seedContentCardPropositionInfo(surfaceA);
+                    Map<Surface, List<PropositionItem>> evaluateResult = new HashMap<>();
+                    evaluateResult.put(
+                            surfaceA, MessagingTestUtils.createMessagingPropositionItemList(1));
+                    // the refreshed rules no longer qualify any card for the surface
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
+                            .thenReturn(null);
+                    // replace the content cards from another thread while the worker evaluates
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                            .thenAnswer(
+                                    invocation -> {
+                                        replacingThread[0] =
+                                                new Thread(
+                                                        () ->
+                                                                edgePersonalizationResponseHandler
+                                                                        .removeOrReplaceContentCards(
+                                                                                mock(Event.class),
+                                                                                Collections
+                                                                                        .singletonList(
+                                                                                                surfaceA)));
+                                        replacingThread[0].start();
+                                        replacingThread[0].join(100);
+                                        replacementBlocked[0] = replacingThread[0].isAlive();
+                                        return evaluateResult;
+                                    });
+
+                    // test
+                    edgePersonalizationResponseHandler.addOrReplaceContentCardsForEvents(
+                            Collections.singletonList(mock(Event.class)));
+                });
+        replacingThread[0].join();
+
+        // verify the replacement waited for the evaluated cards to be applied, then evicted them
+        assertTrue(replacementBlocked[0]);
+        assertTrue(edgePersonalizationResponseHandler.getQualifiedContentCardsBySurface().isEmpty());
+    }
+
+    @Test
+    public void test_addOrReplaceContentCards_SameCardsQualifiedAgain_SkipsUpdate() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    Surface surfaceA = new Surface("feed1");
+                    seedContentCardPropositionInfo(surfaceA);
+                    Map<Surface, List<PropositionItem>> evaluateResult = new HashMap<>();
+                    evaluateResult.put(
+                            surfaceA, MessagingTestUtils.createMessagingPropositionItemList(1));
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                            .thenReturn(evaluateResult);
+                    edgePersonalizationResponseHandler.addOrReplaceContentCards(mock(Event.class));
+                    long qualifiedVersion =
+                            edgePersonalizationResponseHandler.getPropositionStore().getVersion();
+                    List<Proposition> qualifiedCards =
+                            edgePersonalizationResponseHandler
+                                    .getQualifiedContentCardsBySurface()
+                                    .get(surfaceA);
+
+                    // test
+                    edgePersonalizationResponseHandler.addOrReplaceContentCards(mock(Event.class));
+
+                    // verify no update was published and no additional trigger was sent
+                    assertEquals(
+                            qualifiedVersion,
+                            edgePersonalizationResponseHandler.getPropositionStore().getVersion());
+                    assertSame(
+                            qualifiedCards,
+                            edgePersonalizationResponseHandler
+                                    .getQualifiedContentCardsBySurface()
+                                    .get(surfaceA));
+                    verify(mockMessagingExtension, times(1)).sendPropositionInteraction(any());
+                });
+    }
+
+    @Test
+    public void test_addOrReplaceContentCards_SameCardsQualifiedAfterCacheChanged_Updates() {
+        runUsingMockedServiceProvider(
+                () -> {
+                    // setup
+                    Surface surfaceA = new Surface("feed1");
+                    seedContentCardPropositionInfo(surfaceA);
+                    Map<Surface, List<PropositionItem>> evaluateResult = new HashMap<>();
+                    evaluateResult.put(
+                            surfaceA, MessagingTestUtils.createMessagingPropositionItemList(1));
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                            .thenReturn(evaluateResult);
+                    edgePersonalizationResponseHandler.addOrReplaceContentCards(mock(Event.class));
+                    edgePersonalizationResponseHandler.setQualifiedContentCardsBySurface(
+                            new HashMap<Surface, List<Proposition>>());
+
+                    // test
+                    edgePersonalizationResponseHandler.addOrReplaceContentCards(mock(Event.class));
+
+                    // verify the card is qualified again
+                    Map<Surface, List<Proposition>> result =
+                            edgePersonalizationResponseHandler.getQualifiedContentCardsBySurface();
+                    assertEquals(1, result.get(surfaceA).size());
+                    verify(mockMessagingExtension, times(2)).sendPropositionInteraction(any());
+                });
+    }
+
+    private void seedContentCardPropositionInfo(final Surface surface) {
+        Map<String, Object> activity = new HashMap<>();
+        activity.put("id", "newActivityId");
+        Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("activity", activity);
+        scopeDetails.put("correlationID", "testCorrelationId");
+        Map<String, Object> infoMap = new HashMap<>();
+        infoMap.put("id", "newPropositionId");
+        infoMap.put("scope", surface.getUri());
+        infoMap.put("scopeDetails", scopeDetails);
+        edgePersonalizationResponseHandler
+                .getPropositionStore()
+                .updatePropositionInfo(
+                        Collections.singletonMap(
+                                "183639c4-cb37-458e-a8ef-4e130d767ebf",
+                                PropositionInfo.create(infoMap)),
+                        null);
+    }
+
     // ========================================================================================
     // removeOrReplaceContentCards — ContentCardMapper cleanup
     // ========================================================================================
@@ -3121,7 +3913,8 @@ public class EdgePersonalizationResponseHandlerTests {
                     assertNotNull(
                             ContentCardMapper.getInstance().getContentCardSchemaData(activityId));
 
-                    when(mockContentCardRulesEngine.evaluate(any(Event.class))).thenReturn(null);
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
+                            .thenReturn(null);
 
                     Event testEvent = mock(Event.class);
                     List<Surface> requestedSurfaces = new ArrayList<>();
@@ -3183,24 +3976,20 @@ public class EdgePersonalizationResponseHandlerTests {
                         infoMap.put("scopeDetails", scopeDetails);
                         PropositionInfo info = PropositionInfo.create(infoMap);
 
-                        java.lang.reflect.Field propositionInfoField =
-                                EdgePersonalizationResponseHandler.class.getDeclaredField(
-                                        "propositionInfo");
-                        propositionInfoField.setAccessible(true);
-                        @SuppressWarnings("unchecked")
-                        Map<String, PropositionInfo> propositionInfoMap =
-                                (Map<String, PropositionInfo>)
-                                        propositionInfoField.get(
-                                                edgePersonalizationResponseHandler);
-                        propositionInfoMap.put("183639c4-cb37-458e-a8ef-4e130d767ebf", info);
+                        edgePersonalizationResponseHandler
+                                .getPropositionStore()
+                                .updatePropositionInfo(
+                                        Collections.singletonMap(
+                                                "183639c4-cb37-458e-a8ef-4e130d767ebf", info),
+                                        null);
                     } catch (Exception e) {
-                        fail("Failed to set propositionInfo via reflection: " + e.getMessage());
+                        fail("Failed to set propositionInfo: " + e.getMessage());
                     }
 
                     Map<Surface, List<PropositionItem>> evaluateResult = new HashMap<>();
                     evaluateResult.put(
                             surfaceA, MessagingTestUtils.createMessagingPropositionItemList(1));
-                    when(mockContentCardRulesEngine.evaluate(any(Event.class)))
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
                             .thenReturn(evaluateResult);
 
                     Event testEvent = mock(Event.class);
@@ -3241,7 +4030,8 @@ public class EdgePersonalizationResponseHandlerTests {
                     edgePersonalizationResponseHandler.setQualifiedContentCardsBySurface(
                             contentCards);
 
-                    when(mockContentCardRulesEngine.evaluate(any(Event.class))).thenReturn(null);
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
+                            .thenReturn(null);
 
                     Event testEvent = mock(Event.class);
                     List<Surface> requestedSurfaces = new ArrayList<>();
@@ -3264,7 +4054,8 @@ public class EdgePersonalizationResponseHandlerTests {
                 () -> {
                     Surface surfaceA = new Surface("feed1");
 
-                    when(mockContentCardRulesEngine.evaluate(any(Event.class))).thenReturn(null);
+                    when(mockContentCardRulesEngine.evaluate(any(Event.class), anyCollection()))
+                            .thenReturn(null);
 
                     Event testEvent = mock(Event.class);
                     List<Surface> requestedSurfaces = new ArrayList<>();
@@ -0,0 +1,247 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.AdobeError;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventHistoryRequest;
+import com.adobe.marketing.mobile.EventHistoryResult;
+import com.adobe.marketing.mobile.ExtensionApi;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class EventHistoryCounterCacheTests {
+    private static final EventHistoryCounterCache.Key KEY =
+            new EventHistoryCounterCache.Key("display", "activityId", "");
+
+    @Mock private ExtensionApi mockExtensionApi;
+
+    private EventHistoryCounterCache counterCache;
+
+    @Before
+    public void setup() {
+        counterCache = new EventHistoryCounterCache();
+        counterCache.setExtensionApi(mockExtensionApi);
+    }
+
+    @Test
+    public void test_register_SeedsCountFromEventHistory() {
+        // test
+        counterCache.register(Collections.singletonList(KEY));
+        AdobeCallbackWithError<EventHistoryResult[]> callback = captureSeedCallback(1);
+
+        // verify
+        assertNull(counterCache.getCount(KEY));
+        callback.call(new EventHistoryResult[] {new EventHistoryResult(3, null, null)});
+        assertEquals(Long.valueOf(3), counterCache.getCount(KEY));
+    }
+
+    @Test
+    public void test_register_BeforeExtensionApiSet_SeedsOnceSet() {
+        // setup
+        counterCache = new EventHistoryCounterCache();
+        counterCache.register(Collections.singletonList(KEY));
+
+        // test
+        counterCache.setExtensionApi(mockExtensionApi);
+
+        // verify
+        captureSeedCallback(1);
+    }
+
+    @Test
+    public void test_register_AlreadySeeded_DoesNotSeedAgain() {
+        // setup
+        counterCache.register(Collections.singletonList(KEY));
+        captureSeedCallback(1)
+                .call(new EventHistoryResult[] {new EventHistoryResult(1, null, null)});
+
+        // test
+        counterCache.register(Collections.singletonList(KEY));
+
+        // verify
+        captureSeedCallback(1);
+    }
+
+    @Test
+    public void test_onRecord_Seeded_IncrementsCount() {
+        // setup
+        counterCache.register(Collections.singletonList(KEY));
+        captureSeedCallback(1)
+                .call(new EventHistoryResult[] {new EventHistoryResult(1, null, null)});
+
+        // test
+        counterCache.onRecord(KEY);
+        counterCache.onEvent(historyEvent(KEY));
+
+        // verify
+        assertEquals(Long.valueOf(2), counterCache.getCount(KEY));
+    }
+
+    @Test
+    public void test_onEvent_WrittenByAnotherSource_IncrementsCount() {
+        // setup
+        counterCache.register(Collections.singletonList(KEY));
+        captureSeedCallback(1)
+                .call(new EventHistoryResult[] {new EventHistoryResult(1, null, null)});
+
+        // test
+        counterCache.onEvent(historyEvent(KEY));
+
+        // verify
+        assertEquals(Long.valueOf(2), counterCache.getCount(KEY));
+    }
+
+    @Test
+    public void test_onRecord_WhileSeeding_DiscardsSeedAndReseedsOnceWritten() {
+        // setup
+        counterCache.register(Collections.singletonList(KEY));
+        AdobeCallbackWithError<EventHistoryResult[]> callback = captureSeedCallback(1);
+
+        // test
+        counterCache.onRecord(KEY);
+        callback.call(new EventHistoryResult[] {new EventHistoryResult(1, null, null)});
+
+        // verify
+        assertNull(counterCache.getCount(KEY));
+        counterCache.onEvent(historyEvent(KEY));
+        captureSeedCallback(2)
+                .call(new EventHistoryResult[] {new EventHistoryResult(2, null, null)});
+        assertEquals(Long.valueOf(2), counterCache.getCount(KEY));
+    }
+
+    @Test
+    public void test_register_PendingWrite_SeedsOnceWritten() {
+        // setup
+        counterCache.onRecord(KEY);
+
+        // test
+        counterCache.register(Collections.singletonList(KEY));
+
+        // verify
+        verify(mockExtensionApi, never())
+                .getHistoricalEvents(
+                        any(EventHistoryRequest[].class),
+                        anyBoolean(),
+                        any(AdobeCallbackWithError.class));
+        counterCache.onEvent(historyEvent(KEY));
+        captureSeedCallback(1);
+    }
+
+    @Test
+    public void test_seed_Failure_LeavesCountUnknown() {
+        // setup
+        counterCache.register(Collections.singletonList(KEY));
+
+        // test
+        captureSeedCallback(1).fail(AdobeError.UNEXPECTED_ERROR);
+
+        // verify
+        assertNull(counterCache.getCount(KEY));
+    }
+
+    @Test
+    public void test_onEvent_DifferentMask_Ignored() {
+        // setup
+        counterCache.register(Collections.singletonList(KEY));
+        captureSeedCallback(1)
+                .call(new EventHistoryResult[] {new EventHistoryResult(1, null, null)});
+        Event event =
+                new Event.Builder(
+                                "name",
+                                "type",
+                                "source",
+                                new String[] {
+                                    MessagingConstants.EventMask.Mask.EVENT_TYPE,
+                                    MessagingConstants.EventMask.Mask.ACTIVITY_ID
+                                })
+                        .setEventData(historyEvent(KEY).getEventData())
+                        .build();
+
+        // test
+        counterCache.onEvent(event);
+
+        // verify
+        assertEquals(Long.valueOf(1), counterCache.getCount(KEY));
+    }
+
+    @Test
+    public void test_keyFromQuery() {
+        // setup
+        Map<String, Object> query = new HashMap<>();
+        query.put(MessagingConstants.EventMask.Mask.EVENT_TYPE, "display");
+        query.put(MessagingConstants.EventMask.Mask.ACTIVITY_ID, "activityId");
+        query.put(MessagingConstants.EventMask.Mask.TRACKING_ACTION, "");
+
+        // verify
+        assertEquals(KEY, EventHistoryCounterCache.Key.fromQuery(query));
+        query.remove(MessagingConstants.EventMask.Mask.TRACKING_ACTION);
+        assertNull(EventHistoryCounterCache.Key.fromQuery(query));
+        query.put(MessagingConstants.EventMask.Mask.TRACKING_ACTION, 1);
+        assertNull(EventHistoryCounterCache.Key.fromQuery(query));
+    }
+
+    @SuppressWarnings("unchecked")
+    private AdobeCallbackWithError<EventHistoryResult[]> captureSeedCallback(final int times) {
+        ArgumentCaptor<AdobeCallbackWithError<EventHistoryResult[]>> callbackCaptor =
+                ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+        verify(mockExtensionApi, times(times))
+                .getHistoricalEvents(
+                        any(EventHistoryRequest[].class), eq(false), callbackCaptor.capture());
+        return callbackCaptor.getValue();
+    }
+
+    private Event historyEvent(final EventHistoryCounterCache.Key key) {
+        Map<String, Object> history = new HashMap<>();
+        Map<String, Object> requestMap = key.toRequestMap();
+        history.put(
+                MessagingConstants.EventMask.Keys.EVENT_TYPE,
+                requestMap.get(MessagingConstants.EventMask.Mask.EVENT_TYPE));
+        history.put(
+                MessagingConstants.EventMask.Keys.ACTIVITY_ID,
+                requestMap.get(MessagingConstants.EventMask.Mask.ACTIVITY_ID));
+        history.put(
+                MessagingConstants.EventMask.Keys.TRACKING_ACTION,
+                requestMap.get(MessagingConstants.EventMask.Mask.TRACKING_ACTION));
+        Map<String, Object> eventData = new HashMap<>();
+        eventData.put(MessagingConstants.EventDataKeys.IAM_HISTORY, history);
+        return new Event.Builder(
+                        MessagingConstants.EventName.EVENT_HISTORY_WRITE,
+                        MessagingConstants.EventType.MESSAGING,
+                        MessagingConstants.EventSource.EVENT_HISTORY_WRITE,
+                        new String[] {
+                            MessagingConstants.EventMask.Mask.EVENT_TYPE,
+                            MessagingConstants.EventMask.Mask.ACTIVITY_ID,
+                            MessagingConstants.EventMask.Mask.TRACKING_ACTION
+                        })
+                .setEventData(eventData)
+                .build();
+    }
+}
@@ -130,7 +130,7 @@ public class EventHistoryOperationSchemaDataTests {
     public void constructor_handlesJSONException_whenNullJsonObjectProvided() {
         try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
             EventHistoryOperationSchemaData eventHistoryOperationSchemaData =
-                    new EventHistoryOperationSchemaData(null);
+                    new EventHistoryOperationSchemaData((JSONObject) null);
 
             logMockedStatic.verify(
                     () ->
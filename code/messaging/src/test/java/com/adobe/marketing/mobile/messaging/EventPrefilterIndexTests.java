@@ -0,0 +1,322 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventSource;
+import com.adobe.marketing.mobile.EventType;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class EventPrefilterIndexTests {
+
+    @Mock private LaunchRule mockRule;
+    @Mock private LaunchRule mockOtherRule;
+
+    private EventPrefilterIndex eventPrefilterIndex;
+
+    @Before
+    public void setup() {
+        eventPrefilterIndex = new EventPrefilterIndex();
+    }
+
+    @Test
+    public void test_mayMatch_NotBuilt_AcceptsAllEvents() {
+        // verify
+        assertFalse(eventPrefilterIndex.isBuilt());
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.LIFECYCLE, EventSource.APPLICATION_LAUNCH, null)));
+    }
+
+    @Test
+    public void test_mayMatch_NoRules_RejectsEvents() {
+        // test
+        eventPrefilterIndex.rebuild(Collections.<List<LaunchRule>>emptyList());
+
+        // verify
+        assertTrue(eventPrefilterIndex.isBuilt());
+        assertFalse(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT, null)));
+    }
+
+    @Test
+    public void test_mayMatch_RulesEngineEvents_AlwaysAccepted() {
+        // setup
+        eventPrefilterIndex.rebuild(Collections.<List<LaunchRule>>emptyList());
+
+        // verify
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.RULES_ENGINE, EventSource.REQUEST_RESET, null)));
+    }
+
+    @Test
+    public void test_mayMatch_TypeAndSourceCondition() {
+        // setup
+        registerRule(
+                mockRule,
+                group(
+                        "and",
+                        matcher("~type", "eq", EventType.GENERIC_TRACK),
+                        matcher("~source", "eq", EventSource.REQUEST_CONTENT)));
+
+        // test
+        eventPrefilterIndex.rebuild(Collections.singletonList(Arrays.asList(mockRule)));
+
+        // verify
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT, null)));
+        assertFalse(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.GENERIC_TRACK, EventSource.RESPONSE_CONTENT, null)));
+        assertFalse(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.LIFECYCLE, EventSource.REQUEST_CONTENT, null)));
+    }
+
+    @Test
+    public void test_mayMatch_TypeComparisonIgnoresCase() {
+        // setup
+        registerRule(mockRule, matcher("~type", "eq", EventType.GENERIC_TRACK.toUpperCase()));
+
+        // test
+        eventPrefilterIndex.rebuild(Collections.singletonList(Arrays.asList(mockRule)));
+
+        // verify
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT, null)));
+    }
+
+    @Test
+    public void test_mayMatch_RequiredEventDataKey() {
+        // setup
+        registerRule(
+                mockRule,
+                group(
+                        "and",
+                        matcher("~type", "eq", EventType.GENERIC_TRACK),
+                        matcher("contextdata.action", "eq", "purchase")));
+        Map<String, Object> contextData = new HashMap<>();
+        contextData.put("action", "purchase");
+        Map<String, Object> eventData = new HashMap<>();
+        eventData.put("contextdata", contextData);
+
+        // test
+        eventPrefilterIndex.rebuild(Collections.singletonList(Arrays.asList(mockRule)));
+
+        // verify
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(
+                                EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT, eventData)));
+        assertFalse(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(
+                                EventType.GENERIC_TRACK,
+                                EventSource.REQUEST_CONTENT,
+                                Collections.<String, Object>singletonMap("other", "value"))));
+    }
+
+    @Test
+    public void test_mayMatch_NotExistsMatcher_DoesNotRequireKey() {
+        // setup
+        registerRule(
+                mockRule,
+                group(
+                        "and",
+                        matcher("~type", "eq", EventType.GENERIC_TRACK),
+                        matcher("action", "nx")));
+
+        // test
+        eventPrefilterIndex.rebuild(Collections.singletonList(Arrays.asList(mockRule)));
+
+        // verify
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT, null)));
+    }
+
+    @Test
+    public void test_mayMatch_OrCondition_AcceptsEitherType() {
+        // setup
+        registerRule(
+                mockRule,
+                group(
+                        "or",
+                        matcher("~type", "eq", EventType.GENERIC_TRACK),
+                        matcher("~type", "eq", EventType.LIFECYCLE)));
+
+        // test
+        eventPrefilterIndex.rebuild(Collections.singletonList(Arrays.asList(mockRule)));
+
+        // verify
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.LIFECYCLE, EventSource.RESPONSE_CONTENT, null)));
+        assertFalse(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.EDGE, EventSource.RESPONSE_CONTENT, null)));
+    }
+
+    @Test
+    public void test_mayMatch_UnconstrainedRule_AcceptsAllEvents() {
+        // setup
+        registerRule(mockRule, matcher("~type", "eq", EventType.GENERIC_TRACK));
+        Map<String, Object> historicalCondition = new HashMap<>();
+        historicalCondition.put("type", "historical");
+        historicalCondition.put("definition", new HashMap<String, Object>());
+        registerRule(mockOtherRule, historicalCondition);
+
+        // test
+        eventPrefilterIndex.rebuild(
+                Arrays.asList(Arrays.asList(mockRule), Arrays.asList(mockOtherRule)));
+
+        // verify
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.EDGE, EventSource.RESPONSE_CONTENT, null)));
+    }
+
+    @Test
+    public void test_mayMatch_UnregisteredRule_AcceptsAllEvents() {
+        // setup
+        LaunchRule unregisteredRule = new LaunchRule(null, new ArrayList<>());
+
+        // test
+        eventPrefilterIndex.rebuild(Collections.singletonList(Arrays.asList(unregisteredRule)));
+
+        // verify
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.EDGE, EventSource.RESPONSE_CONTENT, null)));
+    }
+
+    @Test
+    public void test_rebuild_ReplacesPreviousIndex() {
+        // setup
+        registerRule(mockRule, matcher("~type", "eq", EventType.GENERIC_TRACK));
+        registerRule(mockOtherRule, matcher("~type", "eq", EventType.LIFECYCLE));
+        eventPrefilterIndex.rebuild(Collections.singletonList(Arrays.asList(mockRule)));
+
+        // test
+        eventPrefilterIndex.rebuild(Collections.singletonList(Arrays.asList(mockOtherRule)));
+
+        // verify
+        assertFalse(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT, null)));
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.LIFECYCLE, EventSource.REQUEST_CONTENT, null)));
+    }
+
+    @Test
+    public void test_registerRules_RuleCountMismatch_NotRegistered() {
+        // setup
+        Map<String, Object> rule = new HashMap<>();
+        rule.put("condition", matcher("~type", "eq", EventType.GENERIC_TRACK));
+        Map<String, Object> rulesetData = new HashMap<>();
+        rulesetData.put("rules", Arrays.asList(rule));
+
+        // test
+        EventPrefilterIndex.registerRules(Arrays.asList(mockRule, mockOtherRule), rulesetData);
+        eventPrefilterIndex.rebuild(Collections.singletonList(Arrays.asList(mockRule)));
+
+        // verify
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.EDGE, EventSource.RESPONSE_CONTENT, null)));
+    }
+
+    @Test
+    public void test_rebuildFromRulesets_FiltersOnUnparsedRuleConditions() {
+        // setup
+        Map<String, Object> rule = new HashMap<>();
+        rule.put(
+                "condition",
+                group(
+                        "and",
+                        matcher("~type", "eq", EventType.GENERIC_TRACK),
+                        matcher("~source", "eq", EventSource.REQUEST_CONTENT)));
+        Map<String, Object> rulesetData = new HashMap<>();
+        rulesetData.put("version", 1);
+        rulesetData.put("rules", Arrays.asList(rule));
+
+        // test
+        eventPrefilterIndex.rebuildFromRulesets(Collections.singletonList(rulesetData));
+
+        // verify
+        assertTrue(eventPrefilterIndex.isBuilt());
+        assertTrue(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT, null)));
+        assertFalse(
+                eventPrefilterIndex.mayMatch(
+                        createEvent(EventType.CONFIGURATION, EventSource.RESPONSE_CONTENT, null)));
+    }
+
+    private void registerRule(final LaunchRule rule, final Map<String, Object> condition) {
+        Map<String, Object> ruleJson = new HashMap<>();
+        ruleJson.put("condition", condition);
+        Map<String, Object> rulesetData = new HashMap<>();
+        rulesetData.put("version", 1);
+        rulesetData.put("rules", Arrays.asList(ruleJson));
+        EventPrefilterIndex.registerRules(Arrays.asList(rule), rulesetData);
+    }
+
+    private Map<String, Object> matcher(
+            final String key, final String matcher, final Object... values) {
+        Map<String, Object> definition = new HashMap<>();
+        definition.put("key", key);
+        definition.put("matcher", matcher);
+        definition.put("values", Arrays.asList(values));
+        Map<String, Object> condition = new HashMap<>();
+        condition.put("type", "matcher");
+        condition.put("definition", definition);
+        return condition;
+    }
+
+    @SafeVarargs
+    private final Map<String, Object> group(
+            final String logic, final Map<String, Object>... conditions) {
+        Map<String, Object> definition = new HashMap<>();
+        definition.put("logic", logic);
+        definition.put("conditions", Arrays.asList(conditions));
+        Map<String, Object> condition = new HashMap<>();
+        condition.put("type", "group");
+        condition.put("definition", definition);
+        return condition;
+    }
+
+    private Event createEvent(
+            final String type, final String source, final Map<String, Object> eventData) {
+        return new Event.Builder("test event", type, source).setEventData(eventData).build();
+    }
+}
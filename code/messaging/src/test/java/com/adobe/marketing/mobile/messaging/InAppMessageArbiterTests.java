@@ -0,0 +1,290 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventSource;
+import com.adobe.marketing.mobile.EventType;
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngine;
+import com.adobe.marketing.mobile.launch.rulesengine.RuleConsequence;
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser;
+import com.adobe.marketing.mobile.rulesengine.Evaluable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class InAppMessageArbiterTests {
+
+    @Mock private Evaluable mockCondition;
+    @Mock private ExtensionApi mockExtensionApi;
+
+    private final List<PropositionItem> presentedItems = new ArrayList<>();
+    private final Map<String, PropositionInfo> propositionInfo = new HashMap<>();
+    private InAppMessageArbiter arbiter;
+
+    @Before
+    public void setup() {
+        arbiter = new InAppMessageArbiter(presentedItems::add);
+    }
+
+    @Test
+    public void test_offer_NoParentEvent_PresentsEveryMessage() throws Exception {
+        // setup
+        PropositionItem first = createItem("first");
+        PropositionItem second = createItem("second");
+
+        // test
+        arbiter.offer(createEvent(null), first);
+        arbiter.offer(createEvent(null), second);
+
+        // verify
+        assertEquals(Arrays.asList(first, second), presentedItems);
+    }
+
+    @Test
+    public void test_offer_SameParentEvent_PresentsFirstMessageImmediately() throws Exception {
+        // setup
+        Event triggeringEvent = createEvent(null);
+        PropositionItem first = createItem("first");
+        PropositionItem second = createItem("second");
+
+        // test
+        arbiter.offer(createEvent(triggeringEvent), first);
+
+        // verify
+        assertEquals(Arrays.asList(first), presentedItems);
+
+        // test
+        arbiter.offer(createEvent(triggeringEvent), second);
+
+        // verify
+        assertEquals(Arrays.asList(first), presentedItems);
+    }
+
+    @Test
+    public void test_offer_DifferentParentEvents_PresentsMessageForEachEvent() throws Exception {
+        // setup
+        PropositionItem first = createItem("first");
+        PropositionItem second = createItem("second");
+
+        // test
+        arbiter.offer(createEvent(createEvent(null)), first);
+        arbiter.offer(createEvent(createEvent(null)), second);
+
+        // verify
+        assertEquals(Arrays.asList(first, second), presentedItems);
+    }
+
+    @Test
+    public void test_offer_WinnerFailsToShow_PresentsNextMessage() throws Exception {
+        // setup
+        final PropositionItem first = createItem("first");
+        final PropositionItem second = createItem("second");
+        final PropositionItem third = createItem("third");
+        final List<PropositionItem> offeredItems = new ArrayList<>();
+        arbiter =
+                new InAppMessageArbiter(
+                        propositionItem -> {
+                            offeredItems.add(propositionItem);
+                            return propositionItem != first && presentedItems.add(propositionItem);
+                        });
+        Event triggeringEvent = createEvent(null);
+
+        // test
+        arbiter.offer(createEvent(triggeringEvent), first);
+        arbiter.offer(createEvent(triggeringEvent), second);
+        arbiter.offer(createEvent(triggeringEvent), third);
+
+        // verify
+        assertEquals(Arrays.asList(first, second), offeredItems);
+        assertEquals(Arrays.asList(second), presentedItems);
+    }
+
+    @Test
+    public void test_offer_RankedRulesInRulesEngine_PresentsHighestRankedMessage() {
+        // setup
+        final List<Event> dispatchedEvents = new ArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            dispatchedEvents.add(invocation.getArgument(0));
+                            return null;
+                        })
+                .when(mockExtensionApi)
+                .dispatch(any(Event.class));
+        registerPropositionInfo("low", 10, 1);
+        registerPropositionInfo("high", 50, 2);
+        registerPropositionInfo("medium", 50, 3);
+        final List<LaunchRule> rules =
+                JSONRulesParser.parse(
+                        createInAppRuleset("low", "high", "medium"), mockExtensionApi);
+        final LaunchRulesEngine launchRulesEngine =
+                new LaunchRulesEngine("test rules engine", mockExtensionApi);
+        launchRulesEngine.replaceRules(InAppMessageArbiter.rank(rules, propositionInfo::get));
+        // let the rules engine handle its own reset event before the triggering event
+        for (final Event resetEvent : new ArrayList<>(dispatchedEvents)) {
+            launchRulesEngine.processEvent(resetEvent);
+        }
+        dispatchedEvents.clear();
+        final Event triggeringEvent =
+                new Event.Builder("track", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+                        .build();
+
+        // test
+        launchRulesEngine.processEvent(triggeringEvent);
+        final List<String> consequenceIds = new ArrayList<>();
+        for (final Event consequenceEvent : dispatchedEvents) {
+            final PropositionItem propositionItem =
+                    PropositionItem.fromSchemaConsequenceEvent(consequenceEvent);
+            consequenceIds.add(propositionItem.getItemId());
+            assertEquals(triggeringEvent.getUniqueIdentifier(), consequenceEvent.getParentID());
+            arbiter.offer(consequenceEvent, propositionItem);
+        }
+
+        // verify
+        assertEquals(Arrays.asList("high", "medium", "low"), consequenceIds);
+        assertEquals(1, presentedItems.size());
+        assertEquals("high", presentedItems.get(0).getItemId());
+    }
+
+    @Test
+    public void test_rank_HighestPriorityFirst() {
+        // setup
+        LaunchRule low = createRule("low", 10, 1);
+        LaunchRule high = createRule("high", 50, 2);
+
+        // test
+        List<LaunchRule> rankedRules =
+                InAppMessageArbiter.rank(Arrays.asList(low, high), propositionInfo::get);
+
+        // verify
+        assertEquals(Arrays.asList(high, low), rankedRules);
+    }
+
+    @Test
+    public void test_rank_SamePriority_LowestValidRankFirst() {
+        // setup
+        LaunchRule missingRank = createRule("missingRank", 10, -1);
+        LaunchRule rankTwo = createRule("rankTwo", 10, 2);
+        LaunchRule rankOne = createRule("rankOne", 10, 1);
+
+        // test
+        List<LaunchRule> rankedRules =
+                InAppMessageArbiter.rank(
+                        Arrays.asList(missingRank, rankTwo, rankOne), propositionInfo::get);
+
+        // verify
+        assertEquals(Arrays.asList(rankOne, rankTwo, missingRank), rankedRules);
+    }
+
+    @Test
+    public void test_rank_NoPropositionInfo_KeepsOrder() {
+        // setup
+        LaunchRule first = new LaunchRule(mockCondition, Arrays.asList(createConsequence("first")));
+        LaunchRule second =
+                new LaunchRule(mockCondition, Arrays.asList(createConsequence("second")));
+        LaunchRule noConsequence = new LaunchRule(mockCondition, new ArrayList<RuleConsequence>());
+
+        // test
+        List<LaunchRule> rankedRules =
+                InAppMessageArbiter.rank(
+                        Arrays.asList(first, noConsequence, second), propositionInfo::get);
+
+        // verify
+        assertEquals(Arrays.asList(first, noConsequence, second), rankedRules);
+    }
+
+    private Event createEvent(final Event parentEvent) {
+        Event.Builder builder =
+                new Event.Builder("event", EventType.RULES_ENGINE, EventSource.RESPONSE_CONTENT);
+        if (parentEvent != null) {
+            builder.chainToParentEvent(parentEvent);
+        }
+        return builder.build();
+    }
+
+    private PropositionItem createItem(final String itemId)
+            throws MessageRequiredFieldMissingException {
+        return new PropositionItem(itemId, SchemaType.INAPP, new HashMap<>());
+    }
+
+    private RuleConsequence createConsequence(final String itemId) {
+        return new RuleConsequence(itemId, "schema", new HashMap<>());
+    }
+
+    private LaunchRule createRule(final String itemId, final int priority, final int rank) {
+        registerPropositionInfo(itemId, priority, rank);
+        return new LaunchRule(mockCondition, Arrays.asList(createConsequence(itemId)));
+    }
+
+    private void registerPropositionInfo(final String itemId, final int priority, final int rank) {
+        Map<String, Object> activity = new HashMap<>();
+        activity.put("id", "activity-" + itemId);
+        activity.put("priority", priority);
+        Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("activity", activity);
+        if (rank >= 0) {
+            scopeDetails.put("rank", rank);
+        }
+        Map<String, Object> propositionInfoMap = new HashMap<>();
+        propositionInfoMap.put("id", "proposition-" + itemId);
+        propositionInfoMap.put("scope", "mobileapp://com.example.app");
+        propositionInfoMap.put("scopeDetails", scopeDetails);
+        propositionInfo.put(itemId, PropositionInfo.create(propositionInfoMap));
+    }
+
+    private String createInAppRuleset(final String... itemIds) {
+        final JSONArray rules = new JSONArray();
+        try {
+            for (final String itemId : itemIds) {
+                final JSONObject definition = new JSONObject();
+                definition.put("key", "~type");
+                definition.put("matcher", "eq");
+                definition.put("values", new JSONArray().put(EventType.GENERIC_TRACK));
+                final JSONObject condition = new JSONObject();
+                condition.put("type", "matcher");
+                condition.put("definition", definition);
+                final JSONObject detail = new JSONObject();
+                detail.put("id", itemId);
+                detail.put("schema", "https://ns.adobe.com/personalization/message/in-app");
+                detail.put("data", new JSONObject().put("content", "<html>" + itemId + "</html>"));
+                final JSONObject consequence = new JSONObject();
+                consequence.put("id", itemId);
+                consequence.put("type", "schema");
+                consequence.put("detail", detail);
+                final JSONObject rule = new JSONObject();
+                rule.put("condition", condition);
+                rule.put("consequences", new JSONArray().put(consequence));
+                rules.put(rule);
+            }
+            return new JSONObject().put("version", 1).put("rules", rules).toString();
+        } catch (final JSONException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
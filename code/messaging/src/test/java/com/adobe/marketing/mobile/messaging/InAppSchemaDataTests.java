@@ -20,9 +20,13 @@ import static com.adobe.marketing.mobile.messaging.MessagingTestConstants.Conseq
 import static com.adobe.marketing.mobile.messaging.MessagingTestConstants.ConsequenceDetailDataKeys.REMOTE_ASSETS;
 import static com.adobe.marketing.mobile.messaging.MessagingTestConstants.ConsequenceDetailDataKeys.WEB_PARAMETERS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 
 import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.json.JSONArray;
@@ -66,6 +70,65 @@ public class InAppSchemaDataTests {
                 "https://somedomain.com/someimage.jpg", inAppSchemaData.getRemoteAssets().get(0));
     }
 
+    @Test
+    public void constructor_setsFieldsCorrectly_whenCreatedFromMap() {
+        // setup
+        Map<String, Object> content = new HashMap<>();
+        content.put("key", "value");
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("metaKey", "metaValue");
+        List<Object> remoteAssets = new ArrayList<>();
+        remoteAssets.add("https://somedomain.com/someimage.jpg");
+        Map<String, Object> schemaData = new HashMap<>();
+        schemaData.put(CONTENT_TYPE, ContentType.APPLICATION_JSON.toString());
+        schemaData.put(CONTENT, content);
+        schemaData.put(PUBLISHED_DATE, 123456789);
+        schemaData.put(EXPIRY_DATE, 987654321L);
+        schemaData.put(METADATA, metadata);
+        schemaData.put(REMOTE_ASSETS, remoteAssets);
+
+        // test
+        InAppSchemaData inAppSchemaData = new InAppSchemaData(schemaData);
+
+        // verify
+        assertEquals(ContentType.APPLICATION_JSON, inAppSchemaData.getContentType());
+        assertEquals(content, inAppSchemaData.getContent());
+        assertNotSame(content, inAppSchemaData.getContent());
+        assertEquals(123456789, inAppSchemaData.getPublishedDate());
+        assertEquals(987654321, inAppSchemaData.getExpiryDate());
+        assertEquals(metadata, inAppSchemaData.getMeta());
+        assertNull(inAppSchemaData.getMobileParameters());
+        assertEquals(1, inAppSchemaData.getRemoteAssets().size());
+        assertEquals(
+                "https://somedomain.com/someimage.jpg", inAppSchemaData.getRemoteAssets().get(0));
+    }
+
+    @Test
+    public void getters_returnCopies_whenSchemaDataIsUnmodifiable() {
+        // setup
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("metaKey", "metaValue");
+        Map<String, Object> mobileParameters = new HashMap<>();
+        mobileParameters.put("width", 100);
+        Map<String, Object> schemaData = new HashMap<>();
+        schemaData.put(CONTENT_TYPE, ContentType.TEXT_HTML.toString());
+        schemaData.put(CONTENT, "<html>message here</html>");
+        schemaData.put(METADATA, Collections.unmodifiableMap(metadata));
+        schemaData.put(MOBILE_PARAMETERS, Collections.unmodifiableMap(mobileParameters));
+        InAppSchemaData inAppSchemaData =
+                new InAppSchemaData(Collections.unmodifiableMap(schemaData));
+
+        // test
+        inAppSchemaData.getMeta().put("metaKey", "modified");
+        inAppSchemaData.getMobileParameters().clear();
+
+        // verify
+        assertEquals("metaValue", inAppSchemaData.getMeta().get("metaKey"));
+        assertEquals(100, inAppSchemaData.getMobileParameters().get("width"));
+        assertEquals("metaValue", metadata.get("metaKey"));
+        assertEquals(1, mobileParameters.size());
+    }
+
     @Test
     public void constructor_setsFieldsCorrectly_whenContentIsJsonArray() throws JSONException {
         // setup
@@ -0,0 +1,232 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class IncrementalParsedPropositionsTests {
+
+    private Surface mockInAppSurface;
+    private Surface mockCodeBasedSurface;
+    private Proposition prio100Proposition;
+    private Proposition prio60Proposition;
+    private Proposition prio20Proposition;
+    private Proposition codeBasedProposition;
+
+    @Mock private ExtensionApi mockExtensionApi;
+
+    @Before
+    public void setup() throws MessageRequiredFieldMissingException {
+        mockInAppSurface = Surface.fromUriString("mobileapp://mockPackageName");
+        mockCodeBasedSurface = Surface.fromUriString("mobileapp://mockPackageName/codebased");
+        prio100Proposition =
+                createInAppProposition("prio100", "inappPropositionV2-prio-100.json", 1);
+        prio60Proposition = createInAppProposition("prio60", "inappPropositionV2-prio-60.json", 2);
+        prio20Proposition = createInAppProposition("prio20", "inappPropositionV2-prio-20.json", 3);
+
+        final PropositionItem codeBasedItem =
+                new PropositionItem(
+                        "codebased",
+                        SchemaType.JSON_CONTENT,
+                        MessagingTestUtils.getMapFromFile("codeBasedPropositionHtmlContent.json"));
+        codeBasedProposition =
+                new Proposition(
+                        "codebased",
+                        mockCodeBasedSurface.getUri(),
+                        new HashMap<String, Object>() {
+                            {
+                                put("key", "value");
+                            }
+                        },
+                        new ArrayList<PropositionItem>() {
+                            {
+                                add(codeBasedItem);
+                            }
+                        });
+    }
+
+    private Proposition createInAppProposition(
+            final String id, final String fileName, final int rank)
+            throws MessageRequiredFieldMissingException {
+        final PropositionItem item =
+                new PropositionItem(
+                        id, SchemaType.RULESET, MessagingTestUtils.getMapFromFile(fileName));
+        return new Proposition(
+                id,
+                mockInAppSurface.getUri(),
+                new HashMap<String, Object>() {
+                    {
+                        put("rank", rank);
+                    }
+                },
+                new ArrayList<PropositionItem>() {
+                    {
+                        add(item);
+                    }
+                });
+    }
+
+    @Test
+    public void test_build_NothingStaged() {
+        // setup
+        IncrementalParsedPropositions incrementalParsedPropositions =
+                new IncrementalParsedPropositions(mockExtensionApi);
+
+        // test
+        incrementalParsedPropositions.stage(null);
+        incrementalParsedPropositions.stage(new ArrayList<>());
+        ParsedPropositions parsedPropositions =
+                incrementalParsedPropositions.build(Collections.singletonList(mockInAppSurface));
+
+        // verify
+        Assert.assertTrue(incrementalParsedPropositions.isEmpty());
+        Assert.assertEquals(0, parsedPropositions.propositionInfoToCache.size());
+        Assert.assertEquals(0, parsedPropositions.propositionsToCache.size());
+        Assert.assertEquals(0, parsedPropositions.propositionsToPersist.size());
+        Assert.assertEquals(0, parsedPropositions.surfaceRulesBySchemaType.size());
+    }
+
+    @Test
+    public void test_build_ChunksReceivedOutOfRankOrder_RulesOrderedByRank() {
+        // setup
+        IncrementalParsedPropositions incrementalParsedPropositions =
+                new IncrementalParsedPropositions(mockExtensionApi);
+
+        // test
+        incrementalParsedPropositions.stage(Collections.singletonList(prio20Proposition));
+        incrementalParsedPropositions.stage(Collections.singletonList(prio100Proposition));
+        incrementalParsedPropositions.stage(Collections.singletonList(prio60Proposition));
+        ParsedPropositions parsedPropositions =
+                incrementalParsedPropositions.build(Collections.singletonList(mockInAppSurface));
+
+        // verify
+        Assert.assertEquals(3, parsedPropositions.propositionInfoToCache.size());
+        List<Proposition> iamPersist =
+                parsedPropositions.propositionsToPersist.get(mockInAppSurface);
+        Assert.assertNotNull(iamPersist);
+        Assert.assertEquals(3, iamPersist.size());
+        Assert.assertEquals("prio100", iamPersist.get(0).getUniqueId());
+        Assert.assertEquals("prio60", iamPersist.get(1).getUniqueId());
+        Assert.assertEquals("prio20", iamPersist.get(2).getUniqueId());
+        List<LaunchRule> orderedRules =
+                parsedPropositions
+                        .surfaceRulesBySchemaType
+                        .get(SchemaType.INAPP)
+                        .get(mockInAppSurface);
+        Assert.assertNotNull(orderedRules);
+        Assert.assertEquals(3, orderedRules.size());
+        Assert.assertEquals("prio100", orderedRules.get(0).getConsequenceList().get(0).getId());
+        Assert.assertEquals("prio60", orderedRules.get(1).getConsequenceList().get(0).getId());
+        Assert.assertEquals("prio20", orderedRules.get(2).getConsequenceList().get(0).getId());
+    }
+
+    @Test
+    public void test_build_MatchesFullParse() {
+        // setup
+        IncrementalParsedPropositions incrementalParsedPropositions =
+                new IncrementalParsedPropositions(mockExtensionApi);
+        List<Surface> requestedSurfaces = new ArrayList<>();
+        requestedSurfaces.add(mockInAppSurface);
+        requestedSurfaces.add(mockCodeBasedSurface);
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(
+                mockInAppSurface,
+                new ArrayList<Proposition>() {
+                    {
+                        add(prio60Proposition);
+                        add(prio100Proposition);
+                    }
+                });
+        propositions.put(
+                mockCodeBasedSurface,
+                new ArrayList<Proposition>() {
+                    {
+                        add(codeBasedProposition);
+                    }
+                });
+
+        // test
+        incrementalParsedPropositions.stage(Collections.singletonList(prio60Proposition));
+        incrementalParsedPropositions.stage(
+                new ArrayList<Proposition>() {
+                    {
+                        add(codeBasedProposition);
+                        add(prio100Proposition);
+                    }
+                });
+        ParsedPropositions stagedResult = incrementalParsedPropositions.build(requestedSurfaces);
+        ParsedPropositions fullResult =
+                new ParsedPropositions(propositions, requestedSurfaces, mockExtensionApi);
+
+        // verify
+        Assert.assertEquals(
+                fullResult.propositionInfoToCache.keySet(),
+                stagedResult.propositionInfoToCache.keySet());
+        Assert.assertEquals(fullResult.propositionsToCache, stagedResult.propositionsToCache);
+        Assert.assertEquals(fullResult.propositionsToPersist, stagedResult.propositionsToPersist);
+        Assert.assertEquals(
+                fullResult.surfaceRulesBySchemaType.keySet(),
+                stagedResult.surfaceRulesBySchemaType.keySet());
+        List<LaunchRule> fullRules =
+                fullResult.surfaceRulesBySchemaType.get(SchemaType.INAPP).get(mockInAppSurface);
+        List<LaunchRule> stagedRules =
+                stagedResult.surfaceRulesBySchemaType.get(SchemaType.INAPP).get(mockInAppSurface);
+        Assert.assertEquals(fullRules.size(), stagedRules.size());
+        for (int i = 0; i < fullRules.size(); i++) {
+            Assert.assertEquals(
+                    fullRules.get(i).getConsequenceList().get(0).getId(),
+                    stagedRules.get(i).getConsequenceList().get(0).getId());
+        }
+    }
+
+    @Test
+    public void test_build_UnrequestedSurfacesIgnored() {
+        // setup
+        IncrementalParsedPropositions incrementalParsedPropositions =
+                new IncrementalParsedPropositions(mockExtensionApi);
+
+        // test
+        incrementalParsedPropositions.stage(
+                new ArrayList<Proposition>() {
+                    {
+                        add(prio100Proposition);
+                        add(codeBasedProposition);
+                    }
+                });
+        ParsedPropositions parsedPropositions =
+                incrementalParsedPropositions.build(
+                        Collections.singletonList(mockCodeBasedSurface));
+
+        // verify
+        Assert.assertFalse(incrementalParsedPropositions.isEmpty());
+        Assert.assertEquals(0, parsedPropositions.propositionInfoToCache.size());
+        Assert.assertEquals(0, parsedPropositions.propositionsToPersist.size());
+        Assert.assertEquals(0, parsedPropositions.surfaceRulesBySchemaType.size());
+        Assert.assertEquals(1, parsedPropositions.propositionsToCache.size());
+        Proposition cachedProposition =
+                parsedPropositions.propositionsToCache.get(mockCodeBasedSurface).get(0);
+        Assert.assertEquals("codebased", cachedProposition.getUniqueId());
+    }
+}
@@ -15,8 +15,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
@@ -25,8 +28,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.adobe.marketing.mobile.Messaging;
+import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.services.DeviceInforming;
 import com.adobe.marketing.mobile.services.ServiceProvider;
+import com.adobe.marketing.mobile.services.caching.CacheEntry;
 import com.adobe.marketing.mobile.services.caching.CacheResult;
 import com.adobe.marketing.mobile.services.caching.CacheService;
 import java.io.ByteArrayInputStream;
@@ -55,6 +61,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
 public class MessagingCacheUtilitiesTests {
+    private static final String PENDING_MANIFEST_KEY =
+            MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY + ".pending";
+
     @Mock CacheService mockCacheService;
     @Mock ServiceProvider mockServiceProvider;
     @Mock CacheResult mockCacheResult;
@@ -165,6 +174,67 @@ public class MessagingCacheUtilitiesTests {
         reset(mockDeviceInfoService);
     }
 
+    private static byte[] readBytes(final InputStream inputStream) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        try {
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        } catch (IOException exception) {
+            fail(exception.getMessage());
+        }
+        return outputStream.toByteArray();
+    }
+
+    private Map<String, byte[]> useInMemoryCache() {
+        final Map<String, byte[]> cache = new HashMap<>();
+        useInMemoryCache(cache);
+        return cache;
+    }
+
+    private static String cachedShardKey(final Map<String, byte[]> cache, final String surfaceUri) {
+        try {
+            final PropositionCacheManifest manifest =
+                    PropositionCacheManifest.read(
+                            new ByteArrayInputStream(
+                                    cache.get(
+                                            MessagingTestConstants
+                                                    .PROPOSITIONS_CACHE_SUBDIRECTORY)));
+            return PropositionCacheManifest.shardKey(surfaceUri, manifest.getDigest(surfaceUri));
+        } catch (IOException exception) {
+            fail(exception.getMessage());
+            return null;
+        }
+    }
+
+    private void useInMemoryCache(final Map<String, byte[]> cache) {
+        when(mockCacheService.set(
+                        eq(MessagingTestConstants.CACHE_BASE_DIR),
+                        anyString(),
+                        any(CacheEntry.class)))
+                .thenAnswer(
+                        invocation -> {
+                            final CacheEntry cacheEntry = invocation.getArgument(2);
+                            cache.put(invocation.getArgument(1), readBytes(cacheEntry.getData()));
+                            return true;
+                        });
+        when(mockCacheService.get(eq(MessagingTestConstants.CACHE_BASE_DIR), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            final byte[] data = cache.get(invocation.getArgument(1));
+                            if (data == null) {
+                                return null;
+                            }
+                            final CacheResult cacheResult = Mockito.mock(CacheResult.class);
+                            when(cacheResult.getData()).thenReturn(new ByteArrayInputStream(data));
+                            return cacheResult;
+                        });
+        when(mockCacheService.remove(eq(MessagingTestConstants.CACHE_BASE_DIR), anyString()))
+                .thenAnswer(invocation -> cache.remove(invocation.getArgument(1)) != null);
+    }
+
     void runWithMockedServiceProvider(final Runnable runnable) {
         try (MockedStatic<ServiceProvider> serviceProviderMockedStatic =
                 Mockito.mockStatic(ServiceProvider.class)) {
@@ -233,7 +303,10 @@ public class MessagingCacheUtilitiesTests {
                             messagingCacheUtilities.getCachedPropositions();
 
                     // verify
-                    verify(mockCacheService, times(1)).get(anyString(), anyString());
+                    verify(mockCacheService, times(1))
+                            .get(
+                                    MessagingTestConstants.CACHE_BASE_DIR,
+                                    MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
                     assertNotNull(retrievedPayload);
                     assertEquals(1, retrievedPayload.size());
                 });
@@ -254,7 +327,10 @@ public class MessagingCacheUtilitiesTests {
                             messagingCacheUtilities.getCachedPropositions();
 
                     // verify
-                    verify(mockCacheService, times(1)).get(anyString(), anyString());
+                    verify(mockCacheService, times(1))
+                            .get(
+                                    MessagingTestConstants.CACHE_BASE_DIR,
+                                    MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
                     assertNotNull(retrievedPayload);
                     assertEquals(1, retrievedPayload.size());
                 });
@@ -272,7 +348,10 @@ public class MessagingCacheUtilitiesTests {
                             messagingCacheUtilities.getCachedPropositions();
 
                     // verify
-                    verify(mockCacheService, times(1)).get(anyString(), anyString());
+                    verify(mockCacheService, times(1))
+                            .get(
+                                    MessagingTestConstants.CACHE_BASE_DIR,
+                                    MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
                     assertNull(retrievedPayload);
                 });
     }
@@ -292,7 +371,10 @@ public class MessagingCacheUtilitiesTests {
                             messagingCacheUtilities.getCachedPropositions();
 
                     // verify
-                    verify(mockCacheService, times(1)).get(anyString(), anyString());
+                    verify(mockCacheService, times(1))
+                            .get(
+                                    MessagingTestConstants.CACHE_BASE_DIR,
+                                    MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
                     assertNull(retrievedPayload);
                 });
     }
@@ -316,7 +398,10 @@ public class MessagingCacheUtilitiesTests {
                                 messagingCacheUtilities.getCachedPropositions();
 
                         // verify
-                        verify(mockCacheService, times(1)).get(anyString(), anyString());
+                        verify(mockCacheService, times(1))
+                                .get(
+                                        MessagingTestConstants.CACHE_BASE_DIR,
+                                        MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
                         assertNull(retrievedPayload);
                     }
                 });
@@ -344,7 +429,10 @@ public class MessagingCacheUtilitiesTests {
                                 messagingCacheUtilities.getCachedPropositions();
 
                         // verify
-                        verify(mockCacheService, times(1)).get(anyString(), anyString());
+                        verify(mockCacheService, times(1))
+                                .get(
+                                        MessagingTestConstants.CACHE_BASE_DIR,
+                                        MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
                         assertNull(retrievedPayload);
                     }
                 });
@@ -371,7 +459,10 @@ public class MessagingCacheUtilitiesTests {
                                 messagingCacheUtilities.getCachedPropositions();
 
                         // verify
-                        verify(mockCacheService, times(1)).get(anyString(), anyString());
+                        verify(mockCacheService, times(1))
+                                .get(
+                                        MessagingTestConstants.CACHE_BASE_DIR,
+                                        MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
                         assertNull(retrievedPayload);
                     }
                 });
@@ -397,7 +488,10 @@ public class MessagingCacheUtilitiesTests {
                                 messagingCacheUtilities.getCachedPropositions();
 
                         // verify
-                        verify(mockCacheService, times(1)).get(anyString(), anyString());
+                        verify(mockCacheService, times(1))
+                                .get(
+                                        MessagingTestConstants.CACHE_BASE_DIR,
+                                        MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
                         assertNull(retrievedPayload);
                     }
                 });
@@ -422,11 +516,310 @@ public class MessagingCacheUtilitiesTests {
                             messagingCacheUtilities.getCachedPropositions();
 
                     // verify
-                    verify(mockCacheService, times(1)).get(anyString(), anyString());
+                    verify(mockCacheService, times(1))
+                            .get(
+                                    MessagingTestConstants.CACHE_BASE_DIR,
+                                    MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
+                    assertNull(retrievedPayload);
+                });
+    }
+
+    @Test
+    public void testGetCachedPropositions_SerializedCacheMigratedToSurfaceEntries() {
+        runWithMockedServiceProvider(
+                () -> {
+                    // setup
+                    final Map<String, byte[]> cache = useInMemoryCache();
+                    cache.put(
+                            MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY,
+                            readBytes(propositionInputStream));
+                    final String surfaceUri = "mobileapp://mockPackageName";
+
+                    // test
+                    final Map<Surface, List<Proposition>> retrievedPayload =
+                            messagingCacheUtilities.getCachedPropositions();
+
+                    // verify the serialized cache is rewritten as a manifest and a surface entry
+                    assertEquals(1, retrievedPayload.size());
+                    assertEquals(2, cache.size());
+                    assertTrue(cache.containsKey(cachedShardKey(cache, surfaceUri)));
+                    assertTrue(
+                            PropositionCacheManifest.hasManifestHeader(
+                                    new ByteArrayInputStream(
+                                            cache.get(
+                                                    MessagingTestConstants
+                                                            .PROPOSITIONS_CACHE_SUBDIRECTORY))));
+
+                    // test reading the migrated cache
+                    final Map<Surface, List<Proposition>> migratedPayload =
+                            messagingCacheUtilities.getCachedPropositions();
+
+                    // verify the migrated cache is read without being rewritten
+                    verify(mockCacheService, times(3)).set(anyString(), anyString(), any());
+                    assertEquals(retrievedPayload, migratedPayload);
+                    final Proposition migratedProposition =
+                            migratedPayload.get(Surface.fromUriString(surfaceUri)).get(0);
+                    assertEquals(proposition.getUniqueId(), migratedProposition.getUniqueId());
+                    assertEquals(
+                            proposition.getScopeDetails(), migratedProposition.getScopeDetails());
+                    assertEquals(
+                            proposition.getItems().get(0).getItemData(),
+                            migratedProposition.getItems().get(0).getItemData());
+                    assertSame(
+                            migratedProposition,
+                            migratedProposition.getItems().get(0).getProposition());
+                });
+    }
+
+    @Test
+    public void testGetCachedPropositions_SkipsSurface_WhenSurfaceEntryIsTruncated() {
+        runWithMockedServiceProvider(
+                () -> {
+                    // setup
+                    final Map<String, byte[]> cache = useInMemoryCache();
+                    final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/a");
+                    final Surface otherSurface =
+                            Surface.fromUriString("mobileapp://mockPackageName/b");
+                    final Map<Surface, List<Proposition>> propositions = new HashMap<>();
+                    propositions.put(surface, Collections.singletonList(proposition));
+                    propositions.put(otherSurface, Collections.singletonList(proposition));
+                    messagingCacheUtilities.cachePropositions(propositions, Collections.EMPTY_LIST);
+                    final String shardKey = cachedShardKey(cache, surface.getUri());
+                    final byte[] cachedBytes = cache.get(shardKey);
+                    cache.put(shardKey, Arrays.copyOf(cachedBytes, cachedBytes.length / 2));
+
+                    // test
+                    final Map<Surface, List<Proposition>> retrievedPayload =
+                            messagingCacheUtilities.getCachedPropositions();
+
+                    // verify
+                    assertEquals(1, retrievedPayload.size());
+                    assertNotNull(retrievedPayload.get(otherSurface));
+                });
+    }
+
+    @Test
+    public void testGetCachedPropositions_ReturnsNull_WhenManifestIsTruncated() {
+        runWithMockedServiceProvider(
+                () -> {
+                    // setup
+                    final Map<String, byte[]> cache = useInMemoryCache();
+                    final Map<Surface, List<Proposition>> propositions = new HashMap<>();
+                    propositions.put(new Surface(), Collections.singletonList(proposition));
+                    messagingCacheUtilities.cachePropositions(propositions, Collections.EMPTY_LIST);
+                    final byte[] manifestBytes =
+                            cache.get(MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
+                    cache.put(
+                            MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY,
+                            Arrays.copyOf(manifestBytes, manifestBytes.length / 2));
+
+                    // test
+                    final Map<Surface, List<Proposition>> retrievedPayload =
+                            messagingCacheUtilities.getCachedPropositions();
+
+                    // verify
                     assertNull(retrievedPayload);
                 });
     }
 
+    @Test
+    public void testGetCachedPropositions_CompletesManifestCommit_WhenInterrupted() {
+        runWithMockedServiceProvider(
+                () -> {
+                    // setup
+                    final Map<String, byte[]> cache = useInMemoryCache();
+                    final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/a");
+                    messagingCacheUtilities.cachePropositions(
+                            Collections.singletonMap(
+                                    surface, Collections.singletonList(proposition)),
+                            Collections.EMPTY_LIST);
+                    final byte[] manifestBytes =
+                            cache.get(MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
+                    // interrupted after the pending manifest was written
+                    cache.put(PENDING_MANIFEST_KEY, manifestBytes);
+                    cache.put(
+                            MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY,
+                            Arrays.copyOf(manifestBytes, 2));
+
+                    // test
+                    final Map<Surface, List<Proposition>> retrievedPayload =
+                            messagingCacheUtilities.getCachedPropositions();
+
+                    // verify the pending manifest is committed
+                    assertEquals(1, retrievedPayload.size());
+                    assertNotNull(retrievedPayload.get(surface));
+                    assertTrue(
+                            Arrays.equals(
+                                    manifestBytes,
+                                    cache.get(
+                                            MessagingTestConstants
+                                                    .PROPOSITIONS_CACHE_SUBDIRECTORY)));
+                    assertFalse(cache.containsKey(PENDING_MANIFEST_KEY));
+                });
+    }
+
+    @Test
+    public void testGetCachedPropositions_IgnoresPendingManifest_WhenIncomplete() {
+        runWithMockedServiceProvider(
+                () -> {
+                    // setup
+                    final Map<String, byte[]> cache = useInMemoryCache();
+                    final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/a");
+                    messagingCacheUtilities.cachePropositions(
+                            Collections.singletonMap(
+                                    surface, Collections.singletonList(proposition)),
+                            Collections.EMPTY_LIST);
+                    final byte[] manifestBytes =
+                            cache.get(MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY);
+                    // interrupted while the pending manifest was written
+                    cache.put(
+                            PENDING_MANIFEST_KEY,
+                            Arrays.copyOf(manifestBytes, manifestBytes.length / 2));
+
+                    // test
+                    final Map<Surface, List<Proposition>> retrievedPayload =
+                            messagingCacheUtilities.getCachedPropositions();
+
+                    // verify the committed manifest is read
+                    assertEquals(1, retrievedPayload.size());
+                    assertNotNull(retrievedPayload.get(surface));
+                });
+    }
+
+    @Test
+    public void testCachePropositions_OnlyChangedSurfaceEntriesAreWritten() throws Exception {
+        // setup
+        final Proposition updatedProposition =
+                new Proposition(
+                        "updatedId",
+                        proposition.getScope(),
+                        proposition.getScopeDetails(),
+                        proposition.getItems());
+        runWithMockedServiceProvider(
+                () -> {
+                    final Map<String, byte[]> cache = useInMemoryCache();
+                    final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/a");
+                    final Surface otherSurface =
+                            Surface.fromUriString("mobileapp://mockPackageName/b");
+                    final Map<Surface, List<Proposition>> propositions = new HashMap<>();
+                    propositions.put(surface, Collections.singletonList(proposition));
+                    propositions.put(otherSurface, Collections.singletonList(proposition));
+                    messagingCacheUtilities.cachePropositions(propositions, Collections.EMPTY_LIST);
+                    final String previousShardKey = cachedShardKey(cache, surface.getUri());
+                    final String otherShardKey = cachedShardKey(cache, otherSurface.getUri());
+                    reset(mockCacheService);
+                    useInMemoryCache(cache);
+
+                    // test
+                    propositions.put(surface, Collections.singletonList(updatedProposition));
+                    messagingCacheUtilities.cachePropositions(propositions, Collections.EMPTY_LIST);
+
+                    // verify only the updated surface and the manifest are written, the updated
+                    // surface to a new entry replacing the previous one once the manifest is
+                    // committed
+                    verify(mockCacheService, times(1))
+                            .set(
+                                    eq(MessagingTestConstants.CACHE_BASE_DIR),
+                                    eq(cachedShardKey(cache, surface.getUri())),
+                                    any(CacheEntry.class));
+                    verify(mockCacheService, times(1))
+                            .set(
+                                    eq(MessagingTestConstants.CACHE_BASE_DIR),
+                                    eq(MessagingTestConstants.PROPOSITIONS_CACHE_SUBDIRECTORY),
+                                    any(CacheEntry.class));
+                    verify(mockCacheService, times(3)).set(anyString(), anyString(), any());
+                    assertFalse(cache.containsKey(previousShardKey));
+                    assertEquals(otherShardKey, cachedShardKey(cache, otherSurface.getUri()));
+                    assertEquals(3, cache.size());
+
+                    // test caching the same propositions again
+                    messagingCacheUtilities.cachePropositions(propositions, Collections.EMPTY_LIST);
+
+                    // verify nothing is rewritten
+                    verify(mockCacheService, times(3)).set(anyString(), anyString(), any());
+                    assertEquals(
+                            "updatedId",
+                            messagingCacheUtilities
+                                    .getCachedPropositions()
+                                    .get(surface)
+                                    .get(0)
+                                    .getUniqueId());
+                });
+    }
+
+    @Test
+    public void testCachePropositions_RemovedSurfaceEntryIsDeleted() {
+        runWithMockedServiceProvider(
+                () -> {
+                    // setup
+                    final Map<String, byte[]> cache = useInMemoryCache();
+                    final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/a");
+                    final Surface otherSurface =
+                            Surface.fromUriString("mobileapp://mockPackageName/b");
+                    final Map<Surface, List<Proposition>> propositions = new HashMap<>();
+                    propositions.put(surface, Collections.singletonList(proposition));
+                    propositions.put(otherSurface, Collections.singletonList(proposition));
+                    messagingCacheUtilities.cachePropositions(propositions, Collections.EMPTY_LIST);
+                    final String shardKey = cachedShardKey(cache, surface.getUri());
+
+                    // test
+                    messagingCacheUtilities.cachePropositions(
+                            new HashMap<>(), Collections.singletonList(surface));
+
+                    // verify
+                    verify(mockCacheService, times(1))
+                            .remove(MessagingTestConstants.CACHE_BASE_DIR, shardKey);
+                    assertEquals(2, cache.size());
+                    final Map<Surface, List<Proposition>> retrievedPayload =
+                            messagingCacheUtilities.getCachedPropositions();
+                    assertEquals(1, retrievedPayload.size());
+                    assertNotNull(retrievedPayload.get(otherSurface));
+
+                    // test removing the last surface
+                    messagingCacheUtilities.cachePropositions(
+                            new HashMap<>(), Collections.singletonList(otherSurface));
+
+                    // verify
+                    assertTrue(cache.isEmpty());
+                });
+    }
+
+    @Test
+    public void testCacheRulesSnapshot_RetrievedWithManifestAndRemovedWithCachedData() {
+        runWithMockedServiceProvider(
+                () -> {
+                    // setup
+                    final Map<String, byte[]> cache = useInMemoryCache();
+                    final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/a");
+                    final Map<Surface, List<Proposition>> propositions = new HashMap<>();
+                    propositions.put(surface, Collections.singletonList(proposition));
+                    messagingCacheUtilities.cachePropositions(propositions, Collections.EMPTY_LIST);
+                    final PropositionCacheManifest manifest =
+                            messagingCacheUtilities.getCachedManifest();
+
+                    // test
+                    messagingCacheUtilities.cacheRulesSnapshot(
+                            RulesSnapshot.create(
+                                    new HashMap<>(),
+                                    manifest,
+                                    Messaging.extensionVersion(),
+                                    MobileCore.extensionVersion()));
+
+                    // verify
+                    assertNotNull(manifest);
+                    assertNotNull(manifest.getDigest(surface.getUri()));
+                    assertNotNull(cache.get(MessagingCacheUtilities.RULES_SNAPSHOT_KEY));
+                    assertNotNull(messagingCacheUtilities.getCachedRulesSnapshot());
+
+                    // test
+                    messagingCacheUtilities.clearCachedData();
+
+                    // verify
+                    assertNull(cache.get(MessagingCacheUtilities.RULES_SNAPSHOT_KEY));
+                    assertNull(messagingCacheUtilities.getCachedRulesSnapshot());
+                });
+    }
+
     @Test
     public void testCachePropositionPayload() {
         runWithMockedServiceProvider(
@@ -436,6 +829,7 @@ public class MessagingCacheUtilitiesTests {
                             .thenReturn(mockCacheResult);
                     when(mockCacheResult.getMetadata()).thenReturn(fakeMetaData);
                     when(mockCacheResult.getData()).thenReturn(propositionInputStream);
+                    when(mockCacheService.set(anyString(), anyString(), any())).thenReturn(true);
 
                     final List<Proposition> list = new ArrayList<>();
                     list.add(proposition);
@@ -509,7 +903,7 @@ public class MessagingCacheUtilitiesTests {
 
     @Test
     public void
-            testCachePropositionPayload_DoesNotSetCache_WhenIOExceptionOccursWhenWritingObject() {
+            testCachePropositionPayload_DoesNotSetCache_WhenIOExceptionOccursWhenWritingSurface() {
         runWithMockedServiceProvider(
                 () -> {
                     // setup
@@ -517,14 +911,14 @@ public class MessagingCacheUtilitiesTests {
                             .thenReturn(mockCacheResult);
                     when(mockCacheResult.getMetadata()).thenReturn(fakeMetaData);
                     when(mockCacheResult.getData()).thenReturn(propositionInputStream);
-                    try (MockedConstruction<ObjectOutputStream>
-                            objectOutputStreamMockedConstruction =
+                    try (MockedConstruction<PropositionCacheWriter>
+                            propositionCacheWriterMockedConstruction =
                                     Mockito.mockConstruction(
-                                            ObjectOutputStream.class,
+                                            PropositionCacheWriter.class,
                                             (mock, context) -> {
                                                 doThrow(new IOException())
                                                         .when(mock)
-                                                        .writeObject(any(Map.class));
+                                                        .writeSurface(any(), anyList());
                                             })) {
 
                         final List<Proposition> list = new ArrayList<>();
@@ -543,7 +937,7 @@ public class MessagingCacheUtilitiesTests {
 
     @Test
     public void
-            testCachePropositionPayload_SetsCache_WhenIOExceptionOccursWhenClosingObjectOutputStream() {
+            testCachePropositionPayload_SetsCache_WhenIOExceptionOccursWhenClosingWriter() {
         runWithMockedServiceProvider(
                 () -> {
                     // setup
@@ -551,10 +945,11 @@ public class MessagingCacheUtilitiesTests {
                             .thenReturn(mockCacheResult);
                     when(mockCacheResult.getMetadata()).thenReturn(fakeMetaData);
                     when(mockCacheResult.getData()).thenReturn(propositionInputStream);
-                    try (MockedConstruction<ObjectOutputStream>
-                            objectOutputStreamMockedConstruction =
+                    when(mockCacheService.set(anyString(), anyString(), any())).thenReturn(true);
+                    try (MockedConstruction<PropositionCacheWriter>
+                            propositionCacheWriterMockedConstruction =
                                     Mockito.mockConstruction(
-                                            ObjectOutputStream.class,
+                                            PropositionCacheWriter.class,
                                             (mock, context) -> {
                                                 doThrow(new IOException()).when(mock).close();
                                             })) {
@@ -59,6 +59,7 @@ import com.adobe.marketing.mobile.services.caching.CacheService;
 import com.adobe.marketing.mobile.util.JSONUtils;
 import com.adobe.marketing.mobile.util.SerialWorkDispatcher;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -615,6 +616,46 @@ public class MessagingExtensionTests {
                 });
     }
 
+    @Test
+    public void
+            test_readyForEvent_when_eventReceived_and_cachedInAppRulesLoading_then_readyForEventIsFalse() {
+        // setup
+        runUsingMockedServiceProvider(
+                () -> {
+                    when(mockExtensionApi.getSharedState(
+                                    eq(
+                                            MessagingTestConstants.SharedState.Configuration
+                                                    .EXTENSION_NAME),
+                                    any(Event.class),
+                                    anyBoolean(),
+                                    any(SharedStateResolution.class)))
+                            .thenReturn(mockConfigData);
+                    when(mockExtensionApi.getXDMSharedState(
+                                    eq(
+                                            MessagingTestConstants.SharedState.EdgeIdentity
+                                                    .EXTENSION_NAME),
+                                    any(Event.class),
+                                    anyBoolean(),
+                                    any(SharedStateResolution.class)))
+                            .thenReturn(mockEdgeIdentityData);
+                    when(mockEdgePersonalizationResponseHandler.shouldHoldForCachedInAppRules(
+                                    any(Event.class)))
+                            .thenReturn(true);
+
+                    Event testEvent =
+                            new Event.Builder(
+                                            "Test event",
+                                            EventType.CONFIGURATION,
+                                            EventSource.RESPONSE_CONTENT)
+                                    .build();
+
+                    // verify
+                    assertFalse(messagingExtension.readyForEvent(testEvent));
+                    verify(mockEdgePersonalizationResponseHandler, times(0))
+                            .fetchPropositions(any(Event.class), any());
+                });
+    }
+
     // =================================================================================================================
     // handleWildcardEvents
     // =================================================================================================================
@@ -640,6 +681,61 @@ public class MessagingExtensionTests {
 
                     // verify rules engine processes event
                     verify(mockMessagingRulesEngine, times(1)).processEvent(eq(mockEvent));
+                    // verify content cards are qualified off the event hub thread
+                    verify(mockEdgePersonalizationResponseHandler, times(1))
+                            .qualifyContentCards(eq(mockEvent));
+                    verify(mockEdgePersonalizationResponseHandler, times(0))
+                            .addOrReplaceContentCards(any());
+                });
+    }
+
+    @Test
+    public void test_handleWildcardEvents_when_configurationResponseEventReceived() {
+        // setup
+        runUsingMockedServiceProvider(
+                () -> {
+                    Map<String, Object> configuration = new HashMap<>();
+                    configuration.put("messaging.contentCardQualificationWindowMs", 200L);
+                    Event testEvent =
+                            new Event.Builder(
+                                            "Configuration response",
+                                            EventType.CONFIGURATION,
+                                            EventSource.RESPONSE_CONTENT)
+                                    .setEventData(configuration)
+                                    .build();
+
+                    // test
+                    messagingExtension.handleWildcardEvents(testEvent);
+
+                    // verify
+                    verify(mockEdgePersonalizationResponseHandler, times(1))
+                            .setContentCardQualificationWindow(200L);
+                });
+    }
+
+    @Test
+    public void test_handleWildcardEvents_when_eventCannotMatchLoadedRules() {
+        // setup
+        runUsingMockedServiceProvider(
+                () -> {
+                    EventPrefilterIndex eventPrefilterIndex = new EventPrefilterIndex();
+                    eventPrefilterIndex.rebuild(Collections.<List<LaunchRule>>emptyList());
+                    when(mockEdgePersonalizationResponseHandler.getEventPrefilterIndex())
+                            .thenReturn(eventPrefilterIndex);
+                    Event testEvent =
+                            new Event.Builder(
+                                            "Test event",
+                                            EventType.GENERIC_TRACK,
+                                            EventSource.REQUEST_CONTENT)
+                                    .build();
+
+                    // test
+                    messagingExtension.handleWildcardEvents(testEvent);
+
+                    // verify rules are not evaluated for the event
+                    verify(mockMessagingRulesEngine, times(0)).processEvent(any());
+                    verify(mockEdgePersonalizationResponseHandler, times(0))
+                            .qualifyContentCards(any());
                 });
     }
 
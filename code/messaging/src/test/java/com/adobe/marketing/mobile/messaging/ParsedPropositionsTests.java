@@ -17,6 +17,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.json.JSONException;
 import org.junit.Assert;
 import org.junit.Before;
@@ -1111,4 +1113,133 @@ public class ParsedPropositionsTests {
                 parsedPropositions.surfaceRulesBySchemaType.get(SchemaType.UNKNOWN);
         Assert.assertNull(unknownRules);
     }
+
+    @Test
+    public void test_parsedPropositionConstructor_ParallelParseMatchesSerialParse()
+            throws MessageRequiredFieldMissingException {
+        // setup
+        ParsedRulesCache parsedRulesCache = new ParsedRulesCache();
+        List<Surface> surfaces = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            surfaces.add(Surface.fromUriString("mobileapp://mockPackageName/surface" + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // test
+        ParsedPropositions serialPropositions =
+                new ParsedPropositions(
+                        createMultiSurfacePropositions(surfaces),
+                        surfaces,
+                        mockExtensionApi,
+                        parsedRulesCache);
+        ParsedPropositions parallelPropositions =
+                new ParsedPropositions(
+                        createMultiSurfacePropositions(surfaces),
+                        surfaces,
+                        mockExtensionApi,
+                        parsedRulesCache,
+                        executor);
+        executor.shutdown();
+
+        // verify
+        assertSameParsedPropositions(serialPropositions, parallelPropositions);
+        Assert.assertEquals(8, parallelPropositions.propositionsToCache.size());
+        for (final Surface surface : surfaces) {
+            List<Proposition> cached = parallelPropositions.propositionsToCache.get(surface);
+            Assert.assertEquals(2, cached.size());
+            Assert.assertEquals(1, cached.get(0).getRank());
+            Assert.assertEquals(4, cached.get(1).getRank());
+        }
+    }
+
+    @Test
+    public void test_parsedPropositionConstructor_RejectingExecutorFallsBackToSerialParse()
+            throws MessageRequiredFieldMissingException {
+        // setup
+        ParsedRulesCache parsedRulesCache = new ParsedRulesCache();
+        List<Surface> surfaces = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            surfaces.add(Surface.fromUriString("mobileapp://mockPackageName/surface" + i));
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        // test
+        ParsedPropositions serialPropositions =
+                new ParsedPropositions(
+                        createMultiSurfacePropositions(surfaces),
+                        surfaces,
+                        mockExtensionApi,
+                        parsedRulesCache);
+        ParsedPropositions parallelPropositions =
+                new ParsedPropositions(
+                        createMultiSurfacePropositions(surfaces),
+                        surfaces,
+                        mockExtensionApi,
+                        parsedRulesCache,
+                        executor);
+
+        // verify
+        assertSameParsedPropositions(serialPropositions, parallelPropositions);
+        Assert.assertEquals(4, parallelPropositions.propositionsToCache.size());
+    }
+
+    @Test
+    public void test_getParsingExecutor_OnlyUsedForLargeResponses() {
+        // verify
+        Assert.assertNull(ParsedPropositions.getParsingExecutor(1));
+        Assert.assertNull(
+                ParsedPropositions.getParsingExecutor(
+                        MessagingConstants.PARALLEL_PARSING_MIN_SURFACES - 1));
+        Assert.assertNotNull(
+                ParsedPropositions.getParsingExecutor(
+                        MessagingConstants.PARALLEL_PARSING_MIN_SURFACES));
+    }
+
+    private Map<Surface, List<Proposition>> createMultiSurfacePropositions(
+            final List<Surface> surfaces) throws MessageRequiredFieldMissingException {
+        final Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        for (final Surface surface : surfaces) {
+            // propositions are added out of rank order
+            final List<Proposition> surfacePropositions = new ArrayList<>();
+            surfacePropositions.add(
+                    createRankedProposition(
+                            surface, 4, SchemaType.JSON_CONTENT, mockCodeBasedContent));
+            surfacePropositions.add(
+                    createRankedProposition(
+                            surface, 3, SchemaType.RULESET, mockContentCardContent));
+            surfacePropositions.add(
+                    createRankedProposition(surface, 1, SchemaType.INBOX, mockInboxContent));
+            surfacePropositions.add(
+                    createRankedProposition(
+                            surface, 2, SchemaType.RULESET, inappPropositionContent));
+            propositions.put(surface, surfacePropositions);
+        }
+        return propositions;
+    }
+
+    private Proposition createRankedProposition(
+            final Surface surface,
+            final int rank,
+            final SchemaType schemaType,
+            final Map<String, Object> content)
+            throws MessageRequiredFieldMissingException {
+        final Map<String, Object> activity = new HashMap<>();
+        activity.put("id", surface.getUri() + "#" + rank);
+        final Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("rank", rank);
+        scopeDetails.put("activity", activity);
+        final List<PropositionItem> items = new ArrayList<>();
+        items.add(new PropositionItem("item" + rank, schemaType, content));
+        return new Proposition("proposition" + rank, surface.getUri(), scopeDetails, items);
+    }
+
+    private void assertSameParsedPropositions(
+            final ParsedPropositions expected, final ParsedPropositions actual) {
+        Assert.assertEquals(expected.propositionsToCache, actual.propositionsToCache);
+        Assert.assertEquals(expected.propositionsToPersist, actual.propositionsToPersist);
+        Assert.assertEquals(
+                expected.propositionInfoToCache.keySet(), actual.propositionInfoToCache.keySet());
+        Assert.assertEquals(expected.surfaceRulesBySchemaType, actual.surfaceRulesBySchemaType);
+    }
 }
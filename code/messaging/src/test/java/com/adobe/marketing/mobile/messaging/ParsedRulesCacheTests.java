@@ -0,0 +1,157 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ParsedRulesCacheTests {
+
+    @Mock private ExtensionApi mockExtensionApi;
+
+    private ParsedRulesCache parsedRulesCache;
+    private Map<String, Object> inAppRulesetContent;
+
+    @Before
+    public void setup() {
+        parsedRulesCache = new ParsedRulesCache();
+        inAppRulesetContent = MessagingTestUtils.getMapFromFile("inappPropositionV2Content.json");
+    }
+
+    @Test
+    public void test_getOrParse_NullItemData() {
+        // test
+        List<LaunchRule> rules = parsedRulesCache.getOrParse(null, mockExtensionApi);
+
+        // verify
+        assertNull(rules);
+        assertEquals(0, parsedRulesCache.getHitCount());
+        assertEquals(0, parsedRulesCache.getMissCount());
+    }
+
+    @Test
+    public void test_getOrParse_FirstLookupIsMiss() {
+        // test
+        List<LaunchRule> rules = parsedRulesCache.getOrParse(inAppRulesetContent, mockExtensionApi);
+
+        // verify
+        assertNotNull(rules);
+        assertEquals(1, rules.size());
+        assertEquals(0, parsedRulesCache.getHitCount());
+        assertEquals(1, parsedRulesCache.getMissCount());
+        assertEquals(1, parsedRulesCache.size());
+    }
+
+    @Test
+    public void test_getOrParse_IdenticalContentIsHit() {
+        try (MockedStatic<JSONRulesParser> jsonRulesParserMockedStatic =
+                Mockito.mockStatic(JSONRulesParser.class)) {
+            // setup
+            when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class))).thenCallRealMethod();
+            Map<String, Object> identicalContent =
+                    MessagingTestUtils.getMapFromFile("inappPropositionV2Content.json");
+
+            // test
+            List<LaunchRule> firstRules =
+                    parsedRulesCache.getOrParse(inAppRulesetContent, mockExtensionApi);
+            List<LaunchRule> secondRules =
+                    parsedRulesCache.getOrParse(identicalContent, mockExtensionApi);
+
+            // verify
+            assertSame(firstRules, secondRules);
+            jsonRulesParserMockedStatic.verify(
+                    () -> JSONRulesParser.parse(anyString(), any(ExtensionApi.class)), times(1));
+            assertEquals(1, parsedRulesCache.getHitCount());
+            assertEquals(1, parsedRulesCache.getMissCount());
+        }
+    }
+
+    @Test
+    public void test_getOrParse_ChangedContentIsMiss() {
+        try (MockedStatic<JSONRulesParser> jsonRulesParserMockedStatic =
+                Mockito.mockStatic(JSONRulesParser.class)) {
+            // setup
+            when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class))).thenCallRealMethod();
+            Map<String, Object> changedContent =
+                    MessagingTestUtils.getMapFromFile("inappPropositionV2Content.json");
+            changedContent.put("version", 2);
+
+            // test
+            parsedRulesCache.getOrParse(inAppRulesetContent, mockExtensionApi);
+            parsedRulesCache.getOrParse(changedContent, mockExtensionApi);
+
+            // verify
+            jsonRulesParserMockedStatic.verify(
+                    () -> JSONRulesParser.parse(anyString(), any(ExtensionApi.class)), times(2));
+            assertEquals(0, parsedRulesCache.getHitCount());
+            assertEquals(2, parsedRulesCache.getMissCount());
+            assertEquals(2, parsedRulesCache.size());
+        }
+    }
+
+    @Test
+    public void test_getOrParse_UnparseableContentIsCached() {
+        try (MockedStatic<JSONRulesParser> jsonRulesParserMockedStatic =
+                Mockito.mockStatic(JSONRulesParser.class)) {
+            // setup
+            when(JSONRulesParser.parse(anyString(), any(ExtensionApi.class))).thenReturn(null);
+
+            // test
+            List<LaunchRule> firstRules =
+                    parsedRulesCache.getOrParse(inAppRulesetContent, mockExtensionApi);
+            List<LaunchRule> secondRules =
+                    parsedRulesCache.getOrParse(inAppRulesetContent, mockExtensionApi);
+
+            // verify
+            assertNull(firstRules);
+            assertNull(secondRules);
+            jsonRulesParserMockedStatic.verify(
+                    () -> JSONRulesParser.parse(anyString(), any(ExtensionApi.class)), times(1));
+            assertEquals(1, parsedRulesCache.getHitCount());
+        }
+    }
+
+    @Test
+    public void test_clear() {
+        // setup
+        parsedRulesCache.getOrParse(inAppRulesetContent, mockExtensionApi);
+        parsedRulesCache.getOrParse(inAppRulesetContent, mockExtensionApi);
+
+        // test
+        parsedRulesCache.clear();
+
+        // verify
+        assertEquals(0, parsedRulesCache.size());
+        assertEquals(0, parsedRulesCache.getHitCount());
+        assertEquals(0, parsedRulesCache.getMissCount());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class PropositionCacheManifestTests {
+
+    private byte[] write(final PropositionCacheManifest manifest) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        manifest.write(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Test
+    public void test_read_RoundTripsSurfacesAndDigests() throws Exception {
+        // setup
+        PropositionCacheManifest manifest = new PropositionCacheManifest();
+        manifest.put("mobileapp://mockPackageName/one", "digestOne");
+        manifest.put("mobileapp://mockPackageName/two", "digestTwo");
+
+        // test
+        PropositionCacheManifest result =
+                PropositionCacheManifest.read(new ByteArrayInputStream(write(manifest)));
+
+        // verify
+        assertEquals(manifest, result);
+        assertTrue(result.hasDigest("mobileapp://mockPackageName/one", "digestOne"));
+        assertFalse(result.hasDigest("mobileapp://mockPackageName/two", "digestOne"));
+    }
+
+    @Test
+    public void test_hasManifestHeader() throws Exception {
+        // setup
+        InputStream manifest = new ByteArrayInputStream(write(new PropositionCacheManifest()));
+        InputStream serialized = new ByteArrayInputStream(new byte[] {(byte) 0xAC, (byte) 0xED});
+
+        // test and verify the header is not consumed
+        assertTrue(PropositionCacheManifest.hasManifestHeader(manifest));
+        assertTrue(PropositionCacheManifest.hasManifestHeader(manifest));
+        assertFalse(PropositionCacheManifest.hasManifestHeader(serialized));
+    }
+
+    @Test
+    public void test_read_TruncatedData_Throws() throws Exception {
+        // setup
+        PropositionCacheManifest manifest = new PropositionCacheManifest();
+        manifest.put("mobileapp://mockPackageName/one", "digestOne");
+        byte[] bytes = write(manifest);
+
+        // test
+        try {
+            PropositionCacheManifest.read(
+                    new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+            fail("Expected an IOException");
+        } catch (IOException exception) {
+            // verify the missing digest is detected
+        }
+    }
+
+    @Test
+    public void test_hasDigest_EmptyDigestIsNeverMatched() {
+        // setup
+        PropositionCacheManifest manifest = new PropositionCacheManifest();
+        manifest.put("mobileapp://mockPackageName/one", "");
+
+        // test and verify
+        assertFalse(manifest.hasDigest("mobileapp://mockPackageName/one", ""));
+    }
+
+    @Test
+    public void test_shardKey_DiffersPerSurfaceAndDigest() {
+        // test and verify
+        assertNotEquals(
+                PropositionCacheManifest.shardKey("mobileapp://mockPackageName/one", "digest"),
+                PropositionCacheManifest.shardKey("mobileapp://mockPackageName/two", "digest"));
+        assertNotEquals(
+                PropositionCacheManifest.shardKey("mobileapp://mockPackageName/one", "digest"),
+                PropositionCacheManifest.shardKey("mobileapp://mockPackageName/one", "other"));
+    }
+}
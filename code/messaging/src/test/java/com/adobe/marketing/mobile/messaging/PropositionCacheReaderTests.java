@@ -0,0 +1,193 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class PropositionCacheReaderTests {
+
+    private final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/one");
+    private final Surface otherSurface = Surface.fromUriString("mobileapp://mockPackageName/two");
+
+    private Proposition createProposition(final String id, final Map<String, Object> itemData)
+            throws MessageRequiredFieldMissingException {
+        Map<String, Object> activity = new HashMap<>();
+        activity.put("id", "activityId_" + id);
+        Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("decisionProvider", "AJO");
+        scopeDetails.put("activity", activity);
+        PropositionItem item = new PropositionItem("item_" + id, SchemaType.JSON_CONTENT, itemData);
+        return new Proposition(id, surface.getUri(), scopeDetails, Collections.singletonList(item));
+    }
+
+    private byte[] write(final Map<Surface, List<Proposition>> propositions) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (PropositionCacheWriter writer = new PropositionCacheWriter(outputStream)) {
+            for (Map.Entry<Surface, List<Proposition>> entry : propositions.entrySet()) {
+                writer.writeSurface(entry.getKey(), entry.getValue());
+            }
+            writer.finish();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private Map<Surface, List<Proposition>> read(final byte[] bytes) throws IOException {
+        try (PropositionCacheReader reader =
+                new PropositionCacheReader(new ByteArrayInputStream(bytes))) {
+            return reader.readAll();
+        }
+    }
+
+    @Test
+    public void test_readAll_RoundTripsAllValueTypes() throws Exception {
+        // setup
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("list", Arrays.asList("a", 1, null, Collections.singletonMap("k", false)));
+        Map<String, Object> itemData = new HashMap<>();
+        itemData.put("string", "välue");
+        itemData.put("true", true);
+        itemData.put("false", false);
+        itemData.put("int", -42);
+        itemData.put("maxInt", Integer.MAX_VALUE);
+        itemData.put("long", Long.MIN_VALUE);
+        itemData.put("float", 1.5f);
+        itemData.put("double", 2.25d);
+        itemData.put("null", null);
+        itemData.put("map", nested);
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(surface, Collections.singletonList(createProposition("one", itemData)));
+
+        // test
+        Map<Surface, List<Proposition>> result = read(write(propositions));
+
+        // verify
+        assertEquals(1, result.size());
+        Proposition proposition = result.get(surface).get(0);
+        assertEquals("one", proposition.getUniqueId());
+        assertEquals(surface.getUri(), proposition.getScope());
+        assertEquals(
+                propositions.get(surface).get(0).getScopeDetails(),
+                proposition.getScopeDetails());
+        PropositionItem item = proposition.getItems().get(0);
+        assertEquals("item_one", item.getItemId());
+        assertEquals(SchemaType.JSON_CONTENT, item.getSchema());
+        assertEquals(itemData, item.getItemData());
+        assertSame(proposition, item.getProposition());
+    }
+
+    @Test
+    public void test_nextSurface_StreamsSurfacesInWrittenOrder() throws Exception {
+        // setup
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (PropositionCacheWriter writer = new PropositionCacheWriter(outputStream)) {
+            writer.writeSurface(
+                    surface,
+                    Collections.singletonList(
+                            createProposition("one", Collections.singletonMap("k", "v"))));
+            writer.writeSurface(
+                    otherSurface,
+                    Arrays.asList(
+                            createProposition("two", Collections.singletonMap("k", "v")),
+                            createProposition("three", Collections.singletonMap("k", "v"))));
+            writer.finish();
+        }
+
+        // test
+        try (PropositionCacheReader reader =
+                new PropositionCacheReader(
+                        new ByteArrayInputStream(outputStream.toByteArray()))) {
+            // verify
+            assertSame(surface, reader.nextSurface());
+            assertEquals(1, reader.readPropositions().size());
+            assertSame(otherSurface, reader.nextSurface());
+            List<Proposition> propositions = reader.readPropositions();
+            assertEquals(2, propositions.size());
+            assertEquals("three", propositions.get(1).getUniqueId());
+            assertNull(reader.nextSurface());
+        }
+    }
+
+    @Test
+    public void test_hasCacheHeader() throws Exception {
+        // setup
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(
+                surface,
+                Collections.singletonList(
+                        createProposition("one", Collections.singletonMap("k", "v"))));
+        InputStream cache = new ByteArrayInputStream(write(propositions));
+        InputStream serialized = new ByteArrayInputStream(new byte[] {(byte) 0xAC, (byte) 0xED});
+
+        // test and verify the header is not consumed
+        assertTrue(PropositionCacheReader.hasCacheHeader(cache));
+        assertTrue(PropositionCacheReader.hasCacheHeader(cache));
+        assertFalse(PropositionCacheReader.hasCacheHeader(serialized));
+    }
+
+    @Test
+    public void test_constructor_UnsupportedVersion_Throws() throws Exception {
+        // setup
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(PropositionCacheFormat.MAGIC);
+        dataOutputStream.writeByte(PropositionCacheFormat.VERSION + 1);
+        dataOutputStream.writeByte(PropositionCacheFormat.RECORD_END);
+
+        // test
+        try {
+            read(outputStream.toByteArray());
+            fail("Expected an IOException");
+        } catch (IOException exception) {
+            // verify
+            assertTrue(exception.getMessage().contains("version"));
+        }
+    }
+
+    @Test
+    public void test_readAll_TruncatedData_Throws() throws Exception {
+        // setup
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(
+                surface,
+                Collections.singletonList(
+                        createProposition("one", Collections.singletonMap("k", "v"))));
+        byte[] bytes = write(propositions);
+
+        // test
+        try {
+            read(Arrays.copyOf(bytes, bytes.length - 1));
+            fail("Expected an IOException");
+        } catch (IOException exception) {
+            // verify the missing end record is detected
+        }
+    }
+}
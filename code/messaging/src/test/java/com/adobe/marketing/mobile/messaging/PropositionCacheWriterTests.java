@@ -0,0 +1,126 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class PropositionCacheWriterTests {
+
+    private final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/one");
+
+    private List<Proposition> createPropositions(final int count)
+            throws MessageRequiredFieldMissingException {
+        List<Proposition> propositions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> activity = new HashMap<>();
+            activity.put("id", "activityId" + i);
+            Map<String, Object> scopeDetails = new HashMap<>();
+            scopeDetails.put("decisionProvider", "AJO");
+            scopeDetails.put("activity", activity);
+            Map<String, Object> itemData = new HashMap<>();
+            itemData.put("content", "content" + i);
+            itemData.put("contentType", "text/plain");
+            PropositionItem item =
+                    new PropositionItem("item" + i, SchemaType.JSON_CONTENT, itemData);
+            propositions.add(
+                    new Proposition(
+                            "proposition" + i,
+                            surface.getUri(),
+                            scopeDetails,
+                            Collections.singletonList(item)));
+        }
+        return propositions;
+    }
+
+    @Test
+    public void test_writeSurface_WritesHeaderAndEndRecord() throws Exception {
+        // setup
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // test
+        try (PropositionCacheWriter writer = new PropositionCacheWriter(outputStream)) {
+            writer.finish();
+        }
+
+        // verify
+        DataInputStream inputStream =
+                new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals(PropositionCacheFormat.MAGIC, inputStream.readInt());
+        assertEquals(PropositionCacheFormat.VERSION, inputStream.readUnsignedByte());
+        assertEquals(PropositionCacheFormat.RECORD_END, inputStream.readUnsignedByte());
+        assertEquals(-1, inputStream.read());
+    }
+
+    @Test
+    public void test_writeSurface_SmallerThanJavaSerialization() throws Exception {
+        // setup
+        List<Proposition> propositions = createPropositions(20);
+        Map<Surface, List<Proposition>> propositionMap = new HashMap<>();
+        propositionMap.put(surface, propositions);
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(serialized)) {
+            objectOutputStream.writeObject(propositionMap);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // test
+        try (PropositionCacheWriter writer = new PropositionCacheWriter(outputStream)) {
+            writer.writeSurface(surface, propositions);
+            writer.finish();
+        }
+
+        // verify
+        assertTrue(outputStream.size() < serialized.size() / 2);
+    }
+
+    @Test
+    public void test_writeSurface_UnsupportedValueType_Throws() throws Exception {
+        // setup
+        Map<String, Object> itemData = new HashMap<>();
+        itemData.put("unsupported", new Object());
+        Map<String, Object> scopeDetails = Collections.singletonMap("decisionProvider", "AJO");
+        Proposition proposition =
+                new Proposition(
+                        "proposition",
+                        surface.getUri(),
+                        scopeDetails,
+                        Collections.singletonList(
+                                new PropositionItem("item", SchemaType.JSON_CONTENT, itemData)));
+
+        // test
+        try (PropositionCacheWriter writer =
+                new PropositionCacheWriter(new ByteArrayOutputStream())) {
+            writer.writeSurface(surface, Collections.singletonList(proposition));
+            fail("Expected an IOException");
+        } catch (IOException exception) {
+            // verify
+            assertTrue(exception.getMessage().contains("java.lang.Object"));
+        }
+    }
+}
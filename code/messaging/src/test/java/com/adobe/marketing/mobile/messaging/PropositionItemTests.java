@@ -12,8 +12,10 @@
 package com.adobe.marketing.mobile.messaging;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
@@ -34,6 +36,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import org.json.JSONException;
 import org.junit.After;
 import org.junit.Before;
@@ -931,6 +934,21 @@ public class PropositionItemTests {
         assertEquals(jsonContentMap.get("content"), jsonContent);
     }
 
+    @Test
+    public void test_getJsonContentMap_returnsCopyOfItemData()
+            throws MessageRequiredFieldMissingException {
+        // setup
+        PropositionItem propositionItem =
+                new PropositionItem(testId, SchemaType.JSON_CONTENT, jsonContentMap);
+
+        // test
+        propositionItem.getJsonContentMap().clear();
+
+        // verify
+        assertEquals(jsonContentMap.get("content"), propositionItem.getJsonContentMap());
+        assertFalse(((Map<String, Object>) jsonContentMap.get("content")).isEmpty());
+    }
+
     @Test
     public void test_getJsonContentMap_emptyItemData() throws MessageRequiredFieldMissingException {
         // test
@@ -1135,4 +1153,93 @@ public class PropositionItemTests {
         List<LaunchRule> rules = JSONRulesParser.parse(rulesJson, mockExtensionApi);
         return rules.get(0).getConsequenceList();
     }
+
+    // schema data memoization tests
+    @Test
+    public void test_getSchemaData_decodedOnceAndReused()
+            throws MessageRequiredFieldMissingException {
+        // setup
+        PropositionItem propositionItem =
+                new PropositionItem(testId, SchemaType.HTML_CONTENT, htmlContentMap);
+
+        // test
+        SchemaData firstSchemaData = propositionItem.getSchemaData();
+        String htmlContent = propositionItem.getHtmlContent();
+
+        // verify
+        assertNotNull(firstSchemaData);
+        assertSame(firstSchemaData, propositionItem.getSchemaData());
+        assertEquals(((HtmlContentSchemaData) firstSchemaData).getContent(), htmlContent);
+    }
+
+    @Test
+    public void test_getContentCardSchemaData_reusedWithParent()
+            throws MessageRequiredFieldMissingException {
+        // setup
+        String rulesJson =
+                MessagingTestUtils.loadStringFromFile("contentCardPropositionContent.json");
+        List<RuleConsequence> ruleConsequences = parseRuleConsequence(rulesJson);
+        PropositionItem propositionItem =
+                PropositionItem.fromRuleConsequence(ruleConsequences.get(0));
+
+        // test
+        ContentCardSchemaData schemaData = propositionItem.getContentCardSchemaData();
+
+        // verify
+        assertNotNull(schemaData);
+        assertSame(propositionItem, schemaData.parent);
+        assertSame(schemaData, propositionItem.getContentCardSchemaData());
+    }
+
+    @Test
+    public void test_getSchemaData_mismatchedTypedGetterReturnsNull()
+            throws MessageRequiredFieldMissingException {
+        // setup
+        PropositionItem propositionItem =
+                new PropositionItem(testId, SchemaType.HTML_CONTENT, htmlContentMap);
+        propositionItem.getHtmlContent();
+
+        // verify
+        assertNull(propositionItem.getJsonContentMap());
+        assertNull(propositionItem.getInAppSchemaData());
+        assertNull(propositionItem.getContentCardSchemaData());
+    }
+
+    @Test
+    public void test_getSchemaData_concurrentAccessDecodesOnce() throws Exception {
+        // setup
+        final PropositionItem propositionItem =
+                new PropositionItem(testId, SchemaType.JSON_CONTENT, jsonContentMap);
+        final int threadCount = 8;
+        final SchemaData[] results = new SchemaData[threadCount];
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            final Thread thread =
+                    new Thread(
+                            () -> {
+                                try {
+                                    startLatch.await();
+                                } catch (InterruptedException ignored) {
+                                    return;
+                                }
+                                results[index] = propositionItem.getSchemaData();
+                            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // test
+        startLatch.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // verify
+        assertNotNull(results[0]);
+        for (final SchemaData result : results) {
+            assertSame(results[0], result);
+        }
+    }
 }
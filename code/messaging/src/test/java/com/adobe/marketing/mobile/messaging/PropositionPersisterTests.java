@@ -0,0 +1,203 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class PropositionPersisterTests {
+
+    @Mock private ScheduledExecutorService mockExecutor;
+    @Mock private MessagingCacheUtilities mockMessagingCacheUtilities;
+    @Mock private Proposition mockProposition;
+    @Mock private Proposition mockOtherProposition;
+
+    private final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/one");
+    private final Surface otherSurface = Surface.fromUriString("mobileapp://mockPackageName/two");
+    private PropositionPersister propositionPersister;
+
+    @Before
+    public void setup() {
+        propositionPersister = new PropositionPersister(mockMessagingCacheUtilities, mockExecutor);
+    }
+
+    @Test
+    public void test_persist_SchedulesOneWriteForBackToBackUpdates() {
+        // test
+        propositionPersister.persist(
+                Collections.singletonMap(surface, Collections.singletonList(mockProposition)),
+                Collections.<Surface>emptyList());
+        propositionPersister.persist(
+                Collections.singletonMap(otherSurface, Collections.singletonList(mockProposition)),
+                Collections.<Surface>emptyList());
+
+        // verify the write is deferred off the calling thread
+        verify(mockExecutor, times(1))
+                .schedule(
+                        any(Runnable.class),
+                        eq(MessagingConstants.PROPOSITION_PERSISTENCE_DELAY_MS),
+                        eq(TimeUnit.MILLISECONDS));
+        verify(mockMessagingCacheUtilities, never()).cachePropositions(anyMap(), anyList());
+        assertTrue(propositionPersister.hasPendingUpdates());
+    }
+
+    @Test
+    public void test_flush_WritesCoalescedUpdatesOnce() {
+        // setup
+        propositionPersister.persist(
+                Collections.singletonMap(surface, Collections.singletonList(mockProposition)),
+                Collections.<Surface>emptyList());
+        propositionPersister.persist(
+                Collections.singletonMap(otherSurface, Collections.singletonList(mockProposition)),
+                Collections.<Surface>emptyList());
+        propositionPersister.persist(
+                Collections.singletonMap(surface, Collections.singletonList(mockOtherProposition)),
+                Collections.<Surface>emptyList());
+
+        // test
+        captureScheduledWrite().run();
+
+        // verify the latest propositions of each surface are written in a single update
+        Map<Surface, List<Proposition>> propositions = captureCachedPropositions().getValue();
+        assertEquals(2, propositions.size());
+        assertSame(mockOtherProposition, propositions.get(surface).get(0));
+        assertSame(mockProposition, propositions.get(otherSurface).get(0));
+        assertFalse(propositionPersister.hasPendingUpdates());
+    }
+
+    @Test
+    public void test_flush_LatestUpdateOfSurfaceWins() {
+        // setup
+        propositionPersister.persist(
+                Collections.singletonMap(surface, Collections.singletonList(mockProposition)),
+                Collections.<Surface>emptyList());
+        propositionPersister.persist(
+                new HashMap<Surface, List<Proposition>>(), Collections.singletonList(surface));
+        propositionPersister.persist(
+                Collections.singletonMap(otherSurface, Collections.singletonList(mockProposition)),
+                Collections.singletonList(otherSurface));
+        propositionPersister.persist(
+                Collections.singletonMap(otherSurface, Collections.singletonList(mockProposition)),
+                Collections.<Surface>emptyList());
+
+        // test
+        propositionPersister.flush();
+
+        // verify
+        ArgumentCaptor<List<Surface>> surfacesToRemoveCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Map<Surface, List<Proposition>>> propositionsCaptor =
+                ArgumentCaptor.forClass(Map.class);
+        verify(mockMessagingCacheUtilities, times(1))
+                .cachePropositions(propositionsCaptor.capture(), surfacesToRemoveCaptor.capture());
+        assertEquals(Collections.singleton(otherSurface), propositionsCaptor.getValue().keySet());
+        assertEquals(Collections.singletonList(surface), surfacesToRemoveCaptor.getValue());
+    }
+
+    @Test
+    public void test_flush_NoPendingUpdates_DoesNotWrite() {
+        // test
+        propositionPersister.flush();
+
+        // verify
+        verify(mockMessagingCacheUtilities, never()).cachePropositions(anyMap(), anyList());
+    }
+
+    @Test
+    public void test_persist_AfterFlush_SchedulesNewWrite() {
+        // setup
+        propositionPersister.persist(
+                Collections.singletonMap(surface, Collections.singletonList(mockProposition)),
+                Collections.<Surface>emptyList());
+        propositionPersister.flush();
+
+        // test
+        propositionPersister.persist(
+                new HashMap<Surface, List<Proposition>>(), Collections.singletonList(surface));
+
+        // verify
+        verify(mockExecutor, times(2)).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    public void test_persist_ExecutorRejects_WritesOnCallingThread() {
+        // setup
+        when(mockExecutor.schedule(any(Runnable.class), anyLong(), any()))
+                .thenThrow(new RejectedExecutionException());
+
+        // test
+        propositionPersister.persist(
+                Collections.singletonMap(surface, Collections.singletonList(mockProposition)),
+                Collections.<Surface>emptyList());
+
+        // verify
+        verify(mockMessagingCacheUtilities, times(1)).cachePropositions(anyMap(), anyList());
+        assertFalse(propositionPersister.hasPendingUpdates());
+    }
+
+    @Test
+    public void test_flush_CacheThrows_ExceptionHandled() {
+        // setup
+        doThrow(new IllegalStateException("failed"))
+                .when(mockMessagingCacheUtilities)
+                .cachePropositions(anyMap(), anyList());
+        propositionPersister.persist(
+                Collections.singletonMap(surface, Collections.singletonList(mockProposition)),
+                Collections.<Surface>emptyList());
+
+        // test
+        propositionPersister.flush();
+
+        // verify
+        assertFalse(propositionPersister.hasPendingUpdates());
+    }
+
+    private Runnable captureScheduledWrite() {
+        ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockExecutor).schedule(runnableCaptor.capture(), anyLong(), any());
+        return runnableCaptor.getValue();
+    }
+
+    private ArgumentCaptor<Map<Surface, List<Proposition>>> captureCachedPropositions() {
+        ArgumentCaptor<Map<Surface, List<Proposition>>> propositionsCaptor =
+                ArgumentCaptor.forClass(Map.class);
+        verify(mockMessagingCacheUtilities, times(1))
+                .cachePropositions(propositionsCaptor.capture(), anyList());
+        return propositionsCaptor;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class PropositionStoreTests {
+
+    @Mock private Proposition mockProposition;
+    @Mock private Proposition mockOtherProposition;
+    @Mock private LaunchRule mockRule;
+
+    private PropositionStore propositionStore;
+    private Surface surface;
+    private Surface otherSurface;
+
+    @Before
+    public void setup() {
+        propositionStore = new PropositionStore();
+        surface = Surface.fromUriString("mobileapp://mockPackageName/one");
+        otherSurface = Surface.fromUriString("mobileapp://mockPackageName/two");
+    }
+
+    @Test
+    public void test_current_InitiallyEmpty() {
+        // test
+        PropositionStore.Generation generation = propositionStore.current();
+
+        // verify
+        assertEquals(0, generation.getVersion());
+        assertTrue(generation.getPropositions().isEmpty());
+        assertTrue(generation.getContentCards().isEmpty());
+        assertTrue(generation.getPropositionInfo().isEmpty());
+        assertTrue(generation.getRules(SchemaType.INAPP).isEmpty());
+    }
+
+    @Test
+    public void test_updatePropositions_PublishesNewGeneration() {
+        // setup
+        PropositionStore.Generation previous = propositionStore.current();
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(surface, new ArrayList<>(Arrays.asList(mockProposition)));
+
+        // test
+        PropositionStore.Generation generation =
+                propositionStore.updatePropositions(propositions, null);
+
+        // verify
+        assertEquals(1, generation.getVersion());
+        assertSame(generation, propositionStore.current());
+        assertEquals(Arrays.asList(mockProposition), generation.getPropositions().get(surface));
+        assertTrue(previous.getPropositions().isEmpty());
+        assertTrue(propositionStore.changedSince(previous.getVersion()));
+        assertFalse(propositionStore.changedSince(generation.getVersion()));
+    }
+
+    @Test
+    public void test_updatePropositions_NotAffectedByLaterChangesToInput() {
+        // setup
+        List<Proposition> propositionList = new ArrayList<>(Arrays.asList(mockProposition));
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(surface, propositionList);
+
+        // test
+        PropositionStore.Generation generation =
+                propositionStore.updatePropositions(propositions, null);
+        propositionList.add(mockOtherProposition);
+        propositions.put(otherSurface, propositionList);
+
+        // verify
+        assertEquals(1, generation.getPropositions().size());
+        assertEquals(1, generation.getPropositions().get(surface).size());
+    }
+
+    @Test
+    public void test_updatePropositions_RemovesSurfaces() {
+        // setup
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(surface, Arrays.asList(mockProposition));
+        propositions.put(otherSurface, Arrays.asList(mockOtherProposition));
+        propositionStore.updatePropositions(propositions, null);
+
+        // test
+        PropositionStore.Generation generation =
+                propositionStore.updatePropositions(
+                        Collections.<Surface, List<Proposition>>emptyMap(),
+                        Collections.singletonList(otherSurface));
+
+        // verify
+        assertEquals(2, generation.getVersion());
+        assertEquals(1, generation.getPropositions().size());
+        assertNull(generation.getPropositions().get(otherSurface));
+    }
+
+    @Test
+    public void test_updatePropositions_NoChanges_DoesNotPublish() {
+        // test
+        PropositionStore.Generation generation =
+                propositionStore.updatePropositions(
+                        Collections.<Surface, List<Proposition>>emptyMap(),
+                        Collections.singletonList(surface));
+
+        // verify
+        assertEquals(0, generation.getVersion());
+        assertFalse(propositionStore.changedSince(0));
+    }
+
+    @Test
+    public void test_generation_IsReadOnly() {
+        // setup
+        Map<Surface, List<Proposition>> contentCards = new HashMap<>();
+        contentCards.put(surface, new ArrayList<>(Arrays.asList(mockProposition)));
+        PropositionStore.Generation generation =
+                propositionStore.updateContentCards(contentCards, null);
+
+        // test
+        try {
+            generation.getContentCards().get(surface).add(mockOtherProposition);
+            fail("Expected the content card list to be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+        try {
+            generation.getContentCards().remove(surface);
+            fail("Expected the content card map to be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_replaceContentCards_KeepsOtherData() {
+        // setup
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(surface, Arrays.asList(mockProposition));
+        propositionStore.updatePropositions(propositions, null);
+        Map<Surface, List<Proposition>> contentCards = new HashMap<>();
+        contentCards.put(otherSurface, Arrays.asList(mockOtherProposition));
+
+        // test
+        PropositionStore.Generation generation = propositionStore.replaceContentCards(contentCards);
+
+        // verify
+        assertEquals(2, generation.getVersion());
+        assertEquals(Arrays.asList(mockProposition), generation.getPropositions().get(surface));
+        assertEquals(
+                Arrays.asList(mockOtherProposition),
+                generation.getContentCards().get(otherSurface));
+    }
+
+    @Test
+    public void test_updatePropositionInfo_RemovesByScope() {
+        // setup
+        PropositionInfo info = createPropositionInfo("id", surface);
+        PropositionInfo otherInfo = createPropositionInfo("otherId", otherSurface);
+        Map<String, PropositionInfo> propositionInfo = new HashMap<>();
+        propositionInfo.put("item", info);
+        propositionInfo.put("otherItem", otherInfo);
+        propositionStore.updatePropositionInfo(propositionInfo, null);
+
+        // test
+        PropositionStore.Generation generation =
+                propositionStore.updatePropositionInfo(
+                        null, Collections.singleton(otherSurface.getUri()));
+
+        // verify
+        assertEquals(2, generation.getVersion());
+        assertEquals(1, generation.getPropositionInfo().size());
+        assertSame(info, generation.getPropositionInfo().get("item"));
+    }
+
+    @Test
+    public void test_replaceRules_KeepsOtherSchemaTypes() {
+        // setup
+        Map<Surface, List<LaunchRule>> inAppRules = new HashMap<>();
+        inAppRules.put(surface, Arrays.asList(mockRule));
+        Map<SchemaType, Map<Surface, List<LaunchRule>>> rules = new HashMap<>();
+        rules.put(SchemaType.INAPP, inAppRules);
+        propositionStore.replaceRules(rules);
+        Map<SchemaType, Map<Surface, List<LaunchRule>>> contentCardRules = new HashMap<>();
+        contentCardRules.put(SchemaType.CONTENT_CARD, new HashMap<Surface, List<LaunchRule>>());
+
+        // test
+        PropositionStore.Generation generation = propositionStore.replaceRules(contentCardRules);
+
+        // verify
+        assertEquals(2, generation.getVersion());
+        assertEquals(Arrays.asList(mockRule), generation.getRules(SchemaType.INAPP).get(surface));
+        assertTrue(generation.getRules(SchemaType.CONTENT_CARD).isEmpty());
+    }
+
+    @Test
+    public void test_getEventData_ConvertsOncePerProposition() {
+        // setup
+        when(mockProposition.toEventData())
+                .thenReturn(new HashMap<>(Collections.singletonMap("id", "propositionId")));
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(surface, Arrays.asList(mockProposition));
+        PropositionStore.Generation generation =
+                propositionStore.updatePropositions(propositions, null);
+
+        // test
+        Map<String, Object> eventData = generation.getEventData(mockProposition);
+
+        // verify
+        assertSame(eventData, generation.getEventData(mockProposition));
+        assertEquals("propositionId", eventData.get("id"));
+        verify(mockProposition, times(1)).toEventData();
+        try {
+            eventData.put("id", "otherId");
+            fail("event data should be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_getEventData_KeptForPropositionsStillInLaterGenerations() {
+        // setup
+        when(mockProposition.toEventData()).thenReturn(new HashMap<String, Object>());
+        when(mockOtherProposition.toEventData()).thenReturn(new HashMap<String, Object>());
+        Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(surface, Arrays.asList(mockProposition));
+        propositions.put(otherSurface, Arrays.asList(mockOtherProposition));
+        PropositionStore.Generation previous =
+                propositionStore.updatePropositions(propositions, null);
+        Map<String, Object> eventData = previous.getEventData(mockProposition);
+        previous.getEventData(mockOtherProposition);
+        Map<Surface, List<Proposition>> contentCards = new HashMap<>();
+        contentCards.put(surface, Arrays.asList(mockProposition));
+
+        // test
+        propositionStore.updatePropositions(null, Collections.singleton(otherSurface));
+        PropositionStore.Generation generation =
+                propositionStore.replaceContentCards(contentCards);
+
+        // verify
+        assertSame(eventData, generation.getEventData(mockProposition));
+        verify(mockProposition, times(1)).toEventData();
+        generation.getEventData(mockOtherProposition);
+        verify(mockOtherProposition, times(2)).toEventData();
+    }
+
+    @Test
+    public void test_current_ConsistentAcrossThreads() throws InterruptedException {
+        // setup
+        final Map<Surface, List<Proposition>> propositions = new HashMap<>();
+        propositions.put(surface, Arrays.asList(mockProposition));
+        final int updateCount = 100;
+        final Thread writer =
+                new Thread(
+                        new Runnable() {
+                            @Override
+                            public void run() {
+                                for (int i = 0; i < updateCount; i++) {
+                                    propositionStore.replacePropositions(propositions);
+                                }
+                            }
+                        });
+
+        // test
+        writer.start();
+        long lastVersion = 0;
+        while (writer.isAlive()) {
+            PropositionStore.Generation generation = propositionStore.current();
+            assertTrue(generation.getVersion() >= lastVersion);
+            if (generation.getVersion() > 0) {
+                assertEquals(1, generation.getPropositions().size());
+            }
+            lastVersion = generation.getVersion();
+        }
+        writer.join();
+
+        // verify
+        assertEquals(updateCount, propositionStore.getVersion());
+    }
+
+    private PropositionInfo createPropositionInfo(final String id, final Surface scope) {
+        Map<String, Object> activity = new HashMap<>();
+        activity.put("id", "activityId");
+        Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("activity", activity);
+        Map<String, Object> infoMap = new HashMap<>();
+        infoMap.put("id", id);
+        infoMap.put("scope", scope.getUri());
+        infoMap.put("scopeDetails", scopeDetails);
+        return PropositionInfo.create(infoMap);
+    }
+}
@@ -0,0 +1,414 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventHistoryRequest;
+import com.adobe.marketing.mobile.EventHistoryResult;
+import com.adobe.marketing.mobile.EventSource;
+import com.adobe.marketing.mobile.EventType;
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngine;
+import com.adobe.marketing.mobile.launch.rulesengine.RuleConsequence;
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser;
+import com.adobe.marketing.mobile.rulesengine.Context;
+import com.adobe.marketing.mobile.rulesengine.Evaluable;
+import com.adobe.marketing.mobile.rulesengine.RulesResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class RuleConditionCompilerTests {
+
+    @Mock private Evaluable mockCondition;
+    @Mock private RuleConsequence mockConsequence;
+    @Mock private ExtensionApi mockExtensionApi;
+
+    private RulesResult fallbackResult;
+
+    @Before
+    public void setup() {
+        fallbackResult = new RulesResult(RulesResult.FailureType.UNKNOWN, "fallback");
+        when(mockCondition.evaluate(any())).thenReturn(fallbackResult);
+    }
+
+    @Test
+    public void test_compile_SupportedCondition_ReplacesRule() {
+        // setup
+        LaunchRule rule = new LaunchRule(mockCondition, Arrays.asList(mockConsequence));
+        Map<String, Object> condition =
+                group(
+                        "and",
+                        matcher("~type", "eq", EventType.GENERIC_TRACK),
+                        matcher("~source", "eq", EventSource.REQUEST_CONTENT));
+
+        // test
+        List<LaunchRule> compiledRules =
+                RuleConditionCompiler.compile(Arrays.asList(rule), ruleset(condition));
+
+        // verify
+        assertEquals(1, compiledRules.size());
+        assertTrue(
+                compiledRules.get(0).getCondition()
+                        instanceof RuleConditionCompiler.CompiledCondition);
+        assertEquals(rule.getConsequenceList(), compiledRules.get(0).getConsequenceList());
+    }
+
+    @Test
+    public void test_compile_UnsupportedCondition_KeepsRule() {
+        // setup
+        LaunchRule rule = new LaunchRule(mockCondition, Arrays.asList(mockConsequence));
+        Map<String, Object> condition =
+                group(
+                        "and",
+                        matcher("~type", "eq", EventType.GENERIC_TRACK),
+                        matcher("count", "gt", 5));
+
+        // test
+        List<LaunchRule> compiledRules =
+                RuleConditionCompiler.compile(Arrays.asList(rule), ruleset(condition));
+
+        // verify
+        assertSame(rule, compiledRules.get(0));
+    }
+
+    @Test
+    public void test_compile_RuleCountMismatch_KeepsRules() {
+        // setup
+        List<LaunchRule> rules =
+                Arrays.asList(
+                        new LaunchRule(mockCondition, Arrays.asList(mockConsequence)),
+                        new LaunchRule(mockCondition, Arrays.asList(mockConsequence)));
+
+        // test
+        List<LaunchRule> compiledRules =
+                RuleConditionCompiler.compile(
+                        rules, ruleset(matcher("~type", "eq", EventType.GENERIC_TRACK)));
+
+        // verify
+        assertSame(rules, compiledRules);
+    }
+
+    @Test
+    public void test_compileCondition_UnsupportedShapes() {
+        // verify
+        assertNull(RuleConditionCompiler.compileCondition(null));
+        assertNull(RuleConditionCompiler.compileCondition(matcher("key", "co", "value")));
+        assertNull(RuleConditionCompiler.compileCondition(matcher("key", "eq", true)));
+        assertNull(RuleConditionCompiler.compileCondition(matcher("key", "eq")));
+        assertNull(RuleConditionCompiler.compileCondition(matcher("urlenc(key)", "eq", "value")));
+        assertNull(
+                RuleConditionCompiler.compileCondition(
+                        group("xor", matcher("key", "eq", "value"))));
+
+        Map<String, Object> historical = new HashMap<>();
+        historical.put("type", "historical");
+        historical.put("definition", new HashMap<String, Object>());
+        assertNull(RuleConditionCompiler.compileCondition(historical));
+    }
+
+    @Test
+    public void test_evaluate_EqualsMatcher_IgnoresCase() {
+        // setup
+        Evaluable condition = compiledCondition(matcher("action", "eq", "purchase", "checkout"));
+        Map<String, Object> tokens = new HashMap<>();
+
+        // test and verify
+        tokens.put("action", "CHECKOUT");
+        assertTrue(condition.evaluate(context(tokens)).isSuccess());
+        tokens.put("action", "browse");
+        assertFalse(condition.evaluate(context(tokens)).isSuccess());
+        tokens.remove("action");
+        assertFalse(condition.evaluate(context(tokens)).isSuccess());
+        verify(mockCondition, never()).evaluate(any());
+    }
+
+    @Test
+    public void test_evaluate_ExistsMatchers() {
+        // setup
+        Evaluable condition =
+                compiledCondition(
+                        group("and", matcher("present", "ex"), matcher("absent", "nx")));
+        Map<String, Object> tokens = new HashMap<>();
+        tokens.put("present", 1);
+
+        // test and verify
+        assertTrue(condition.evaluate(context(tokens)).isSuccess());
+        tokens.put("absent", "value");
+        assertFalse(condition.evaluate(context(tokens)).isSuccess());
+    }
+
+    @Test
+    public void test_evaluate_OrGroup() {
+        // setup
+        Evaluable condition =
+                compiledCondition(
+                        group(
+                                "or",
+                                matcher("~type", "eq", EventType.GENERIC_TRACK),
+                                matcher("~type", "eq", EventType.LIFECYCLE)));
+        Map<String, Object> tokens = new HashMap<>();
+
+        // test and verify
+        tokens.put("~type", EventType.LIFECYCLE);
+        assertTrue(condition.evaluate(context(tokens)).isSuccess());
+        tokens.put("~type", EventType.EDGE);
+        assertFalse(condition.evaluate(context(tokens)).isSuccess());
+    }
+
+    @Test
+    public void test_evaluate_NonStringValue_FallsBackToGenericCondition() {
+        // setup
+        Evaluable condition = compiledCondition(matcher("count", "eq", "5"));
+        Map<String, Object> tokens = new HashMap<>();
+        tokens.put("count", 5);
+
+        // test
+        RulesResult result = condition.evaluate(context(tokens));
+
+        // verify
+        assertSame(fallbackResult, result);
+        verify(mockCondition, times(1)).evaluate(any());
+    }
+
+    @Test
+    public void test_evaluate_AndGroup_ConclusiveChildSkipsFallback() {
+        // setup
+        Evaluable condition =
+                compiledCondition(
+                        group(
+                                "and",
+                                matcher("count", "eq", "5"),
+                                matcher("~type", "eq", EventType.GENERIC_TRACK)));
+        Map<String, Object> tokens = new HashMap<>();
+        tokens.put("count", 5);
+        tokens.put("~type", EventType.LIFECYCLE);
+
+        // test
+        RulesResult result = condition.evaluate(context(tokens));
+
+        // verify
+        assertFalse(result.isSuccess());
+        verify(mockCondition, never()).evaluate(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_evaluate_HistoricalCondition_UsesEventHistoryCounts() {
+        // setup
+        EventHistoryCounterCache.getInstance().setExtensionApi(mockExtensionApi);
+        EventHistoryCounterCache.Key key =
+                new EventHistoryCounterCache.Key("display", UUID.randomUUID().toString(), "");
+        Evaluable condition = compiledCondition(historical(key, "lt", 3));
+        Map<String, Object> tokens = new HashMap<>();
+
+        // test and verify, counts not yet seeded are queried by the generic condition
+        assertSame(fallbackResult, condition.evaluate(context(tokens)));
+        ArgumentCaptor<AdobeCallbackWithError<EventHistoryResult[]>> callbackCaptor =
+                ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+        verify(mockExtensionApi, times(1))
+                .getHistoricalEvents(
+                        any(EventHistoryRequest[].class), eq(false), callbackCaptor.capture());
+        callbackCaptor
+                .getValue()
+                .call(new EventHistoryResult[] {new EventHistoryResult(2, null, null)});
+
+        assertTrue(condition.evaluate(context(tokens)).isSuccess());
+        EventHistoryCounterCache.getInstance().onRecord(key);
+        assertFalse(condition.evaluate(context(tokens)).isSuccess());
+        verify(mockCondition, times(1)).evaluate(any());
+    }
+
+    @Test
+    public void test_compileCondition_UnsupportedHistoricalShapes() {
+        // setup
+        EventHistoryCounterCache.Key key =
+                new EventHistoryCounterCache.Key("display", "activityId", "");
+        Map<String, Object> windowed = historical(key, "ge", 1);
+        getDefinition(windowed).put("from", 0);
+        Map<String, Object> ordered = historical(key, "ge", 1);
+        getDefinition(ordered).put("searchType", "ordered");
+        Map<String, Object> otherMask = historical(key, "ge", 1);
+        getEvents(otherMask).get(0).put("iam.other", "value");
+        Map<String, Object> multipleEvents = historical(key, "ge", 1);
+        getEvents(multipleEvents).add(key.toRequestMap());
+
+        // verify
+        assertNull(RuleConditionCompiler.compileCondition(historical(key, "co", 1)));
+        assertNull(RuleConditionCompiler.compileCondition(historical(key, "ge", "1")));
+        assertNull(RuleConditionCompiler.compileCondition(windowed));
+        assertNull(RuleConditionCompiler.compileCondition(ordered));
+        assertNull(RuleConditionCompiler.compileCondition(otherMask));
+        assertNull(RuleConditionCompiler.compileCondition(multipleEvents));
+    }
+
+    @Test
+    public void test_evaluateEvent_CompiledConditions_MatchGenericConditions() {
+        // setup
+        List<Map<String, Object>> rules = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> detail = new HashMap<>();
+            detail.put("id", "consequence" + i);
+            detail.put("schema", "https://ns.adobe.com/personalization/message/in-app");
+            detail.put("data", new HashMap<String, Object>());
+            Map<String, Object> consequence = new HashMap<>();
+            consequence.put("id", "consequence" + i);
+            consequence.put("type", "schema");
+            consequence.put("detail", detail);
+            Map<String, Object> ruleJson = new HashMap<>();
+            ruleJson.put(
+                    "condition",
+                    group(
+                            "and",
+                            matcher("~type", "eq", EventType.GENERIC_TRACK),
+                            matcher("~source", "eq", EventSource.REQUEST_CONTENT),
+                            matcher("contextdata.action", "eq", "action" + i)));
+            ruleJson.put("consequences", Arrays.asList(consequence));
+            rules.add(ruleJson);
+        }
+        Map<String, Object> rulesetData = new HashMap<>();
+        rulesetData.put("version", 1);
+        rulesetData.put("rules", rules);
+        List<LaunchRule> parsedRules =
+                JSONRulesParser.parse(new JSONObject(rulesetData).toString(), mockExtensionApi);
+        LaunchRulesEngine genericRulesEngine =
+                new LaunchRulesEngine("genericRulesEngine", mockExtensionApi);
+        genericRulesEngine.replaceRules(parsedRules);
+        LaunchRulesEngine compiledRulesEngine =
+                new LaunchRulesEngine("compiledRulesEngine", mockExtensionApi);
+        compiledRulesEngine.replaceRules(RuleConditionCompiler.compile(parsedRules, rulesetData));
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            Map<String, Object> contextData = new HashMap<>();
+            contextData.put("action", "action" + i);
+            Map<String, Object> eventData = new HashMap<>();
+            eventData.put("contextdata", contextData);
+            events.add(
+                    new Event.Builder("track", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+                            .setEventData(eventData)
+                            .build());
+        }
+        events.add(
+                new Event.Builder("lifecycle", EventType.LIFECYCLE, EventSource.RESPONSE_CONTENT)
+                        .build());
+
+        // test and verify
+        for (final Event event : events) {
+            assertEquals(
+                    consequenceIds(genericRulesEngine.evaluateEvent(event)),
+                    consequenceIds(compiledRulesEngine.evaluateEvent(event)));
+        }
+    }
+
+    private List<String> consequenceIds(final List<RuleConsequence> consequences) {
+        List<String> consequenceIds = new ArrayList<>();
+        for (final RuleConsequence consequence : consequences) {
+            consequenceIds.add(consequence.getId());
+        }
+        return consequenceIds;
+    }
+
+    private Evaluable compiledCondition(final Map<String, Object> condition) {
+        LaunchRule rule = new LaunchRule(mockCondition, new ArrayList<RuleConsequence>());
+        return RuleConditionCompiler.compile(Arrays.asList(rule), ruleset(condition))
+                .get(0)
+                .getCondition();
+    }
+
+    private Context context(final Map<String, Object> tokens) {
+        return new Context(tokens::get, null, null);
+    }
+
+    private Map<String, Object> ruleset(final Map<String, Object> condition) {
+        Map<String, Object> ruleJson = new HashMap<>();
+        ruleJson.put("condition", condition);
+        Map<String, Object> rulesetData = new HashMap<>();
+        rulesetData.put("version", 1);
+        rulesetData.put("rules", Arrays.asList(ruleJson));
+        return rulesetData;
+    }
+
+    private Map<String, Object> matcher(
+            final String key, final String matcher, final Object... values) {
+        Map<String, Object> definition = new HashMap<>();
+        definition.put("key", key);
+        definition.put("matcher", matcher);
+        definition.put("values", Arrays.asList(values));
+        Map<String, Object> condition = new HashMap<>();
+        condition.put("type", "matcher");
+        condition.put("definition", definition);
+        return condition;
+    }
+
+    private Map<String, Object> historical(
+            final EventHistoryCounterCache.Key key, final String matcher, final Object value) {
+        List<Map<String, Object>> events = new ArrayList<>();
+        events.add(key.toRequestMap());
+        Map<String, Object> definition = new HashMap<>();
+        definition.put("events", events);
+        definition.put("matcher", matcher);
+        definition.put("value", value);
+        definition.put("searchType", "any");
+        Map<String, Object> condition = new HashMap<>();
+        condition.put("type", "historical");
+        condition.put("definition", definition);
+        return condition;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getDefinition(final Map<String, Object> condition) {
+        return (Map<String, Object>) condition.get("definition");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> getEvents(final Map<String, Object> condition) {
+        return (List<Map<String, Object>>) getDefinition(condition).get("events");
+    }
+
+    @SafeVarargs
+    private final Map<String, Object> group(
+            final String logic, final Map<String, Object>... conditions) {
+        Map<String, Object> definition = new HashMap<>();
+        definition.put("logic", logic);
+        definition.put("conditions", Arrays.asList(conditions));
+        Map<String, Object> condition = new HashMap<>();
+        condition.put("type", "group");
+        condition.put("definition", definition);
+        return condition;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class RulesDeltaTests {
+
+    @Mock private LaunchRule mockRule1;
+    @Mock private LaunchRule mockRule2;
+    @Mock private LaunchRule mockRule3;
+
+    private Surface surface;
+    private Surface otherSurface;
+    private Map<Surface, List<LaunchRule>> appliedRules;
+    private Map<Surface, List<LaunchRule>> desiredRules;
+
+    @Before
+    public void setup() {
+        surface = Surface.fromUriString("mobileapp://mockPackageName/one");
+        otherSurface = Surface.fromUriString("mobileapp://mockPackageName/two");
+        appliedRules = new HashMap<>();
+        desiredRules = new HashMap<>();
+    }
+
+    @Test
+    public void test_compute_NoRules() {
+        // test
+        RulesDelta delta = RulesDelta.compute(appliedRules, desiredRules);
+
+        // verify
+        assertTrue(delta.isEmpty());
+        assertTrue(delta.isAdditive());
+        assertEquals(0, delta.getUnchangedCount());
+    }
+
+    @Test
+    public void test_compute_SameRules_IsEmpty() {
+        // setup
+        appliedRules.put(surface, Arrays.asList(mockRule1, mockRule2));
+        desiredRules.put(surface, new ArrayList<>(Arrays.asList(mockRule1, mockRule2)));
+
+        // test
+        RulesDelta delta = RulesDelta.compute(appliedRules, desiredRules);
+
+        // verify
+        assertTrue(delta.isEmpty());
+        assertEquals(2, delta.getUnchangedCount());
+        assertEquals(0, delta.getAddedRules().size());
+        assertEquals(0, delta.getRemovedRules().size());
+    }
+
+    @Test
+    public void test_compute_RulesAppendedToSurface_IsAdditive() {
+        // setup
+        appliedRules.put(surface, Arrays.asList(mockRule1));
+        desiredRules.put(surface, Arrays.asList(mockRule1, mockRule2));
+        desiredRules.put(otherSurface, Arrays.asList(mockRule3));
+
+        // test
+        RulesDelta delta = RulesDelta.compute(appliedRules, desiredRules);
+
+        // verify
+        assertFalse(delta.isEmpty());
+        assertTrue(delta.isAdditive());
+        assertEquals(1, delta.getUnchangedCount());
+        assertEquals(2, delta.getAddedRules().size());
+        assertTrue(delta.getAddedRules().contains(mockRule2));
+        assertTrue(delta.getAddedRules().contains(mockRule3));
+    }
+
+    @Test
+    public void test_compute_RuleRemovedFromSurface_IsNotAdditive() {
+        // setup
+        appliedRules.put(surface, Arrays.asList(mockRule1, mockRule2));
+        desiredRules.put(surface, Arrays.asList(mockRule1));
+
+        // test
+        RulesDelta delta = RulesDelta.compute(appliedRules, desiredRules);
+
+        // verify
+        assertFalse(delta.isEmpty());
+        assertFalse(delta.isAdditive());
+        assertEquals(1, delta.getUnchangedCount());
+        assertEquals(Arrays.asList(mockRule2), delta.getRemovedRules());
+    }
+
+    @Test
+    public void test_compute_SurfaceRemoved_IsNotAdditive() {
+        // setup
+        appliedRules.put(surface, Arrays.asList(mockRule1));
+        appliedRules.put(otherSurface, Arrays.asList(mockRule2));
+        desiredRules.put(surface, Arrays.asList(mockRule1));
+
+        // test
+        RulesDelta delta = RulesDelta.compute(appliedRules, desiredRules);
+
+        // verify
+        assertFalse(delta.isAdditive());
+        assertEquals(Arrays.asList(mockRule2), delta.getRemovedRules());
+        assertEquals(0, delta.getAddedRules().size());
+    }
+
+    @Test
+    public void test_compute_RulesReordered_IsNotAdditive() {
+        // setup
+        appliedRules.put(surface, Arrays.asList(mockRule1, mockRule2));
+        desiredRules.put(surface, Arrays.asList(mockRule2, mockRule1));
+
+        // test
+        RulesDelta delta = RulesDelta.compute(appliedRules, desiredRules);
+
+        // verify
+        assertFalse(delta.isEmpty());
+        assertFalse(delta.isAdditive());
+        assertEquals(2, delta.getUnchangedCount());
+        assertEquals(0, delta.getAddedRules().size());
+        assertEquals(0, delta.getRemovedRules().size());
+    }
+
+    @Test
+    public void test_compute_EmptySurfaceRemoved_IsEmpty() {
+        // setup
+        appliedRules.put(surface, new ArrayList<>());
+
+        // test
+        RulesDelta delta = RulesDelta.compute(appliedRules, desiredRules);
+
+        // verify
+        assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    public void test_plus_CombinesDeltas() {
+        // setup
+        appliedRules.put(surface, Arrays.asList(mockRule1));
+        desiredRules.put(surface, Arrays.asList(mockRule1, mockRule2));
+        Map<Surface, List<LaunchRule>> otherAppliedRules = new HashMap<>();
+        otherAppliedRules.put(otherSurface, Arrays.asList(mockRule3));
+
+        // test
+        RulesDelta delta =
+                RulesDelta.compute(appliedRules, desiredRules)
+                        .plus(RulesDelta.compute(otherAppliedRules, new HashMap<>()));
+
+        // verify
+        assertFalse(delta.isAdditive());
+        assertEquals(1, delta.getUnchangedCount());
+        assertEquals(Arrays.asList(mockRule2), delta.getAddedRules());
+        assertEquals(Arrays.asList(mockRule3), delta.getRemovedRules());
+    }
+
+    @Test
+    public void test_snapshot_NotAffectedByLaterChanges() {
+        // setup
+        List<LaunchRule> rules = new ArrayList<>(Arrays.asList(mockRule1));
+        desiredRules.put(surface, rules);
+
+        // test
+        Map<Surface, List<LaunchRule>> snapshot = RulesDelta.snapshot(desiredRules);
+        rules.add(mockRule2);
+        desiredRules.put(otherSurface, Arrays.asList(mockRule3));
+
+        // verify
+        assertNotSame(rules, snapshot.get(surface));
+        assertEquals(1, snapshot.size());
+        assertEquals(Arrays.asList(mockRule1), snapshot.get(surface));
+    }
+}
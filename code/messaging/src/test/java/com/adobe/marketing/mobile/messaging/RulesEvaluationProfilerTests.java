@@ -0,0 +1,141 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class RulesEvaluationProfilerTests {
+
+    private RulesEvaluationProfiler profiler;
+
+    @Before
+    public void setup() {
+        profiler = new RulesEvaluationProfiler();
+    }
+
+    @Test
+    public void test_record_Disabled_RecordsNothing() {
+        // test
+        profiler.recordEvaluation(RulesEvaluationProfiler.Engine.IN_APP, 1000, 5);
+        profiler.recordMatch("rule1");
+        profiler.recordEarlyRejection();
+
+        // verify
+        RulesEvaluationProfiler.Snapshot snapshot = profiler.snapshot();
+        assertFalse(snapshot.isEnabled());
+        assertEquals(0, snapshot.getEngine(RulesEvaluationProfiler.Engine.IN_APP).getEvaluations());
+        assertTrue(snapshot.getMatchesByRule().isEmpty());
+        assertEquals(0, snapshot.getEarlyRejections());
+    }
+
+    @Test
+    public void test_recordEvaluation_BucketsLatencyAndAveragesRules() {
+        // setup
+        profiler.setEnabled(true);
+
+        // test
+        profiler.recordEvaluation(RulesEvaluationProfiler.Engine.IN_APP, 10_000, 4);
+        profiler.recordEvaluation(RulesEvaluationProfiler.Engine.IN_APP, 300_000, 6);
+        profiler.recordEvaluation(RulesEvaluationProfiler.Engine.IN_APP, 100_000_000, 8);
+        profiler.recordEvaluation(RulesEvaluationProfiler.Engine.CONTENT_CARD, 10_000, 2);
+
+        // verify
+        RulesEvaluationProfiler.EngineSnapshot inAppSnapshot =
+                profiler.snapshot().getEngine(RulesEvaluationProfiler.Engine.IN_APP);
+        assertEquals(3, inAppSnapshot.getEvaluations());
+        assertEquals(100_310_000, inAppSnapshot.getTotalNanos());
+        assertEquals(100_000_000, inAppSnapshot.getMaxNanos());
+        assertEquals(6, inAppSnapshot.getAverageRulesEvaluated(), 0);
+        assertArrayEquals(
+                new long[] {1, 0, 0, 1, 0, 0, 0, 0, 0, 1}, inAppSnapshot.getLatencyHistogram());
+        assertEquals(
+                1,
+                profiler.snapshot()
+                        .getEngine(RulesEvaluationProfiler.Engine.CONTENT_CARD)
+                        .getEvaluations());
+    }
+
+    @Test
+    public void test_recordMatch_CountsPerRuleAndBoundsDistinctRules() {
+        // setup
+        profiler.setEnabled(true);
+
+        // test
+        for (int i = 0; i < RulesEvaluationProfiler.MAX_PROFILED_RULES + 2; i++) {
+            profiler.recordMatch("rule" + i);
+        }
+        profiler.recordMatch("rule0");
+
+        // verify
+        Map<String, Long> matches = profiler.snapshot().getMatchesByRule();
+        assertEquals(RulesEvaluationProfiler.MAX_PROFILED_RULES + 1, matches.size());
+        assertEquals(Long.valueOf(2), matches.get("rule0"));
+        assertEquals(Long.valueOf(2), matches.get(RulesEvaluationProfiler.OTHER_RULES));
+    }
+
+    @Test
+    public void test_reset_DiscardsStatistics() {
+        // setup
+        profiler.setEnabled(true);
+        profiler.recordEvaluation(RulesEvaluationProfiler.Engine.IN_APP, 1000, 1);
+        profiler.recordMatch("rule1");
+        profiler.recordEarlyRejection();
+
+        // test
+        profiler.reset();
+
+        // verify
+        RulesEvaluationProfiler.Snapshot snapshot = profiler.snapshot();
+        assertTrue(snapshot.isEnabled());
+        assertEquals(0, snapshot.getEngine(RulesEvaluationProfiler.Engine.IN_APP).getEvaluations());
+        assertTrue(snapshot.getMatchesByRule().isEmpty());
+        assertEquals(0, snapshot.getEarlyRejections());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_toEventData() {
+        // setup
+        profiler.setEnabled(true);
+        profiler.recordEvaluation(RulesEvaluationProfiler.Engine.CONTENT_CARD, 2_000_000, 3);
+        profiler.recordMatch("rule1");
+        profiler.recordEarlyRejection();
+
+        // test
+        Map<String, Object> eventData = profiler.snapshot().toEventData();
+
+        // verify
+        assertEquals(true, eventData.get("enabled"));
+        assertEquals(1L, eventData.get("earlyrejections"));
+        assertEquals(1L, ((Map<String, Object>) eventData.get("matches")).get("rule1"));
+        Map<String, Object> engines = (Map<String, Object>) eventData.get("engines");
+        Map<String, Object> contentCards = (Map<String, Object>) engines.get("contentcard");
+        assertEquals(1L, contentCards.get("evaluations"));
+        assertEquals(2000L, contentCards.get("maxmicros"));
+        assertEquals(3.0, contentCards.get("averagerulesevaluated"));
+        assertEquals(
+                RulesEvaluationProfiler.LATENCY_BUCKET_BOUNDS_MICROS.length + 1,
+                ((List<Long>) contentCards.get("latencyhistogram")).size());
+        assertEquals(0L, ((Map<String, Object>) engines.get("inapp")).get("evaluations"));
+    }
+}
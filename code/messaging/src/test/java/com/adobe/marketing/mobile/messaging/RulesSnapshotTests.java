@@ -0,0 +1,316 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule;
+import com.adobe.marketing.mobile.launch.rulesengine.RuleConsequence;
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser;
+import com.adobe.marketing.mobile.messaging.ParsedPropositions.StagedProposition;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class RulesSnapshotTests {
+    private static final String EXTENSION_VERSION = "3.10.0";
+    private static final String CORE_VERSION = "3.4.0";
+    private static final String DIGEST = "digest";
+
+    @Mock private ExtensionApi mockExtensionApi;
+
+    private final Surface surface = Surface.fromUriString("mobileapp://mockPackageName");
+    private Proposition inAppProposition;
+    private Proposition codeBasedProposition;
+    private PropositionCacheManifest manifest;
+
+    @Before
+    public void setup() throws MessageRequiredFieldMissingException {
+        final Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("key", "value");
+        inAppProposition =
+                new Proposition(
+                        "inapp",
+                        surface.getUri(),
+                        scopeDetails,
+                        Collections.singletonList(
+                                new PropositionItem(
+                                        "inapp",
+                                        SchemaType.RULESET,
+                                        MessagingTestUtils.getMapFromFile(
+                                                "inappPropositionV2Content.json"))));
+        codeBasedProposition =
+                new Proposition(
+                        "codebased",
+                        surface.getUri(),
+                        scopeDetails,
+                        Collections.singletonList(
+                                new PropositionItem(
+                                        "codebased",
+                                        SchemaType.JSON_CONTENT,
+                                        MessagingTestUtils.getMapFromFile(
+                                                "codeBasedPropositionHtmlContent.json"))));
+        manifest = new PropositionCacheManifest();
+        manifest.put(surface.getUri(), DIGEST);
+    }
+
+    @Test
+    public void test_restoreSurface_afterRoundTrip_restoresParsedRules() throws IOException {
+        // setup
+        final List<Proposition> propositions = getPropositions();
+        final ParsedPropositions parsedPropositions =
+                new ParsedPropositions(
+                        Collections.singletonMap(surface, propositions),
+                        Collections.singletonList(surface),
+                        mockExtensionApi);
+        final RulesSnapshot snapshot = roundTrip(parsedPropositions);
+        final ParsedRulesCache parsedRulesCache = new ParsedRulesCache();
+
+        try (MockedStatic<JSONRulesParser> jsonRulesParserMockedStatic =
+                Mockito.mockStatic(JSONRulesParser.class)) {
+            // test
+            final List<StagedProposition> stagedPropositions =
+                    snapshot.restoreSurface(
+                            surface, propositions, DIGEST, mockExtensionApi, parsedRulesCache);
+
+            // verify
+            jsonRulesParserMockedStatic.verify(
+                    () -> JSONRulesParser.parse(anyString(), any(ExtensionApi.class)), never());
+            assertNotNull(stagedPropositions);
+            final ParsedPropositions restoredPropositions =
+                    new ParsedPropositions(
+                            Collections.singletonMap(surface, stagedPropositions),
+                            Collections.singletonList(surface));
+            assertEquals(
+                    parsedPropositions.propositionInfoToCache.keySet(),
+                    restoredPropositions.propositionInfoToCache.keySet());
+            assertEquals(
+                    parsedPropositions.propositionsToCache,
+                    restoredPropositions.propositionsToCache);
+            final List<LaunchRule> parsedRules =
+                    parsedPropositions.surfaceRulesBySchemaType.get(SchemaType.INAPP).get(surface);
+            final List<LaunchRule> restoredRules =
+                    restoredPropositions
+                            .surfaceRulesBySchemaType
+                            .get(SchemaType.INAPP)
+                            .get(surface);
+            assertEquals(parsedRules.size(), restoredRules.size());
+            final RuleConsequence parsedConsequence =
+                    parsedRules.get(0).getConsequenceList().get(0);
+            final RuleConsequence restoredConsequence =
+                    restoredRules.get(0).getConsequenceList().get(0);
+            assertEquals(parsedConsequence.getId(), restoredConsequence.getId());
+            assertEquals(parsedConsequence.getType(), restoredConsequence.getType());
+            assertEquals(
+                    parsedConsequence.getDetail().keySet(),
+                    restoredConsequence.getDetail().keySet());
+            assertEquals(
+                    parsedConsequence.getDetail().get("schema"),
+                    restoredConsequence.getDetail().get("schema"));
+            assertTrue(
+                    restoredRules.get(0).getCondition()
+                            instanceof RuleConditionCompiler.CompiledCondition);
+            assertEquals(1, parsedRulesCache.size());
+        }
+    }
+
+    @Test
+    public void test_parseDeferredConditions_parsesRestoredConditionsOnce() throws IOException {
+        // setup
+        final List<Proposition> propositions = getPropositions();
+        final RulesSnapshot snapshot = roundTrip(getStagedPropositions());
+
+        try (MockedStatic<JSONRulesParser> jsonRulesParserMockedStatic =
+                Mockito.mockStatic(JSONRulesParser.class)) {
+            final List<StagedProposition> stagedPropositions =
+                    snapshot.restoreSurface(surface, propositions, DIGEST, mockExtensionApi, null);
+            int restoredRuleCount = 0;
+            for (final StagedProposition stagedProposition : stagedPropositions) {
+                restoredRuleCount += stagedProposition.rules.size();
+            }
+
+            // test
+            snapshot.parseDeferredConditions();
+            snapshot.parseDeferredConditions();
+
+            // verify
+            assertTrue(restoredRuleCount > 0);
+            jsonRulesParserMockedStatic.verify(
+                    () -> JSONRulesParser.parse(anyString(), any(ExtensionApi.class)),
+                    times(restoredRuleCount));
+        }
+    }
+
+    @Test
+    public void test_read_snapshotOfAnotherExtensionVersion_returnsNull() throws IOException {
+        // setup
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        RulesSnapshot.create(getStagedPropositions(), manifest, "3.9.0", CORE_VERSION)
+                .write(outputStream);
+
+        // test
+        final RulesSnapshot snapshot =
+                RulesSnapshot.read(
+                        new ByteArrayInputStream(outputStream.toByteArray()),
+                        EXTENSION_VERSION,
+                        CORE_VERSION);
+
+        // verify
+        assertNull(snapshot);
+    }
+
+    @Test
+    public void test_read_snapshotOfAnotherCoreVersion_returnsNull() throws IOException {
+        // setup
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        RulesSnapshot.create(getStagedPropositions(), manifest, EXTENSION_VERSION, "3.3.0")
+                .write(outputStream);
+
+        // test
+        final RulesSnapshot snapshot =
+                RulesSnapshot.read(
+                        new ByteArrayInputStream(outputStream.toByteArray()),
+                        EXTENSION_VERSION,
+                        CORE_VERSION);
+
+        // verify
+        assertNull(snapshot);
+    }
+
+    @Test(expected = IOException.class)
+    public void test_read_notASnapshot_throwsIOException() throws IOException {
+        // setup
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        manifest.write(outputStream);
+
+        // test
+        RulesSnapshot.read(
+                new ByteArrayInputStream(outputStream.toByteArray()),
+                EXTENSION_VERSION,
+                CORE_VERSION);
+    }
+
+    @Test
+    public void test_restoreSurface_digestChanged_returnsNull() throws IOException {
+        // setup
+        final RulesSnapshot snapshot = roundTrip(getStagedPropositions());
+
+        // test
+        final List<StagedProposition> stagedPropositions =
+                snapshot.restoreSurface(
+                        surface, getPropositions(), "otherDigest", mockExtensionApi, null);
+
+        // verify
+        assertNull(stagedPropositions);
+    }
+
+    @Test
+    public void test_restoreSurface_surfaceNotInManifest_returnsNull() throws IOException {
+        // setup
+        final RulesSnapshot snapshot =
+                roundTrip(
+                        RulesSnapshot.create(
+                                getStagedPropositions(),
+                                new PropositionCacheManifest(),
+                                EXTENSION_VERSION,
+                                CORE_VERSION));
+
+        // test
+        final List<StagedProposition> stagedPropositions =
+                snapshot.restoreSurface(surface, getPropositions(), DIGEST, mockExtensionApi, null);
+
+        // verify
+        assertNull(stagedPropositions);
+    }
+
+    @Test
+    public void test_restoreSurface_unknownRulesetProposition_returnsNull()
+            throws IOException, MessageRequiredFieldMissingException {
+        // setup
+        final RulesSnapshot snapshot = roundTrip(getStagedPropositions());
+        final Proposition otherProposition =
+                new Proposition(
+                        "other",
+                        surface.getUri(),
+                        inAppProposition.getScopeDetails(),
+                        inAppProposition.getItems());
+
+        // test
+        final List<StagedProposition> stagedPropositions =
+                snapshot.restoreSurface(
+                        surface,
+                        Collections.singletonList(otherProposition),
+                        DIGEST,
+                        mockExtensionApi,
+                        null);
+
+        // verify
+        assertNull(stagedPropositions);
+    }
+
+    private List<Proposition> getPropositions() {
+        final List<Proposition> propositions = new ArrayList<>();
+        propositions.add(inAppProposition);
+        propositions.add(codeBasedProposition);
+        return propositions;
+    }
+
+    private Map<Surface, List<StagedProposition>> getStagedPropositions() {
+        return new ParsedPropositions(
+                        Collections.singletonMap(surface, getPropositions()),
+                        Collections.singletonList(surface),
+                        mockExtensionApi)
+                .stagedPropositions;
+    }
+
+    private RulesSnapshot roundTrip(final ParsedPropositions parsedPropositions)
+            throws IOException {
+        return roundTrip(parsedPropositions.stagedPropositions);
+    }
+
+    private RulesSnapshot roundTrip(final Map<Surface, List<StagedProposition>> stagedPropositions)
+            throws IOException {
+        return roundTrip(
+                RulesSnapshot.create(
+                        stagedPropositions, manifest, EXTENSION_VERSION, CORE_VERSION));
+    }
+
+    private static RulesSnapshot roundTrip(final RulesSnapshot snapshot) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        snapshot.write(outputStream);
+        return RulesSnapshot.read(
+                new ByteArrayInputStream(outputStream.toByteArray()),
+                EXTENSION_VERSION,
+                CORE_VERSION);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.adobe.marketing.mobile.util.DataReaderException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SchemaDataReaderTests {
+
+    private Map<String, Object> schemaData;
+    private Map<String, Object> nestedMap;
+    private List<Object> nestedList;
+
+    @Before
+    public void setup() {
+        nestedMap = new HashMap<>();
+        nestedMap.put("key", "value");
+        nestedList = new ArrayList<>();
+        nestedList.add("item");
+        schemaData = new HashMap<>();
+        schemaData.put("string", "text");
+        schemaData.put("int", 42);
+        schemaData.put("double", 42.9);
+        schemaData.put("numericString", "7");
+        schemaData.put("map", nestedMap);
+        schemaData.put("list", nestedList);
+    }
+
+    @Test
+    public void test_optString() {
+        // verify
+        assertEquals("text", SchemaDataReader.optString(schemaData, "string"));
+        assertEquals("42", SchemaDataReader.optString(schemaData, "int"));
+        assertEquals("", SchemaDataReader.optString(schemaData, "missing"));
+    }
+
+    @Test
+    public void test_getString() throws DataReaderException {
+        // verify
+        assertEquals("text", SchemaDataReader.getString(schemaData, "string"));
+    }
+
+    @Test(expected = DataReaderException.class)
+    public void test_getString_NotAString() throws DataReaderException {
+        // test
+        SchemaDataReader.getString(schemaData, "map");
+    }
+
+    @Test(expected = DataReaderException.class)
+    public void test_getString_Missing() throws DataReaderException {
+        // test
+        SchemaDataReader.getString(schemaData, "missing");
+    }
+
+    @Test
+    public void test_optInt() {
+        // verify
+        assertEquals(42, SchemaDataReader.optInt(schemaData, "int"));
+        assertEquals(42, SchemaDataReader.optInt(schemaData, "double"));
+        assertEquals(7, SchemaDataReader.optInt(schemaData, "numericString"));
+        assertEquals(0, SchemaDataReader.optInt(schemaData, "string"));
+        assertEquals(0, SchemaDataReader.optInt(schemaData, "missing"));
+    }
+
+    @Test
+    public void test_getMap_ReturnsStoredMapWithoutCopying() throws DataReaderException {
+        // verify
+        assertSame(nestedMap, SchemaDataReader.getMap(schemaData, "map"));
+        assertSame(nestedMap, SchemaDataReader.optMap(schemaData, "map"));
+        assertNull(SchemaDataReader.optMap(schemaData, "list"));
+    }
+
+    @Test(expected = DataReaderException.class)
+    public void test_getMap_NotAMap() throws DataReaderException {
+        // test
+        SchemaDataReader.getMap(schemaData, "string");
+    }
+
+    @Test
+    public void test_getList_ReturnsStoredListWithoutCopying() throws DataReaderException {
+        // verify
+        assertSame(nestedList, SchemaDataReader.getList(schemaData, "list"));
+        assertSame(nestedList, SchemaDataReader.optList(schemaData, "list"));
+        assertNull(SchemaDataReader.optList(schemaData, "map"));
+    }
+
+    @Test
+    public void test_copy_DeepCopiesMapsAndLists() {
+        // setup
+        final Map<String, Object> value = new HashMap<>();
+        value.put("map", Collections.unmodifiableMap(nestedMap));
+        value.put("list", Collections.unmodifiableList(nestedList));
+        value.put("string", "value");
+
+        // test
+        final Map<String, Object> copy = SchemaDataReader.copy(value);
+
+        // verify
+        assertEquals(value, copy);
+        assertNotSame(value, copy);
+        assertNotSame(nestedMap, copy.get("map"));
+        assertNotSame(nestedList, copy.get("list"));
+        ((Map<String, Object>) copy.get("map")).clear();
+        ((List<Object>) copy.get("list")).clear();
+        assertFalse(nestedMap.isEmpty());
+        assertFalse(nestedList.isEmpty());
+        assertNull(SchemaDataReader.copy(null));
+    }
+
+    @Test(expected = DataReaderException.class)
+    public void test_getList_Missing() throws DataReaderException {
+        // test
+        SchemaDataReader.getList(schemaData, "missing");
+    }
+
+    @Test
+    public void test_fromJson_ConvertsNestedValues() throws JSONException {
+        // setup
+        JSONObject json = new JSONObject();
+        json.put("string", "text");
+        json.put("int", 42);
+        json.put("map", new JSONObject().put("key", "value"));
+        json.put("list", new JSONArray().put("item"));
+        json.put("null", JSONObject.NULL);
+
+        // test
+        Map<String, Object> result = SchemaDataReader.fromJson(json);
+
+        // verify
+        assertEquals("text", result.get("string"));
+        assertEquals(42, result.get("int"));
+        assertEquals(nestedMap, result.get("map"));
+        assertEquals(nestedList, result.get("list"));
+        assertFalse(result.containsKey("null"));
+    }
+
+    @Test
+    public void test_fromJson_Null() {
+        // verify
+        assertTrue(SchemaDataReader.fromJson(null).isEmpty());
+    }
+}
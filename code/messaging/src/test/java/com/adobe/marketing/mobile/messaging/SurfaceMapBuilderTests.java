@@ -0,0 +1,156 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SurfaceMapBuilderTests {
+
+    private final Surface surface = Surface.fromUriString("mobileapp://mockPackageName/one");
+    private final Surface otherSurface = Surface.fromUriString("mobileapp://mockPackageName/two");
+
+    @Test
+    public void test_add_AppendsValues() {
+        // setup
+        SurfaceMapBuilder<String> builder = new SurfaceMapBuilder<>();
+
+        // test
+        builder.add(surface, "a").add(surface, "b").add(otherSurface, "c").add(surface, "a");
+        Map<Surface, List<String>> result = builder.build();
+
+        // verify
+        assertEquals(2, result.size());
+        assertEquals(Arrays.asList("a", "b", "a"), result.get(surface));
+        assertEquals(Arrays.asList("c"), result.get(otherSurface));
+    }
+
+    @Test
+    public void test_add_NullValueIgnored() {
+        // setup
+        SurfaceMapBuilder<String> builder = new SurfaceMapBuilder<>();
+
+        // test
+        builder.add(surface, null);
+
+        // verify
+        assertTrue(builder.isEmpty());
+        assertNull(builder.build().get(surface));
+    }
+
+    @Test
+    public void test_merge_ReplacesEqualValuesAndAppendsNewValues() {
+        // setup
+        SurfaceMapBuilder<String> builder = new SurfaceMapBuilder<>();
+        builder.merge(surface, Arrays.asList("a", "b"));
+
+        // test
+        builder.merge(surface, Arrays.asList("b", "c"));
+
+        // verify
+        assertEquals(Arrays.asList("a", "b", "c"), builder.build().get(surface));
+    }
+
+    @Test
+    public void test_merge_NullOrEmptyValuesIgnored() {
+        // setup
+        SurfaceMapBuilder<String> builder = new SurfaceMapBuilder<>();
+
+        // test
+        builder.merge(surface, null);
+        builder.merge(surface, new ArrayList<>());
+
+        // verify
+        assertTrue(builder.isEmpty());
+    }
+
+    @Test
+    public void test_merge_NewSurfaceListIsCopied() {
+        // setup
+        SurfaceMapBuilder<String> builder = new SurfaceMapBuilder<>();
+        List<String> values = new ArrayList<>(Arrays.asList("a", "b"));
+
+        // test
+        builder.merge(surface, values);
+        builder.add(surface, "c");
+
+        // verify
+        assertEquals(2, values.size());
+        assertEquals(Arrays.asList("a", "b", "c"), builder.build().get(surface));
+    }
+
+    @Test
+    public void test_build_UpdatesProvidedMapInPlace() {
+        // setup
+        Map<Surface, List<String>> map = new HashMap<>();
+        SurfaceMapBuilder<String> builder = new SurfaceMapBuilder<>(map);
+        Map<Surface, List<String>> built = builder.build();
+
+        // test
+        builder.add(surface, "a");
+
+        // verify
+        assertSame(map, built);
+        assertFalse(map.isEmpty());
+        assertEquals(Arrays.asList("a"), map.get(surface));
+    }
+
+    @Test
+    public void test_build_MatchesUpdatePropositionMapForSurface() throws Exception {
+        // setup
+        List<Proposition> propositions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            propositions.add(createProposition("activity" + (i % 3), i));
+        }
+        Map<Surface, List<Proposition>> expected = new HashMap<>();
+        SurfaceMapBuilder<Proposition> builder = new SurfaceMapBuilder<>();
+
+        // test
+        for (final Proposition proposition : propositions) {
+            expected =
+                    MessagingUtils.updatePropositionMapForSurface(surface, proposition, expected);
+            builder.add(surface, proposition);
+        }
+        expected =
+                MessagingUtils.updatePropositionMapForSurface(otherSurface, propositions, expected);
+        builder.merge(otherSurface, propositions);
+
+        // verify
+        assertEquals(expected, builder.build());
+    }
+
+    private Proposition createProposition(final String activityId, final int index)
+            throws MessageRequiredFieldMissingException {
+        final Map<String, Object> activity = new HashMap<>();
+        activity.put("id", activityId);
+        final Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("activity", activity);
+        final List<PropositionItem> items = new ArrayList<>();
+        final Map<String, Object> itemData = new HashMap<>();
+        itemData.put("content", "content" + index);
+        items.add(new PropositionItem("item" + index, SchemaType.JSON_CONTENT, itemData));
+        return new Proposition("id" + index, surface.getUri(), scopeDetails, items);
+    }
+}
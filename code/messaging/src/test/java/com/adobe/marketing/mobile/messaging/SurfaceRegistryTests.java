@@ -0,0 +1,139 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SurfaceRegistryTests {
+
+    private SurfaceRegistry surfaceRegistry;
+
+    @Before
+    public void setup() {
+        surfaceRegistry = SurfaceRegistry.getInstance();
+        surfaceRegistry.clear();
+    }
+
+    @After
+    public void tearDown() {
+        surfaceRegistry.clear();
+    }
+
+    @Test
+    public void test_getSurface_ValidUri() {
+        // test
+        Surface surface = surfaceRegistry.getSurface("mobileapp://mockPackageName/path");
+
+        // verify
+        assertNotNull(surface);
+        assertEquals("mobileapp://mockPackageName/path", surface.getUri());
+    }
+
+    @Test
+    public void test_getSurface_SameUri_ReturnsSameInstance() {
+        // test
+        Surface surface = surfaceRegistry.getSurface("mobileapp://mockPackageName/path");
+        Surface sameSurface = surfaceRegistry.getSurface("mobileapp://mockPackageName/path");
+
+        // verify
+        assertSame(surface, sameSurface);
+    }
+
+    @Test
+    public void test_getSurface_ValidatedUri_ReturnsRegisteredInstance() {
+        // setup
+        assertTrue(surfaceRegistry.isValidUri("mobileapp://mockPackageName/path"));
+
+        // test
+        Surface surface = surfaceRegistry.getSurface("mobileapp://mockPackageName/path");
+        Surface sameSurface = surfaceRegistry.getSurface("mobileapp://mockPackageName/path");
+
+        // verify
+        assertNotNull(surface);
+        assertSame(surface, sameSurface);
+    }
+
+    @Test
+    public void test_getSurface_InvalidUri() {
+        // verify
+        assertNull(surfaceRegistry.getSurface("invalidstring"));
+        assertNull(surfaceRegistry.getSurface("mobileapp://invalid uri"));
+        assertNull(surfaceRegistry.getSurface(""));
+        assertNull(surfaceRegistry.getSurface(null));
+    }
+
+    @Test
+    public void test_isValidUri() {
+        // verify
+        assertTrue(surfaceRegistry.isValidUri("mobileapp://mockPackageName"));
+        assertFalse(surfaceRegistry.isValidUri("https://mockPackageName"));
+        assertFalse(surfaceRegistry.isValidUri("unknown"));
+        assertFalse(surfaceRegistry.isValidUri(null));
+    }
+
+    @Test
+    public void test_isValidUri_InvalidUriValidatedOnce() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // test
+            assertFalse(surfaceRegistry.isValidUri("mobileapp://invalid uri"));
+            assertFalse(surfaceRegistry.isValidUri("mobileapp://invalid uri"));
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.warning(
+                                    anyString(),
+                                    anyString(),
+                                    anyString(),
+                                    Mockito.<Object>any()),
+                    times(1));
+        }
+    }
+
+    @Test
+    public void test_getUris() {
+        // setup
+        List<Surface> surfaces = new ArrayList<>();
+        surfaces.add(Surface.fromUriString("mobileapp://mockPackageName/one"));
+        surfaces.add(Surface.fromUriString("mobileapp://mockPackageName/two"));
+        surfaces.add(null);
+
+        // test
+        Set<String> uris = SurfaceRegistry.getUris(surfaces);
+
+        // verify
+        assertEquals(2, uris.size());
+        assertTrue(uris.contains("mobileapp://mockPackageName/one"));
+        assertTrue(uris.contains("mobileapp://mockPackageName/two"));
+        assertTrue(SurfaceRegistry.getUris(null).isEmpty());
+    }
+}
@@ -148,6 +148,16 @@ public class SurfaceTests {
         assertTrue(surface.isValid());
     }
 
+    @Test
+    public void test_fromStringValidString_ReturnsSharedInstance() {
+        // test
+        Surface surface = Surface.fromUriString("mobileapp://mockPackageName/sharedpath");
+        Surface sameSurface = Surface.fromUriString("mobileapp://mockPackageName/sharedpath");
+        // verify
+        assertNotNull(surface);
+        Assert.assertSame(surface, sameSurface);
+    }
+
     @Test
     public void test_fromStringInvalidString() {
         // test
@@ -0,0 +1,214 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Generates synthetic proposition payloads of any size for benchmarks and tests.
+ *
+ * <p>Payloads are deterministic, every call with the same arguments returns equal payloads with
+ * the same ids. Each generated proposition contains a single ruleset item with a single rule,
+ * which matches a generic track event whose {@value #ACTION_KEY} is {@link #actionForRule(int)}.
+ */
+public class SyntheticPayloadGenerator {
+    public static final String TRACK_EVENT_TYPE = "com.adobe.eventType.generic.track";
+    public static final String TRACK_EVENT_SOURCE = "com.adobe.eventSource.requestContent";
+    public static final String ACTION_KEY = "action";
+
+    private static final String RULESET_ITEM_SCHEMA = "https://ns.adobe.com/personalization/ruleset-item";
+    private static final String IN_APP_SCHEMA = "https://ns.adobe.com/personalization/message/in-app";
+    private static final String CONTENT_CARD_SCHEMA = "https://ns.adobe.com/personalization/message/content-card";
+    // fixed dates keep the payloads reproducible, the expiry date is in 2050
+    private static final long PUBLISHED_DATE = 1691541497L;
+    private static final long EXPIRY_DATE = 2524608000L;
+
+    private SyntheticPayloadGenerator() {
+    }
+
+    /**
+     * Generates in-app message proposition payloads for a single surface.
+     *
+     * @param surfaceUri the {@code String} uri of the surface the propositions are scoped to
+     * @param ruleCount the number of propositions, and rules, to generate
+     * @return {@code List<Map<String, Object>>} containing the proposition payloads
+     */
+    public static List<Map<String, Object>> generateInAppPayloads(final String surfaceUri, final int ruleCount) {
+        final List<Map<String, Object>> payloads = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            final String consequenceId = deterministicId("inapp-consequence", i);
+            final Map<String, Object> mobileParameters = new HashMap<>();
+            mobileParameters.put("width", 100);
+            mobileParameters.put("height", 100);
+            mobileParameters.put("verticalAlign", "center");
+            mobileParameters.put("horizontalAlign", "center");
+            mobileParameters.put("uiTakeover", true);
+
+            final Map<String, Object> data = new HashMap<>();
+            data.put("contentType", "text/html");
+            data.put("content", "<html><body>Synthetic message " + i + "</body></html>");
+            data.put("mobileParameters", mobileParameters);
+            data.put("publishedDate", PUBLISHED_DATE);
+            data.put("expiryDate", EXPIRY_DATE);
+
+            payloads.add(createProposition("inapp", i, surfaceUri, i + 1, consequence(consequenceId, IN_APP_SCHEMA, data)));
+        }
+        return payloads;
+    }
+
+    /**
+     * Generates content card proposition payloads spread round-robin over the provided number of
+     * surfaces, named {@code surfaceUriPrefix + "/feed" + index}.
+     *
+     * @param surfaceUriPrefix the {@code String} uri prefix of the generated surfaces
+     * @param surfaceCount the number of surfaces to spread the propositions over
+     * @param ruleCount the number of propositions, and rules, to generate
+     * @return {@code List<Map<String, Object>>} containing the proposition payloads
+     */
+    public static List<Map<String, Object>> generateContentCardPayloads(final String surfaceUriPrefix, final int surfaceCount, final int ruleCount) {
+        final List<Map<String, Object>> payloads = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            final String surfaceUri = surfaceUri(surfaceUriPrefix, i % surfaceCount);
+            final String consequenceId = deterministicId("contentcard-consequence", i);
+            final Map<String, Object> content = new HashMap<>();
+            content.put("title", "Synthetic card " + i);
+            content.put("body", "Body of synthetic card " + i);
+            content.put("imageUrl", "https://www.adobe.com/adobe.png");
+            content.put("actionUrl", "https://www.adobe.com");
+            content.put("actionTitle", "Open");
+
+            final Map<String, Object> meta = new HashMap<>();
+            meta.put("surface", surfaceUri);
+
+            final Map<String, Object> data = new HashMap<>();
+            data.put("contentType", "application/json");
+            data.put("content", content);
+            data.put("meta", meta);
+            data.put("publishedDate", PUBLISHED_DATE);
+            data.put("expiryDate", EXPIRY_DATE);
+
+            payloads.add(createProposition("contentcard", i, surfaceUri, i + 1, consequence(consequenceId, CONTENT_CARD_SCHEMA, data)));
+        }
+        return payloads;
+    }
+
+    /**
+     * @param surfaceUriPrefix the {@code String} uri prefix passed to {@link #generateContentCardPayloads(String, int, int)}
+     * @param surfaceIndex the index of the surface
+     * @return the {@code String} uri of the generated surface
+     */
+    public static String surfaceUri(final String surfaceUriPrefix, final int surfaceIndex) {
+        return surfaceUriPrefix + "/feed" + surfaceIndex;
+    }
+
+    /**
+     * @param ruleIndex the index of a generated rule
+     * @return the {@code String} action value matched by the rule
+     */
+    public static String actionForRule(final int ruleIndex) {
+        return "action" + ruleIndex;
+    }
+
+    /**
+     * @param action the {@code String} action of the track event
+     * @return {@code Map<String, Object>} event data of a generic track event with the provided action
+     */
+    public static Map<String, Object> generateTrackEventData(final String action) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put(ACTION_KEY, action);
+        return eventData;
+    }
+
+    private static Map<String, Object> createProposition(final String prefix, final int index, final String surfaceUri, final int rank, final Map<String, Object> consequence) {
+        final Map<String, Object> rule = new HashMap<>();
+        rule.put("condition", group("and", Arrays.asList(
+                matcher("~type", TRACK_EVENT_TYPE),
+                matcher("~source", TRACK_EVENT_SOURCE),
+                matcher(ACTION_KEY, actionForRule(index)))));
+        rule.put("consequences", Collections.singletonList(consequence));
+
+        final Map<String, Object> itemData = new HashMap<>();
+        itemData.put("version", 1);
+        itemData.put("rules", Collections.singletonList(rule));
+
+        final Map<String, Object> item = new HashMap<>();
+        item.put("id", deterministicId(prefix + "-item", index));
+        item.put("schema", RULESET_ITEM_SCHEMA);
+        item.put("data", itemData);
+
+        final Map<String, Object> activity = new HashMap<>();
+        activity.put("id", deterministicId(prefix + "-campaign", index) + "#" + deterministicId(prefix + "-action", index));
+        activity.put("priority", index % 100);
+
+        final Map<String, Object> characteristics = new HashMap<>();
+        characteristics.put("eventToken", deterministicId(prefix + "-token", index));
+
+        final Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("decisionProvider", "AJO");
+        scopeDetails.put("correlationID", deterministicId(prefix + "-correlation", index));
+        scopeDetails.put("characteristics", characteristics);
+        scopeDetails.put("activity", activity);
+        scopeDetails.put("rank", rank);
+
+        final Map<String, Object> proposition = new HashMap<>();
+        proposition.put("id", deterministicId(prefix + "-proposition", index));
+        proposition.put("scope", surfaceUri);
+        proposition.put("scopeDetails", scopeDetails);
+        proposition.put("items", Collections.singletonList(item));
+        return proposition;
+    }
+
+    private static Map<String, Object> consequence(final String id, final String schema, final Map<String, Object> data) {
+        final Map<String, Object> detail = new HashMap<>();
+        detail.put("id", id);
+        detail.put("schema", schema);
+        detail.put("data", data);
+
+        final Map<String, Object> consequence = new HashMap<>();
+        consequence.put("id", id);
+        consequence.put("type", "schema");
+        consequence.put("detail", detail);
+        return consequence;
+    }
+
+    private static Map<String, Object> group(final String logic, final List<Map<String, Object>> conditions) {
+        final Map<String, Object> definition = new HashMap<>();
+        definition.put("logic", logic);
+        definition.put("conditions", conditions);
+        final Map<String, Object> group = new HashMap<>();
+        group.put("type", "group");
+        group.put("definition", definition);
+        return group;
+    }
+
+    private static Map<String, Object> matcher(final String key, final String value) {
+        final Map<String, Object> definition = new HashMap<>();
+        definition.put("key", key);
+        definition.put("matcher", "eq");
+        definition.put("values", Collections.singletonList(value));
+        final Map<String, Object> matcher = new HashMap<>();
+        matcher.put("type", "matcher");
+        matcher.put("definition", definition);
+        return matcher;
+    }
+
+    private static String deterministicId(final String name, final int index) {
+        return UUID.nameUUIDFromBytes((name + index).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}